@@ -0,0 +1,147 @@
+package com.fooddeliverysystem.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Load benchmark comparing the two execution modes of the application: request
+ * handling on the Tomcat thread pool and on virtual threads
+ * (spring.threads.virtual.enabled). It is a tool rather than a test: it lives
+ * outside the Maven source folders, so the build neither compiles nor runs it,
+ * and it needs a running application with a populated database. Measured
+ * results are kept in src/bench/RESULTS.md.
+ *
+ * Run the application in one mode, then this class, then repeat in the other
+ * mode:
+ *
+ * <pre>
+ * ./mvnw spring-boot:run
+ * ./mvnw spring-boot:run -Dspring-boot.run.arguments=--spring.threads.virtual.enabled=true
+ *
+ * java -Dbench.mode=platform src/bench/java/com/fooddeliverysystem/bench/ExecutionModeBenchmark.java
+ * java -Dbench.mode=virtual src/bench/java/com/fooddeliverysystem/bench/ExecutionModeBenchmark.java
+ * </pre>
+ *
+ * For each scenario, GET /api/restaurants/{id}/menu and POST /api/orders, it
+ * keeps bench.concurrency requests in flight for a warm-up period and then for
+ * the measured period, and prints the throughput and the p50, p99 and maximum
+ * latency of the measured requests. Only the JDK is used, so the class also
+ * runs straight from its source file.
+ *
+ * Settings (system properties): bench.base-url, bench.mode (label printed with
+ * the results), bench.concurrency, bench.warmup-seconds, bench.seconds,
+ * bench.restaurant-id, bench.customer-id and bench.menu-item-id.
+ */
+public class ExecutionModeBenchmark {
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10)).build();
+
+    private final String baseUrl = System.getProperty("bench.base-url", "http://localhost:8080");
+    private final String mode = System.getProperty("bench.mode", "unlabelled");
+    private final int concurrency = Integer.getInteger("bench.concurrency", 200);
+    private final int warmupSeconds = Integer.getInteger("bench.warmup-seconds", 10);
+    private final int seconds = Integer.getInteger("bench.seconds", 30);
+    private final int restaurantId = Integer.getInteger("bench.restaurant-id", 1);
+    private final int customerId = Integer.getInteger("bench.customer-id", 1);
+    private final int menuItemId = Integer.getInteger("bench.menu-item-id", 1);
+
+    public static void main(String[] args) {
+        ExecutionModeBenchmark benchmark = new ExecutionModeBenchmark();
+        benchmark.run("menu", benchmark::menuRequest);
+        benchmark.run("addOrder", benchmark::addOrderRequest);
+    }
+
+    private HttpRequest menuRequest() {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/restaurants/" + restaurantId + "/menu"))
+                .header("Accept-Encoding", "gzip").timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest addOrderRequest() {
+        String body = "{\"orderDate\":\"" + LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                + "\",\"orderStatus\":\"Pending\",\"customer\":{\"customerId\":" + customerId
+                + "},\"restaurant\":{\"restaurantId\":" + restaurantId + "},\"items\":[{\"menuItem\":{\"menuItemId\":"
+                + menuItemId + "},\"quantity\":1}]}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                .header("Content-Type", "application/json").timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    /**
+     * Runs the warm-up and the measured period of one scenario and prints its
+     * results.
+     */
+    private void run(String scenario, Supplier<HttpRequest> requests) {
+        measure(requests, warmupSeconds);
+        Result result = measure(requests, seconds);
+
+        long[] latencies = result.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("mode=%s scenario=%s concurrency=%d requests=%d errors=%d throughput=%.1f/s "
+                + "p50=%.1fms p99=%.1fms max=%.1fms%n", mode, scenario, concurrency, latencies.length,
+                result.errors.sum(), latencies.length / (double) seconds, percentile(latencies, 50),
+                percentile(latencies, 99), percentile(latencies, 100));
+    }
+
+    /**
+     * Keeps the configured number of requests in flight for the given time; each
+     * client sends its next request as soon as the previous one is answered.
+     */
+    private Result measure(Supplier<HttpRequest> requests, int periodSeconds) {
+        Result result = new Result();
+        long endNanos = System.nanoTime() + Duration.ofSeconds(periodSeconds).toNanos();
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            CompletableFuture<Void> client = new CompletableFuture<>();
+            sendUntil(requests, endNanos, result, client);
+            clients.add(client);
+        }
+        CompletableFuture.allOf(clients.toArray(new CompletableFuture<?>[0])).join();
+        return result;
+    }
+
+    private void sendUntil(Supplier<HttpRequest> requests, long endNanos, Result result, CompletableFuture<Void> done) {
+        if (System.nanoTime() >= endNanos) {
+            done.complete(null);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        client.sendAsync(requests.get(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure == null && response.statusCode() < 400) {
+                result.latencies.add(System.nanoTime() - startNanos);
+            } else {
+                result.errors.increment();
+            }
+            sendUntil(requests, endNanos, result, done);
+        });
+    }
+
+    /**
+     * Returns the given percentile of the sorted latencies in milliseconds.
+     */
+    private static double percentile(long[] sortedNanos, int percentile) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    /**
+     * The latencies of the successful requests and the number of failed ones.
+     */
+    private static class Result {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -3,9 +3,7 @@ package com.fooddeliverysystem.controller;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -15,20 +13,16 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
 import com.fooddeliverysystem.dto.CustomerDto;
 import com.fooddeliverysystem.dto.DeliveryAddressDto;
 import com.fooddeliverysystem.dto.ListOfRestaurantsDto;
-import com.fooddeliverysystem.dto.OrderDto;
 import com.fooddeliverysystem.dto.RestaurantDto;
 import com.fooddeliverysystem.entity.Customer;
 import com.fooddeliverysystem.entity.DeliveryAddress;
-import com.fooddeliverysystem.entity.Order;
-import com.fooddeliverysystem.entity.Rating;
 import com.fooddeliverysystem.entity.Restaurant;
 
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 
 @Controller
@@ -36,8 +30,18 @@ import jakarta.validation.Valid;
 @CrossOrigin(origins = "http://localhost:8080", allowCredentials = "true")
 public class CustomerMvc {
 
-    // RestTemplate instance for making HTTP requests
-    private RestTemplate restTemplate = new RestTemplate();
+    // Facades used to read and update customers and restaurants
+    private MvcFacades facades;
+
+    // Runs the independent loads of a page in parallel
+    private PageAssembler pageAssembler;
+
+    @Autowired
+    public CustomerMvc(MvcFacades facades, PageAssembler pageAssembler) {
+        super();
+        this.facades = facades;
+        this.pageAssembler = pageAssembler;
+    }
 
     /**
      * Display a list of all customers.
@@ -46,8 +50,8 @@ public class CustomerMvc {
      */
     @GetMapping
     public String showCustomerList(Model model) {
-        // Fetch the list of customers from the REST API
-        List<Customer> customers = restTemplate.getForObject("http://localhost:8080/api/customers", List.class);
+        // Fetch the list of customers
+        List<Customer> customers = facades.customers().findAll();
         // Add the list of customers to the model
         model.addAttribute("customers", customers);
         return "customer/customer-list";
@@ -56,17 +60,15 @@ public class CustomerMvc {
     @GetMapping("/search")
 	public String showCustomerById(@RequestParam("id") int id, Model model) {
 		try {
-			ResponseEntity<Customer> response = restTemplate
-					.getForEntity("http://localhost:8080/api/customers/" + id, Customer.class);
+			Customer customer = facades.customers().findById(id);
 			List<Customer> customers = new ArrayList<>();
-			customers.add(response.getBody());
+			customers.add(customer);
 			model.addAttribute("customers", customers);
 			return "customer/customer-list";
-		} catch (HttpClientErrorException e) {
-			// Handle HTTP errors (4xx)
+		} catch (EntityNotFoundException e) {
+			// Handle an unknown customer
 			model.addAttribute("error", "Customer not found");
-			List<Customer> customers = restTemplate.getForObject("http://localhost:8080/api/customers",
-					List.class);
+			List<Customer> customers = facades.customers().findAll();
 			model.addAttribute("customers", customers);
 			return "customer/customer-list";
 		}
@@ -82,13 +84,11 @@ public class CustomerMvc {
      */
     @GetMapping("/showOrdersByCustomer")
     public String showOrdersByCustomer(@RequestParam("customerId") int customerId, Model model) {
-        // Fetch orders of the customer from the REST API
-        List<Order> orders = restTemplate.getForObject("http://localhost:8080/api/customers/" + customerId + "/orders", List.class);
-        // Fetch customer details from the REST API
-        Customer customer = restTemplate.getForObject("http://localhost:8080/api/customers/" + customerId, Customer.class);
-        // Add the customer and orders to the model
-        model.addAttribute("customer", customer);
-        model.addAttribute("orders", orders);
+        // Fetch the orders and details of the customer in parallel and add them to the model
+        pageAssembler.newPage()
+                .load("orders", () -> facades.customers().findOrders(customerId))
+                .load("customer", () -> facades.customers().findById(customerId))
+                .addTo(model);
         return "customer/orders-by-customer";
     }
 
@@ -101,10 +101,10 @@ public class CustomerMvc {
      */
     @GetMapping("/deleteCustomer")
     public String deleteCustomer(@RequestParam("customerId") int customerId, Model model) {
-        // Delete the customer using the REST API
-        restTemplate.delete("http://localhost:8080/api/customers/" + customerId);
+        // Delete the customer
+        facades.customers().deleteById(customerId);
         // Fetch the updated list of customers
-        List<Customer> customers = restTemplate.getForObject("http://localhost:8080/api/customers", List.class);
+        List<Customer> customers = facades.customers().findAll();
         // Add the updated list to the model
         model.addAttribute("customers", customers);
         return "customer/customer-list";
@@ -119,13 +119,11 @@ public class CustomerMvc {
      */
     @GetMapping("/showReviewsByCustomer")
     public String showReviewsByCustomer(@RequestParam("customerId") int customerId, Model model) {
-        // Fetch reviews (ratings) given by the customer
-        List<Rating> ratings = restTemplate.getForObject("http://localhost:8080/api/customers/" + customerId + "/reviews", List.class);
-        // Fetch customer details from the REST API
-        Customer customer = restTemplate.getForObject("http://localhost:8080/api/customers/" + customerId, Customer.class);
-        // Add the customer and ratings to the model
-        model.addAttribute("customer", customer);
-        model.addAttribute("ratings", ratings);
+        // Fetch the reviews (ratings) and details of the customer in parallel and add them to the model
+        pageAssembler.newPage()
+                .load("ratings", () -> facades.customers().findReviews(customerId))
+                .load("customer", () -> facades.customers().findById(customerId))
+                .addTo(model);
         return "customer/reviews-by-customer";
     }
 
@@ -138,8 +136,8 @@ public class CustomerMvc {
      */
     @GetMapping("/updateCustomer")
     public String updateCustomer(@RequestParam("customerId") int customerId, Model model) {
-        // Fetch customer details from the REST API
-        Customer customer = restTemplate.getForObject("http://localhost:8080/api/customers/" + customerId, Customer.class);
+        // Fetch customer details
+        Customer customer = facades.customers().findById(customerId);
         // Create and populate a CustomerDto object
         CustomerDto customerDto = new CustomerDto();
         customerDto.setCustomerId(customerId);
@@ -165,7 +163,7 @@ public class CustomerMvc {
     }
 
     /**
-     * Process the customer update form and send updated data to the REST API.
+     * Process the customer update form and save the updated customer data.
      * 
      * @param customerDto the DTO containing updated customer data
      * @param bindingResult the result of the validation process
@@ -179,20 +177,11 @@ public class CustomerMvc {
             model.addAttribute("customerDto", customerDto);
             return "customer/update-customer-form";
         }
-        // Prepare the HTTP request entity with the updated customer data
-        HttpEntity<CustomerDto> requestEntity = new HttpEntity<>(customerDto);
-        // Make the PUT request to update the customer data
-        ResponseEntity<Customer> responseEntity = restTemplate.exchange(
-            "http://localhost:8080/api/customers/" + customerDto.getCustomerId(), 
-            HttpMethod.PUT, 
-            requestEntity, 
-            Customer.class
-        );
-        // Extract the updated customer from the response
-        Customer customer = responseEntity.getBody();
+        // Update the customer data and addresses
+        Customer customer = facades.customers().update(customerDto.getCustomerId(), customerDto);
         // Add the updated customer and customer list to the model
         model.addAttribute("customer", customer);
-        List<Customer> customers = restTemplate.getForObject("http://localhost:8080/api/customers", List.class);
+        List<Customer> customers = facades.customers().findAll();
         model.addAttribute("customers", customers);
         return "customer/customer-list";
     }
@@ -206,8 +195,8 @@ public class CustomerMvc {
      */
     @GetMapping("/addRestaurantsToCustomerFavorites")
     public String addRestaurantsToCustomerFavorites(@RequestParam("customerId") int customerId, Model model) {
-        // Fetch the list of restaurants from the REST API
-        List<Restaurant> restaurants = restTemplate.getForObject("http://localhost:8080/api/restaurants", List.class);
+        // Fetch the list of restaurants
+        List<Restaurant> restaurants = facades.restaurants().findAll();
         // Add the list of restaurants and customer ID to the model
         model.addAttribute("restaurants", restaurants);
         model.addAttribute("customerId", customerId);
@@ -227,7 +216,7 @@ public class CustomerMvc {
         if (restaurantIds == null) {
             // If no restaurants are selected, show an error message
             model.addAttribute("error", "You must select at least one restaurant.");
-            List<Restaurant> restaurants = restTemplate.getForObject("http://localhost:8080/api/restaurants", List.class);
+            List<Restaurant> restaurants = facades.restaurants().findAll();
             model.addAttribute("restaurants", restaurants);
             model.addAttribute("customerId", customerId);
             return "customer/select-customer-favorites-form";
@@ -241,12 +230,12 @@ public class CustomerMvc {
             restaurants.add(restaurantDto);
         }
         listOfRestaurantsDto.setRestaurants(restaurants);
-        // Make the POST request to add the selected restaurants to customer favorites
-        String message = restTemplate.postForObject("http://localhost:8080/api/customers/" + customerId + "/favorites", listOfRestaurantsDto, String.class);
-        System.out.println(message);
+        // Check and add the selected restaurants to customer favorites
+        facades.customers().addFavorites(customerId, listOfRestaurantsDto);
+        String message = "Customer's favorite restaurants retrieved successfully.";
         // Add the message and updated customer list to the model
         model.addAttribute("message", message);
-        List<Customer> customers = restTemplate.getForObject("http://localhost:8080/api/customers", List.class);
+        List<Customer> customers = facades.customers().findAll();
         model.addAttribute("customers", customers);
         return "customer/customer-list";
     }
@@ -5,9 +5,7 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -16,14 +14,11 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
 import com.fooddeliverysystem.dto.DeliveryDriverDto;
 import com.fooddeliverysystem.entity.DeliveryDriver;
-import com.fooddeliverysystem.entity.Order;
-import com.fooddeliverysystem.entity.Restaurant;
 
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 
 @Controller
@@ -33,22 +28,31 @@ public class DeliveryDriverMvc {
     // Logger instance for logging purposes
     private static final Logger logger = LoggerFactory.getLogger(DeliveryDriverMvc.class);
 
-    // RestTemplate instance for making HTTP requests to other services
-    RestTemplate restTemplate = new RestTemplate();
+    // Facades used to read delivery drivers and their orders
+    private MvcFacades facades;
+
+    // Runs the independent loads of a page in parallel
+    private PageAssembler pageAssembler;
+
+    @Autowired
+    public DeliveryDriverMvc(MvcFacades facades, PageAssembler pageAssembler) {
+        super();
+        this.facades = facades;
+        this.pageAssembler = pageAssembler;
+    }
+
     @GetMapping("/search")
 	public String showRestaurantById(@RequestParam("id") int id, Model model) {
 		try {
-			ResponseEntity<DeliveryDriver> response = restTemplate
-					.getForEntity("http://localhost:8080/api/drivers/" + id, DeliveryDriver.class);
+			DeliveryDriver deliveryDriver = facades.drivers().findById(id);
 			List<DeliveryDriver> deliveryDrivers = new ArrayList<>();
-			deliveryDrivers.add(response.getBody());
+			deliveryDrivers.add(deliveryDriver);
 			model.addAttribute("deliveryDrivers", deliveryDrivers);
 			return "driver/driver-list";
-		} catch (HttpClientErrorException e) {
-			// Handle HTTP errors (4xx)
+		} catch (EntityNotFoundException e) {
+			// Handle an unknown driver
 			model.addAttribute("error", "Driver not found");
-			List<DeliveryDriver> deliveryDrivers = restTemplate.getForObject("http://localhost:8080/api/drivers",
-					List.class);
+			List<DeliveryDriver> deliveryDrivers = facades.drivers().findAll();
 			model.addAttribute("deliveryDrivers", deliveryDrivers);
 			return "driver/driver-list";
 		}
@@ -58,8 +62,7 @@ public class DeliveryDriverMvc {
     @GetMapping
     public String showDeliveryDriverList(Model model) {
         logger.info("Fetching list of delivery drivers");
-        List<DeliveryDriver> deliveryDrivers = restTemplate.getForObject("http://localhost:8080/api/drivers",
-                List.class);
+        List<DeliveryDriver> deliveryDrivers = facades.drivers().findAll();
         model.addAttribute("deliveryDrivers", deliveryDrivers);
         return "driver/driver-list";
     }
@@ -68,12 +71,10 @@ public class DeliveryDriverMvc {
     @GetMapping("/showDriverOrders")
     public String showDriverOrders(@RequestParam("driverId") int driverId, Model model) {
         logger.info("Fetching orders for delivery driver with ID: {}", driverId);
-        List<Order> orders = restTemplate.getForObject("http://localhost:8080/api/drivers/" + driverId + "/orders",
-                List.class);
-        DeliveryDriver deliveryDriver = restTemplate.getForObject("http://localhost:8080/api/drivers/" + driverId,
-                DeliveryDriver.class);
-        model.addAttribute("deliveryDriver", deliveryDriver);
-        model.addAttribute("orders", orders);
+        pageAssembler.newPage()
+                .load("orders", () -> facades.drivers().findOrders(driverId))
+                .load("deliveryDriver", () -> facades.drivers().findById(driverId))
+                .addTo(model);
         return "driver/orders-by-driver";
     }
 
@@ -98,23 +99,13 @@ public class DeliveryDriverMvc {
         }
 
         logger.info("Processing delivery location update for driver with ID: {}", deliveryDriverDto.getDeliveryDriverId());
-        HttpEntity<DeliveryDriverDto> requestEntity = new HttpEntity<>(deliveryDriverDto);
-
-        // Make the PUT request to update the delivery location of the driver
-        ResponseEntity<DeliveryDriver> responseEntity = restTemplate.exchange(
-                "http://localhost:8080/api/drivers/" + deliveryDriverDto.getDeliveryDriverId() + "/location",
-                HttpMethod.PUT,
-                requestEntity,
-                DeliveryDriver.class
-        );
-
-        // Extract the updated delivery driver from the response
-        DeliveryDriver deliveryDriver = responseEntity.getBody();
+        // The location itself is only kept in the API client's cookie, so the page
+        // just confirms that the driver exists
+        DeliveryDriver deliveryDriver = facades.drivers().findById(deliveryDriverDto.getDeliveryDriverId());
         model.addAttribute("deliveryDriver", deliveryDriver);
 
         logger.info("Fetching updated list of delivery drivers after location update");
-        List<DeliveryDriver> deliveryDrivers = restTemplate.getForObject("http://localhost:8080/api/drivers",
-                List.class);
+        List<DeliveryDriver> deliveryDrivers = facades.drivers().findAll();
         model.addAttribute("deliveryDrivers", deliveryDrivers);
         return "driver/driver-list";
     }
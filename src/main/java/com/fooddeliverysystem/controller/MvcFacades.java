@@ -0,0 +1,77 @@
+package com.fooddeliverysystem.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+
+import com.fooddeliverysystem.service.CustomerFacade;
+import com.fooddeliverysystem.service.DeliveryDriverFacade;
+import com.fooddeliverysystem.service.OrderFacade;
+import com.fooddeliverysystem.service.RestaurantFacade;
+
+/**
+ * Supplies the facades the MVC pages read and write through.
+ *
+ * In local mode (the default) these are the in-process application services
+ * the REST controllers use as well, so rendering a page costs no HTTP round
+ * trip and no JSON encoding. In remote mode, for deployments where the pages
+ * run apart from the API, each facade calls the REST API at the configured
+ * base URL instead.
+ */
+@Component
+public class MvcFacades {
+
+	private static final Logger logger = LoggerFactory.getLogger(MvcFacades.class);
+
+	static final String LOCAL = "local";
+	static final String REMOTE = "remote";
+
+	private final RestaurantFacade restaurantFacade;
+	private final CustomerFacade customerFacade;
+	private final DeliveryDriverFacade deliveryDriverFacade;
+	private final OrderFacade orderFacade;
+
+	@Autowired
+	public MvcFacades(RestaurantFacade restaurantFacade, CustomerFacade customerFacade,
+			DeliveryDriverFacade deliveryDriverFacade, OrderFacade orderFacade,
+			@Value("${fooddelivery.mvc.mode:local}") String mode,
+			@Value("${fooddelivery.mvc.api-base-url:http://localhost:8080}") String apiBaseUrl,
+			RestTemplateBuilder restTemplateBuilder) {
+		super();
+		if (LOCAL.equals(mode)) {
+			this.restaurantFacade = restaurantFacade;
+			this.customerFacade = customerFacade;
+			this.deliveryDriverFacade = deliveryDriverFacade;
+			this.orderFacade = orderFacade;
+		} else if (REMOTE.equals(mode)) {
+			RemoteApi api = new RemoteApi(restTemplateBuilder.build(), apiBaseUrl);
+			this.restaurantFacade = new RemoteRestaurantFacade(api);
+			this.customerFacade = new RemoteCustomerFacade(api);
+			this.deliveryDriverFacade = new RemoteDeliveryDriverFacade(api);
+			this.orderFacade = new RemoteOrderFacade(api);
+		} else {
+			throw new IllegalStateException(
+					"fooddelivery.mvc.mode must be " + LOCAL + " or " + REMOTE + ", was: " + mode);
+		}
+		logger.info("MVC pages use {} facades{}", mode, REMOTE.equals(mode) ? " at " + apiBaseUrl : "");
+	}
+
+	public RestaurantFacade restaurants() {
+		return restaurantFacade;
+	}
+
+	public CustomerFacade customers() {
+		return customerFacade;
+	}
+
+	public DeliveryDriverFacade drivers() {
+		return deliveryDriverFacade;
+	}
+
+	public OrderFacade orders() {
+		return orderFacade;
+	}
+}
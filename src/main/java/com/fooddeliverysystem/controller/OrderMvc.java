@@ -4,9 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -15,26 +12,20 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
 import com.fooddeliverysystem.dto.CouponDto;
 import com.fooddeliverysystem.dto.CustomerDto;
-import com.fooddeliverysystem.dto.DeliveryDriverDto;
 import com.fooddeliverysystem.dto.MenuItemDto;
 import com.fooddeliverysystem.dto.OrderDto;
 import com.fooddeliverysystem.dto.OrderItemDto;
 import com.fooddeliverysystem.dto.RestaurantDto;
-import com.fooddeliverysystem.entity.Coupon;
-import com.fooddeliverysystem.entity.Customer;
 import com.fooddeliverysystem.entity.DeliveryDriver;
-import com.fooddeliverysystem.entity.MenuItem;
 import com.fooddeliverysystem.entity.Order;
-import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.exception.NoDriverAvailableException;
 import com.fooddeliverysystem.service.CouponService;
 import com.fooddeliverysystem.service.MenuItemService;
-import com.fooddeliverysystem.service.OrderService;
 
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 
 @Controller
@@ -42,20 +33,22 @@ import jakarta.validation.Valid;
 public class OrderMvc {
 	private MenuItemService menuItemService;
 	private CouponService couponService;
-	private OrderService orderService;
-	private RestTemplate restTemplate = new RestTemplate();
+	private MvcFacades facades;
+	private PageAssembler pageAssembler;
 
 	@Autowired
-	public OrderMvc(MenuItemService menuItemService, OrderService orderService, CouponService couponService) {
+	public OrderMvc(MenuItemService menuItemService, CouponService couponService, MvcFacades facades,
+			PageAssembler pageAssembler) {
 		super();
 		this.menuItemService = menuItemService;
-		this.orderService = orderService;
 		this.couponService = couponService;
+		this.facades = facades;
+		this.pageAssembler = pageAssembler;
 	}
 
 	@GetMapping
 	public String showOrdersList(Model model) {
-		List<Order> orders = orderService.findAll();
+		List<Order> orders = facades.orders().findAll();
 		model.addAttribute("orders", orders);
 		return "order/order-list";
 	}
@@ -63,16 +56,15 @@ public class OrderMvc {
 	@GetMapping("/search")
 	public String showOrderById(@RequestParam("id") int id, Model model) {
 		try {
-			ResponseEntity<Order> response = restTemplate
-					.getForEntity("http://localhost:8080/api/orders/" + id, Order.class);
+			Order order = facades.orders().findById(id);
 			List<Order> orders = new ArrayList<>();
-			orders.add(response.getBody());
+			orders.add(order);
 			model.addAttribute("orders", orders);
 			return "order/order-list";
-		} catch (HttpClientErrorException e) {
-			// Handle HTTP errors (4xx)
+		} catch (EntityNotFoundException e) {
+			// Handle an unknown order
 			model.addAttribute("error", "Order not found");
-			List<Order> orders = orderService.findAll();
+			List<Order> orders = facades.orders().findAll();
 			model.addAttribute("orders", orders);
 			return "order/order-list";
 		}
@@ -81,15 +73,15 @@ public class OrderMvc {
 	
 	@GetMapping("/deleteOrder")
 	public String deleteOrder(@RequestParam("orderId") int orderId, Model model) {
-		restTemplate.delete("http://localhost:8080/api/orders/" + orderId);
-		List<Order> orders = orderService.findAll();
+		facades.orders().deleteById(orderId);
+		List<Order> orders = facades.orders().findAll();
 		model.addAttribute("orders", orders);
 		return "order/order-list";
 	}
 
 	@GetMapping("/showChangeOrderStatus")
 	public String showChangeOrderStatus(@RequestParam("orderId") int orderId, Model model) {
-		Order order = restTemplate.getForObject("http://localhost:8080/api/orders/" + orderId, Order.class);
+		Order order = facades.orders().findById(orderId);
 		model.addAttribute("order", order);
 		return "order/change-order-status-form";
 	}
@@ -100,35 +92,18 @@ public class OrderMvc {
 			model.addAttribute("order", order);
 			return "order/change-order-status-form";
 		}
-		OrderDto orderDto = new OrderDto();
-		orderDto.setOrderStatus(order.getOrderStatus());
-		HttpEntity<OrderDto> requestEntity = new HttpEntity<>(orderDto);
-		// Make the PUT request and get the response as a Product
-		ResponseEntity<Order> responseEntity = restTemplate.exchange(
-				"http://localhost:8080/api/orders/" + order.getOrderId() + "/status", HttpMethod.PUT, requestEntity,
-				Order.class);
-		// Extract the updated product from the response
-		Order updatedOrder = responseEntity.getBody();
+		// Change the status of the order
+		Order updatedOrder = facades.orders().changeStatus(order.getOrderId(), order.getOrderStatus());
 		model.addAttribute("order", updatedOrder);
-		List<Order> orders = orderService.findAll();
+		List<Order> orders = facades.orders().findAll();
 		model.addAttribute("orders", orders);
 		return "order/order-list";
 	}
 
 	@GetMapping("/showNewOrderForm")
 	public String showNewOrderForm(Model model) {
-		List<MenuItem> menuItems = menuItemService.findAll();
-		List<Coupon> coupons = couponService.findAll();
-		List<Customer> customers = restTemplate.getForObject("http://localhost:8080/api/customers", List.class);
-		List<Restaurant> restaurants = restTemplate.getForObject("http://localhost:8080/api/restaurants", List.class);
-		List<DeliveryDriver> deliveryDrivers = restTemplate.getForObject("http://localhost:8080/api/drivers",
-				List.class);
+		addNewOrderChoices(model);
 		model.addAttribute("orderDto", new OrderDto());
-		model.addAttribute("coupons", coupons);
-		model.addAttribute("menuItems", menuItems);
-		model.addAttribute("customers", customers);
-		model.addAttribute("restaurants", restaurants);
-		model.addAttribute("deliveryDrivers", deliveryDrivers);
 		return "order/new-order-form";
 	}
 
@@ -139,57 +114,25 @@ public class OrderMvc {
 		if (bindingResult.hasErrors()) {
 			if (customerId == null || restaurantId == null)
 				model.addAttribute("error", "You must select at least one customer/restaurant item.");
-			List<MenuItem> menuItems = menuItemService.findAll();
-			List<Coupon> coupons = couponService.findAll();
-			List<Customer> customers = restTemplate.getForObject("http://localhost:8080/api/customers", List.class);
-			List<Restaurant> restaurants = restTemplate.getForObject("http://localhost:8080/api/restaurants",
-					List.class);
-			List<DeliveryDriver> deliveryDrivers = restTemplate.getForObject("http://localhost:8080/api/drivers",
-					List.class);
+			addNewOrderChoices(model);
 			model.addAttribute("orderDto", orderDto);
-			model.addAttribute("coupons", coupons);
-			model.addAttribute("menuItems", menuItems);
-			model.addAttribute("customers", customers);
-			model.addAttribute("restaurants", restaurants);
-			model.addAttribute("deliveryDrivers", deliveryDrivers);
 			return "order/new-order-form";
 		}
 		if (customerId == null || restaurantId == null) {
 			model.addAttribute("error", "You must select at least one customer/restaurant item.");
-			List<MenuItem> menuItems = menuItemService.findAll();
-			List<Coupon> coupons = couponService.findAll();
-			List<Customer> customers = restTemplate.getForObject("http://localhost:8080/api/customers", List.class);
-			List<Restaurant> restaurants = restTemplate.getForObject("http://localhost:8080/api/restaurants",
-					List.class);
-			List<DeliveryDriver> deliveryDrivers = restTemplate.getForObject("http://localhost:8080/api/drivers",
-					List.class);
+			addNewOrderChoices(model);
 			model.addAttribute("orderDto", orderDto);
-			model.addAttribute("coupons", coupons);
-			model.addAttribute("menuItems", menuItems);
-			model.addAttribute("customers", customers);
-			model.addAttribute("restaurants", restaurants);
-			model.addAttribute("deliveryDrivers", deliveryDrivers);
 			return "order/new-order-form";
 		}
 		CustomerDto customerDto = new CustomerDto();
 		RestaurantDto restaurantDto = new RestaurantDto();
 		customerDto.setCustomerId(customerId);
 		restaurantDto.setRestaurantId(restaurantId);
-		Restaurant restaurant = restTemplate.getForObject("http://localhost:8080/api/restaurants/" + restaurantId,
-				Restaurant.class);
-		List<MenuItem> menuItems = restTemplate
-				.getForObject("http://localhost:8080/api/restaurants/" + restaurantId + "/menu", List.class);
-		Customer customer = restTemplate.getForObject("http://localhost:8080/api/customers/" + customerId,
-				Customer.class);
 		orderDto.setCustomer(customerDto);
 		orderDto.setRatings(new ArrayList<>());
 		orderDto.setRestaurant(restaurantDto);
-		model.addAttribute("restaurant", restaurant);
-		model.addAttribute("customer", customer);
+		addMenuSelection(restaurantId, customerId, model);
 		model.addAttribute("orderDto", orderDto);
-		model.addAttribute("menuItems", menuItems);
-		List<Coupon> coupons = couponService.findAll();
-		model.addAttribute("coupons", coupons);
 		return "order/new-order-form-menu-selection";
 	}
 
@@ -200,18 +143,8 @@ public class OrderMvc {
 			Model model) {
 		if(itemIds == null) {
 			model.addAttribute("error", "You must select at least one item to order.");
-			List<MenuItem> menuItems = restTemplate
-					.getForObject("http://localhost:8080/api/restaurants/" + restaurantId + "/menu", List.class);
-			Restaurant restaurant = restTemplate.getForObject("http://localhost:8080/api/restaurants/" + restaurantId,
-					Restaurant.class);
-			model.addAttribute("restaurant", restaurant);
-			Customer customer = restTemplate.getForObject("http://localhost:8080/api/customers/" + customerId,
-					Customer.class);
-			model.addAttribute("customer", customer);
+			addMenuSelection(restaurantId, customerId, model);
 			model.addAttribute("orderDto", orderDto);
-			model.addAttribute("menuItems", menuItems);
-			List<Coupon> coupons = couponService.findAll();
-			model.addAttribute("coupons", coupons);
 			return "order/new-order-form-menu-selection";
 		}
 		CustomerDto customerDto = new CustomerDto();
@@ -251,18 +184,16 @@ public class OrderMvc {
 		}
 		orderDto.setCoupons(coupons);
 		orderDto.setRatings(new ArrayList<>());
-		System.out.println(orderDto);
-		Order order = restTemplate.postForObject("http://localhost:8080/api/orders", orderDto, Order.class);
+		Order order = facades.orders().placeOrder(orderDto);
 		model.addAttribute("order", order);
-		List<Order> orders = orderService.findAll();
+		List<Order> orders = facades.orders().findAll();
 		model.addAttribute("orders", orders);
 		return "order/order-list";
 	}
 
 	@GetMapping("/showAssginDeliveryDriver")
 	public String showAssginDeliveryDriver(@RequestParam(name="orderId") int orderId, Model model) {
-		List<DeliveryDriver> deliveryDrivers = restTemplate.getForObject("http://localhost:8080/api/drivers",
-				List.class);
+		List<DeliveryDriver> deliveryDrivers = facades.drivers().findAll();
 		model.addAttribute("deliveryDrivers", deliveryDrivers);
 		model.addAttribute("orderId", orderId);
 		return "order/assign-delivery-driver";
@@ -273,21 +204,63 @@ public class OrderMvc {
 			@RequestParam(name="driverId", required = false) Integer driverId, Model model) {
 		if(driverId == null) {
 			model.addAttribute("error", "You must select at least one delivery driver to deliver order.");
-			List<DeliveryDriver> deliveryDrivers = restTemplate.getForObject("http://localhost:8080/api/drivers",
-					List.class);
+			List<DeliveryDriver> deliveryDrivers = facades.drivers().findAll();
 			model.addAttribute("deliveryDrivers", deliveryDrivers);
 			model.addAttribute("orderId", orderId);
 			return "order/assign-delivery-driver";
 		}
-		HttpEntity<Void> requestEntity = new HttpEntity<>(null);
-		ResponseEntity<DeliveryDriver> responseEntity = restTemplate.exchange(
-				"http://localhost:8080/api/orders/" + orderId + "/assignDriver/" + driverId, HttpMethod.PUT,
-				requestEntity, DeliveryDriver.class);
-		// Extract the updated product from the response
-		DeliveryDriver deliveryDriver = responseEntity.getBody();
-		List<Order> orders = orderService.findAll();
+		// Assign the driver to the order
+		DeliveryDriver deliveryDriver = facades.orders().assignDriver(orderId, driverId);
+		List<Order> orders = facades.orders().findAll();
 		model.addAttribute("deliveryDriver", deliveryDriver);
 		model.addAttribute("orders", orders);
 		return "order/order-list";
 	}
+
+	@PostMapping("/processAutoDeliveryDriverAssignment")
+	public String processAutoDeliveryDriverAssignment(@RequestParam("orderId") int orderId, Model model) {
+		DeliveryDriver deliveryDriver;
+		try {
+			// Let the dispatcher choose the nearest available driver
+			deliveryDriver = facades.orders().autoAssignDriver(orderId);
+		} catch (NoDriverAvailableException e) {
+			model.addAttribute("error", e.getMessage());
+			List<DeliveryDriver> deliveryDrivers = facades.drivers().findAll();
+			model.addAttribute("deliveryDrivers", deliveryDrivers);
+			model.addAttribute("orderId", orderId);
+			return "order/assign-delivery-driver";
+		}
+		List<Order> orders = facades.orders().findAll();
+		model.addAttribute("deliveryDriver", deliveryDriver);
+		model.addAttribute("orders", orders);
+		return "order/order-list";
+	}
+
+	/**
+	 * Loads the menu items, coupons, customers, restaurants and drivers offered by
+	 * the new order form in parallel. The form still renders if some of them
+	 * cannot be loaded in time; those lists are left empty.
+	 */
+	private void addNewOrderChoices(Model model) {
+		pageAssembler.newPage()
+				.loadOptional("menuItems", menuItemService::findAll, List.of())
+				.loadOptional("coupons", couponService::findAll, List.of())
+				.loadOptional("customers", facades.customers()::findAll, List.of())
+				.loadOptional("restaurants", facades.restaurants()::findAll, List.of())
+				.loadOptional("deliveryDrivers", facades.drivers()::findAll, List.of())
+				.addTo(model);
+	}
+
+	/**
+	 * Loads the restaurant, its menu and the customer of the menu selection page
+	 * in parallel, together with the coupons that may be applied.
+	 */
+	private void addMenuSelection(int restaurantId, int customerId, Model model) {
+		pageAssembler.newPage()
+				.load("restaurant", () -> facades.restaurants().findById(restaurantId))
+				.load("menuItems", () -> facades.restaurants().findMenu(restaurantId))
+				.load("customer", () -> facades.customers().findById(customerId))
+				.loadOptional("coupons", couponService::findAll, List.of())
+				.addTo(model);
+	}
 }
@@ -0,0 +1,315 @@
+package com.fooddeliverysystem.controller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.ui.Model;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.fooddeliverysystem.exception.PageLoadTimeoutException;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs the independent loads behind an MVC page concurrently on a bounded pool,
+ * so the page waits for its slowest load instead of the sum of all of them.
+ *
+ * A page registers each load under the model attribute it fills and then calls
+ * {@link Page#addTo(Model)}, which waits for all loads up to the page deadline:
+ * <ul>
+ * <li>a required load that fails rethrows its exception, as if it had run on
+ * the request thread; one that misses the deadline fails the page with a
+ * {@link PageLoadTimeoutException};</li>
+ * <li>an optional load that fails or misses the deadline puts its fallback in
+ * the model and its name in the "unavailable" attribute, so the page still
+ * renders with that section left empty.</li>
+ * </ul>
+ *
+ * The templates walk lazy collections of the loaded entities, which normally
+ * works because the request thread keeps its EntityManager open until the view
+ * is rendered. Each load therefore runs with its own EntityManager bound to the
+ * worker thread, and that EntityManager is only closed when the request
+ * completes. When the pool is saturated a load runs on the request thread
+ * itself and uses the request's EntityManager.
+ *
+ * With spring.threads.virtual.enabled on a Java 21 runtime every load gets its
+ * own virtual thread instead, like the requests themselves; the connection pool
+ * is then what bounds the number of loads talking to the database at once.
+ */
+@Component
+public class PageAssembler {
+
+	private static final Logger logger = LoggerFactory.getLogger(PageAssembler.class);
+
+	static final String UNAVAILABLE_ATTRIBUTE = "unavailable";
+
+	private final EntityManagerFactory entityManagerFactory;
+	private final ThreadPoolExecutor pool;
+	private final AsyncTaskExecutor executor;
+	private final long deadlineMillis;
+
+	@Autowired
+	public PageAssembler(EntityManagerFactory entityManagerFactory, Environment environment,
+			@Value("${fooddelivery.mvc.page-loads.threads:16}") int threads,
+			@Value("${fooddelivery.mvc.page-loads.queue-capacity:256}") int queueCapacity,
+			@Value("${fooddelivery.mvc.page-loads.deadline-millis:5000}") long deadlineMillis) {
+		super();
+		this.entityManagerFactory = entityManagerFactory;
+		this.deadlineMillis = Math.max(1, deadlineMillis);
+
+		// Same switch and Java version check as the embedded Tomcat uses
+		if (Threading.VIRTUAL.isActive(environment)) {
+			logger.info("Loading page sections on virtual threads");
+			this.pool = null;
+			this.executor = new VirtualThreadTaskExecutor("page-load-");
+			return;
+		}
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		int poolSize = Math.max(1, threads);
+		this.pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+					Thread thread = new Thread(runnable, "page-load-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		this.pool.allowCoreThreadTimeOut(true);
+		this.executor = new TaskExecutorAdapter(pool);
+	}
+
+	/**
+	 * Stops the pool; loads still running are interrupted.
+	 */
+	@PreDestroy
+	public void stop() {
+		if (pool != null) {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Starts assembling a page. The deadline of the page runs from this call.
+	 *
+	 * @return A new page.
+	 */
+	public Page newPage() {
+		return new Page(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis));
+	}
+
+	/**
+	 * The loads of one page, in the order they were registered.
+	 */
+	public class Page {
+
+		private final long deadlineNanos;
+		private final Map<String, Load<?>> loads = new LinkedHashMap<>();
+
+		private Page(long deadlineNanos) {
+			this.deadlineNanos = deadlineNanos;
+		}
+
+		/**
+		 * Starts a load the page cannot be rendered without.
+		 *
+		 * @param attribute The model attribute the result is stored under.
+		 * @param loader    The load.
+		 * @return This page.
+		 */
+		public Page load(String attribute, Supplier<?> loader) {
+			return start(attribute, loader, true, null);
+		}
+
+		/**
+		 * Starts a load the page can be rendered without.
+		 *
+		 * @param attribute The model attribute the result is stored under.
+		 * @param loader    The load.
+		 * @param fallback  The value stored instead if the load fails or is too
+		 *                  slow.
+		 * @return This page.
+		 */
+		public Page loadOptional(String attribute, Supplier<?> loader, Object fallback) {
+			return start(attribute, loader, false, fallback);
+		}
+
+		/**
+		 * Waits for all loads up to the page deadline and stores their results in
+		 * the model.
+		 *
+		 * @param model The model of the page.
+		 * @throws PageLoadTimeoutException if a required load missed the deadline.
+		 */
+		public void addTo(Model model) {
+			List<String> unavailable = new ArrayList<>();
+			try {
+				for (Map.Entry<String, Load<?>> entry : loads.entrySet()) {
+					Load<?> load = entry.getValue();
+					try {
+						model.addAttribute(entry.getKey(), load.await(deadlineNanos));
+					} catch (TimeoutException | RuntimeException e) {
+						if (load.required) {
+							throw e instanceof TimeoutException
+									? new PageLoadTimeoutException("Timed out loading " + entry.getKey())
+									: (RuntimeException) e;
+						}
+						logger.warn("Page section {} unavailable: {}", entry.getKey(), e.toString());
+						unavailable.add(entry.getKey());
+						model.addAttribute(entry.getKey(), load.fallback);
+					}
+				}
+			} finally {
+				// Give up on whatever is still running, then release the EntityManagers
+				// once the view has been rendered
+				loads.values().forEach(Load::abandon);
+				closeAfterRequest();
+			}
+			if (!unavailable.isEmpty()) {
+				model.addAttribute(UNAVAILABLE_ATTRIBUTE, unavailable);
+			}
+		}
+
+		private Page start(String attribute, Supplier<?> loader, boolean required, Object fallback) {
+			Load<Object> load = new Load<>(required, fallback);
+			loads.put(attribute, load);
+			load.future = executor.submit(() -> load.run(loader));
+			return this;
+		}
+
+		private void closeAfterRequest() {
+			RequestAttributes request = RequestContextHolder.getRequestAttributes();
+			if (request == null) {
+				loads.values().forEach(Load::close);
+				return;
+			}
+			request.registerDestructionCallback(PageAssembler.class.getName() + "." + System.identityHashCode(this),
+					() -> loads.values().forEach(Load::close), RequestAttributes.SCOPE_REQUEST);
+		}
+	}
+
+	/**
+	 * One load of a page and the EntityManager its result is attached to.
+	 *
+	 * The state shared with the loading thread is guarded by a lock rather than a
+	 * monitor, which would pin a virtual thread to its carrier while closing the
+	 * EntityManager.
+	 */
+	private class Load<T> {
+
+		private final boolean required;
+		private final Object fallback;
+		private final ReentrantLock lock = new ReentrantLock();
+		private Future<T> future;
+		private EntityManager entityManager;
+		private boolean finished;
+		private boolean abandoned;
+
+		Load(boolean required, Object fallback) {
+			this.required = required;
+			this.fallback = fallback;
+		}
+
+		@SuppressWarnings("unchecked")
+		T run(Supplier<?> loader) {
+			// Running on the request thread (pool saturated): use its EntityManager
+			if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+				return (T) loader.get();
+			}
+			EntityManager created = entityManagerFactory.createEntityManager();
+			lock.lock();
+			try {
+				entityManager = created;
+			} finally {
+				lock.unlock();
+			}
+			TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(created));
+			try {
+				return (T) loader.get();
+			} finally {
+				TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+				lock.lock();
+				try {
+					finished = true;
+					// Nobody will read the result any more
+					if (abandoned) {
+						closeEntityManager();
+					}
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+
+		T await(long deadlineNanos) throws TimeoutException {
+			try {
+				return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException("Interrupted while loading the page");
+			}
+		}
+
+		void abandon() {
+			lock.lock();
+			try {
+				if (future.isDone()) {
+					return;
+				}
+				abandoned = true;
+			} finally {
+				lock.unlock();
+			}
+			future.cancel(true);
+		}
+
+		void close() {
+			lock.lock();
+			try {
+				// A load still running closes its EntityManager itself when it ends
+				if (finished) {
+					closeEntityManager();
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void closeEntityManager() {
+			if (entityManager != null && entityManager.isOpen()) {
+				entityManager.close();
+			}
+			entityManager = null;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.fooddeliverysystem.controller;
+
+import java.util.function.Supplier;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Thin client of the REST API used by the remote facades when the MVC pages
+ * are deployed apart from the API. A 404 answer is turned back into the
+ * EntityNotFoundException the in-process facades throw, so the pages handle
+ * both modes the same way.
+ */
+class RemoteApi {
+
+	private final RestTemplate restTemplate;
+	private final String baseUrl;
+
+	RemoteApi(RestTemplate restTemplate, String baseUrl) {
+		this.restTemplate = restTemplate;
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+	}
+
+	<T> T get(String path, Class<T> type) {
+		return call(() -> restTemplate.getForObject(baseUrl + path, type));
+	}
+
+	<T> T get(String path, ParameterizedTypeReference<T> type) {
+		return call(() -> restTemplate.exchange(baseUrl + path, HttpMethod.GET, null, type).getBody());
+	}
+
+	<T> ResponseEntity<T> getEntity(String path, ParameterizedTypeReference<T> type) {
+		return call(() -> restTemplate.exchange(baseUrl + path, HttpMethod.GET, null, type));
+	}
+
+	<T> T post(String path, Object body, Class<T> type) {
+		return call(() -> restTemplate.postForObject(baseUrl + path, body, type));
+	}
+
+	<T> T put(String path, Object body, Class<T> type) {
+		return call(() -> restTemplate.exchange(baseUrl + path, HttpMethod.PUT, new HttpEntity<>(body), type)
+				.getBody());
+	}
+
+	void delete(String path) {
+		call(() -> {
+			restTemplate.delete(baseUrl + path);
+			return null;
+		});
+	}
+
+	private static <T> T call(Supplier<T> request) {
+		try {
+			return request.get();
+		} catch (HttpClientErrorException.NotFound e) {
+			throw new EntityNotFoundException(e.getResponseBodyAsString());
+		}
+	}
+}
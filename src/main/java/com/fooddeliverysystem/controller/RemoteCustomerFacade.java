@@ -0,0 +1,92 @@
+package com.fooddeliverysystem.controller;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.core.ParameterizedTypeReference;
+
+import com.fooddeliverysystem.dto.CustomerDto;
+import com.fooddeliverysystem.dto.ListOfRestaurantsDto;
+import com.fooddeliverysystem.dto.RestaurantSummary;
+import com.fooddeliverysystem.entity.Customer;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.entity.Rating;
+import com.fooddeliverysystem.service.CustomerFacade;
+
+/**
+ * CustomerFacade over the /api/customers endpoints of a separately deployed
+ * API.
+ */
+class RemoteCustomerFacade implements CustomerFacade {
+
+	private final RemoteApi api;
+
+	RemoteCustomerFacade(RemoteApi api) {
+		this.api = api;
+	}
+
+	@Override
+	public List<Customer> findAll() {
+		return api.get("/api/customers?view=full", new ParameterizedTypeReference<List<Customer>>() {
+		});
+	}
+
+	@Override
+	public Customer findById(int id) {
+		return api.get("/api/customers/" + id, Customer.class);
+	}
+
+	@Override
+	public Customer update(int id, CustomerDto customerDto) {
+		return api.put("/api/customers/" + id, customerDto, Customer.class);
+	}
+
+	@Override
+	public void deleteById(int id) {
+		api.delete("/api/customers/" + id);
+	}
+
+	@Override
+	public List<Order> findOrders(int id) {
+		return api.get("/api/customers/" + id + "/orders", new ParameterizedTypeReference<List<Order>>() {
+		});
+	}
+
+	@Override
+	public List<Rating> findReviews(int id) {
+		return api.get("/api/customers/" + id + "/reviews", new ParameterizedTypeReference<List<Rating>>() {
+		});
+	}
+
+	@Override
+	public void addFavorites(int id, ListOfRestaurantsDto listOfRestaurantsDto) {
+		api.post("/api/customers/" + id + "/favorites", listOfRestaurantsDto, String.class);
+	}
+
+	@Override
+	public void removeFavorite(int id, int restaurantId) {
+		api.delete("/api/customers/" + id + "/favorites/" + restaurantId);
+	}
+
+	@Override
+	public boolean isFavorite(int id, int restaurantId) {
+		return api.get("/api/customers/" + id + "/favorites/" + restaurantId, Boolean.class);
+	}
+
+	@Override
+	public List<RestaurantSummary> findFavorites(int id) {
+		return api.get("/api/customers/" + id + "/favorites",
+				new ParameterizedTypeReference<List<RestaurantSummary>>() {
+				});
+	}
+
+	@Override
+	public Map<Integer, List<RestaurantSummary>> findFavorites(Collection<Integer> ids) {
+		String customerIds = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+		return api.get("/api/customers/favorites?customerIds=" + customerIds,
+				new ParameterizedTypeReference<Map<Integer, List<RestaurantSummary>>>() {
+				});
+	}
+}
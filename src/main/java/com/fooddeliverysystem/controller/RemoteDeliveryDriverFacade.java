@@ -0,0 +1,39 @@
+package com.fooddeliverysystem.controller;
+
+import java.util.List;
+
+import org.springframework.core.ParameterizedTypeReference;
+
+import com.fooddeliverysystem.entity.DeliveryDriver;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.service.DeliveryDriverFacade;
+
+/**
+ * DeliveryDriverFacade over the /api/drivers endpoints of a separately
+ * deployed API.
+ */
+class RemoteDeliveryDriverFacade implements DeliveryDriverFacade {
+
+	private final RemoteApi api;
+
+	RemoteDeliveryDriverFacade(RemoteApi api) {
+		this.api = api;
+	}
+
+	@Override
+	public List<DeliveryDriver> findAll() {
+		return api.get("/api/drivers?view=full", new ParameterizedTypeReference<List<DeliveryDriver>>() {
+		});
+	}
+
+	@Override
+	public DeliveryDriver findById(int id) {
+		return api.get("/api/drivers/" + id, DeliveryDriver.class);
+	}
+
+	@Override
+	public List<Order> findOrders(int id) {
+		return api.get("/api/drivers/" + id + "/orders", new ParameterizedTypeReference<List<Order>>() {
+		});
+	}
+}
@@ -0,0 +1,85 @@
+package com.fooddeliverysystem.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.entity.DeliveryDriver;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.exception.NoDriverAvailableException;
+import com.fooddeliverysystem.service.OrderFacade;
+
+/**
+ * OrderFacade over the /api/orders endpoints of a separately deployed API.
+ */
+class RemoteOrderFacade implements OrderFacade {
+
+	private static final int PAGE_SIZE = 500;
+
+	private final RemoteApi api;
+
+	RemoteOrderFacade(RemoteApi api) {
+		this.api = api;
+	}
+
+	/**
+	 * Collects all orders by following the X-Next-Cursor header of the paged
+	 * /api/orders endpoint.
+	 */
+	@Override
+	public List<Order> findAll() {
+		List<Order> orders = new ArrayList<>();
+		String after = "0";
+		while (after != null) {
+			ResponseEntity<List<Order>> page = api.getEntity("/api/orders?after=" + after + "&limit=" + PAGE_SIZE,
+					new ParameterizedTypeReference<List<Order>>() {
+					});
+			if (page.getBody() != null) {
+				orders.addAll(page.getBody());
+			}
+			after = page.getHeaders().getFirst("X-Next-Cursor");
+		}
+		return orders;
+	}
+
+	@Override
+	public Order findById(int id) {
+		return api.get("/api/orders/" + id, Order.class);
+	}
+
+	@Override
+	public Order placeOrder(OrderDto orderDto) {
+		return api.post("/api/orders", orderDto, Order.class);
+	}
+
+	@Override
+	public Order changeStatus(int id, String orderStatus) {
+		OrderDto orderDto = new OrderDto();
+		orderDto.setOrderStatus(orderStatus);
+		return api.put("/api/orders/" + id + "/status", orderDto, Order.class);
+	}
+
+	@Override
+	public void deleteById(int id) {
+		api.delete("/api/orders/" + id);
+	}
+
+	@Override
+	public DeliveryDriver assignDriver(int orderId, int driverId) {
+		return api.put("/api/orders/" + orderId + "/assignDriver/" + driverId, null, DeliveryDriver.class);
+	}
+
+	@Override
+	public DeliveryDriver autoAssignDriver(int orderId) {
+		try {
+			return api.put("/api/orders/" + orderId + "/assignDriver/auto", null, DeliveryDriver.class);
+		} catch (HttpClientErrorException.Conflict e) {
+			// The API answers 409 when no driver can be assigned
+			throw new NoDriverAvailableException(e.getResponseBodyAsString());
+		}
+	}
+}
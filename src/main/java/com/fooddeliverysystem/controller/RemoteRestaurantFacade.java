@@ -0,0 +1,92 @@
+package com.fooddeliverysystem.controller;
+
+import java.util.List;
+
+import org.springframework.core.ParameterizedTypeReference;
+
+import com.fooddeliverysystem.dto.MenuItemDto;
+import com.fooddeliverysystem.dto.RatingSummary;
+import com.fooddeliverysystem.dto.RestaurantDto;
+import com.fooddeliverysystem.entity.DeliveryAddress;
+import com.fooddeliverysystem.entity.MenuItem;
+import com.fooddeliverysystem.entity.Rating;
+import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.service.RestaurantFacade;
+
+/**
+ * RestaurantFacade over the /api/restaurants endpoints of a separately
+ * deployed API.
+ */
+class RemoteRestaurantFacade implements RestaurantFacade {
+
+	private final RemoteApi api;
+
+	RemoteRestaurantFacade(RemoteApi api) {
+		this.api = api;
+	}
+
+	@Override
+	public List<Restaurant> findAll() {
+		return api.get("/api/restaurants?view=full", new ParameterizedTypeReference<List<Restaurant>>() {
+		});
+	}
+
+	@Override
+	public Restaurant findById(int id) {
+		return api.get("/api/restaurants/" + id, Restaurant.class);
+	}
+
+	@Override
+	public Restaurant create(RestaurantDto restaurantDto) {
+		return api.post("/api/restaurants", restaurantDto, Restaurant.class);
+	}
+
+	@Override
+	public Restaurant update(int id, RestaurantDto restaurantDto) {
+		return api.put("/api/restaurants/" + id, restaurantDto, Restaurant.class);
+	}
+
+	@Override
+	public void deleteById(int id) {
+		api.delete("/api/restaurants/" + id);
+	}
+
+	@Override
+	public List<MenuItem> findMenu(int id) {
+		return api.get("/api/restaurants/" + id + "/menu", new ParameterizedTypeReference<List<MenuItem>>() {
+		});
+	}
+
+	@Override
+	public MenuItem addMenuItem(int id, MenuItemDto menuItemDto) {
+		return api.post("/api/restaurants/" + id + "/menu", menuItemDto, MenuItem.class);
+	}
+
+	@Override
+	public MenuItem updateMenuItem(int id, int itemId, MenuItemDto menuItemDto) {
+		return api.put("/api/restaurants/" + id + "/menu/" + itemId, menuItemDto, MenuItem.class);
+	}
+
+	@Override
+	public void deleteMenuItem(int id, int itemId) {
+		api.delete("/api/restaurants/" + id + "/menu/" + itemId);
+	}
+
+	@Override
+	public List<Rating> findReviews(int id) {
+		return api.get("/api/restaurants/" + id + "/reviews", new ParameterizedTypeReference<List<Rating>>() {
+		});
+	}
+
+	@Override
+	public RatingSummary findRatingSummary(int id) {
+		return api.get("/api/restaurants/" + id + "/rating-summary", RatingSummary.class);
+	}
+
+	@Override
+	public List<DeliveryAddress> findDeliveryAreas(int id) {
+		return api.get("/api/restaurants/" + id + "/delivery-areas",
+				new ParameterizedTypeReference<List<DeliveryAddress>>() {
+				});
+	}
+}
@@ -4,9 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -15,36 +12,34 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
 import com.fooddeliverysystem.dto.MenuItemDto;
 import com.fooddeliverysystem.dto.RestaurantDto;
-import com.fooddeliverysystem.entity.DeliveryAddress;
 import com.fooddeliverysystem.entity.MenuItem;
-import com.fooddeliverysystem.entity.Rating;
 import com.fooddeliverysystem.entity.Restaurant;
-import com.fooddeliverysystem.service.CouponService;
 import com.fooddeliverysystem.service.MenuItemService;
-import com.fooddeliverysystem.service.OrderService;
 
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 
 @Controller
 @RequestMapping("/restaurant")
 public class RestaurantMvc {
 	private MenuItemService menuItemService;
-	private RestTemplate restTemplate = new RestTemplate();
+	private MvcFacades facades;
+	private PageAssembler pageAssembler;
 
 	@Autowired
-	public RestaurantMvc(MenuItemService menuItemService) {
+	public RestaurantMvc(MenuItemService menuItemService, MvcFacades facades, PageAssembler pageAssembler) {
 		super();
 		this.menuItemService = menuItemService;
+		this.facades = facades;
+		this.pageAssembler = pageAssembler;
 	}
 
 	@GetMapping
 	public String showRestaurantList(Model model) {
-		List<Restaurant> restaurants = restTemplate.getForObject("http://localhost:8080/api/restaurants", List.class);
+		List<Restaurant> restaurants = facades.restaurants().findAll();
 		model.addAttribute("restaurants", restaurants);
 		return "restaurant/restaurant-list";
 	}
@@ -52,17 +47,15 @@ public class RestaurantMvc {
 	@GetMapping("/search")
 	public String showRestaurantById(@RequestParam("id") int id, Model model) {
 		try {
-			ResponseEntity<Restaurant> response = restTemplate
-					.getForEntity("http://localhost:8080/api/restaurants/" + id, Restaurant.class);
+			Restaurant restaurant = facades.restaurants().findById(id);
 			List<Restaurant> restaurants = new ArrayList<>();
-			restaurants.add(response.getBody());
+			restaurants.add(restaurant);
 			model.addAttribute("restaurants", restaurants);
 			return "restaurant/restaurant-list";
-		} catch (HttpClientErrorException e) {
-			// Handle HTTP errors (4xx)
+		} catch (EntityNotFoundException e) {
+			// Handle an unknown restaurant
 			model.addAttribute("error", "Restaurant not found");
-			List<Restaurant> restaurants = restTemplate.getForObject("http://localhost:8080/api/restaurants",
-					List.class);
+			List<Restaurant> restaurants = facades.restaurants().findAll();
 			model.addAttribute("restaurants", restaurants);
 			return "restaurant/restaurant-list";
 		}
@@ -106,10 +99,9 @@ public class RestaurantMvc {
 			menuItems.add(menuItemDto);
 		}
 		restaurantDto.setMenuItems(menuItems);
-		Restaurant restaurant = restTemplate.postForObject("http://localhost:8080/api/restaurants", restaurantDto,
-				Restaurant.class);
+		Restaurant restaurant = facades.restaurants().create(restaurantDto);
 		model.addAttribute("restaurant", restaurant);
-		List<Restaurant> restaurants = restTemplate.getForObject("http://localhost:8080/api/restaurants", List.class);
+		List<Restaurant> restaurants = facades.restaurants().findAll();
 		model.addAttribute("restaurants", restaurants);
 		return "restaurant/restaurant-list";
 	}
@@ -143,23 +135,17 @@ public class RestaurantMvc {
 			menuItems.add(menuItemDto);
 		}
 		restaurantDto.setMenuItems(menuItems);
-		HttpEntity<RestaurantDto> requestEntity = new HttpEntity<>(restaurantDto);
-		// Make the PUT request and get the response as a Product
-		ResponseEntity<Restaurant> responseEntity = restTemplate.exchange(
-				"http://localhost:8080/api/restaurants/" + restaurantDto.getRestaurantId(), HttpMethod.PUT,
-				requestEntity, Restaurant.class);
-		// Extract the updated product from the response
-		Restaurant restaurant = responseEntity.getBody();
+		// Update the restaurant and its menu items
+		Restaurant restaurant = facades.restaurants().update(restaurantDto.getRestaurantId(), restaurantDto);
 		model.addAttribute("restaurant", restaurant);
-		List<Restaurant> restaurants = restTemplate.getForObject("http://localhost:8080/api/restaurants", List.class);
+		List<Restaurant> restaurants = facades.restaurants().findAll();
 		model.addAttribute("restaurants", restaurants);
 		return "restaurant/restaurant-list";
 	}
 
 	@GetMapping("/showUpdateFormForRestaurant")
 	public String showUpdateFormForRestaurant(@RequestParam("restaurantId") int restaurantId, Model model) {
-		Restaurant restaurant = restTemplate.getForObject("http://localhost:8080/api/restaurants/" + restaurantId,
-				Restaurant.class);
+		Restaurant restaurant = facades.restaurants().findById(restaurantId);
 		RestaurantDto restaurantDto = new RestaurantDto();
 		restaurantDto.setAddress(restaurant.getAddress());
 		List<Integer> itemIds = new ArrayList<>();
@@ -177,20 +163,14 @@ public class RestaurantMvc {
 
 	@GetMapping("/showMenuForRestaurant")
 	public String showMenuForRestaurant(@RequestParam("restaurantId") int restaurantId, Model model) {
-		List<MenuItem> menuItems = restTemplate
-				.getForObject("http://localhost:8080/api/restaurants/" + restaurantId + "/menu", List.class);
-		Restaurant restaurant = restTemplate.getForObject("http://localhost:8080/api/restaurants/" + restaurantId,
-				Restaurant.class);
-		model.addAttribute("restaurant", restaurant);
-		model.addAttribute("menuItems", menuItems);
-		model.addAttribute("restaurantId", restaurantId);
+		addMenu(restaurantId, model);
 		return "restaurant/menu-for-restaurant";
 	}
 
 	@GetMapping("/deleteRestaurant")
 	public String deleteRestaurant(@RequestParam("restaurantId") int restaurantId, Model model) {
-		restTemplate.delete("http://localhost:8080/api/restaurants/" + restaurantId);
-		List<Restaurant> restaurants = restTemplate.getForObject("http://localhost:8080/api/restaurants", List.class);
+		facades.restaurants().deleteById(restaurantId);
+		List<Restaurant> restaurants = facades.restaurants().findAll();
 		model.addAttribute("restaurants", restaurants);
 		return "restaurant/restaurant-list";
 	}
@@ -210,16 +190,9 @@ public class RestaurantMvc {
 			model.addAttribute("restaurantId", restaurantId);
 			return "restaurant/new-item-form-for-restaurant.html";
 		}
-		MenuItem menuItem = restTemplate.postForObject(
-				"http://localhost:8080/api/restaurants/" + restaurantId + "/menu", menuItemDto, MenuItem.class);
+		MenuItem menuItem = facades.restaurants().addMenuItem(restaurantId, menuItemDto);
 		model.addAttribute("menuItem", menuItem);
-		List<MenuItem> menuItems = restTemplate
-				.getForObject("http://localhost:8080/api/restaurants/" + restaurantId + "/menu", List.class);
-		Restaurant restaurant = restTemplate.getForObject("http://localhost:8080/api/restaurants/" + restaurantId,
-				Restaurant.class);
-		model.addAttribute("restaurant", restaurant);
-		model.addAttribute("menuItems", menuItems);
-		model.addAttribute("restaurantId", restaurantId);
+		addMenu(restaurantId, model);
 		return "restaurant/menu-for-restaurant";
 	}
 
@@ -232,24 +205,10 @@ public class RestaurantMvc {
 			model.addAttribute("restaurantId", restaurantId);
 			return "restaurant/new-item-form-for-restaurant-update-only.html";
 		}
-		// MenuItem menuItem =
-		// restTemplate.postForObject("http://localhost:8080/api/restaurants/" +
-		// restaurantId + "/menu", menuItemDto, MenuItem.class);
-		HttpEntity<MenuItemDto> requestEntity = new HttpEntity<>(menuItemDto);
-		// Make the PUT request and get the response as a Product
-		ResponseEntity<MenuItem> responseEntity = restTemplate.exchange(
-				"http://localhost:8080/api/restaurants/" + restaurantId + "/menu/" + itemId, HttpMethod.PUT,
-				requestEntity, MenuItem.class);
-		// Extract the updated product from the response
-		MenuItem menuItem = responseEntity.getBody();
+		// Update the menu item of the restaurant
+		MenuItem menuItem = facades.restaurants().updateMenuItem(restaurantId, itemId, menuItemDto);
 		model.addAttribute("menuItem", menuItem);
-		List<MenuItem> menuItems = restTemplate
-				.getForObject("http://localhost:8080/api/restaurants/" + restaurantId + "/menu", List.class);
-		Restaurant restaurant = restTemplate.getForObject("http://localhost:8080/api/restaurants/" + restaurantId,
-				Restaurant.class);
-		model.addAttribute("restaurant", restaurant);
-		model.addAttribute("menuItems", menuItems);
-		model.addAttribute("restaurantId", restaurantId);
+		addMenu(restaurantId, model);
 		return "restaurant/menu-for-restaurant";
 	}
 
@@ -270,36 +229,40 @@ public class RestaurantMvc {
 	@GetMapping("/deleteItem")
 	public String deleteItem(@RequestParam("restaurantId") int restaurantId, @RequestParam("itemId") int itemId,
 			Model model) {
-		restTemplate.delete("http://localhost:8080/api/restaurants/" + restaurantId + "/menu/" + itemId);
-		Restaurant restaurant = restTemplate.getForObject("http://localhost:8080/api/restaurants/" + restaurantId,
-				Restaurant.class);
-		List<MenuItem> menuItems = restTemplate
-				.getForObject("http://localhost:8080/api/restaurants/" + restaurantId + "/menu", List.class);
-		model.addAttribute("restaurant", restaurant);
-		model.addAttribute("menuItems", menuItems);
-		model.addAttribute("restaurantId", restaurantId);
+		facades.restaurants().deleteMenuItem(restaurantId, itemId);
+		addMenu(restaurantId, model);
 		return "restaurant/menu-for-restaurant";
 	}
 
 	@GetMapping("/showReviewsForRestaurant")
 	public String showReviewsForRestaurant(@RequestParam("restaurantId") int restaurantId, Model model) {
-		List<Rating> ratings = restTemplate
-				.getForObject("http://localhost:8080/api/restaurants/" + restaurantId + "/reviews", List.class);
-		Restaurant restaurant = restTemplate.getForObject("http://localhost:8080/api/restaurants/" + restaurantId,
-				Restaurant.class);
-		model.addAttribute("restaurant", restaurant);
-		model.addAttribute("ratings", ratings);
+		// Load the reviews and the restaurant in parallel
+		pageAssembler.newPage()
+				.load("ratings", () -> facades.restaurants().findReviews(restaurantId))
+				.load("restaurant", () -> facades.restaurants().findById(restaurantId))
+				.addTo(model);
 		return "restaurant/reviews-for-restaurant";
 	}
 
 	@GetMapping("/showDeliveryAreasForRestaurant")
 	public String showDeliveryAreasForRestaurant(@RequestParam("restaurantId") int restaurantId, Model model) {
-		List<DeliveryAddress> deliveryAddresses = restTemplate
-				.getForObject("http://localhost:8080/api/restaurants/" + restaurantId + "/delivery-areas", List.class);
-		Restaurant restaurant = restTemplate.getForObject("http://localhost:8080/api/restaurants/" + restaurantId,
-				Restaurant.class);
-		model.addAttribute("restaurant", restaurant);
-		model.addAttribute("deliveryAddresses", deliveryAddresses);
+		// Load the delivery areas and the restaurant in parallel
+		pageAssembler.newPage()
+				.load("deliveryAddresses", () -> facades.restaurants().findDeliveryAreas(restaurantId))
+				.load("restaurant", () -> facades.restaurants().findById(restaurantId))
+				.addTo(model);
 		return "restaurant/delivery-addresses-for-restaurant";
 	}
+
+	/**
+	 * Loads the menu of a restaurant and the restaurant itself in parallel for the
+	 * menu page.
+	 */
+	private void addMenu(int restaurantId, Model model) {
+		pageAssembler.newPage()
+				.load("menuItems", () -> facades.restaurants().findMenu(restaurantId))
+				.load("restaurant", () -> facades.restaurants().findById(restaurantId))
+				.addTo(model);
+		model.addAttribute("restaurantId", restaurantId);
+	}
 }
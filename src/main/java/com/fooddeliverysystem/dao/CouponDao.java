@@ -1,11 +1,24 @@
 package com.fooddeliverysystem.dao;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.fooddeliverysystem.entity.Coupon;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CouponDao extends JpaRepository<Coupon, Integer>{
-	
+
+	/**
+	 * Loads all coupons; the result is kept in the query cache until the coupons
+	 * table is written to.
+	 */
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<Coupon> findAll();
 }
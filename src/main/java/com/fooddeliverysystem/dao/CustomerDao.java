@@ -1,11 +1,41 @@
 package com.fooddeliverysystem.dao;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.fooddeliverysystem.dto.CustomerSummary;
 import com.fooddeliverysystem.entity.Customer;
 
 @Repository
 public interface CustomerDao extends JpaRepository<Customer, Integer> {
-	Customer findFirstByOrderByCustomerIdDesc();
+	List<Customer> findByCustomerIdGreaterThanOrderByCustomerIdAsc(int customerId, Limit limit);
+
+	/**
+	 * Loads the customer together with its orders in one statement.
+	 */
+	@EntityGraph(Customer.WITH_ORDERS_GRAPH)
+	Optional<Customer> findWithOrdersByCustomerId(int customerId);
+
+	String SUMMARY_SELECT = "select new com.fooddeliverysystem.dto.CustomerSummary(c.customerId, c.name, c.email, c.phone,"
+			+ " (select count(o) from Order o where o.customer = c)) from Customer c";
+
+	/**
+	 * Loads the summaries of all customers, ordered by ID, without loading their
+	 * orders or addresses.
+	 */
+	@Query(SUMMARY_SELECT + " order by c.customerId")
+	List<CustomerSummary> findAllSummaries();
+
+	/**
+	 * Loads the summaries of the customers after the given ID, ordered by ID.
+	 */
+	@Query(SUMMARY_SELECT + " where c.customerId > :after order by c.customerId")
+	List<CustomerSummary> findSummariesAfter(@Param("after") int after, Limit limit);
 }
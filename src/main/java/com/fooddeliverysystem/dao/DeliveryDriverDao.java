@@ -1,9 +1,48 @@
 package com.fooddeliverysystem.dao;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.fooddeliverysystem.dto.DeliveryDriverSummary;
 import com.fooddeliverysystem.entity.DeliveryDriver;
 
 public interface DeliveryDriverDao extends JpaRepository<DeliveryDriver, Integer> {
+	List<DeliveryDriver> findByDriverIdGreaterThanOrderByDriverIdAsc(int driverId, Limit limit);
+
+	/**
+	 * Loads the driver together with its orders in one statement.
+	 */
+	@EntityGraph(DeliveryDriver.WITH_ORDERS_GRAPH)
+	Optional<DeliveryDriver> findWithOrdersByDriverId(int driverId);
+
+	String SUMMARY_SELECT = "select new com.fooddeliverysystem.dto.DeliveryDriverSummary(d.driverId, d.name, d.phone, d.vehicle,"
+			+ " (select count(o) from Order o where o.deliveryDriver = d)) from DeliveryDriver d";
+
+	/**
+	 * Loads the summaries of all delivery drivers, ordered by ID, without loading
+	 * their orders.
+	 */
+	@Query(SUMMARY_SELECT + " order by d.driverId")
+	List<DeliveryDriverSummary> findAllSummaries();
+
+	/**
+	 * Loads the summaries of the delivery drivers after the given ID, ordered by
+	 * ID.
+	 */
+	@Query(SUMMARY_SELECT + " where d.driverId > :after order by d.driverId")
+	List<DeliveryDriverSummary> findSummariesAfter(@Param("after") int after, Limit limit);
 
+	/**
+	 * Returns which of the given IDs belong to existing delivery drivers, without
+	 * loading the drivers.
+	 */
+	@Query("select d.driverId from DeliveryDriver d where d.driverId in :ids")
+	List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,10 @@
+package com.fooddeliverysystem.dao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.fooddeliverysystem.entity.IdempotencyKey;
+
+@Repository
+public interface IdempotencyKeyDao extends JpaRepository<IdempotencyKey, String> {
+}
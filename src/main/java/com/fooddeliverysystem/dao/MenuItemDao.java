@@ -1,11 +1,34 @@
 package com.fooddeliverysystem.dao;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.fooddeliverysystem.dto.MenuItemSummary;
 import com.fooddeliverysystem.entity.MenuItem;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface MenuItemDao extends JpaRepository<MenuItem, Integer> {
-	MenuItem findFirstByOrderByItemIdDesc();
+	/**
+	 * Loads all menu items; the result is kept in the query cache until the
+	 * menuitems table is written to.
+	 */
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<MenuItem> findAll();
+
+	/**
+	 * Loads the menu of a restaurant, ordered by item ID, without loading the
+	 * menu item entities.
+	 */
+	@Query("select new com.fooddeliverysystem.dto.MenuItemSummary(m.itemId, m.name, m.description, m.price)"
+			+ " from MenuItem m where m.restaurant.restaurantId = :restaurantId order by m.itemId")
+	List<MenuItemSummary> findMenu(@Param("restaurantId") int restaurantId);
 }
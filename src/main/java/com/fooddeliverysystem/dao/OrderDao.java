@@ -1,11 +1,80 @@
 package com.fooddeliverysystem.dao;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.fooddeliverysystem.dto.DriverAssignment;
+import com.fooddeliverysystem.dto.ResourceVersion;
+import com.fooddeliverysystem.dto.UnassignedOrder;
 import com.fooddeliverysystem.entity.Order;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface OrderDao extends JpaRepository<Order, Integer> {
-	Order findFirstByOrderByOrderIdDesc();
+	/**
+	 * Loads all orders with their references and items in one statement; ratings
+	 * and coupons follow in batches.
+	 */
+	@Override
+	@EntityGraph(Order.WITH_ITEMS_GRAPH)
+	List<Order> findAll();
+
+	List<Order> findByOrderIdGreaterThanOrderByOrderIdAsc(int orderId, Limit limit);
+
+	/**
+	 * Streams all orders in ID order, with their customer, restaurant and driver
+	 * fetched in the same row. Rows are pulled from a server-side cursor a fetch
+	 * size at a time and loaded read-only, so Hibernate keeps no snapshots of them.
+	 * Must be consumed inside a transaction and closed afterwards.
+	 */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false") })
+	@Query("select o from Order o left join fetch o.customer left join fetch o.restaurant left join fetch o.deliveryDriver order by o.orderId")
+	Stream<Order> streamAllForExport();
+
+	/**
+	 * Loads the validators of an order from its version columns, the number of
+	 * its items and coupons and the count and latest modification of its
+	 * ratings, without loading any of them.
+	 */
+	@Query("select new com.fooddeliverysystem.dto.ResourceVersion(o.orderId, o.version, o.lastModified,"
+			+ " (select count(oi) from OrderItem oi where oi.order = o),"
+			+ " (select count(c) from Coupon c join c.orders co where co = o),"
+			+ " (select count(ra) from Rating ra where ra.order = o),"
+			+ " (select max(ra.lastModified) from Rating ra where ra.order = o))"
+			+ " from Order o where o.orderId = :id")
+	ResourceVersion findVersion(@Param("id") int id);
+
+	/**
+	 * Loads the driver of every order that has one and whose status is not among
+	 * the given ones, compared case-insensitively (pass them in lower case).
+	 */
+	@Query("select new com.fooddeliverysystem.dto.DriverAssignment(o.orderId, o.deliveryDriver.driverId)"
+			+ " from Order o where o.deliveryDriver is not null and lower(o.orderStatus) not in :finishedStatuses")
+	List<DriverAssignment> findActiveAssignments(@Param("finishedStatuses") Collection<String> finishedStatuses);
+
+	/**
+	 * Loads the oldest orders without a driver whose status is not among the
+	 * given ones (in lower case) and whose restaurant has a known position,
+	 * together with that position.
+	 */
+	@Query("select new com.fooddeliverysystem.dto.UnassignedOrder(o.orderId, r.latitude, r.longitude)"
+			+ " from Order o join o.restaurant r where o.deliveryDriver is null"
+			+ " and r.latitude is not null and r.longitude is not null"
+			+ " and lower(o.orderStatus) not in :finishedStatuses order by o.orderId")
+	List<UnassignedOrder> findUnassigned(@Param("finishedStatuses") Collection<String> finishedStatuses,
+			Pageable pageable);
 }
@@ -1,11 +1,23 @@
 package com.fooddeliverysystem.dao;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.fooddeliverysystem.entity.OrderItem;
+import com.fooddeliverysystem.service.OrderExportItem;
 
 @Repository
 public interface OrderItemDao extends JpaRepository<OrderItem, Integer> {
-	OrderItem findFirstByOrderByOrderItemIdDesc();
+	/**
+	 * Loads the items of the given orders as flat export rows, without loading
+	 * the order or menu item entities.
+	 */
+	@Query("select new com.fooddeliverysystem.service.OrderExportItem(oi.order.orderId, oi.orderItemId, oi.menuItem.itemId, oi.quantity)"
+			+ " from OrderItem oi where oi.order.orderId in :orderIds order by oi.orderItemId")
+	List<OrderExportItem> findExportItems(@Param("orderIds") Collection<Integer> orderIds);
 }
@@ -7,5 +7,4 @@ import com.fooddeliverysystem.entity.Rating;
 
 @Repository
 public interface RatingDao extends JpaRepository<Rating, Integer> {
-	Rating findFirstByOrderByRatingIdDesc();
 }
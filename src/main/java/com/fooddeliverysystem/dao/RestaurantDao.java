@@ -1,12 +1,88 @@
 package com.fooddeliverysystem.dao;
 
+import java.util.Collection;
+import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.fooddeliverysystem.dto.RatingSummary;
+import com.fooddeliverysystem.dto.ResourceVersion;
+import com.fooddeliverysystem.dto.RestaurantSummary;
 import com.fooddeliverysystem.entity.Restaurant;
 
 @Repository
 public interface RestaurantDao extends JpaRepository<Restaurant, Integer>{
-	Restaurant findFirstByOrderByRestaurantIdDesc();
+	List<Restaurant> findByRestaurantIdGreaterThanOrderByRestaurantIdAsc(int restaurantId, Limit limit);
+
+	String RATING_COLUMNS = "coalesce(a.ratingCount, 0L), coalesce(a.ratingSum, 0L), coalesce(a.oneStar, 0L),"
+			+ " coalesce(a.twoStars, 0L), coalesce(a.threeStars, 0L), coalesce(a.fourStars, 0L), coalesce(a.fiveStars, 0L)";
+
+	String RATING_JOIN = " from Restaurant r left join RatingAggregate a on a.restaurantId = r.restaurantId";
+
+	String SUMMARY_SELECT = "select new com.fooddeliverysystem.dto.RestaurantSummary(r.restaurantId, r.name, r.address, r.phone,"
+			+ " (select count(m) from MenuItem m where m.restaurant = r), " + RATING_COLUMNS + ")" + RATING_JOIN;
+
+	/**
+	 * Loads the summaries of all restaurants, ordered by ID, without loading
+	 * their orders, ratings or menu items.
+	 */
+	@Query(SUMMARY_SELECT + " order by r.restaurantId")
+	List<RestaurantSummary> findAllSummaries();
+
+	/**
+	 * Loads the summaries of the restaurants after the given ID, ordered by ID.
+	 */
+	@Query(SUMMARY_SELECT + " where r.restaurantId > :after order by r.restaurantId")
+	List<RestaurantSummary> findSummariesAfter(@Param("after") int after, Limit limit);
+
+	/**
+	 * Loads the summaries of the restaurants with the given IDs, ordered by ID.
+	 */
+	@Query(SUMMARY_SELECT + " where r.restaurantId in :ids order by r.restaurantId")
+	List<RestaurantSummary> findSummariesByIds(@Param("ids") Collection<Integer> ids);
+
+	/**
+	 * Loads the rating aggregates of a restaurant; all zero if it has not been
+	 * rated yet, null if it does not exist.
+	 */
+	@Query("select new com.fooddeliverysystem.dto.RatingSummary(r.restaurantId, " + RATING_COLUMNS + ")" + RATING_JOIN
+			+ " where r.restaurantId = :id")
+	RatingSummary findRatingSummary(@Param("id") int id);
+
+	/**
+	 * Returns which of the given IDs belong to existing restaurants, with one
+	 * query and without loading them.
+	 */
+	@Query("select r.restaurantId from Restaurant r where r.restaurantId in :ids")
+	List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+	/**
+	 * Loads the validators of a restaurant from its version columns and the
+	 * count and latest modification of its menu items, ratings and orders,
+	 * without loading any of them.
+	 */
+	@Query("select new com.fooddeliverysystem.dto.ResourceVersion(r.restaurantId, r.version, r.lastModified,"
+			+ " (select count(m) from MenuItem m where m.restaurant = r),"
+			+ " (select max(m.lastModified) from MenuItem m where m.restaurant = r),"
+			+ " (select count(ra) from Rating ra where ra.restaurant = r),"
+			+ " (select max(ra.lastModified) from Rating ra where ra.restaurant = r),"
+			+ " (select count(o) from Order o where o.restaurant = r),"
+			+ " (select max(o.lastModified) from Order o where o.restaurant = r))"
+			+ " from Restaurant r where r.restaurantId = :id")
+	ResourceVersion findVersion(@Param("id") int id);
+
+	/**
+	 * Loads the validators of the reviews of a restaurant from the count and
+	 * latest modification of its ratings, without loading them. The modification
+	 * time of the restaurant is included, as deleting a rating advances it.
+	 */
+	@Query("select new com.fooddeliverysystem.dto.ResourceVersion(r.restaurantId, r.lastModified,"
+			+ " (select count(ra) from Rating ra where ra.restaurant = r),"
+			+ " (select max(ra.lastModified) from Rating ra where ra.restaurant = r))"
+			+ " from Restaurant r where r.restaurantId = :id")
+	ResourceVersion findReviewsVersion(@Param("id") int id);
 }
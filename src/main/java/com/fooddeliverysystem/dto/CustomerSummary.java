@@ -0,0 +1,14 @@
+package com.fooddeliverysystem.dto;
+
+/**
+ * Read-only summary of a customer for list endpoints, built directly by a JPQL
+ * constructor expression so no orders or addresses are loaded.
+ *
+ * @param customerId The ID of the customer.
+ * @param name       The name of the customer.
+ * @param email      The email address of the customer.
+ * @param phone      The phone number of the customer.
+ * @param orderCount The number of orders the customer has placed.
+ */
+public record CustomerSummary(int customerId, String name, String email, String phone, long orderCount) {
+}
@@ -21,6 +21,9 @@ public class DeliveryDriverDto {
 	@NotBlank(message = "Location is mandatory")
 	@Size(min = 2, max = 30, message = "Name must be between 2 and 30 characters")
 	private String location;
+	// Position for the driver location index, both or neither
+	private Double latitude;
+	private Double longitude;
 	private List<OrderDto> orders;
 
 	public String getLocation() {
@@ -31,6 +34,22 @@ public class DeliveryDriverDto {
 		this.location = location;
 	}
 
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
+
 	public int getDeliveryDriverId() {
 		return deliveryDriverId;
 	}
@@ -0,0 +1,14 @@
+package com.fooddeliverysystem.dto;
+
+/**
+ * Read-only summary of a delivery driver for list endpoints, built directly by
+ * a JPQL constructor expression so no orders are loaded.
+ *
+ * @param driverId   The ID of the delivery driver.
+ * @param name       The name of the delivery driver.
+ * @param phone      The phone number of the delivery driver.
+ * @param vehicle    The vehicle of the delivery driver.
+ * @param orderCount The number of orders assigned to the driver.
+ */
+public record DeliveryDriverSummary(int driverId, String name, String phone, String vehicle, long orderCount) {
+}
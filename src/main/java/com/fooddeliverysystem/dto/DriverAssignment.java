@@ -0,0 +1,11 @@
+package com.fooddeliverysystem.dto;
+
+/**
+ * An order and the delivery driver assigned to it, built directly by a JPQL
+ * constructor expression so that the orders themselves are not loaded.
+ *
+ * @param orderId          The ID of the order.
+ * @param deliveryDriverId The ID of the delivery driver.
+ */
+public record DriverAssignment(int orderId, int deliveryDriverId) {
+}
@@ -0,0 +1,57 @@
+package com.fooddeliverysystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One position fix reported by a delivery driver's device, as sent in batches
+ * to POST /api/drivers/locations.
+ */
+public class DriverLocationPing {
+	private int deliveryDriverId;
+	private Double latitude;
+	private Double longitude;
+	// When the fix was taken; the time of arrival if missing
+	private LocalDateTime timestamp;
+
+	public DriverLocationPing() {
+	}
+
+	public DriverLocationPing(int deliveryDriverId, Double latitude, Double longitude, LocalDateTime timestamp) {
+		this.deliveryDriverId = deliveryDriverId;
+		this.latitude = latitude;
+		this.longitude = longitude;
+		this.timestamp = timestamp;
+	}
+
+	public int getDeliveryDriverId() {
+		return deliveryDriverId;
+	}
+
+	public void setDeliveryDriverId(int deliveryDriverId) {
+		this.deliveryDriverId = deliveryDriverId;
+	}
+
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
+
+	public LocalDateTime getTimestamp() {
+		return timestamp;
+	}
+
+	public void setTimestamp(LocalDateTime timestamp) {
+		this.timestamp = timestamp;
+	}
+}
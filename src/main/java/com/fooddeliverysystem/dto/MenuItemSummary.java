@@ -0,0 +1,14 @@
+package com.fooddeliverysystem.dto;
+
+/**
+ * Read-only entry of a restaurant menu, built directly by a JPQL constructor
+ * expression. It carries the fields a menu is made of and none of the order
+ * history of the item.
+ *
+ * @param itemId      The ID of the menu item.
+ * @param name        The name of the menu item.
+ * @param description The description of the menu item.
+ * @param price       The price of the menu item.
+ */
+public record MenuItemSummary(int itemId, String name, String description, double price) {
+}
@@ -0,0 +1,39 @@
+package com.fooddeliverysystem.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The rating aggregates of a restaurant, read from its row in
+ * restaurant_rating_aggregates rather than computed from its ratings.
+ *
+ * @param restaurantId The ID of the restaurant.
+ * @param count        The number of ratings.
+ * @param sum          The sum of all ratings.
+ * @param average      The average rating, or null if it has not been rated
+ *                     yet.
+ * @param histogram    The number of ratings of each star value from 1 to 5.
+ *                     Ratings outside that range count towards the total and
+ *                     the sum only.
+ */
+public record RatingSummary(int restaurantId, long count, long sum, Double average, Map<Integer, Long> histogram) {
+
+	/**
+	 * Builds the summary from the columns of the aggregate row, as selected by a
+	 * JPQL constructor expression.
+	 */
+	public RatingSummary(int restaurantId, long count, long sum, long oneStar, long twoStars, long threeStars,
+			long fourStars, long fiveStars) {
+		this(restaurantId, count, sum, count == 0 ? null : (double) sum / count,
+				histogram(oneStar, twoStars, threeStars, fourStars, fiveStars));
+	}
+
+	private static Map<Integer, Long> histogram(long... stars) {
+		Map<Integer, Long> histogram = new LinkedHashMap<>();
+		for (int i = 0; i < stars.length; i++) {
+			histogram.put(i + 1, stars[i]);
+		}
+		return Collections.unmodifiableMap(histogram);
+	}
+}
@@ -0,0 +1,96 @@
+package com.fooddeliverysystem.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * The validators of a resource for conditional GET requests, built directly by
+ * a JPQL constructor expression from the version columns of the entity and
+ * aggregates over the collections it is serialized with, so the entity graph
+ * itself is not loaded to answer If-None-Match or If-Modified-Since.
+ *
+ * The ETag is weak: it identifies the state of the data behind the resource,
+ * not the exact bytes of a response.
+ *
+ * @param etag         The weak ETag of the resource, with quotes.
+ * @param lastModified The latest modification time of the entity or any of its
+ *                     collections, or null if none was recorded.
+ */
+public record ResourceVersion(String etag, LocalDateTime lastModified) {
+
+	/**
+	 * Creates the version of an order from its own version and the state of its
+	 * items, coupons and ratings.
+	 */
+	public ResourceVersion(int orderId, long version, LocalDateTime lastModified, long itemCount, long couponCount,
+			long ratingCount, LocalDateTime ratingsLastModified) {
+		this(etagOf("order", orderId, version, lastModified, itemCount, couponCount, ratingCount, ratingsLastModified),
+				latest(lastModified, ratingsLastModified));
+	}
+
+	/**
+	 * Creates the version of a restaurant from its own version and the state of
+	 * its menu items, ratings and orders.
+	 */
+	public ResourceVersion(int restaurantId, long version, LocalDateTime lastModified, long menuItemCount,
+			LocalDateTime menuItemsLastModified, long ratingCount, LocalDateTime ratingsLastModified, long orderCount,
+			LocalDateTime ordersLastModified) {
+		this(etagOf("restaurant", restaurantId, version, lastModified, menuItemCount, menuItemsLastModified,
+				ratingCount, ratingsLastModified, orderCount, ordersLastModified),
+				latest(lastModified, menuItemsLastModified, ratingsLastModified, ordersLastModified));
+	}
+
+	/**
+	 * Creates the version of the reviews of a restaurant from the state of its
+	 * ratings and the modification time of the restaurant, which deleting a
+	 * rating advances.
+	 */
+	public ResourceVersion(int restaurantId, LocalDateTime lastModified, long ratingCount,
+			LocalDateTime ratingsLastModified) {
+		this(etagOf("reviews", restaurantId, lastModified, ratingCount, ratingsLastModified),
+				latest(lastModified, ratingsLastModified));
+	}
+
+	/**
+	 * Returns the last modification time in epoch milliseconds, as expected by
+	 * WebRequest.checkNotModified, or -1 if none was recorded.
+	 */
+	public long lastModifiedMillis() {
+		return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	/**
+	 * Hashes the given parts into a weak ETag; a change to any of them changes
+	 * the tag.
+	 */
+	private static String etagOf(Object... parts) {
+		StringBuilder state = new StringBuilder();
+		for (Object part : parts) {
+			state.append(part).append('|');
+		}
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(state.toString().getBytes(StandardCharsets.UTF_8));
+			return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	/**
+	 * Returns the latest of the given times, ignoring nulls.
+	 */
+	private static LocalDateTime latest(LocalDateTime... times) {
+		LocalDateTime latest = null;
+		for (LocalDateTime time : times) {
+			if (time != null && (latest == null || time.isAfter(latest))) {
+				latest = time;
+			}
+		}
+		return latest;
+	}
+}
@@ -2,6 +2,8 @@ package com.fooddeliverysystem.dto;
 
 import java.util.List;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -16,6 +18,12 @@ public class RestaurantDto {
 	@NotBlank(message = "Phone number is mandatory")
     @Size(min = 10, max = 11, message = "Phone number must be between 10-11 characters")
 	private String phone;
+	@DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+	@DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+	private Double latitude;
+	@DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+	@DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+	private Double longitude;
 	private List<MenuItemDto> menuItems;
 	
 	public int getRestaurantId() {
@@ -36,6 +44,18 @@ public class RestaurantDto {
 	public void setAddress(String address) {
 		this.address = address;
 	}
+	public Double getLatitude() {
+		return latitude;
+	}
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+	public Double getLongitude() {
+		return longitude;
+	}
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
 	public String getPhone() {
 		return phone;
 	}
@@ -0,0 +1,35 @@
+package com.fooddeliverysystem.dto;
+
+/**
+ * Read-only summary of a restaurant for list endpoints, built directly by a
+ * JPQL constructor expression so no orders, ratings or menu items are loaded.
+ *
+ * @param restaurantId  The ID of the restaurant.
+ * @param name          The name of the restaurant.
+ * @param address       The address of the restaurant.
+ * @param phone         The phone number of the restaurant.
+ * @param menuItemCount The number of items on the restaurant's menu.
+ * @param averageRating The average rating of the restaurant, or null if it has
+ *                      not been rated yet.
+ * @param ratings       The rating count, sum and star histogram of the
+ *                      restaurant.
+ */
+public record RestaurantSummary(int restaurantId, String name, String address, String phone, long menuItemCount,
+		Double averageRating, RatingSummary ratings) {
+
+	/**
+	 * Builds the summary from the restaurant columns and its rating aggregates,
+	 * as selected by a JPQL constructor expression.
+	 */
+	public RestaurantSummary(int restaurantId, String name, String address, String phone, long menuItemCount,
+			long ratingCount, long ratingSum, long oneStar, long twoStars, long threeStars, long fourStars,
+			long fiveStars) {
+		this(restaurantId, name, address, phone, menuItemCount, new RatingSummary(restaurantId, ratingCount,
+				ratingSum, oneStar, twoStars, threeStars, fourStars, fiveStars));
+	}
+
+	private RestaurantSummary(int restaurantId, String name, String address, String phone, long menuItemCount,
+			RatingSummary ratings) {
+		this(restaurantId, name, address, phone, menuItemCount, ratings.average(), ratings);
+	}
+}
@@ -0,0 +1,12 @@
+package com.fooddeliverysystem.dto;
+
+/**
+ * An order waiting for a delivery driver and where it is picked up, built
+ * directly by a JPQL constructor expression.
+ *
+ * @param orderId   The ID of the order.
+ * @param latitude  The latitude of its restaurant.
+ * @param longitude The longitude of its restaurant.
+ */
+public record UnassignedOrder(int orderId, Double latitude, Double longitude) {
+}
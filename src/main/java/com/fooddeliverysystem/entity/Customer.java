@@ -2,16 +2,27 @@ package com.fooddeliverysystem.entity;
 
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "customers")
+@NamedEntityGraph(name = Customer.WITH_ORDERS_GRAPH, attributeNodes = @NamedAttributeNode("orders"))
 public class Customer {
+	/**
+	 * Fetches the customer together with its orders in one join. The items,
+	 * ratings and coupons of the orders are then loaded in batches.
+	 */
+	public static final String WITH_ORDERS_GRAPH = "Customer.orders";
+
 	@Id
 	@Column(name = "customer_id")
 	private int customerId;
@@ -24,9 +35,11 @@ public class Customer {
 	private String phone;
 	
 	@OneToMany (mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 50)
 	private List<Order> orders;
 	
 	@OneToMany (mappedBy = "customer", cascade = CascadeType.ALL)
+	@BatchSize(size = 50)
 	private List<DeliveryAddress> addresses;
 	
 	public int getCustomerId() {
@@ -0,0 +1,85 @@
+package com.fooddeliverysystem.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * A restaurant in the favorites of a customer: one row of the join table
+ * behind the favorites store, which reads and writes it with plain JDBC.
+ */
+@Entity
+@Table(name = "customer_favorites")
+@IdClass(CustomerFavorite.Key.class)
+public class CustomerFavorite {
+	@Id
+	@Column(name = "customer_id")
+	private int customerId;
+
+	@Id
+	@Column(name = "restaurant_id")
+	private int restaurantId;
+
+	public CustomerFavorite() {
+	}
+
+	public CustomerFavorite(int customerId, int restaurantId) {
+		this.customerId = customerId;
+		this.restaurantId = restaurantId;
+	}
+
+	public int getCustomerId() {
+		return customerId;
+	}
+
+	public void setCustomerId(int customerId) {
+		this.customerId = customerId;
+	}
+
+	public int getRestaurantId() {
+		return restaurantId;
+	}
+
+	public void setRestaurantId(int restaurantId) {
+		this.restaurantId = restaurantId;
+	}
+
+	@Override
+	public String toString() {
+		return "CustomerFavorite [customerId=" + customerId + ", restaurantId=" + restaurantId + "]";
+	}
+
+	/**
+	 * The composite primary key of a favorite.
+	 */
+	public static class Key implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private int customerId;
+		private int restaurantId;
+
+		public Key() {
+		}
+
+		public Key(int customerId, int restaurantId) {
+			this.customerId = customerId;
+			this.restaurantId = restaurantId;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key key && key.customerId == customerId && key.restaurantId == restaurantId;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(customerId, restaurantId);
+		}
+	}
+}
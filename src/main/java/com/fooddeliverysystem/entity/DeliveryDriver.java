@@ -1,17 +1,29 @@
 package com.fooddeliverysystem.entity;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "deliverydrivers")
+@NamedEntityGraph(name = DeliveryDriver.WITH_ORDERS_GRAPH, attributeNodes = @NamedAttributeNode("orders"))
 public class DeliveryDriver {
+	/**
+	 * Fetches the driver together with its orders in one join. The items,
+	 * ratings and coupons of the orders are then loaded in batches.
+	 */
+	public static final String WITH_ORDERS_GRAPH = "DeliveryDriver.orders";
+
 	@Id
 	@Column(name = "driver_id")
 	private int driverId;
@@ -22,7 +34,15 @@ public class DeliveryDriver {
 	private String phone;
 	@Column(name = "driver_vehicle")
 	private String vehicle;
+	// Last known position, written in batches by the driver location flusher
+	@Column(name = "last_latitude")
+	private Double lastLatitude;
+	@Column(name = "last_longitude")
+	private Double lastLongitude;
+	@Column(name = "last_location_at")
+	private LocalDateTime lastLocationAt;
 	@OneToMany(mappedBy = "deliveryDriver", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 50)
 	private List<Order> orders;
 
 	public int getDriverId() {
@@ -57,6 +77,30 @@ public class DeliveryDriver {
 		this.vehicle = vehicle;
 	}
 
+	public Double getLastLatitude() {
+		return lastLatitude;
+	}
+
+	public void setLastLatitude(Double lastLatitude) {
+		this.lastLatitude = lastLatitude;
+	}
+
+	public Double getLastLongitude() {
+		return lastLongitude;
+	}
+
+	public void setLastLongitude(Double lastLongitude) {
+		this.lastLongitude = lastLongitude;
+	}
+
+	public LocalDateTime getLastLocationAt() {
+		return lastLocationAt;
+	}
+
+	public void setLastLocationAt(LocalDateTime lastLocationAt) {
+		this.lastLocationAt = lastLocationAt;
+	}
+
 	public List<Order> getOrders() {
 		return orders;
 	}
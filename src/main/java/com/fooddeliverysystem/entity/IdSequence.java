@@ -0,0 +1,47 @@
+package com.fooddeliverysystem.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "id_sequences")
+public class IdSequence {
+	@Id
+	@Column(name = "sequence_name")
+	private String sequenceName;
+
+	@Column(name = "next_val", nullable = false)
+	private int nextVal;
+
+	public IdSequence() {
+	}
+
+	public IdSequence(String sequenceName, int nextVal) {
+		this.sequenceName = sequenceName;
+		this.nextVal = nextVal;
+	}
+
+	public String getSequenceName() {
+		return sequenceName;
+	}
+
+	public void setSequenceName(String sequenceName) {
+		this.sequenceName = sequenceName;
+	}
+
+	public int getNextVal() {
+		return nextVal;
+	}
+
+	public void setNextVal(int nextVal) {
+		this.nextVal = nextVal;
+	}
+
+	@Override
+	public String toString() {
+		return "IdSequence [sequenceName=" + sequenceName + ", nextVal=" + nextVal + "]";
+	}
+
+}
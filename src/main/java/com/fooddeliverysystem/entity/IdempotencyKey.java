@@ -0,0 +1,61 @@
+package com.fooddeliverysystem.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyKey {
+	@Id
+	@Column(name = "idempotency_key")
+	private String key;
+
+	@Column(name = "order_id", nullable = false)
+	private int orderId;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	public IdempotencyKey() {
+	}
+
+	public IdempotencyKey(String key, int orderId, LocalDateTime createdAt) {
+		this.key = key;
+		this.orderId = orderId;
+		this.createdAt = createdAt;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public void setKey(String key) {
+		this.key = key;
+	}
+
+	public int getOrderId() {
+		return orderId;
+	}
+
+	public void setOrderId(int orderId) {
+		this.orderId = orderId;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	@Override
+	public String toString() {
+		return "IdempotencyKey [key=" + key + ", orderId=" + orderId + ", createdAt=" + createdAt + "]";
+	}
+
+}
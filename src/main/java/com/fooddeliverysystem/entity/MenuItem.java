@@ -1,9 +1,15 @@
 package com.fooddeliverysystem.entity;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,9 +18,12 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "menuitems")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class MenuItem {
 	@Id
 	@Column(name = "item_id")
@@ -35,6 +44,16 @@ public class MenuItem {
 	@OneToMany (mappedBy = "menuItem", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<OrderItem> orderItems;
 
+	@Version
+	@Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+	@JsonIgnore
+	private long version;
+
+	@UpdateTimestamp
+	@Column(name = "last_modified")
+	@JsonIgnore
+	private LocalDateTime lastModified;
+
 
 	public int getItemId() {
 		return itemId;
@@ -84,6 +103,22 @@ public class MenuItem {
 		this.orderItems = orderItems;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
+	public LocalDateTime getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(LocalDateTime lastModified) {
+		this.lastModified = lastModified;
+	}
+
 	@Override
 	public String toString() {
 		return "MenuItem [itemId=" + itemId + ", name=" + name + ", description=" + description + ", price=" + price
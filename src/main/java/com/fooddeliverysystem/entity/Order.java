@@ -3,6 +3,9 @@ package com.fooddeliverysystem.entity;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.CascadeType;
@@ -12,14 +15,30 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(name = Order.WITH_ITEMS_GRAPH, attributeNodes = { @NamedAttributeNode("customer"),
+		@NamedAttributeNode("restaurant"), @NamedAttributeNode("deliveryDriver"),
+		@NamedAttributeNode(value = "items", subgraph = "items") },
+		subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("menuItem")))
 public class Order {
+	/**
+	 * Fetches the order with its references and items in one join. Ratings and
+	 * coupons are left to batch fetching, since joining a second bag is not
+	 * possible.
+	 */
+	public static final String WITH_ITEMS_GRAPH = "Order.withItems";
+
+
 	@Id
 	@Column(name = "order_id")
 	private int orderId;
@@ -43,12 +62,15 @@ public class Order {
 	private DeliveryDriver deliveryDriver;
 
 	@OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 50)
 	private List<OrderItem> items;
 
 	@OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 50)
 	private List<Rating> ratings;
 
 	@ManyToMany(mappedBy = "orders", cascade = CascadeType.ALL)
+	@BatchSize(size = 50)
 	private List<Coupon> coupons;
 
 	@Column(name = "order_status")
@@ -56,6 +78,16 @@ public class Order {
 	@Size(min = 2, max = 10, message = "Order Status must be between 2 and 10 characters")
 	private String orderStatus;
 
+	@Version
+	@Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+	@JsonIgnore
+	private long version;
+
+	@UpdateTimestamp
+	@Column(name = "last_modified")
+	@JsonIgnore
+	private LocalDateTime lastModified;
+
 	public int getOrderId() {
 		return orderId;
 	}
@@ -128,4 +160,19 @@ public class Order {
 		this.coupons = coupons;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
+	public LocalDateTime getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(LocalDateTime lastModified) {
+		this.lastModified = lastModified;
+	}
 }
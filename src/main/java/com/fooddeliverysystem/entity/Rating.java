@@ -1,6 +1,8 @@
 package com.fooddeliverysystem.entity;
 
+import java.time.LocalDateTime;
 
+import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -11,6 +13,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "ratings")
@@ -34,6 +37,16 @@ public class Rating {
 	@Lob
 	private String review;
 
+	@Version
+	@Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+	@JsonIgnore
+	private long version;
+
+	@UpdateTimestamp
+	@Column(name = "last_modified")
+	@JsonIgnore
+	private LocalDateTime lastModified;
+
 	public int getRatingId() {
 		return ratingId;
 	}
@@ -74,6 +87,22 @@ public class Rating {
 		this.review = review;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
+	public LocalDateTime getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(LocalDateTime lastModified) {
+		this.lastModified = lastModified;
+	}
+
 	@Override
 	public String toString() {
 		return "Rating [ratingId=" + ratingId + ", rating=" + rating + ", review=" + review + "]";
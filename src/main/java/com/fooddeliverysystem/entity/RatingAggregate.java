@@ -0,0 +1,111 @@
+package com.fooddeliverysystem.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * The rating count, sum and star histogram of one restaurant, kept up to date
+ * with every rating written. The rating aggregate service changes the row with
+ * plain JDBC; the entity maps it for the summary queries.
+ */
+@Entity
+@Table(name = "restaurant_rating_aggregates")
+public class RatingAggregate {
+	@Id
+	@Column(name = "restaurant_id")
+	private int restaurantId;
+
+	@Column(name = "rating_count", nullable = false)
+	private long ratingCount;
+
+	@Column(name = "rating_sum", nullable = false)
+	private long ratingSum;
+
+	@Column(name = "one_star", nullable = false)
+	private long oneStar;
+
+	@Column(name = "two_stars", nullable = false)
+	private long twoStars;
+
+	@Column(name = "three_stars", nullable = false)
+	private long threeStars;
+
+	@Column(name = "four_stars", nullable = false)
+	private long fourStars;
+
+	@Column(name = "five_stars", nullable = false)
+	private long fiveStars;
+
+	public int getRestaurantId() {
+		return restaurantId;
+	}
+
+	public void setRestaurantId(int restaurantId) {
+		this.restaurantId = restaurantId;
+	}
+
+	public long getRatingCount() {
+		return ratingCount;
+	}
+
+	public void setRatingCount(long ratingCount) {
+		this.ratingCount = ratingCount;
+	}
+
+	public long getRatingSum() {
+		return ratingSum;
+	}
+
+	public void setRatingSum(long ratingSum) {
+		this.ratingSum = ratingSum;
+	}
+
+	public long getOneStar() {
+		return oneStar;
+	}
+
+	public void setOneStar(long oneStar) {
+		this.oneStar = oneStar;
+	}
+
+	public long getTwoStars() {
+		return twoStars;
+	}
+
+	public void setTwoStars(long twoStars) {
+		this.twoStars = twoStars;
+	}
+
+	public long getThreeStars() {
+		return threeStars;
+	}
+
+	public void setThreeStars(long threeStars) {
+		this.threeStars = threeStars;
+	}
+
+	public long getFourStars() {
+		return fourStars;
+	}
+
+	public void setFourStars(long fourStars) {
+		this.fourStars = fourStars;
+	}
+
+	public long getFiveStars() {
+		return fiveStars;
+	}
+
+	public void setFiveStars(long fiveStars) {
+		this.fiveStars = fiveStars;
+	}
+
+	@Override
+	public String toString() {
+		return "RatingAggregate [restaurantId=" + restaurantId + ", ratingCount=" + ratingCount + ", ratingSum="
+				+ ratingSum + "]";
+	}
+
+}
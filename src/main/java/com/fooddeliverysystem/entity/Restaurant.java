@@ -1,16 +1,27 @@
 package com.fooddeliverysystem.entity;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "restaurants")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Restaurant {
 	@Id
 	@Column(name = "restaurant_id")
@@ -22,6 +33,11 @@ public class Restaurant {
 	private String address;
 	@Column(name = "restaurant_phone")
 	private String phone;
+	// Where drivers pick orders up, used to dispatch the nearest driver
+	@Column(name = "restaurant_latitude")
+	private Double latitude;
+	@Column(name = "restaurant_longitude")
+	private Double longitude;
 	
 	@OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<Order> orders;
@@ -30,8 +46,19 @@ public class Restaurant {
 	private List<Rating> ratings;
 	
 	@OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	private List<MenuItem> menuItems;
 	
+	@Version
+	@Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+	@JsonIgnore
+	private long version;
+
+	@UpdateTimestamp
+	@Column(name = "last_modified")
+	@JsonIgnore
+	private LocalDateTime lastModified;
+	
 	public int getRestaurantId() {
 		return restaurantId;
 	}
@@ -56,6 +83,18 @@ public class Restaurant {
 	public void setPhone(String phone) {
 		this.phone = phone;
 	}
+	public Double getLatitude() {
+		return latitude;
+	}
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+	public Double getLongitude() {
+		return longitude;
+	}
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
 	public List<Order> getOrders() {
 		return orders;
 	}
@@ -74,6 +113,18 @@ public class Restaurant {
 	public void setMenuItems(List<MenuItem> menuItems) {
 		this.menuItems = menuItems;
 	}
+	public long getVersion() {
+		return version;
+	}
+	public void setVersion(long version) {
+		this.version = version;
+	}
+	public LocalDateTime getLastModified() {
+		return lastModified;
+	}
+	public void setLastModified(LocalDateTime lastModified) {
+		this.lastModified = lastModified;
+	}
 	@Override
 	public String toString() {
 		return "Restaurant [restaurantId=" + restaurantId + ", name=" + name + ", address=" + address + ", phone="
@@ -1,7 +1,11 @@
 package com.fooddeliverysystem.exception;
 
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
@@ -86,4 +90,122 @@ public class ExceptionHandler {
 	    // Return the response entity with error messages and HTTP status
 	    return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
 	}
+
+	/**
+	 * Handles exceptions of type QueueFullException.
+	 *
+	 * This method is invoked when a request cannot be queued because the queue is
+	 * at capacity. It tells the client to back off with HTTP status
+	 * TOO_MANY_REQUESTS (429) and a Retry-After hint.
+	 *
+	 * @param e The QueueFullException that was thrown.
+	 * @return A ResponseEntity containing a FoodDeliveryErrorResponse with error details and HTTP status TOO_MANY_REQUESTS (429).
+	 */
+	@org.springframework.web.bind.annotation.ExceptionHandler
+	public ResponseEntity<FoodDeliveryErrorResponse> handleQueueFull(QueueFullException e) {
+	    // Create an instance of FoodDeliveryErrorResponse to hold error details
+	    FoodDeliveryErrorResponse error = new FoodDeliveryErrorResponse();
+	    error.setStatus(HttpStatus.TOO_MANY_REQUESTS.value()); // Set the HTTP status code to 429
+	    error.setMessage(e.getMessage()); // Set the error message from the exception
+	    error.setTimeStamp(System.currentTimeMillis()); // Set the timestamp of when the error occurred
+
+	    // Ask the client to retry after a short pause
+	    HttpHeaders headers = new HttpHeaders();
+	    headers.add(HttpHeaders.RETRY_AFTER, "1");
+
+	    return new ResponseEntity<>(error, headers, HttpStatus.TOO_MANY_REQUESTS);
+	}
+
+	/**
+	 * Handles exceptions of type PageLoadTimeoutException.
+	 *
+	 * This method is invoked when a page could not load the data it needs within
+	 * its deadline. The client is told to retry with HTTP status
+	 * SERVICE_UNAVAILABLE (503).
+	 *
+	 * @param e The PageLoadTimeoutException that was thrown.
+	 * @return A ResponseEntity containing a FoodDeliveryErrorResponse with error details and HTTP status SERVICE_UNAVAILABLE (503).
+	 */
+	@org.springframework.web.bind.annotation.ExceptionHandler
+	public ResponseEntity<FoodDeliveryErrorResponse> handlePageLoadTimeout(PageLoadTimeoutException e) {
+	    // Create an instance of FoodDeliveryErrorResponse to hold error details
+	    FoodDeliveryErrorResponse error = new FoodDeliveryErrorResponse();
+	    error.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value()); // Set the HTTP status code to 503
+	    error.setMessage(e.getMessage()); // Set the error message from the exception
+	    error.setTimeStamp(System.currentTimeMillis()); // Set the timestamp of when the error occurred
+
+	    return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	/**
+	 * Handles exceptions of type OptimisticLockingFailureException.
+	 *
+	 * This method is invoked when an update is based on a version of an order,
+	 * restaurant, menu item or rating that another request has changed in the
+	 * meantime. The client is told to reload and retry with HTTP status CONFLICT
+	 * (409).
+	 *
+	 * @param e The OptimisticLockingFailureException that was thrown.
+	 * @return A ResponseEntity containing a FoodDeliveryErrorResponse with error details and HTTP status CONFLICT (409).
+	 */
+	@org.springframework.web.bind.annotation.ExceptionHandler
+	public ResponseEntity<FoodDeliveryErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+	    // Create an instance of FoodDeliveryErrorResponse to hold error details
+	    FoodDeliveryErrorResponse error = new FoodDeliveryErrorResponse();
+	    error.setStatus(HttpStatus.CONFLICT.value()); // Set the HTTP status code to 409
+	    error.setMessage("The resource was modified by another request, please reload and retry");
+	    error.setTimeStamp(System.currentTimeMillis()); // Set the timestamp of when the error occurred
+
+	    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+	}
+
+	/**
+	 * Handles exceptions of type CannotCreateTransactionException and
+	 * DataAccessResourceFailureException.
+	 *
+	 * This method is invoked when no database connection could be obtained in
+	 * time, typically because every connection of the pool is in use under load.
+	 * The client is told to retry shortly with HTTP status SERVICE_UNAVAILABLE
+	 * (503) and a Retry-After hint instead of an internal server error.
+	 *
+	 * @param e The exception that was thrown.
+	 * @return A ResponseEntity containing a FoodDeliveryErrorResponse with error details and HTTP status SERVICE_UNAVAILABLE (503).
+	 */
+	@org.springframework.web.bind.annotation.ExceptionHandler({ CannotCreateTransactionException.class,
+			DataAccessResourceFailureException.class })
+	public ResponseEntity<FoodDeliveryErrorResponse> handleDatabaseUnavailable(RuntimeException e) {
+	    // Create an instance of FoodDeliveryErrorResponse to hold error details
+	    FoodDeliveryErrorResponse error = new FoodDeliveryErrorResponse();
+	    error.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value()); // Set the HTTP status code to 503
+	    error.setMessage("The database is busy, please retry shortly");
+	    error.setTimeStamp(System.currentTimeMillis()); // Set the timestamp of when the error occurred
+
+	    // Ask the client to retry after a short pause
+	    HttpHeaders headers = new HttpHeaders();
+	    headers.add(HttpHeaders.RETRY_AFTER, "1");
+
+	    return new ResponseEntity<>(error, headers, HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	/**
+	 * Handles exceptions of type NoDriverAvailableException.
+	 *
+	 * This method is invoked when an order cannot be assigned a delivery driver
+	 * automatically. The request conflicts with the current state of the drivers,
+	 * so it is answered with HTTP status CONFLICT (409); a driver can still be
+	 * assigned by hand.
+	 *
+	 * @param e The NoDriverAvailableException that was thrown.
+	 * @return A ResponseEntity containing a FoodDeliveryErrorResponse with error details and HTTP status CONFLICT (409).
+	 */
+	@org.springframework.web.bind.annotation.ExceptionHandler
+	public ResponseEntity<FoodDeliveryErrorResponse> handleNoDriverAvailable(NoDriverAvailableException e) {
+	    // Create an instance of FoodDeliveryErrorResponse to hold error details
+	    FoodDeliveryErrorResponse error = new FoodDeliveryErrorResponse();
+	    error.setStatus(HttpStatus.CONFLICT.value()); // Set the HTTP status code to 409
+	    error.setMessage(e.getMessage()); // Set the error message from the exception
+	    error.setTimeStamp(System.currentTimeMillis()); // Set the timestamp of when the error occurred
+
+	    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+	}
 }
@@ -0,0 +1,20 @@
+package com.fooddeliverysystem.exception;
+
+/**
+ * Custom exception class signalling that no delivery driver can be assigned to
+ * an order automatically, because none is close enough and free, or because
+ * the restaurant of the order has no known position.
+ */
+public class NoDriverAvailableException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor for NoDriverAvailableException.
+	 *
+	 * @param message Why no driver could be assigned.
+	 */
+	public NoDriverAvailableException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,19 @@
+package com.fooddeliverysystem.exception;
+
+/**
+ * Custom exception class signalling that data a page cannot be rendered
+ * without was not loaded within the page deadline.
+ */
+public class PageLoadTimeoutException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor for PageLoadTimeoutException.
+	 *
+	 * @param message A description of the load that timed out.
+	 */
+	public PageLoadTimeoutException(String message) {
+		super(message);
+	}
+}
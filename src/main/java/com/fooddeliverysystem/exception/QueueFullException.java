@@ -0,0 +1,19 @@
+package com.fooddeliverysystem.exception;
+
+/**
+ * Custom exception class signalling that a bounded work queue cannot accept
+ * any more requests. Clients are expected to back off and retry.
+ */
+public class QueueFullException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor for QueueFullException.
+	 *
+	 * @param message A description of the queue that is full.
+	 */
+	public QueueFullException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,36 @@
+package com.fooddeliverysystem.rest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fooddeliverysystem.service.CacheStats;
+import com.fooddeliverysystem.service.CacheStatsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+	private CacheStatsService cacheStatsService;
+
+	@Autowired
+	public CacheController(CacheStatsService cacheStatsService) {
+		super();
+		this.cacheStatsService = cacheStatsService;
+	}
+
+	/**
+	 * Retrieves the hit and miss counters of the second-level and query caches.
+	 *
+	 * @return A ResponseEntity containing the cache statistics.
+	 */
+	@Operation(summary = "Cache statistics", description = "Retrieves the hit, miss and put counters of the second-level cache, the query cache and each cached entity and collection since startup.")
+	@GetMapping("/stats")
+	public ResponseEntity<CacheStats> getStats() {
+		return new ResponseEntity<>(cacheStatsService.getStats(), HttpStatus.OK);
+	}
+}
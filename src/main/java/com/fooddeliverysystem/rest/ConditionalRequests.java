@@ -0,0 +1,88 @@
+package com.fooddeliverysystem.rest;
+
+import java.util.Locale;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Helpers for conditional and content-negotiated GET requests: matching
+ * If-None-Match against an ETag, telling whether the client takes gzip and
+ * asking caches to revalidate.
+ */
+final class ConditionalRequests {
+
+	private ConditionalRequests() {
+	}
+
+	/**
+	 * Tells whether an If-None-Match header matches the current ETag, so the
+	 * response can be 304 Not Modified.
+	 *
+	 * The comparison is the weak one required for If-None-Match: a W/ prefix on
+	 * the client's tags is ignored, and * matches any current representation.
+	 *
+	 * @param ifNoneMatch The If-None-Match header, or null if absent.
+	 * @param etag        The ETag of the current representation, with quotes.
+	 * @return true if the client already holds the current representation.
+	 */
+	static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.equals("*")) {
+				return true;
+			}
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tells whether an Accept-Encoding header allows a gzip encoded response.
+	 *
+	 * @param acceptEncoding The Accept-Encoding header, or null if absent.
+	 * @return true if gzip (or *) is listed without q=0.
+	 */
+	static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+			String[] parts = coding.split(";");
+			String name = parts[0].trim();
+			if (!name.equals("gzip") && !name.equals("*")) {
+				continue;
+			}
+			boolean refused = false;
+			for (int i = 1; i < parts.length; i++) {
+				String param = parts[i].trim().replace(" ", "");
+				if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+					refused = true;
+				}
+			}
+			if (!refused) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns headers asking clients and caches to revalidate their copy on every
+	 * use, so polling is answered by the conditional request instead of by a
+	 * heuristic freshness lifetime derived from Last-Modified.
+	 */
+	static HttpHeaders revalidate() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setCacheControl(CacheControl.noCache());
+		return headers;
+	}
+}
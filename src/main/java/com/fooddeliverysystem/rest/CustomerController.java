@@ -1,14 +1,13 @@
 package com.fooddeliverysystem.rest;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,27 +17,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.fooddeliverysystem.dto.CustomerDto;
-import com.fooddeliverysystem.dto.DeliveryAddressDto;
 import com.fooddeliverysystem.dto.ListOfRestaurantsDto;
-import com.fooddeliverysystem.dto.RestaurantDto;
+import com.fooddeliverysystem.dto.RestaurantSummary;
 import com.fooddeliverysystem.entity.Customer;
-import com.fooddeliverysystem.entity.DeliveryAddress;
 import com.fooddeliverysystem.entity.Order;
 import com.fooddeliverysystem.entity.Rating;
-import com.fooddeliverysystem.entity.Restaurant;
 import com.fooddeliverysystem.exception.ValidationException;
+import com.fooddeliverysystem.service.CustomerFacade;
 import com.fooddeliverysystem.service.CustomerService;
-import com.fooddeliverysystem.service.DeliveryAddressService;
-import com.fooddeliverysystem.service.RestaurantService;
+import com.fooddeliverysystem.service.KeysetPage;
 
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.servlet.http.Cookie;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -47,33 +41,61 @@ public class CustomerController {
 
 	private static final Logger logger = LoggerFactory.getLogger(CustomerController.class);
 
+	// The most customers whose favorites one batch request may ask for
+	static final int MAX_FAVORITES_BATCH = 100;
+
 	private CustomerService customerService;
-	private DeliveryAddressService deliveryAddressService;
-	private RestaurantService restaurantService;
+	private CustomerFacade customerFacade;
 
 	@Autowired
-	public CustomerController(CustomerService customerService, DeliveryAddressService deliveryAddressService,
-			RestaurantService restaurantService) {
+	public CustomerController(CustomerService customerService, CustomerFacade customerFacade) {
 		super();
 		this.customerService = customerService;
-		this.deliveryAddressService = deliveryAddressService;
-		this.restaurantService = restaurantService;
+		this.customerFacade = customerFacade;
 	}
 
 	/**
-	 * Retrieves a list of all customers.
+	 * Retrieves a list of customers.
 	 *
-	 * @return A ResponseEntity containing a list of Customer objects and an HTTP
-	 *         status code.
+	 * By default each customer is returned as a CustomerSummary, which is built
+	 * in a single query and leaves the collections of the entity unloaded; pass
+	 * view=full for the complete Customer objects. Without paging parameters all
+	 * customers are returned. With after and/or limit one page ordered by ID is
+	 * returned, and the X-Next-Cursor header carries the after value of the next
+	 * page.
+	 *
+	 * @param after The ID after which the page starts (optional).
+	 * @param limit The maximum number of customers in the page (optional).
+	 * @param view  summary (default) or full.
+	 * @return A ResponseEntity containing a list of CustomerSummary or Customer
+	 *         objects and an HTTP status code.
 	 */
-	@Operation(summary = "Retrieve all customers", description = "Returns a list of all registered customers.")
+	@Operation(summary = "Retrieve all customers", description = "Returns a list of all registered customers. Summaries are returned by default; pass view=full for the complete objects including their collections. Pass after and limit to page through them by ID; the X-Next-Cursor header holds the after value of the next page.")
 	@GetMapping
-	public ResponseEntity<List<Customer>> findAll() {
-		// Log the method call
-		logger.info("findAll method called to retrieve all customers.");
+	public ResponseEntity<List<?>> findAll(@RequestParam(required = false) Integer after,
+			@RequestParam(required = false) Integer limit,
+			@RequestParam(defaultValue = ListView.DEFAULT) String view) {
+		ListView listView = ListView.parse(view);
+		if (after == null && limit == null) {
+			// Log the method call
+			logger.info("findAll method called to retrieve all customers ({} view).", view);
+
+			// Return the list of customers with HTTP status 200 (OK)
+			List<?> customers = listView == ListView.FULL ? customerService.findAll() : customerService.findAllSummaries();
+			return new ResponseEntity<>(customers, HttpStatus.OK);
+		}
 
-		// Return the list of customers with HTTP status 200 (OK)
-		return new ResponseEntity<>(customerService.findAll(), HttpStatus.OK);
+		// Validate the paging parameters and fetch one page by ID
+		KeysetPagination.validate(after, limit);
+		int pageSize = limit == null ? KeysetPagination.DEFAULT_LIMIT : limit;
+		logger.info("findAll method called to retrieve up to {} customers after ID {} ({} view).", pageSize, after, view);
+
+		int cursor = after == null ? 0 : after;
+		KeysetPage<?> page = listView == ListView.FULL ? customerService.findPage(cursor, pageSize)
+				: customerService.findSummaryPage(cursor, pageSize);
+
+		return new ResponseEntity<>(page.items(), KeysetPagination.headers(page, "/api/customers", pageSize, listView),
+				HttpStatus.OK);
 	}
 
 	/**
@@ -91,13 +113,7 @@ public class CustomerController {
 		// Log the method call with the customer ID
 		logger.info("findById method called for customer with ID: {}", id);
 
-		Customer customer = customerService.findById(id);
-
-		// Check if the customer is found
-		if (customer == null) {
-			logger.warn("Customer with ID {} not found.", id);
-			throw new EntityNotFoundException("Customer with ID " + id + " not found");
-		}
+		Customer customer = customerFacade.findById(id);
 
 		// Log the successful retrieval of the customer
 		logger.info("Customer with ID {} found.", id);
@@ -137,47 +153,8 @@ public class CustomerController {
 		// Log the method call with the customer ID
 		logger.info("updateCustomer method called for customer with ID: {}", id);
 
-		Customer customer = customerService.findById(id);
-
-		// Check if the customer is found
-		if (customer == null) {
-			logger.warn("Customer with ID {} not found.", id);
-			throw new EntityNotFoundException("Customer with ID " + id + " not found");
-		}
-
-		// Update customer details
-		customer.setEmail(customerDto.getEmail());
-		customer.setName(customerDto.getName());
-		customer.setPhone(customerDto.getPhone());
-
-		List<DeliveryAddress> addresses = new ArrayList<>();
-		for (DeliveryAddressDto deliveryAddressDto : customerDto.getAddresses()) {
-			DeliveryAddress deliveryAddress = deliveryAddressService.findById(deliveryAddressDto.getAddressId());
-
-			// Check if the delivery address is found
-			if (deliveryAddress == null) {
-				logger.warn("Delivery address with ID {} not found.", deliveryAddressDto.getAddressId());
-				throw new EntityNotFoundException(
-						"Delivery Address with ID " + deliveryAddressDto.getAddressId() + " not found");
-			}
-
-			// Update delivery address details
-			deliveryAddress.setAddressLine1(deliveryAddressDto.getAddressLine1());
-			deliveryAddress.setAddressLine2(deliveryAddressDto.getAddressLine2());
-			deliveryAddress.setCity(deliveryAddressDto.getCity());
-			deliveryAddress.setCustomer(customer);
-			deliveryAddress.setPostal(deliveryAddressDto.getPostal());
-			deliveryAddress.setState(deliveryAddressDto.getState());
-
-			addresses.add(deliveryAddress);
-			deliveryAddressService.save(deliveryAddress);
-		}
-
-		customer.setAddresses(addresses);
-
-		// Save the updated customer and log the success
-		Customer updatedCustomer = customerService.save(customer);
-		logger.info("Customer with ID {} updated successfully.", id);
+		// Update the customer and their delivery addresses
+		Customer updatedCustomer = customerFacade.update(id, customerDto);
 
 		return new ResponseEntity<>(updatedCustomer, HttpStatus.OK);
 	}
@@ -195,17 +172,8 @@ public class CustomerController {
 		// Log the method call with the customer ID
 		logger.info("deleteCustomer method called for customer with ID: {}", id);
 
-		Customer customer = customerService.findById(id);
-
-		// Check if the customer is found
-		if (customer == null) {
-			logger.warn("Customer with ID {} not found.", id);
-			throw new EntityNotFoundException("Customer with ID " + id + " not found");
-		}
-
-		// Delete the customer and log the success
-		customerService.deleteById(id);
-		logger.info("Customer with ID {} deleted successfully.", id);
+		// Delete the customer
+		customerFacade.deleteById(id);
 	}
 
 	/**
@@ -217,24 +185,18 @@ public class CustomerController {
 	 * @throws EntityNotFoundException if no customer is found with the specified
 	 *                                 ID.
 	 */
-	@Operation(summary = "Retrieve orders by customer ID", description = "Returns a list of orders associated with the customer having the specified ID.")
+	@Operation(summary = "Retrieve orders by customer ID", description = "Returns a list of orders associated with the customer having the specified ID. The customer and orders are fetched together, the order items, ratings and coupons in batches.")
 	@GetMapping("/{id}/orders")
 	public ResponseEntity<List<Order>> findOrdersByCustomerId(@PathVariable int id) {
 		// Log the method call with the customer ID
 		logger.info("findOrdersByCustomerId method called for customer with ID: {}", id);
 
-		Customer customer = customerService.findById(id);
-
-		// Check if the customer is found
-		if (customer == null) {
-			logger.warn("Customer with ID {} not found.", id);
-			throw new EntityNotFoundException("Customer with ID " + id + " not found");
-		}
+		List<Order> orders = customerFacade.findOrders(id);
 
 		// Log the successful retrieval of orders
 		logger.info("Orders retrieved for customer with ID: {}", id);
 
-		return new ResponseEntity<>(customer.getOrders(), HttpStatus.OK);
+		return new ResponseEntity<>(orders, HttpStatus.OK);
 	}
 
 	/**
@@ -252,17 +214,8 @@ public class CustomerController {
 		// Log the method call with the customer ID
 		logger.info("findRatingsByCustomerId method called for customer with ID: {}", id);
 
-		Customer customer = customerService.findById(id);
-
-		// Check if the customer is found
-		if (customer == null) {
-			logger.warn("Customer with ID {} not found.", id);
-			throw new EntityNotFoundException("Customer with ID " + id + " not found");
-		}
-
 		// Retrieve and collect ratings from the customer's orders
-		List<Rating> ratings = customer.getOrders().stream().flatMap(order -> order.getRatings().stream())
-				.collect(Collectors.toList());
+		List<Rating> ratings = customerFacade.findReviews(id);
 
 		// Log the successful retrieval of ratings
 		logger.info("Ratings retrieved for customer with ID: {}", id);
@@ -271,23 +224,19 @@ public class CustomerController {
 	}
 
 	/**
-	 * Adds a list of restaurants to the customer's favorites and updates the
-	 * cookie.
+	 * Adds a list of restaurants to the customer's favorites.
 	 *
 	 * @param id                   The ID of the customer to update.
-	 * @param request              The HTTP request containing the current cookies.
-	 * @param response             The HTTP response to set the updated cookie.
 	 * @param listOfRestaurantsDto The DTO containing the list of restaurants to add
 	 *                             to favorites.
 	 * @return A ResponseEntity with a success message and an HTTP status code.
 	 * @throws EntityNotFoundException if the customer or any restaurant is not
 	 *                                 found with the specified IDs.
 	 */
-	@Operation(summary = "Add restaurants to customer favorites", description = "Adds a list of restaurants to the customer's favorites and updates the corresponding cookie.")
+	@Operation(summary = "Add restaurants to customer favorites", description = "Adds a list of restaurants to the customer's favorites, which are stored on the server. Nothing is added if any of the restaurants does not exist.")
 	@PostMapping("/{id}/favorites")
-	public ResponseEntity<String> addRestaurantsToCustomerFavorites(@PathVariable int id, HttpServletRequest request,
-			HttpServletResponse response, @Valid @RequestBody ListOfRestaurantsDto listOfRestaurantsDto,
-			BindingResult bindingResult) {
+	public ResponseEntity<String> addRestaurantsToCustomerFavorites(@PathVariable int id,
+			@Valid @RequestBody ListOfRestaurantsDto listOfRestaurantsDto, BindingResult bindingResult) {
 
 		// Check if there are any validation errors in the binding result
 		if (bindingResult.hasErrors()) {
@@ -306,104 +255,93 @@ public class CustomerController {
 		// Log the method call with the customer ID
 		logger.info("addRestaurantsToCustomerFavorites method called for customer with ID: {}", id);
 
-		Customer customer = customerService.findById(id);
+		// Check the customer and restaurants and store the new favorites
+		customerFacade.addFavorites(id, listOfRestaurantsDto);
 
-		// Check if the customer is found
-		if (customer == null) {
-			logger.warn("Customer with ID {} not found.", id);
-			throw new EntityNotFoundException("Customer with ID " + id + " not found");
-		}
-
-		String restaurantIds = "";
-		for (RestaurantDto restaurantDto : listOfRestaurantsDto.getRestaurants()) {
-			Restaurant restaurant = restaurantService.findById(restaurantDto.getRestaurantId());
+		// Log the successful addition of favorite restaurants
+		logger.info("Customer's favorite restaurants updated successfully for customer ID: {}", id);
 
-			// Check if the restaurant is found
-			if (restaurant == null) {
-				logger.warn("Restaurant with ID {} not found.", restaurantDto.getRestaurantId());
-				throw new EntityNotFoundException(
-						"Restaurant with ID " + restaurantDto.getRestaurantId() + " not found");
-			}
+		return new ResponseEntity<>("Customer's favorite restaurants retrieved successfully.", HttpStatus.OK);
+	}
 
-			restaurantIds += restaurantDto.getRestaurantId() + "-";
-		}
+	/**
+	 * Retrieves the favorite restaurants of a customer.
+	 *
+	 * @param id The ID of the customer.
+	 * @return A ResponseEntity containing a list of RestaurantSummary objects and
+	 *         an HTTP status code.
+	 * @throws EntityNotFoundException if no customer is found with the specified
+	 *                                 ID.
+	 */
+	@Operation(summary = "Retrieve customer favorites", description = "Returns summaries of the customer's favorite restaurants, ordered by restaurant ID.")
+	@GetMapping("/{id}/favorites")
+	public ResponseEntity<List<RestaurantSummary>> findCustomerFavorites(@PathVariable int id) {
+		// Log the method call with the customer ID
+		logger.info("findCustomerFavorites method called for customer with ID: {}", id);
 
-		String retrievedRestaurants = "";
-		Cookie[] cookies = request.getCookies();
-		if (cookies != null) {
-			for (Cookie cookie : cookies) {
-				if (cookie.getName().equals("customer" + id + "Favorites")) {
-					retrievedRestaurants = cookie.getValue();
-					break;
-				}
-			}
-		}
+		return new ResponseEntity<>(customerFacade.findFavorites(id), HttpStatus.OK);
+	}
 
-		// Append new restaurant IDs to the existing ones
-		retrievedRestaurants += restaurantIds;
-		restaurantIds=retrievedRestaurants;
-		ResponseCookie cookie = ResponseCookie.from("customer" + id + "Favorites", retrievedRestaurants).httpOnly(true)
-				.path("/").sameSite("None").build();
+	/**
+	 * Checks whether a restaurant is one of the customer's favorites.
+	 *
+	 * @param id           The ID of the customer.
+	 * @param restaurantId The ID of the restaurant.
+	 * @return A ResponseEntity containing true if it is, and an HTTP status code.
+	 * @throws EntityNotFoundException if no customer is found with the specified
+	 *                                 ID.
+	 */
+	@Operation(summary = "Check a customer favorite", description = "Returns whether the restaurant is one of the customer's favorites.")
+	@GetMapping("/{id}/favorites/{restaurantId}")
+	public ResponseEntity<Boolean> isCustomerFavorite(@PathVariable int id, @PathVariable int restaurantId) {
+		return new ResponseEntity<>(customerFacade.isFavorite(id, restaurantId), HttpStatus.OK);
+	}
 
-		response.addHeader("Set-Cookie", cookie.toString());
+	/**
+	 * Retrieves the favorite restaurants of several customers with one request.
+	 *
+	 * @param customerIds The IDs of the customers, at most
+	 *                    {@value #MAX_FAVORITES_BATCH}.
+	 * @return A ResponseEntity containing the summaries of each customer's
+	 *         favorites by customer ID, and an HTTP status code.
+	 * @throws ValidationException if no or too many customer IDs are given.
+	 */
+	@Operation(summary = "Retrieve favorites of several customers", description = "Returns summaries of the favorite restaurants of each listed customer, keyed by customer ID. The restaurants of all customers are loaded with one query; a customer without favorites maps to an empty list.")
+	@GetMapping("/favorites")
+	public ResponseEntity<Map<Integer, List<RestaurantSummary>>> findFavoritesOfCustomers(
+			@RequestParam List<Integer> customerIds) {
+		if (customerIds.isEmpty() || customerIds.size() > MAX_FAVORITES_BATCH) {
+			throw new ValidationException(
+					List.of("customerIds must list between 1 and " + MAX_FAVORITES_BATCH + " customers"));
+		}
 
-		// Log the successful addition of favorite restaurants
-		logger.info("Customer's favorite restaurants updated successfully for customer ID: {}", id);
+		// Log the method call with the number of customers
+		logger.info("findFavoritesOfCustomers method called for {} customers.", customerIds.size());
 
-		return new ResponseEntity<>("Customer's favorite restaurants retrieved successfully.", HttpStatus.OK);
+		return new ResponseEntity<>(customerFacade.findFavorites(customerIds), HttpStatus.OK);
 	}
 
 	/**
-	 * Removes a restaurant from the customer's favorites and updates the cookie.
+	 * Removes a restaurant from the customer's favorites.
 	 *
 	 * @param restaurantId The ID of the restaurant to remove from favorites.
 	 * @param id           The ID of the customer.
-	 * @param request      The HTTP request containing the current cookies.
-	 * @param response     The HTTP response to set the updated cookie.
-	 * @return A ResponseEntity with a success message or an error message and an
-	 *         HTTP status code.
+	 * @return A ResponseEntity with a success message and an HTTP status code.
 	 * @throws EntityNotFoundException if the customer is not found with the
-	 *                                 specified ID.
+	 *                                 specified ID or the restaurant is not one of
+	 *                                 its favorites.
 	 */
-	@Operation(summary = "Remove restaurant from customer favorites", description = "Removes a specified restaurant from the customer's favorites and updates the corresponding cookie.")
+	@Operation(summary = "Remove restaurant from customer favorites", description = "Removes a specified restaurant from the customer's favorites.")
 	@DeleteMapping("/{id}/favorites/{restaurantId}")
 	public ResponseEntity<String> removeRestaurantFromCustomerFavorites(@PathVariable int restaurantId,
-			@PathVariable int id, HttpServletRequest request, HttpServletResponse response) {
+			@PathVariable int id) {
 
 		// Log the method call with the customer ID and restaurant ID
 		logger.info(
 				"removeRestaurantFromCustomerFavorites method called for customer with ID: {} and restaurant with ID: {}",
 				id, restaurantId);
 
-		Customer customer = customerService.findById(id);
-
-		// Check if the customer is found
-		if (customer == null) {
-			logger.warn("Customer with ID {} not found.", id);
-			throw new EntityNotFoundException("Customer with ID " + id + " not found");
-		}
-
-		String retrievedRestaurants = "";
-		Cookie[] cookies = request.getCookies();
-		if (cookies != null) {
-			for (Cookie cookie : cookies) {
-				if (cookie.getName().equals("customer" + id + "Favorites")) {
-					retrievedRestaurants = cookie.getValue();
-					break;
-				}
-			}
-		} else {
-			// Log if the cookie is not found
-			logger.warn("Customer's cookie was not found for customer ID: {}", id);
-			return new ResponseEntity<>("Customer's cookie was not found.", HttpStatus.NOT_FOUND);
-		}
-
-		// Remove the restaurant ID from the favorites list
-		String restaurantIds = retrievedRestaurants.replace(restaurantId + "-", "");
-		ResponseCookie cookie = ResponseCookie.from("customer" + id + "Favorites", restaurantIds).httpOnly(true)
-				.path("/").build();
-
-		response.addHeader("Set-Cookie", cookie.toString());
+		customerFacade.removeFavorite(id, restaurantId);
 
 		// Log the successful removal of the restaurant from favorites
 		logger.info("Restaurant with ID {} removed from customer's favorites successfully for customer ID: {}",
@@ -10,15 +10,26 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.fooddeliverysystem.dto.DeliveryDriverDto;
+import com.fooddeliverysystem.dto.DriverLocationPing;
 import com.fooddeliverysystem.entity.DeliveryDriver;
 import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.exception.ValidationException;
+import com.fooddeliverysystem.service.DeliveryDriverFacade;
 import com.fooddeliverysystem.service.DeliveryDriverService;
+import com.fooddeliverysystem.service.DriverLocation;
+import com.fooddeliverysystem.service.DriverLocationBatchResult;
+import com.fooddeliverysystem.service.DriverLocationIngestService;
+import com.fooddeliverysystem.service.DriverLocationService;
+import com.fooddeliverysystem.service.KeysetPage;
+import com.fooddeliverysystem.service.NearbyDriver;
 
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.persistence.EntityNotFoundException;
@@ -33,27 +44,63 @@ public class DeliveryDriverController {
 	private static final Logger logger = LoggerFactory.getLogger(DeliveryDriverController.class);
 
 	private DeliveryDriverService deliveryDriverService;
+	private DeliveryDriverFacade deliveryDriverFacade;
+	private DriverLocationService driverLocationService;
+	private DriverLocationIngestService driverLocationIngestService;
 
 	@Autowired
-	public DeliveryDriverController(DeliveryDriverService deliveryDriverService) {
+	public DeliveryDriverController(DeliveryDriverService deliveryDriverService,
+			DeliveryDriverFacade deliveryDriverFacade, DriverLocationService driverLocationService,
+			DriverLocationIngestService driverLocationIngestService) {
 		super();
 		this.deliveryDriverService = deliveryDriverService;
+		this.deliveryDriverFacade = deliveryDriverFacade;
+		this.driverLocationService = driverLocationService;
+		this.driverLocationIngestService = driverLocationIngestService;
 	}
 
 	/**
-	 * Retrieves all delivery drivers.
+	 * Retrieves a list of delivery drivers.
 	 *
-	 * @return A ResponseEntity containing a list of DeliveryDriver objects and an
-	 *         HTTP status code.
+	 * By default each delivery driver is returned as a DeliveryDriverSummary,
+	 * which is built in a single query and leaves the orders of the driver
+	 * unloaded; pass view=full for the complete DeliveryDriver objects. Without
+	 * paging parameters all delivery drivers are returned. With after and/or limit
+	 * one page ordered by ID is returned, and the X-Next-Cursor header carries the
+	 * after value of the next page.
+	 *
+	 * @param after The ID after which the page starts (optional).
+	 * @param limit The maximum number of delivery drivers in the page (optional).
+	 * @param view  summary (default) or full.
+	 * @return A ResponseEntity containing a list of DeliveryDriverSummary or
+	 *         DeliveryDriver objects and an HTTP status code.
 	 */
-	@Operation(summary = "Retrieve all delivery drivers", description = "Returns a list of all registered delivery drivers.")
+	@Operation(summary = "Retrieve all delivery drivers", description = "Returns a list of all registered delivery drivers. Summaries are returned by default; pass view=full for the complete objects including their collections. Pass after and limit to page through them by ID; the X-Next-Cursor header holds the after value of the next page.")
 	@GetMapping
-	public ResponseEntity<List<DeliveryDriver>> findAll() {
-		// Log the method call
-		logger.info("findAll method called to retrieve all delivery drivers.");
+	public ResponseEntity<List<?>> findAll(@RequestParam(required = false) Integer after,
+			@RequestParam(required = false) Integer limit,
+			@RequestParam(defaultValue = ListView.DEFAULT) String view) {
+		ListView listView = ListView.parse(view);
+		if (after == null && limit == null) {
+			// Log the method call
+			logger.info("findAll method called to retrieve all delivery drivers ({} view).", view);
+
+			// Return the list of delivery drivers with HTTP status 200 (OK)
+			List<?> deliveryDrivers = listView == ListView.FULL ? deliveryDriverService.findAll() : deliveryDriverService.findAllSummaries();
+			return new ResponseEntity<>(deliveryDrivers, HttpStatus.OK);
+		}
 
-		// Return the list of delivery drivers with HTTP status 200 (OK)
-		return new ResponseEntity<>(deliveryDriverService.findAll(), HttpStatus.OK);
+		// Validate the paging parameters and fetch one page by ID
+		KeysetPagination.validate(after, limit);
+		int pageSize = limit == null ? KeysetPagination.DEFAULT_LIMIT : limit;
+		logger.info("findAll method called to retrieve up to {} delivery drivers after ID {} ({} view).", pageSize, after, view);
+
+		int cursor = after == null ? 0 : after;
+		KeysetPage<?> page = listView == ListView.FULL ? deliveryDriverService.findPage(cursor, pageSize)
+				: deliveryDriverService.findSummaryPage(cursor, pageSize);
+
+		return new ResponseEntity<>(page.items(), KeysetPagination.headers(page, "/api/drivers", pageSize, listView),
+				HttpStatus.OK);
 	}
 
 	/**
@@ -71,13 +118,7 @@ public class DeliveryDriverController {
 		// Log the method call with the ID
 		logger.info("findById method called to retrieve delivery driver with ID: {}", id);
 
-		DeliveryDriver deliveryDriver = deliveryDriverService.findById(id);
-
-		// Check if the delivery driver is found
-		if (deliveryDriver == null) {
-			logger.warn("Delivery driver with ID {} not found.", id);
-			throw new EntityNotFoundException("Delivery Driver with ID " + id + " not found");
-		}
+		DeliveryDriver deliveryDriver = deliveryDriverFacade.findById(id);
 
 		logger.info("Delivery driver with ID {} found.", id);
 
@@ -86,8 +127,13 @@ public class DeliveryDriverController {
 	}
 
 	/**
-	 * Updates the location of a delivery driver by their ID and stores it in a
-	 * cookie.
+	 * Updates the location of a delivery driver by their ID.
+	 *
+	 * A latitude and longitude in the request body are stored in the driver
+	 * location index, where the nearest and nearby queries find them, and
+	 * written to the driver's last known position with the next flush. A
+	 * free-text location is stored in a cookie, as before. Devices reporting
+	 * often should send their fixes in batches to POST /api/drivers/locations.
 	 *
 	 * @param id                The ID of the delivery driver to update.
 	 * @param deliveryDriverDto The DTO containing the new location information.
@@ -97,8 +143,10 @@ public class DeliveryDriverController {
 	 *         HTTP status code.
 	 * @throws EntityNotFoundException if no delivery driver is found with the
 	 *                                 specified ID.
+	 * @throws ValidationException     if only one coordinate is given or a
+	 *                                 coordinate is out of range.
 	 */
-	@Operation(summary = "Update delivery driver location", description = "Updates the location of the specified delivery driver and stores it in a cookie.")
+	@Operation(summary = "Update delivery driver location", description = "Updates the location of the specified delivery driver. A latitude and longitude are stored in the driver location index used by the nearest and nearby queries; a free-text location is stored in a cookie.")
 	@PutMapping("/{id}/location")
 	public ResponseEntity<DeliveryDriver> updateLocation(@PathVariable int id,
 			@RequestBody DeliveryDriverDto deliveryDriverDto, BindingResult bindingResult,
@@ -107,15 +155,20 @@ public class DeliveryDriverController {
 		// Log the method call with the ID and new location
 		logger.info("updateLocation method called for delivery driver with ID: {}", id);
 
-		Cookie[] cookies = request.getCookies();
-		DeliveryDriver deliveryDriver = deliveryDriverService.findById(id);
+		DeliveryDriver deliveryDriver = deliveryDriverFacade.findById(id);
 
-		// Check if the delivery driver is found
-		if (deliveryDriver == null) {
-			logger.warn("Delivery driver with ID {} not found.", id);
-			throw new EntityNotFoundException("Delivery Driver with ID " + id + " not found");
+		// Index the position when coordinates are given
+		if (deliveryDriverDto.getLatitude() != null || deliveryDriverDto.getLongitude() != null) {
+			GeoQueries.validatePosition(deliveryDriverDto.getLatitude(), deliveryDriverDto.getLongitude());
+			driverLocationIngestService.record(id, deliveryDriverDto.getLatitude(), deliveryDriverDto.getLongitude());
+			logger.info("Indexed position of delivery driver with ID: {}", id);
 		}
 
+		if (deliveryDriverDto.getLocation() == null) {
+			return new ResponseEntity<>(deliveryDriver, HttpStatus.OK);
+		}
+
+		Cookie[] cookies = request.getCookies();
 		if (cookies != null) {
 			for (Cookie cookie : cookies) {
 				if (cookie.getName().equals("deliveryDriverId" + id + "Location")) {
@@ -135,6 +188,122 @@ public class DeliveryDriverController {
 		return new ResponseEntity<>(deliveryDriver, HttpStatus.OK);
 	}
 
+	/**
+	 * Stores a batch of location pings of any number of delivery drivers.
+	 *
+	 * The pings are stored in memory and in the driver location index right away;
+	 * the latest fix of each driver is written to the database with the next
+	 * periodic flush. Pings that are invalid or belong to unknown drivers are
+	 * dropped and listed in the response, without failing the rest of the batch.
+	 *
+	 * @param pings The pings, each with a driver ID, latitude, longitude and an
+	 *              optional timestamp.
+	 * @return A ResponseEntity containing the DriverLocationBatchResult and HTTP
+	 *         status ACCEPTED.
+	 * @throws ValidationException if the batch is empty or too large.
+	 */
+	@Operation(summary = "Report delivery driver locations in bulk", description = "Accepts up to 1000 location pings (deliveryDriverId, latitude, longitude, optional timestamp) of any drivers. The positions are indexed immediately and the latest fix of each driver is written to the database periodically. Invalid pings and pings of unknown drivers are listed in the response.")
+	@PostMapping("/locations")
+	public ResponseEntity<DriverLocationBatchResult> ingestLocations(@RequestBody List<DriverLocationPing> pings) {
+		GeoQueries.validateBatch(pings);
+		logger.debug("ingestLocations method called with {} pings", pings.size());
+
+		DriverLocationBatchResult result = driverLocationIngestService.ingest(pings);
+		if (result.rejected() > 0) {
+			logger.info("Rejected {} of {} driver location pings", result.rejected(), pings.size());
+		}
+
+		return new ResponseEntity<>(result, HttpStatus.ACCEPTED);
+	}
+
+	/**
+	 * Retrieves the most recent fixes of a delivery driver still held in memory.
+	 *
+	 * @param id The ID of the delivery driver.
+	 * @return A ResponseEntity containing the fixes, oldest first, and an HTTP
+	 *         status code.
+	 * @throws EntityNotFoundException if no delivery driver is found with the
+	 *                                 specified ID.
+	 */
+	@Operation(summary = "Retrieve recent delivery driver locations", description = "Returns the last few location fixes received for the delivery driver, oldest first.")
+	@GetMapping("/{id}/location/recent")
+	public ResponseEntity<List<DriverLocation>> findRecentLocations(@PathVariable int id) {
+		logger.info("findRecentLocations method called for delivery driver with ID: {}", id);
+
+		deliveryDriverFacade.findById(id);
+		return new ResponseEntity<>(driverLocationIngestService.findRecent(id), HttpStatus.OK);
+	}
+
+	/**
+	 * Retrieves the last indexed position of a delivery driver.
+	 *
+	 * @param id The ID of the delivery driver.
+	 * @return A ResponseEntity containing the DriverLocation and an HTTP status
+	 *         code.
+	 * @throws EntityNotFoundException if no delivery driver is found with the
+	 *                                 specified ID, or it has not reported a
+	 *                                 position recently.
+	 */
+	@Operation(summary = "Retrieve delivery driver location", description = "Returns the last latitude and longitude reported for the delivery driver, unless it is older than the configured maximum age.")
+	@GetMapping("/{id}/location")
+	public ResponseEntity<DriverLocation> findLocation(@PathVariable int id) {
+		logger.info("findLocation method called for delivery driver with ID: {}", id);
+
+		deliveryDriverFacade.findById(id);
+		DriverLocation location = driverLocationService.findById(id);
+		if (location == null) {
+			logger.warn("No current location for delivery driver with ID: {}", id);
+			throw new EntityNotFoundException("No current location for Delivery Driver with ID " + id);
+		}
+
+		return new ResponseEntity<>(location, HttpStatus.OK);
+	}
+
+	/**
+	 * Retrieves the delivery drivers closest to a point.
+	 *
+	 * @param latitude  The latitude of the point.
+	 * @param longitude The longitude of the point.
+	 * @param limit     The maximum number of drivers returned.
+	 * @return A ResponseEntity containing the drivers, closest first, and an HTTP
+	 *         status code.
+	 * @throws ValidationException if the point or limit is out of range.
+	 */
+	@Operation(summary = "Find the nearest delivery drivers", description = "Returns up to limit delivery drivers with a current position, closest to the given point first, with their distance in kilometres.")
+	@GetMapping("/nearest")
+	public ResponseEntity<List<NearbyDriver>> findNearest(@RequestParam(required = false) Double latitude,
+			@RequestParam(required = false) Double longitude,
+			@RequestParam(defaultValue = "" + GeoQueries.DEFAULT_LIMIT) int limit) {
+		GeoQueries.validateQuery(latitude, longitude, null, limit);
+		logger.info("findNearest method called for {} drivers around {}, {}", limit, latitude, longitude);
+
+		return new ResponseEntity<>(driverLocationService.findNearest(latitude, longitude, limit), HttpStatus.OK);
+	}
+
+	/**
+	 * Retrieves the delivery drivers within a distance of a point.
+	 *
+	 * @param latitude  The latitude of the point.
+	 * @param longitude The longitude of the point.
+	 * @param radiusKm  The maximum distance, in kilometres.
+	 * @param limit     The maximum number of drivers returned.
+	 * @return A ResponseEntity containing the drivers, closest first, and an HTTP
+	 *         status code.
+	 * @throws ValidationException if the point, radius or limit is out of range.
+	 */
+	@Operation(summary = "Find delivery drivers within a radius", description = "Returns up to limit delivery drivers with a current position within radiusKm kilometres of the given point, closest first, with their distance in kilometres.")
+	@GetMapping("/nearby")
+	public ResponseEntity<List<NearbyDriver>> findWithinRadius(@RequestParam(required = false) Double latitude,
+			@RequestParam(required = false) Double longitude, @RequestParam double radiusKm,
+			@RequestParam(defaultValue = "" + GeoQueries.DEFAULT_LIMIT) int limit) {
+		GeoQueries.validateQuery(latitude, longitude, radiusKm, limit);
+		logger.info("findWithinRadius method called for drivers within {} km of {}, {}", radiusKm, latitude,
+				longitude);
+
+		return new ResponseEntity<>(driverLocationService.findWithinRadius(latitude, longitude, radiusKm, limit),
+				HttpStatus.OK);
+	}
+
 	/**
 	 * Retrieves all orders for a specific delivery driver by their ID.
 	 *
@@ -150,17 +319,11 @@ public class DeliveryDriverController {
 		// Log the method call with the delivery driver ID
 		logger.info("findOrdersByDeliveryDriver method called for delivery driver with ID: {}", id);
 
-		DeliveryDriver deliveryDriver = deliveryDriverService.findById(id);
-
-		// Check if the delivery driver is found
-		if (deliveryDriver == null) {
-			logger.warn("Delivery driver with ID {} not found.", id);
-			throw new EntityNotFoundException("Delivery Driver with ID " + id + " not found");
-		}
+		List<Order> orders = deliveryDriverFacade.findOrders(id);
 
 		// Log the successful retrieval of orders
 		logger.info("Orders retrieved for delivery driver with ID: {}", id);
 
-		return new ResponseEntity<>(deliveryDriver.getOrders(), HttpStatus.OK);
+		return new ResponseEntity<>(orders, HttpStatus.OK);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.fooddeliverysystem.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fooddeliverysystem.exception.ValidationException;
+
+/**
+ * Request conventions shared by the driver location endpoints: coordinates in
+ * degrees, distances in kilometres and a bounded number of results and pings.
+ */
+final class GeoQueries {
+
+	static final int DEFAULT_LIMIT = 10;
+	static final int MAX_LIMIT = 100;
+	static final double MAX_RADIUS_KM = 100;
+	static final int MAX_BATCH_SIZE = 1000;
+
+	private GeoQueries() {
+	}
+
+	/**
+	 * Validates a position given as latitude and longitude.
+	 *
+	 * @throws ValidationException if a coordinate is missing or out of range.
+	 */
+	static void validatePosition(Double latitude, Double longitude) {
+		List<String> errors = new ArrayList<>();
+		addPositionErrors(latitude, longitude, errors);
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors);
+		}
+	}
+
+	/**
+	 * Validates the parameters of a location query; the radius is only checked
+	 * when given.
+	 *
+	 * @throws ValidationException if the point, radius or limit is out of range.
+	 */
+	static void validateQuery(Double latitude, Double longitude, Double radiusKm, int limit) {
+		List<String> errors = new ArrayList<>();
+		addPositionErrors(latitude, longitude, errors);
+		if (radiusKm != null && !(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+			errors.add("radiusKm must be greater than 0 and at most " + MAX_RADIUS_KM);
+		}
+		if (limit < 1 || limit > MAX_LIMIT) {
+			errors.add("limit must be between 1 and " + MAX_LIMIT);
+		}
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors);
+		}
+	}
+
+	/**
+	 * Validates the size of a batch of location pings.
+	 *
+	 * @throws ValidationException if the batch is missing, empty or too large.
+	 */
+	static void validateBatch(List<?> pings) {
+		if (pings == null || pings.isEmpty() || pings.size() > MAX_BATCH_SIZE) {
+			throw new ValidationException(List.of("A batch must hold between 1 and " + MAX_BATCH_SIZE + " pings"));
+		}
+	}
+
+	private static void addPositionErrors(Double latitude, Double longitude, List<String> errors) {
+		if (latitude == null || !(latitude >= -90 && latitude <= 90)) {
+			errors.add("latitude must be between -90 and 90");
+		}
+		if (longitude == null || !(longitude >= -180 && longitude <= 180)) {
+			errors.add("longitude must be between -180 and 180");
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.fooddeliverysystem.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+
+import com.fooddeliverysystem.exception.ValidationException;
+import com.fooddeliverysystem.service.KeysetPage;
+
+/**
+ * Request and response conventions shared by the keyset paginated list
+ * endpoints: {@code ?after=<last id>&limit=<page size>} in, the cursor of the
+ * next page out in the X-Next-Cursor header and as a Link rel="next".
+ */
+final class KeysetPagination {
+
+	static final int DEFAULT_LIMIT = 50;
+	static final int MAX_LIMIT = 500;
+	static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+	private KeysetPagination() {
+	}
+
+	/**
+	 * Validates the paging parameters of a list request.
+	 *
+	 * @throws ValidationException if the cursor is negative or the limit is out
+	 *                             of range.
+	 */
+	static void validate(Integer after, Integer limit) {
+		List<String> errors = new ArrayList<>();
+		if (after != null && after < 0) {
+			errors.add("after must not be negative");
+		}
+		if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+			errors.add("limit must be between 1 and " + MAX_LIMIT);
+		}
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors);
+		}
+	}
+
+	/**
+	 * Builds the response headers pointing at the next page, if there is one.
+	 *
+	 * @param page  The page being returned.
+	 * @param path  The path of the list endpoint, e.g. /api/restaurants.
+	 * @param limit The page size of the request.
+	 * @return The headers, empty on the last page.
+	 */
+	static HttpHeaders headers(KeysetPage<?> page, String path, int limit) {
+		return headers(page, path, limit, ListView.SUMMARY);
+	}
+
+	/**
+	 * Builds the response headers pointing at the next page, if there is one,
+	 * keeping a full view in the link to the next page.
+	 *
+	 * @param page  The page being returned.
+	 * @param path  The path of the list endpoint, e.g. /api/restaurants.
+	 * @param limit The page size of the request.
+	 * @param view  The view of the request.
+	 * @return The headers, empty on the last page.
+	 */
+	static HttpHeaders headers(KeysetPage<?> page, String path, int limit, ListView view) {
+		HttpHeaders headers = new HttpHeaders();
+		if (page.nextCursor() != null) {
+			String viewParam = view == ListView.FULL ? "&view=full" : "";
+			headers.add(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+			headers.add(HttpHeaders.LINK, "<" + path + "?after=" + page.nextCursor() + "&limit=" + limit + viewParam
+					+ ">; rel=\"next\"");
+		}
+		return headers;
+	}
+}
@@ -0,0 +1,30 @@
+package com.fooddeliverysystem.rest;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.fooddeliverysystem.exception.ValidationException;
+
+/**
+ * The representation returned by a list endpoint, chosen with
+ * {@code ?view=summary|full}. Summaries are the default; the full entity graph,
+ * with all of its collections, has to be asked for explicitly.
+ */
+enum ListView {
+	SUMMARY, FULL;
+
+	static final String DEFAULT = "summary";
+
+	/**
+	 * Parses the view parameter of a list request.
+	 *
+	 * @throws ValidationException if the value is neither summary nor full.
+	 */
+	static ListView parse(String value) {
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new ValidationException(List.of("view must be one of summary, full"));
+		}
+	}
+}
@@ -1,12 +1,15 @@
 package com.fooddeliverysystem.rest;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -16,30 +19,35 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.fooddeliverysystem.dto.CouponDto;
 import com.fooddeliverysystem.dto.OrderDto;
-import com.fooddeliverysystem.dto.OrderItemDto;
-import com.fooddeliverysystem.dto.RatingDto;
-import com.fooddeliverysystem.entity.Coupon;
-import com.fooddeliverysystem.entity.Customer;
+import com.fooddeliverysystem.dto.ResourceVersion;
 import com.fooddeliverysystem.entity.DeliveryDriver;
-import com.fooddeliverysystem.entity.MenuItem;
 import com.fooddeliverysystem.entity.Order;
-import com.fooddeliverysystem.entity.OrderItem;
-import com.fooddeliverysystem.entity.Rating;
-import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.exception.NoDriverAvailableException;
+import com.fooddeliverysystem.exception.QueueFullException;
 import com.fooddeliverysystem.exception.ValidationException;
-import com.fooddeliverysystem.service.CouponService;
-import com.fooddeliverysystem.service.CustomerService;
-import com.fooddeliverysystem.service.DeliveryDriverService;
-import com.fooddeliverysystem.service.MenuItemService;
-import com.fooddeliverysystem.service.OrderItemService;
+import com.fooddeliverysystem.service.DispatchOptimizerService;
+import com.fooddeliverysystem.service.DispatchTickStats;
+import com.fooddeliverysystem.service.IdempotencyService;
+import com.fooddeliverysystem.service.KeysetPage;
+import com.fooddeliverysystem.service.OrderFacade;
+import com.fooddeliverysystem.service.OrderExportFormat;
+import com.fooddeliverysystem.service.OrderExportService;
+import com.fooddeliverysystem.service.OrderImportReport;
+import com.fooddeliverysystem.service.OrderImportService;
+import com.fooddeliverysystem.service.OrderIntakeService;
+import com.fooddeliverysystem.service.OrderIntakeStats;
+import com.fooddeliverysystem.service.OrderPlacementResult;
+import com.fooddeliverysystem.service.OrderPlacementService;
 import com.fooddeliverysystem.service.OrderService;
-import com.fooddeliverysystem.service.RatingService;
-import com.fooddeliverysystem.service.RestaurantService;
+import com.fooddeliverysystem.service.OrderTicket;
 
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.persistence.EntityNotFoundException;
@@ -50,43 +58,55 @@ import jakarta.validation.Valid;
 public class OrderController {
 
 	private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
+
+	private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+	private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+	private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+	private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
 	private OrderService orderService;
-	private CustomerService customerService;
-	private RestaurantService restaurantService;
-	private DeliveryDriverService deliveryDriverService;
-	private MenuItemService menuItemService;
-	private OrderItemService orderItemService;
-	private RatingService ratingService;
-	private CouponService couponService;
+	private OrderFacade orderFacade;
+	private OrderPlacementService orderPlacementService;
+	private IdempotencyService idempotencyService;
+	private OrderIntakeService orderIntakeService;
+	private OrderImportService orderImportService;
+	private OrderExportService orderExportService;
+	private DispatchOptimizerService dispatchOptimizerService;
 
 	@Autowired
-	public OrderController(OrderService orderService, CustomerService customerService,
-			RestaurantService restaurantService, DeliveryDriverService deliveryDriverService,
-			MenuItemService menuItemService, OrderItemService orderItemService, RatingService ratingService,
-			CouponService couponService) {
+	public OrderController(OrderService orderService, OrderFacade orderFacade,
+			OrderPlacementService orderPlacementService, IdempotencyService idempotencyService,
+			OrderIntakeService orderIntakeService, OrderImportService orderImportService,
+			OrderExportService orderExportService, DispatchOptimizerService dispatchOptimizerService) {
 		super();
 		this.orderService = orderService;
-		this.customerService = customerService;
-		this.restaurantService = restaurantService;
-		this.deliveryDriverService = deliveryDriverService;
-		this.menuItemService = menuItemService;
-		this.orderItemService = orderItemService;
-		this.ratingService = ratingService;
-		this.couponService = couponService;
+		this.orderFacade = orderFacade;
+		this.orderPlacementService = orderPlacementService;
+		this.idempotencyService = idempotencyService;
+		this.orderIntakeService = orderIntakeService;
+		this.orderImportService = orderImportService;
+		this.orderExportService = orderExportService;
+		this.dispatchOptimizerService = dispatchOptimizerService;
 	}
 
 	/**
 	 * Adds a new order based on the provided order data transfer object.
 	 *
-	 * @param orderDto The DTO containing the order details.
+	 * When an Idempotency-Key header is sent, the order is placed at most once per
+	 * key: retries return the originally created order with an
+	 * Idempotent-Replayed header instead of creating a duplicate.
+	 *
+	 * @param orderDto       The DTO containing the order details.
+	 * @param idempotencyKey The optional client supplied key of the request.
 	 * @return A ResponseEntity containing the created order and an HTTP status
 	 *         code.
 	 * @throws EntityNotFoundException if the customer, restaurant, menu item, or
 	 *                                 coupon is not found with the specified IDs.
 	 */
-	@Operation(summary = "Add a new order", description = "Creates a new order with the specified customer, restaurant, menu items, and ratings.")
+	@Operation(summary = "Add a new order", description = "Creates a new order with the specified customer, restaurant, menu items, and ratings in a single transaction. The Server-Timing response header carries the latency breakdown of the placement. Requests carrying an Idempotency-Key header create at most one order per key.")
 	@PostMapping
-	public ResponseEntity<Order> addOrder(@Valid @RequestBody OrderDto orderDto, BindingResult bindingResult) {
+	public ResponseEntity<Order> addOrder(@Valid @RequestBody OrderDto orderDto, BindingResult bindingResult,
+			@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
 		// Check if there are any validation errors in the binding result
 		if (bindingResult.hasErrors()) {
@@ -102,120 +122,242 @@ public class OrderController {
 			throw new ValidationException(errors);
 		}
 
+		// Reject keys that do not fit the idempotency_keys table
+		if (idempotencyKey != null
+				&& (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+			throw new ValidationException(List.of(
+					"Idempotency-Key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters"));
+		}
+
 		// Log the method call
 		logger.info("addOrder method called with order data for customer ID: {}",
 				orderDto.getCustomer().getCustomerId());
 
-		Order order = new Order();
-		Customer customer = customerService.findById(orderDto.getCustomer().getCustomerId());
+		// Place the order, its items, ratings and coupon links in one transaction,
+		// at most once per idempotency key when the client sent one
+		OrderPlacementResult result = idempotencyKey == null ? orderPlacementService.placeOrder(orderDto)
+				: idempotencyService.placeOrder(idempotencyKey, orderDto);
 
-		// Check if the customer is found
-		if (customer == null) {
-			logger.warn("Customer with ID {} not found.", orderDto.getCustomer().getCustomerId());
-			throw new EntityNotFoundException(
-					"Customer with ID " + orderDto.getCustomer().getCustomerId() + " not found");
+		HttpHeaders headers = new HttpHeaders();
+		if (result.replayed()) {
+			headers.add(IDEMPOTENT_REPLAYED_HEADER, "true");
+		} else {
+			// Publish the latency breakdown of the placement to the client
+			headers.add("Server-Timing", result.timings().toServerTiming());
 		}
 
-		Restaurant restaurant = restaurantService.findById(orderDto.getRestaurant().getRestaurantId());
+		return new ResponseEntity<>(result.order(), headers, HttpStatus.CREATED);
+	}
 
-		// Check if the restaurant is found
-		if (restaurant == null) {
-			logger.warn("Restaurant with ID {} not found.", orderDto.getRestaurant().getRestaurantId());
-			throw new EntityNotFoundException(
-					"Restaurant with ID " + orderDto.getRestaurant().getRestaurantId() + " not found");
+	/**
+	 * Accepts a new order for asynchronous placement.
+	 *
+	 * The order is validated and queued, and the request returns immediately with
+	 * a ticket; background writers place queued orders in groups. The ticket can
+	 * be polled at the URL given in the Location header.
+	 *
+	 * @param orderDto The DTO containing the order details.
+	 * @return A ResponseEntity containing the ticket and HTTP status ACCEPTED.
+	 * @throws QueueFullException if the intake queue is full (HTTP 429).
+	 */
+	@Operation(summary = "Queue a new order", description = "Validates the order and queues it for placement by background writers. Returns 202 with a ticket, or 429 when the queue is full.")
+	@PostMapping("/async")
+	public ResponseEntity<OrderTicket> addOrderAsync(@Valid @RequestBody OrderDto orderDto,
+			BindingResult bindingResult) {
+
+		// Check if there are any validation errors in the binding result
+		if (bindingResult.hasErrors()) {
+			List<String> errors = bindingResult.getAllErrors().stream().map(error -> error.getDefaultMessage())
+					.collect(Collectors.toList());
+			throw new ValidationException(errors);
 		}
 
+		// Log the method call
+		logger.info("addOrderAsync method called with order data for customer ID: {}",
+				orderDto.getCustomer().getCustomerId());
+
+		OrderTicket ticket = orderIntakeService.submit(orderDto);
 
-		order.setCustomer(customer);
-		order.setRestaurant(restaurant);
-		order.setOrderId(orderService.findLastRecord().getOrderId() + 1);
-		order.setOrderDate(orderDto.getOrderDate());
-		order.setOrderStatus(orderDto.getOrderStatus());
-		orderService.save(order);
-
-		List<OrderItem> items = new ArrayList<>();
-		for (OrderItemDto orderItemDto : orderDto.getItems()) {
-			OrderItem orderItem = new OrderItem();
-			orderItem.setOrder(order);
-			orderItem.setQuantity(orderItemDto.getQuantity());
-
-			MenuItem menuItem = menuItemService.findById(orderItemDto.getMenuItem().getMenuItemId());
-
-			// Check if the menu item is found
-			if (menuItem == null) {
-				logger.warn("Menu Item with ID {} not found.", orderItemDto.getMenuItem().getMenuItemId());
-				throw new EntityNotFoundException(
-						"Menu Item with ID " + orderItemDto.getMenuItem().getMenuItemId() + " not found");
-			}
-
-			orderItem.setMenuItem(menuItem);
-			orderItem.setOrderItemId(orderItemService.findLastRecord().getOrderItemId() + 1);
-			items.add(orderItem);
-			orderItemService.save(orderItem);
-		}
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(HttpHeaders.LOCATION, "/api/orders/tickets/" + ticket.ticketId());
+		return new ResponseEntity<>(ticket, headers, HttpStatus.ACCEPTED);
+	}
 
-		List<Rating> ratings = new ArrayList<>();
-		for (RatingDto ratingDto : orderDto.getRatings()) {
-			Rating rating = new Rating();
-			rating.setRating(ratingDto.getRating());
-			rating.setRestaurant(restaurant);
-			rating.setOrder(order);
-			rating.setRatingId(ratingService.findLastRecord().getRatingId() + 1);
-			rating.setReview(ratingDto.getReview());
-			ratings.add(rating);
-			ratingService.save(rating);
+	/**
+	 * Imports orders in bulk from a newline-delimited JSON body.
+	 *
+	 * Each line holds one order in the same format as POST /api/orders. The body
+	 * is streamed and placed in chunks with batched inserts, and invalid lines are
+	 * rejected individually.
+	 *
+	 * @param ndjson The request body, one order per line.
+	 * @return A ResponseEntity containing the numbers of accepted and rejected
+	 *         lines.
+	 * @throws IOException if the request body cannot be read.
+	 */
+	@Operation(summary = "Import orders", description = "Streams orders from an NDJSON body (one order per line), commits them in chunks and reports the accepted and rejected line counts.")
+	@PostMapping(value = "/import", consumes = NDJSON_MEDIA_TYPE)
+	public ResponseEntity<OrderImportReport> importOrders(InputStream ndjson) throws IOException {
+		// Log the method call
+		logger.info("importOrders method called");
+
+		OrderImportReport report = orderImportService.importOrders(ndjson);
+
+		return new ResponseEntity<>(report, HttpStatus.OK);
+	}
+
+	/**
+	 * Exports all orders with their items as a streamed download.
+	 *
+	 * The response is written while the orders are read from the database, so
+	 * its size is not limited by the heap.
+	 *
+	 * @param format The export format, ndjson (default) or csv.
+	 * @return A ResponseEntity streaming the export.
+	 */
+	@Operation(summary = "Export orders", description = "Streams all orders with their items as an NDJSON (default) or CSV download.")
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "ndjson") String format) {
+		// Log the method call
+		logger.info("exportOrders method called with format: {}", format);
+
+		OrderExportFormat exportFormat;
+		try {
+			exportFormat = OrderExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new ValidationException(List.of("format must be ndjson or csv"));
 		}
 
-		List<Coupon> coupons = new ArrayList<>();
-		for (CouponDto couponDto : orderDto.getCoupons()) {
-			Coupon coupon = couponService.findById(couponDto.getCouponId());
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType());
+		headers.add(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"orders." + exportFormat.getFileExtension() + "\"");
 
-			// Check if the coupon is found
-			if (coupon == null) {
-				logger.warn("Coupon with ID {} not found.", couponDto.getCouponId());
-				throw new EntityNotFoundException("Coupon with ID " + couponDto.getCouponId() + " not found");
-			}
+		StreamingResponseBody body = out -> orderExportService.exportOrders(out, exportFormat);
+		return new ResponseEntity<>(body, headers, HttpStatus.OK);
+	}
+
+	/**
+	 * Finds the ticket of an asynchronously placed order.
+	 *
+	 * @param id The ticket ID returned when the order was queued.
+	 * @return A ResponseEntity containing the ticket and an HTTP status code.
+	 * @throws EntityNotFoundException if the ticket is unknown or has expired.
+	 */
+	@Operation(summary = "Find order ticket", description = "Retrieves the status of an order queued with POST /api/orders/async.")
+	@GetMapping("/tickets/{id}")
+	public ResponseEntity<OrderTicket> findTicket(@PathVariable String id) {
+		// Log the method call
+		logger.info("findTicket method called with ticket ID: {}", id);
 
-			coupon.getOrders().add(order);
-			coupons.add(coupon);
-			couponService.save(coupon);
+		OrderTicket ticket = orderIntakeService.findTicket(id);
+		if (ticket == null) {
+			logger.warn("Ticket with ID {} not found.", id);
+			throw new EntityNotFoundException("Ticket not found at ID " + id);
 		}
 
-		order.setItems(items);
-		order.setRatings(ratings);
-		order.setCoupons(coupons);
+		return new ResponseEntity<>(ticket, HttpStatus.OK);
+	}
 
-		// Log the successful creation of the order
-		logger.info("Order created successfully with ID: {}", order.getOrderId());
+	/**
+	 * Retrieves the queue depth and counters of the asynchronous order intake.
+	 *
+	 * @return A ResponseEntity containing the intake statistics.
+	 */
+	@Operation(summary = "Order intake statistics", description = "Retrieves the current depth of the asynchronous order queue and the placement counters.")
+	@GetMapping("/async/stats")
+	public ResponseEntity<OrderIntakeStats> getIntakeStats() {
+		return new ResponseEntity<>(orderIntakeService.getStats(), HttpStatus.OK);
+	}
 
-		return new ResponseEntity<>(order, HttpStatus.CREATED);
+	/**
+	 * Retrieves the outcome of the most recent ticks of the dispatch optimizer,
+	 * including how long each took to solve and to write.
+	 *
+	 * @return A ResponseEntity containing the ticks, latest first.
+	 */
+	@Operation(summary = "Dispatch optimizer statistics", description = "Retrieves the most recent ticks of the batch dispatch optimizer with the number of pending orders, available drivers and assignments, the total distance and the solve and write times of each.")
+	@GetMapping("/dispatch/stats")
+	public ResponseEntity<List<DispatchTickStats>> getDispatchStats() {
+		return new ResponseEntity<>(dispatchOptimizerService.getRecentTicks(), HttpStatus.OK);
+	}
+
+	/**
+	 * Runs a tick of the dispatch optimizer immediately, assigning drivers to the
+	 * pending orders.
+	 *
+	 * @return A ResponseEntity containing the outcome of the tick.
+	 */
+	@Operation(summary = "Run the dispatch optimizer", description = "Assigns drivers to all pending orders at once, minimizing the total cost of the assignments, without waiting for the next tick.")
+	@PostMapping("/dispatch/tick")
+	public ResponseEntity<DispatchTickStats> runDispatchTick() {
+		logger.info("runDispatchTick method called");
+		return new ResponseEntity<>(dispatchOptimizerService.runTick(), HttpStatus.OK);
+	}
+
+	/**
+	 * Retrieves one page of orders, ordered by ID.
+	 *
+	 * Orders are always paged; the X-Next-Cursor header carries the after value
+	 * of the next page and is absent on the last page.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of orders in the page.
+	 * @return A ResponseEntity containing the orders of the page and an HTTP
+	 *         status code.
+	 */
+	@Operation(summary = "Retrieve orders", description = "Returns one page of orders ordered by ID. Pass the X-Next-Cursor header of a response as after to fetch the next page.")
+	@GetMapping
+	public ResponseEntity<List<Order>> findAll(@RequestParam(defaultValue = "0") Integer after,
+			@RequestParam(defaultValue = "" + KeysetPagination.DEFAULT_LIMIT) Integer limit) {
+		// Validate the paging parameters
+		KeysetPagination.validate(after, limit);
+
+		// Log the method call
+		logger.info("findAll method called to retrieve up to {} orders after ID {}.", limit, after);
+
+		KeysetPage<Order> page = orderService.findPage(after, limit);
+
+		return new ResponseEntity<>(page.items(), KeysetPagination.headers(page, "/api/orders", limit), HttpStatus.OK);
 	}
 
 	/**
 	 * Finds an order by its ID.
 	 *
-	 * @param id The ID of the order to find.
-	 * @return A ResponseEntity containing the found order and an HTTP status code.
+	 * The ETag and Last-Modified headers are computed from the version columns of
+	 * the order and its ratings. A request whose If-None-Match or
+	 * If-Modified-Since still matches is answered with 304 Not Modified after that
+	 * single query, without loading or serializing the order.
+	 *
+	 * @param id      The ID of the order to find.
+	 * @param request The current request, to evaluate its conditional headers.
+	 * @return A ResponseEntity containing the found order and an HTTP status code,
+	 *         or null if a 304 response has already been prepared.
 	 * @throws EntityNotFoundException if no order is found with the specified ID.
 	 */
-	@Operation(summary = "Find order by ID", description = "Retrieves an order using the provided order ID.")
+	@Operation(summary = "Find order by ID", description = "Retrieves an order using the provided order ID. Supports conditional requests with If-None-Match and If-Modified-Since.")
 	@GetMapping("/{id}")
-	public ResponseEntity<Order> findById(@PathVariable int id) {
+	public ResponseEntity<Order> findById(@PathVariable int id, WebRequest request) {
 		// Log the method call
 		logger.info("findById method called with order ID: {}", id);
 
-		Order order = orderService.findById(id);
-
-		// Check if the order is found
-		if (order == null) {
+		// Check the client's copy against the current version first
+		ResourceVersion version = orderService.findVersion(id);
+		if (version == null) {
 			logger.warn("Order with ID {} not found.", id);
 			throw new EntityNotFoundException("Order not found at ID " + id);
 		}
+		if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+			logger.info("Order with ID {} not modified.", id);
+			return null;
+		}
+
+		Order order = orderFacade.findById(id);
 
 		// Log the successful retrieval of the order
 		logger.info("Order retrieved successfully with ID: {}", id);
 
-		return new ResponseEntity<>(order, HttpStatus.OK);
+		return new ResponseEntity<>(order, ConditionalRequests.revalidate(), HttpStatus.OK);
 	}
 
 	/**
@@ -234,23 +376,7 @@ public class OrderController {
 		// Log the method call
 		logger.info("changeStatus method called with order ID: {}", id);
 
-		Order order = orderService.findById(id);
-
-		// Check if the order is found
-		if (order == null) {
-			logger.warn("Order with ID {} not found.", id);
-			throw new EntityNotFoundException("Order not found at ID " + id);
-		} else {
-			// Log the status change
-			logger.info("Changing status of order ID: {} to {}", id, orderDto.getOrderStatus());
-
-			order.setOrderStatus(orderDto.getOrderStatus());
-
-			// Log the successful update of the order status
-			logger.info("Order status updated successfully for order ID: {}", id);
-
-			return new ResponseEntity<>(orderService.save(order), HttpStatus.OK);
-		}
+		return new ResponseEntity<>(orderFacade.changeStatus(id, orderDto.getOrderStatus()), HttpStatus.OK);
 	}
 
 	/**
@@ -265,23 +391,9 @@ public class OrderController {
 		// Log the method call
 		logger.info("deleteOrder method called with order ID: {}", id);
 
-		Order order = orderService.findById(id);
+		orderFacade.deleteById(id);
 
-		// Check if the order is found
-		if (order == null) {
-			logger.warn("Order with ID {} not found.", id);
-			throw new EntityNotFoundException("Order not found at ID " + id);
-		} else {
-			// Log the order deletion
-			logger.info("Deleting order with ID: {}", id);
-
-			orderService.deleteById(id);
-
-			// Log the successful deletion of the order
-			logger.info("Order with ID: {} deleted successfully.", id);
-			
-			return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-		}
+		return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 	}
 
 	/**
@@ -301,33 +413,32 @@ public class OrderController {
 		// Log the method call
 		logger.info("assignDriver method called with order ID: {} and driver ID: {}", orderId, driverId);
 
-		DeliveryDriver deliveryDriver = deliveryDriverService.findById(driverId);
+		DeliveryDriver deliveryDriver = orderFacade.assignDriver(orderId, driverId);
 
-		// Check if the delivery driver is found
-		if (deliveryDriver == null) {
-			logger.warn("Delivery Driver with ID {} not found.", driverId);
-			throw new EntityNotFoundException("Delivery Driver with ID " + driverId + " not found");
-		}
-
-		Order order = orderService.findById(orderId);
-
-		// Check if the order is found
-		if (order == null) {
-			logger.warn("Order with ID {} not found.", orderId);
-			throw new EntityNotFoundException("Order with ID " + orderId + " not found");
-		}
+		return new ResponseEntity<>(deliveryDriver, HttpStatus.OK);
+	}
 
-		// Log the assignment action
-		logger.info("Assigning driver ID: {} to order ID: {}", driverId, orderId);
+	/**
+	 * Assigns the best available delivery driver to an order, chosen from the
+	 * position of the order's restaurant, the live driver positions and the
+	 * number of orders each driver is already delivering.
+	 *
+	 * @param orderId The ID of the order to which a driver is being assigned.
+	 * @return A ResponseEntity containing the assigned delivery driver and an HTTP
+	 *         status code.
+	 * @throws EntityNotFoundException    if no order is found with the specified
+	 *                                    ID.
+	 * @throws NoDriverAvailableException if no driver can be assigned.
+	 */
+	@Operation(summary = "Assign the nearest available driver to order", description = "Assigns the best available delivery driver to an order, considering the distance of the drivers to the restaurant and their current number of active orders. An order that already has a driver keeps it.")
+	@PutMapping("/{orderId}/assignDriver/auto")
+	public ResponseEntity<DeliveryDriver> autoAssignDriver(@PathVariable int orderId) {
 
-		deliveryDriver.getOrders().add(order);
-		order.setDeliveryDriver(deliveryDriver);
-		orderService.save(order);
-		deliveryDriverService.save(deliveryDriver);
+		// Log the method call
+		logger.info("autoAssignDriver method called with order ID: {}", orderId);
 
-		// Log the successful assignment
-		logger.info("Driver ID: {} successfully assigned to order ID: {}", driverId, orderId);
+		DeliveryDriver deliveryDriver = orderFacade.autoAssignDriver(orderId);
 
 		return new ResponseEntity<>(deliveryDriver, HttpStatus.OK);
 	}
-}
\ No newline at end of file
+}
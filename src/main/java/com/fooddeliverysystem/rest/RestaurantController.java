@@ -1,13 +1,16 @@
 package com.fooddeliverysystem.rest;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,18 +19,37 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.fooddeliverysystem.dto.MenuItemDto;
+import com.fooddeliverysystem.dto.RatingSummary;
+import com.fooddeliverysystem.dto.ResourceVersion;
 import com.fooddeliverysystem.dto.RestaurantDto;
 import com.fooddeliverysystem.entity.DeliveryAddress;
 import com.fooddeliverysystem.entity.MenuItem;
 import com.fooddeliverysystem.entity.Rating;
 import com.fooddeliverysystem.entity.Restaurant;
 import com.fooddeliverysystem.exception.ValidationException;
-import com.fooddeliverysystem.service.MenuItemService;
+import com.fooddeliverysystem.service.AutocompleteService;
+import com.fooddeliverysystem.service.KeysetPage;
+import com.fooddeliverysystem.service.LeaderboardEntry;
+import com.fooddeliverysystem.service.LeaderboardService;
+import com.fooddeliverysystem.service.LeaderboardType;
+import com.fooddeliverysystem.service.MenuCacheService;
+import com.fooddeliverysystem.service.MenuPayload;
+import com.fooddeliverysystem.service.MenuSearchGroup;
+import com.fooddeliverysystem.service.MenuSearchService;
+import com.fooddeliverysystem.service.NameSuggestion;
+import com.fooddeliverysystem.service.RatingAggregateService;
+import com.fooddeliverysystem.service.RatingRebuildReport;
+import com.fooddeliverysystem.service.RestaurantFacade;
+import com.fooddeliverysystem.service.ReviewSearchHit;
+import com.fooddeliverysystem.service.ReviewSearchService;
 import com.fooddeliverysystem.service.RestaurantService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,62 +60,185 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/restaurants")
 public class RestaurantController {
 	private static final Logger logger = LoggerFactory.getLogger(RestaurantController.class);
+
+	// The most reviews one search returns
+	static final int MAX_REVIEW_SEARCH_LIMIT = 100;
+
+	// The most names one autocompletion returns
+	static final int MAX_AUTOCOMPLETE_LIMIT = 20;
+
+	// The most menu items one menu search returns
+	static final int MAX_MENU_SEARCH_LIMIT = 100;
+
 	private RestaurantService restaurantService;
-	private MenuItemService menuItemService;
+	private RestaurantFacade restaurantFacade;
+	private MenuCacheService menuCacheService;
+	private RatingAggregateService ratingAggregateService;
+	private LeaderboardService leaderboardService;
+	private ReviewSearchService reviewSearchService;
+	private AutocompleteService autocompleteService;
+	private MenuSearchService menuSearchService;
 
 	@Autowired
-	public RestaurantController(RestaurantService restaurantService, MenuItemService menuItemService) {
+	public RestaurantController(RestaurantService restaurantService, RestaurantFacade restaurantFacade,
+			MenuCacheService menuCacheService, RatingAggregateService ratingAggregateService,
+			LeaderboardService leaderboardService, ReviewSearchService reviewSearchService,
+			AutocompleteService autocompleteService, MenuSearchService menuSearchService) {
 		super();
 		this.restaurantService = restaurantService;
-		this.menuItemService = menuItemService;
+		this.restaurantFacade = restaurantFacade;
+		this.menuCacheService = menuCacheService;
+		this.ratingAggregateService = ratingAggregateService;
+		this.leaderboardService = leaderboardService;
+		this.reviewSearchService = reviewSearchService;
+		this.autocompleteService = autocompleteService;
+		this.menuSearchService = menuSearchService;
 	}
 
 	/**
-	 * Retrieves a list of all restaurants.
+	 * Retrieves a list of restaurants.
 	 *
-	 * @return ResponseEntity containing a list of Restaurant objects and HTTP
-	 *         status OK.
+	 * By default each restaurant is returned as a RestaurantSummary, with its menu
+	 * item count and rating aggregates read in the same query, so its orders,
+	 * ratings and menu items are never loaded; pass view=full for the complete
+	 * Restaurant objects. Without paging parameters all restaurants are returned.
+	 * With after and/or limit one page ordered by ID is returned, and the
+	 * X-Next-Cursor header carries the after value of the next page.
+	 *
+	 * @param after The ID after which the page starts (optional).
+	 * @param limit The maximum number of restaurants in the page (optional).
+	 * @param view  summary (default) or full.
+	 * @return ResponseEntity containing a list of RestaurantSummary or Restaurant
+	 *         objects and HTTP status OK.
 	 */
-	@Operation(summary = "Get all restaurants", description = "Fetches a list of all restaurants available in the system.")
+	@Operation(summary = "Get all restaurants", description = "Fetches a list of all restaurants available in the system. Summaries are returned by default; pass view=full for the complete objects including their collections. Pass after and limit to page through them by ID; the X-Next-Cursor header holds the after value of the next page.")
 	@GetMapping
 	@ResponseStatus(code = HttpStatus.OK)
-	public ResponseEntity<List<Restaurant>> findAll() {
-		logger.info("Fetching all restaurants");
+	public ResponseEntity<List<?>> findAll(@RequestParam(required = false) Integer after,
+			@RequestParam(required = false) Integer limit,
+			@RequestParam(defaultValue = ListView.DEFAULT) String view) {
+		ListView listView = ListView.parse(view);
+		if (after == null && limit == null) {
+			logger.info("Fetching all restaurants ({} view)", view);
+
+			List<?> restaurants = listView == ListView.FULL ? restaurantService.findAll()
+					: restaurantService.findAllSummaries();
+
+			logger.info("Found {} restaurants", restaurants.size());
 
-		List<Restaurant> restaurants = restaurantService.findAll();
+			return new ResponseEntity<>(restaurants, HttpStatus.OK);
+		}
+
+		// Validate the paging parameters and fetch one page by ID
+		KeysetPagination.validate(after, limit);
+		int pageSize = limit == null ? KeysetPagination.DEFAULT_LIMIT : limit;
+		logger.info("Fetching up to {} restaurants after ID {} ({} view)", pageSize, after, view);
 
-		logger.info("Found {} restaurants", restaurants.size());
+		int cursor = after == null ? 0 : after;
+		KeysetPage<?> page = listView == ListView.FULL ? restaurantService.findPage(cursor, pageSize)
+				: restaurantService.findSummaryPage(cursor, pageSize);
 
-		return new ResponseEntity<>(restaurants, HttpStatus.OK);
+		return new ResponseEntity<>(page.items(), KeysetPagination.headers(page, "/api/restaurants", pageSize, listView),
+				HttpStatus.OK);
+	}
+
+	/**
+	 * Retrieves the top restaurants by average rating or by number of orders.
+	 *
+	 * The leaderboards are kept in memory and follow every committed order and
+	 * rating, so no query runs. Only restaurants with the configured minimum
+	 * number of ratings are ranked by rating.
+	 *
+	 * @param by rating (default) or orders.
+	 * @param k  The number of restaurants, from 1 to the leaderboard size
+	 *           (default 10).
+	 * @return ResponseEntity containing up to k LeaderboardEntry objects, best
+	 *         first, and HTTP status OK.
+	 * @throws ValidationException if by or k is not valid.
+	 */
+	@Operation(summary = "Get the top restaurants", description = "Returns up to k restaurants ranked by average rating (by=rating, ties broken by number of ratings) or by number of orders (by=orders), best first. Served from in-memory leaderboards updated as orders and ratings are written.")
+	@GetMapping("/top")
+	public ResponseEntity<List<LeaderboardEntry>> findTopRestaurants(@RequestParam(defaultValue = "rating") String by,
+			@RequestParam(defaultValue = "10") int k) {
+		LeaderboardType type;
+		try {
+			type = LeaderboardType.valueOf(by.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new ValidationException(List.of("by must be one of rating, orders"));
+		}
+		if (k < 1 || k > leaderboardService.getMaxSize()) {
+			throw new ValidationException(List.of("k must be between 1 and " + leaderboardService.getMaxSize()));
+		}
+
+		return new ResponseEntity<>(leaderboardService.findTop(type, k), HttpStatus.OK);
+	}
+
+	/**
+	 * Suggests restaurant and menu item names for a prefix, for search boxes
+	 * completing each keystroke.
+	 *
+	 * The names are held in memory as sorted keys, one per word, so a prefix is
+	 * found by binary search and no query runs. Case, accents and punctuation are
+	 * ignored.
+	 *
+	 * @param q     The typed prefix.
+	 * @param limit The maximum number of names, from 1 to
+	 *              {@value #MAX_AUTOCOMPLETE_LIMIT} (default 10).
+	 * @return ResponseEntity containing the matching NameSuggestion objects, most
+	 *         ordered first, and HTTP status OK.
+	 * @throws ValidationException if q is blank or limit is out of range.
+	 */
+	@GetMapping("/autocomplete")
+	@Operation(summary = "Autocomplete names", description = "Returns the restaurants and menu items with a word of their name starting with q, ranked by how often they were ordered. Case, accents and punctuation are ignored.")
+	public ResponseEntity<List<NameSuggestion>> autocomplete(@RequestParam String q,
+			@RequestParam(defaultValue = "10") int limit) {
+		if (q.isBlank()) {
+			throw new ValidationException(List.of("q must not be blank"));
+		}
+		if (limit < 1 || limit > MAX_AUTOCOMPLETE_LIMIT) {
+			throw new ValidationException(List.of("limit must be between 1 and " + MAX_AUTOCOMPLETE_LIMIT));
+		}
+
+		return new ResponseEntity<>(autocompleteService.suggest(q, limit), HttpStatus.OK);
 	}
 
 	/**
 	 * Retrieves a specific restaurant by its ID.
 	 *
-	 * @param id the ID of the restaurant to retrieve
-	 * @return a ResponseEntity containing the restaurant if found, or a 404 error
-	 *         if not found
+	 * The ETag and Last-Modified headers are computed from the version columns of
+	 * the restaurant, its menu items, ratings and orders. A request whose
+	 * If-None-Match or If-Modified-Since still matches is answered with 304 Not
+	 * Modified after that single query, without loading the restaurant.
+	 *
+	 * @param id      the ID of the restaurant to retrieve
+	 * @param request the current request, to evaluate its conditional headers
+	 * @return a ResponseEntity containing the restaurant if found, or null if a 304
+	 *         response has already been prepared
 	 * @throws EntityNotFoundException if the restaurant with the given ID is not
 	 *                                 found
 	 */
-	@Operation(summary = "Find Restaurant by ID", description = "Retrieve a specific restaurant's details using its unique ID.")
+	@Operation(summary = "Find Restaurant by ID", description = "Retrieve a specific restaurant's details using its unique ID. Supports conditional requests with If-None-Match and If-Modified-Since.")
 	@GetMapping("/{id}")
-	public ResponseEntity<Restaurant> findRestaurantById(@PathVariable int id) {
+	public ResponseEntity<Restaurant> findRestaurantById(@PathVariable int id, WebRequest request) {
 		// Log the request to find a restaurant by ID
 		logger.info("Request to find restaurant with ID: {}", id);
 
-		Restaurant restaurant = restaurantService.findById(id);
-
-		// Check if the restaurant is found
-		if (restaurant == null) {
-			// Log that no restaurant was found and throw exception
+		// Check the client's copy against the current version first
+		ResourceVersion version = restaurantService.findVersion(id);
+		if (version == null) {
 			logger.error("No restaurant found with ID: {}", id);
 			throw new EntityNotFoundException("No restaurant found with ID " + id);
-		} else {
-			// Log the success of finding the restaurant
-			logger.info("Restaurant found with ID: {}", id);
-			return new ResponseEntity<>(restaurant, HttpStatus.OK);
 		}
+		if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+			logger.info("Restaurant with ID {} not modified", id);
+			return null;
+		}
+
+		Restaurant restaurant = restaurantFacade.findById(id);
+
+		// Log the success of finding the restaurant
+		logger.info("Restaurant found with ID: {}", id);
+		return new ResponseEntity<>(restaurant, ConditionalRequests.revalidate(), HttpStatus.OK);
 	}
 
 	/**
@@ -122,71 +267,10 @@ public class RestaurantController {
 			throw new ValidationException(errors);
 		}
 
-		// Log the incoming request for adding a new restaurant
-		logger.info("Request received to add a new restaurant with name: {}", restaurantDto.getName());
-
-		// Create a new Restaurant object
-		Restaurant restaurant = new Restaurant();
-
-		// Set the restaurant ID to one more than the last record's ID (Auto-increment
-		// simulation)
-		restaurant.setRestaurantId(restaurantService.findLastRecord().getRestaurantId() + 1);
-
-		// Set the restaurant details from the received RestaurantDto
-		restaurant.setName(restaurantDto.getName());
-		restaurant.setAddress(restaurantDto.getAddress());
-		restaurant.setPhone(restaurantDto.getPhone());
-
-		// Save the new restaurant to the database
-		restaurantService.save(restaurant);
-
-		// Log the successful saving of the restaurant
-		logger.info("Restaurant saved with ID: {}", restaurant.getRestaurantId());
-
-		// Initialize an empty list to hold the menu items for the new restaurant
-		List<MenuItem> menuItems = new ArrayList<>();
-
-		// Iterate over the menu items provided in the RestaurantDto
-		for (MenuItemDto menuItemDto : restaurantDto.getMenuItems()) {
-			// Create a new MenuItem object
-			MenuItem menuItem = new MenuItem();
-
-			// Set the item ID to one more than the last record's ID (Auto-increment
-			// simulation)
-			menuItem.setItemId(menuItemService.findLastRecord().getItemId() + 1);
-
-			// Set the menu item details from the received MenuItemDto
-			menuItem.setDescription(menuItemDto.getDescription());
-			menuItem.setName(menuItemDto.getName());
-			menuItem.setPrice(menuItemDto.getPrice());
-
-			// Associate the menu item with the newly created restaurant
-			menuItem.setRestaurant(restaurant);
-
-			// Set order items to null (assuming no orders are associated at creation)
-			menuItem.setOrderItems(null);
-
-			// Add the menu item to the list
-			menuItems.add(menuItem);
-
-			// Save the menu item to the database
-			menuItemService.save(menuItem);
-
-			// Log the successful saving of the menu item
-			logger.info("Menu item saved with ID: {} for restaurant ID: {}", menuItem.getItemId(),
-					restaurant.getRestaurantId());
-		}
-
-		// Associate the list of menu items with the restaurant
-		restaurant.setMenuItems(menuItems);
-
-		// Set orders and ratings to null (assuming no orders or ratings are associated
-		// at creation)
-		restaurant.setOrders(null);
-		restaurant.setRatings(null);
+		// Create the restaurant and its menu items
+		Restaurant restaurant = restaurantFacade.create(restaurantDto);
 
 		// Return the created restaurant with a 201 (Created) status
-		logger.info("Restaurant created successfully with ID: {}", restaurant.getRestaurantId());
 		return new ResponseEntity<>(restaurant, HttpStatus.CREATED);
 	}
 
@@ -205,68 +289,11 @@ public class RestaurantController {
 	@Operation(summary = "Update an existing restaurant", description = "Updates the details of an existing restaurant by ID, including its name, address, phone, and menu items.")
 	public ResponseEntity<Restaurant> updateRestaurant(@PathVariable int id,
 			@RequestBody RestaurantDto restaurantDto, BindingResult bindingResult) {
+		// Update the restaurant and the menus it touched
+		Restaurant savedRestaurant = restaurantFacade.update(id, restaurantDto);
 
-		// Log the start of the update operation
-		logger.info("Starting update operation for restaurant with ID {}", id);
-
-		// Find the restaurant by its ID
-		Restaurant restaurant = restaurantService.findById(id);
-
-		// If the restaurant is not found, throw an exception
-		if (restaurant == null) {
-			logger.error("Restaurant with ID {} not found", id);
-			throw new EntityNotFoundException("Restaurant with ID " + id + " not found");
-		} else {
-			// Update the restaurant's name if provided
-			if (restaurantDto.getName() != null) {
-				logger.info("Updating name of restaurant ID {} to {}", id, restaurantDto.getName());
-				restaurant.setName(restaurantDto.getName());
-			}
-
-			// Update the restaurant's address if provided
-			if (restaurantDto.getAddress() != null) {
-				logger.info("Updating address of restaurant ID {}", id);
-				restaurant.setAddress(restaurantDto.getAddress());
-			}
-
-			// Update the restaurant's phone if provided
-			if (restaurantDto.getPhone() != null) {
-				logger.info("Updating phone of restaurant ID {}", id);
-				restaurant.setPhone(restaurantDto.getPhone());
-			}
-
-			// Update the restaurant's menu items
-			List<MenuItem> menuItems = new ArrayList<>();
-			for (MenuItemDto menuItemDto : restaurantDto.getMenuItems()) {
-				// Find the menu item by its ID
-				MenuItem menuItem = menuItemService.findById(menuItemDto.getMenuItemId());
-
-				// If the menu item is not found, throw an exception
-				if (menuItem == null) {
-					logger.error("Menu Item with ID {} not found", menuItemDto.getMenuItemId());
-					throw new EntityNotFoundException(
-							"Menu Item with ID " + menuItemDto.getMenuItemId() + " not found");
-				}
-
-				// Update menu item details
-				logger.info("Updating menu item with ID {} for restaurant ID {}", menuItemDto.getMenuItemId(), id);
-				menuItem.setRestaurant(restaurant);
-				menuItem.setDescription(menuItemDto.getDescription());
-				menuItem.setName(menuItemDto.getName());
-				menuItem.setPrice(menuItemDto.getPrice());
-
-				// Save the updated menu item
-				menuItemService.save(menuItem);
-				menuItems.add(menuItem);
-			}
-
-			// Set the updated menu items to the restaurant
-			restaurant.setMenuItems(menuItems);
-		}
-
-		// Save the updated restaurant and return the response
-		logger.info("Successfully updated restaurant with ID {}", id);
-		return new ResponseEntity<>(restaurantService.save(restaurant), HttpStatus.OK);
+		// Return the response
+		return new ResponseEntity<>(savedRestaurant, HttpStatus.OK);
 	}
 
 	/**
@@ -278,83 +305,193 @@ public class RestaurantController {
 	@ResponseStatus(code = HttpStatus.OK)
 	@Operation(summary = "Delete a restaurant by ID", description = "Deletes the restaurant with the specified ID from the system.")
 	public void deleteRestaurantById(@PathVariable int id) {
-		// Log the start of the delete operation
-		logger.info("Attempting to delete restaurant with ID: {}", id);
-
-		// Retrieve the restaurant entity by ID
-		Restaurant restaurant = restaurantService.findById(id);
-
-		// Check if the restaurant exists
-		if (restaurant == null) {
-			// Log if the restaurant is not found
-			logger.error("Restaurant with ID {} not found", id);
-
-			// Throw an exception if the restaurant is not found
-			throw new EntityNotFoundException("No restaurant found with ID " + id);
-		} else {
-			// Log successful retrieval of the restaurant
-			logger.info("Restaurant with ID {} found, proceeding to delete", id);
-
-			// Delete the restaurant by ID
-			restaurantService.deleteById(id);
-
-			// Log successful deletion
-			logger.info("Restaurant with ID {} successfully deleted", id);
-		}
+		// Delete the restaurant and drop its cached menu
+		restaurantFacade.deleteById(id);
 	}
 
 	/**
-	 * Returns a list of menu items for the restaurant identified by the given ID.
+	 * Returns the menu of the restaurant identified by the given ID.
 	 *
-	 * @param id The ID of the restaurant.
-	 * @return A list of menu items for the specified restaurant.
+	 * The menu is served from bytes encoded once per menu version, gzip
+	 * compressed when the client accepts it, with a strong ETag. A request whose
+	 * If-None-Match holds the current ETag gets 304 Not Modified without a body.
+	 *
+	 * @param id             The ID of the restaurant.
+	 * @param ifNoneMatch    The ETags the client already holds (optional).
+	 * @param acceptEncoding The encodings the client accepts (optional).
+	 * @return The encoded menu items for the specified restaurant, or 304.
 	 */
 	@GetMapping("/{id}/menu")
-	@Operation(summary = "Get menu items for a specific restaurant", description = "Returns a list of menu items for the restaurant identified by the given ID")
-	public ResponseEntity<List<MenuItem>> findRestaurantMenuItemsById(@PathVariable int id) {
+	@Operation(summary = "Get menu items for a specific restaurant", description = "Returns a list of menu items for the restaurant identified by the given ID. The response carries a strong ETag; send it back in If-None-Match to get 304 Not Modified while the menu is unchanged. Gzip is used when accepted.")
+	public ResponseEntity<byte[]> findRestaurantMenuItemsById(@PathVariable int id,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 		logger.info("Fetching menu items for restaurant with ID: {}", id); // Log the incoming request
 
-		// Retrieve the restaurant by its ID
-		Restaurant restaurant = restaurantService.findById(id);
+		// Retrieve the encoded menu of the restaurant
+		MenuPayload menu = menuCacheService.getMenu(id);
 
 		// Check if the restaurant exists
-		if (restaurant == null) {
+		if (menu == null) {
 			logger.error("No restaurant found with ID: {}", id); // Log the error
 			throw new EntityNotFoundException("No restaurant found with ID " + id); // Throw exception if not found
-		} else {
-			logger.info("Restaurant found with ID: {}. Returning menu items.", id); // Log success
-			// Return the list of menu items associated with the restaurant
-			return new ResponseEntity<>(restaurantService.menuItemsById(id), HttpStatus.OK);
 		}
+
+		boolean gzip = ConditionalRequests.acceptsGzip(acceptEncoding);
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag(menu.etag(gzip));
+		headers.setCacheControl(CacheControl.noCache());
+		headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+		// The client already holds the current menu
+		if (ConditionalRequests.matches(ifNoneMatch, menu.etag(gzip))) {
+			logger.info("Menu of restaurant with ID: {} not modified", id);
+			return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+		}
+
+		logger.info("Restaurant found with ID: {}. Returning menu items.", id); // Log success
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		if (gzip) {
+			headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return new ResponseEntity<>(menu.body(gzip), headers, HttpStatus.OK);
 	}
 
 	/**
 	 * Retrieves a list of reviews for a specific restaurant identified by the given
 	 * ID.
 	 *
-	 * @param id The ID of the restaurant.
-	 * @return A list of reviews for the specified restaurant.
+	 * The ETag and Last-Modified headers are computed from the version columns of
+	 * the restaurant's ratings, and a request that still matches them is answered
+	 * with 304 Not Modified without loading the ratings.
+	 *
+	 * @param id      The ID of the restaurant.
+	 * @param request The current request, to evaluate its conditional headers.
+	 * @return A list of reviews for the specified restaurant, or null if a 304
+	 *         response has already been prepared.
 	 */
 	@GetMapping("/{id}/reviews")
-	@Operation(summary = "Get reviews for a specific restaurant", description = "Retrieve a list of reviews for a restaurant specified by its ID. If no restaurant is found with the given ID, an EntityNotFoundException is thrown.")
-	public ResponseEntity<List<Rating>> findRestaurantReviewsById(@PathVariable int id) {
+	@Operation(summary = "Get reviews for a specific restaurant", description = "Retrieve a list of reviews for a restaurant specified by its ID. If no restaurant is found with the given ID, an EntityNotFoundException is thrown. Supports conditional requests with If-None-Match and If-Modified-Since.")
+	public ResponseEntity<List<Rating>> findRestaurantReviewsById(@PathVariable int id, WebRequest request) {
 		// Log entry into the method
 		logger.info("Request received to find reviews for restaurant with ID: {}", id);
 
-		// Retrieve the restaurant by ID
-		Restaurant restaurant = restaurantService.findById(id);
+		// Check that the restaurant exists and whether the client's copy is current
+		ResourceVersion version = restaurantService.findReviewsVersion(id);
 
 		// If no restaurant is found, log the error and throw an exception
-		if (restaurant == null) {
+		if (version == null) {
 			logger.error("No restaurant found with ID: {}", id);
 			throw new EntityNotFoundException("No restaurant found with ID " + id);
 		}
+		if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+			logger.info("Reviews of restaurant with ID {} not modified", id);
+			return null;
+		}
 
 		// Log successful retrieval of reviews
 		logger.info("Returning reviews for restaurant with ID: {}", id);
 
 		// Return the list of reviews for the restaurant
-		return new ResponseEntity<>(restaurantService.reviewsById(id), HttpStatus.OK);
+		return new ResponseEntity<>(restaurantService.reviewsById(id), ConditionalRequests.revalidate(), HttpStatus.OK);
+	}
+
+	/**
+	 * Searches the reviews of all restaurants, or of one, for the given words.
+	 *
+	 * The reviews are held in an in-memory inverted index and ranked with BM25, so
+	 * only the ratings of the returned reviews are loaded. Case, punctuation and
+	 * stop words such as "the" are ignored.
+	 *
+	 * @param q            The words to look for.
+	 * @param restaurantId Only search the reviews of this restaurant (optional).
+	 * @param limit        The maximum number of reviews, from 1 to
+	 *                     {@value #MAX_REVIEW_SEARCH_LIMIT} (default 20).
+	 * @return ResponseEntity containing the matching ReviewSearchHit objects, most
+	 *         relevant first, and HTTP status OK.
+	 * @throws ValidationException if q is blank or limit is out of range.
+	 */
+	@GetMapping("/reviews/search")
+	@Operation(summary = "Search reviews", description = "Returns the reviews containing the given words, most relevant first (BM25), optionally only those of one restaurant. Case, punctuation and common stop words are ignored.")
+	public ResponseEntity<List<ReviewSearchHit>> searchReviews(@RequestParam String q,
+			@RequestParam(required = false) Integer restaurantId, @RequestParam(defaultValue = "20") int limit) {
+		if (q.isBlank()) {
+			throw new ValidationException(List.of("q must not be blank"));
+		}
+		if (limit < 1 || limit > MAX_REVIEW_SEARCH_LIMIT) {
+			throw new ValidationException(List.of("limit must be between 1 and " + MAX_REVIEW_SEARCH_LIMIT));
+		}
+		logger.info("Searching reviews for '{}' (restaurant ID: {})", q, restaurantId);
+
+		List<ReviewSearchHit> hits = reviewSearchService.search(q, restaurantId, limit);
+
+		logger.info("Found {} matching reviews", hits.size());
+		return new ResponseEntity<>(hits, HttpStatus.OK);
+	}
+
+	/**
+	 * Searches the names and descriptions of all menu items, tolerating typos.
+	 *
+	 * The items are held in an in-memory trigram index, and each query word
+	 * matches the catalog words within one edit (from 4 letters) or two (from 8
+	 * letters), so "biryni" finds biryani. Items matching more query words rank
+	 * first, and a name counts more than a description. Only the returned items
+	 * are loaded.
+	 *
+	 * @param q     The words to look for.
+	 * @param limit The maximum number of menu items, from 1 to
+	 *              {@value #MAX_MENU_SEARCH_LIMIT} (default 20).
+	 * @return ResponseEntity containing the MenuSearchGroup of each restaurant
+	 *         with matching items, the one with the best item first, and HTTP
+	 *         status OK.
+	 * @throws ValidationException if q is blank or limit is out of range.
+	 */
+	@GetMapping("/menu/search")
+	@Operation(summary = "Search menu items", description = "Returns the menu items whose name or description match the given words, allowing typos, grouped by restaurant. Items matching more words rank first, and name matches count more than description matches.")
+	public ResponseEntity<List<MenuSearchGroup>> searchMenuItems(@RequestParam String q,
+			@RequestParam(defaultValue = "20") int limit) {
+		if (q.isBlank()) {
+			throw new ValidationException(List.of("q must not be blank"));
+		}
+		if (limit < 1 || limit > MAX_MENU_SEARCH_LIMIT) {
+			throw new ValidationException(List.of("limit must be between 1 and " + MAX_MENU_SEARCH_LIMIT));
+		}
+		logger.info("Searching menu items for '{}'", q);
+
+		List<MenuSearchGroup> groups = menuSearchService.search(q, limit);
+
+		logger.info("Found matching menu items at {} restaurants", groups.size());
+		return new ResponseEntity<>(groups, HttpStatus.OK);
+	}
+
+	/**
+	 * Retrieves the rating aggregates of a restaurant: the number of ratings,
+	 * their sum and average, and how many ratings gave each of 1 to 5 stars.
+	 *
+	 * @param id The ID of the restaurant.
+	 * @return A ResponseEntity containing the RatingSummary and HTTP status OK.
+	 * @throws EntityNotFoundException if no restaurant is found with the
+	 *                                 specified ID.
+	 */
+	@GetMapping("/{id}/rating-summary")
+	@Operation(summary = "Get the rating summary of a restaurant", description = "Returns the number, sum and average of the restaurant's ratings and their 1 to 5 star histogram. The aggregates are maintained as ratings are written, so no ratings are loaded.")
+	public ResponseEntity<RatingSummary> findRestaurantRatingSummary(@PathVariable int id) {
+		logger.info("Request received to find the rating summary of restaurant with ID: {}", id);
+		return new ResponseEntity<>(restaurantFacade.findRatingSummary(id), HttpStatus.OK);
+	}
+
+	/**
+	 * Verifies the rating aggregates of all restaurants against their ratings and
+	 * repairs those that differ.
+	 *
+	 * @return A ResponseEntity containing the RatingRebuildReport and HTTP status
+	 *         OK.
+	 */
+	@PostMapping("/rating-summaries/rebuild")
+	@Operation(summary = "Rebuild the rating summaries", description = "Compares the rating aggregates of every restaurant with the ratings table, checking ranges of restaurants in parallel, and recomputes those that differ. The same check runs at startup and periodically.")
+	public ResponseEntity<RatingRebuildReport> rebuildRatingSummaries() {
+		logger.info("Request received to rebuild the rating summaries");
+		return new ResponseEntity<>(ratingAggregateService.rebuild(), HttpStatus.OK);
 	}
 
 	/**
@@ -371,17 +508,8 @@ public class RestaurantController {
 		// Logging the start of the method
 		logger.info("Finding delivery areas for restaurant with ID: {}", id);
 
-		// Find the restaurant by ID
-		Restaurant restaurant = restaurantService.findById(id);
-
-		// Check if the restaurant exists
-		if (restaurant == null) {
-			logger.error("Restaurant not found with ID: {}", id);
-			throw new EntityNotFoundException("No restaurant found with ID " + id);
-		} else {
-			// Retrieve and return the delivery areas served by the restaurant
-			return new ResponseEntity<>(restaurantService.deliveryAddressServedById(id), HttpStatus.OK);
-		}
+		// Retrieve and return the delivery areas served by the restaurant
+		return new ResponseEntity<>(restaurantFacade.findDeliveryAreas(id), HttpStatus.OK);
 	}
 
 	/**
@@ -396,7 +524,6 @@ public class RestaurantController {
 	@Operation(summary = "Add a menu item to a restaurant", description = "Adds a new menu item to the specified restaurant by restaurant ID.")
 	public ResponseEntity<MenuItem> addRestaurantMenuItemsById(@PathVariable int id,
 			@Valid @RequestBody MenuItemDto menuItemDto, BindingResult bindingResult) {
-
 		// Check if there are any validation errors in the binding result
 		if (bindingResult.hasErrors()) {
 
@@ -411,34 +538,11 @@ public class RestaurantController {
 			throw new ValidationException(errors);
 		}
 
-		// Fetch the restaurant by ID
-		Restaurant restaurant = restaurantService.findById(id);
-		MenuItem menuItem = null;
-
-		// Check if the restaurant exists
-		if (restaurant == null) {
-			logger.error("No restaurant found with ID " + id);
-			throw new EntityNotFoundException("No restaurant found with ID " + id);
-		} else {
-			// Create a new MenuItem and set its properties from the MenuItemDto
-			menuItem = new MenuItem();
-			menuItem.setRestaurant(restaurant); // Associate the menu item with the restaurant
-			restaurant.getMenuItems().add(menuItem); // Add the menu item to the restaurant's menu
-			menuItem.setItemId(menuItemService.findLastRecord().getItemId() + 1); // Generate new item ID
-			menuItem.setDescription(menuItemDto.getDescription());
-			menuItem.setName(menuItemDto.getName());
-			menuItem.setPrice(menuItemDto.getPrice());
-			menuItem.setOrderItems(null); // Initialize order items to null as it's not provided
-
-			// Save the updated restaurant entity with the new menu item
-			logger.info("Adding new menu item to restaurant with ID " + id);
-			restaurantService.save(restaurant);
-		}
+		// Add the menu item and bump the menu version of the restaurant
+		MenuItem savedMenuItem = restaurantFacade.addMenuItem(id, menuItemDto);
 
-		// Save the menu item and return the response
-		logger.info(
-				"New menu item added successfully with ID " + menuItem.getItemId() + " to restaurant with ID " + id);
-		return new ResponseEntity<>(menuItemService.save(menuItem), HttpStatus.CREATED);
+		// Return the response
+		return new ResponseEntity<>(savedMenuItem, HttpStatus.CREATED);
 	}
 
 	/**
@@ -453,7 +557,6 @@ public class RestaurantController {
 	@Operation(summary = "Update a specific menu item for a restaurant", description = "Updates the details of a menu item identified by itemId for a restaurant identified by id.")
 	public ResponseEntity<MenuItem> updateRestaurantMenuItemsById(@PathVariable int itemId, @PathVariable int id,
 			@Valid @RequestBody MenuItemDto menuItemDto, BindingResult bindingResult) {
-
 		// Check if there are any validation errors in the binding result
 		if (bindingResult.hasErrors()) {
 
@@ -468,44 +571,11 @@ public class RestaurantController {
 			throw new ValidationException(errors);
 		}
 
-		// Log entry into the method
-		logger.info("Updating menu item with ID {} for restaurant with ID {}", itemId, id);
-
-		// Find the restaurant by ID
-		Restaurant restaurant = restaurantService.findById(id);
-		MenuItem menuItem = null;
+		// Update the menu item and bump the version of the menu holding it
+		MenuItem savedMenuItem = restaurantFacade.updateMenuItem(id, itemId, menuItemDto);
 
-		// Check if the restaurant exists
-		if (restaurant == null) {
-			// Log error if restaurant is not found
-			logger.error("Restaurant with ID {} not found", id);
-			throw new EntityNotFoundException("No restaurant found with ID " + id);
-		} else {
-			// Find the menu item by itemId
-			menuItem = menuItemService.findById(itemId);
-
-			// Check if the menu item exists
-			if (menuItem == null) {
-				// Log error if menu item is not found
-				logger.error("Menu item with ID {} not found", itemId);
-				throw new EntityNotFoundException("Item not found at ID " + itemId);
-			} else {
-				// Update menu item details if they are provided in the request body
-				if (menuItemDto.getDescription() != null) {
-					menuItem.setDescription(menuItemDto.getDescription());
-				}
-				if (menuItemDto.getName() != null) {
-					menuItem.setName(menuItemDto.getName());
-				}
-				if (menuItemDto.getPrice() != 0) {
-					menuItem.setPrice(menuItemDto.getPrice());
-				}
-				// Log successful update
-				logger.info("Menu item with ID {} for restaurant ID {} updated successfully", itemId, id);
-			}
-		}
-		// Save the updated menu item and return the response
-		return new ResponseEntity<>(menuItemService.save(menuItem), HttpStatus.OK);
+		// Return the response
+		return new ResponseEntity<>(savedMenuItem, HttpStatus.OK);
 	}
 
 	/**
@@ -519,25 +589,8 @@ public class RestaurantController {
 	@ResponseStatus(code = HttpStatus.OK)
 	@Operation(summary = "Delete a menu item", description = "Deletes a specific menu item by its ID from a restaurant by its ID.")
 	public void deleteRestaurantMenuItemsById(@PathVariable int itemId, @PathVariable int id) {
-		// Log the request to delete a menu item
-		logger.info("Request received to delete menu item with ID {} from restaurant with ID {}", itemId, id);
-
-		// Find the restaurant by ID
-		Restaurant restaurant = restaurantService.findById(id);
-		if (restaurant == null) {
-			// Log and throw exception if restaurant is not found
-			logger.error("No restaurant found with ID {}", id);
-			throw new EntityNotFoundException("No restaurant found with ID " + id);
-		} else {
-			// Log the deletion action
-			logger.info("Deleting menu item with ID {} from restaurant with ID {}", itemId, id);
-
-			// Delete the menu item by ID
-			restaurantService.deleteMenuItemsById(itemId);
-
-			// Log the successful deletion
-			logger.info("Successfully deleted menu item with ID {} from restaurant with ID {}", itemId, id);
-		}
+		// Delete the menu item and bump the version of the menu it was on
+		restaurantFacade.deleteMenuItem(id, itemId);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.fooddeliverysystem.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers changes to in-memory structures until the transaction whose writes
+ * they reflect has committed, so a rolled back write never shows.
+ */
+final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	/**
+	 * Runs the change once the current transaction has committed, or right away
+	 * outside of one.
+	 */
+	static void run(Runnable change) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			change.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				change.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,57 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+import com.fooddeliverysystem.entity.MenuItem;
+
+/**
+ * Service interface for autocompleting restaurant and menu item names as they
+ * are typed, from an index kept in memory and answered without a query.
+ *
+ * The index is loaded at startup and then follows the restaurants and menu
+ * items saved and deleted through the restaurant use cases and the menu item
+ * service. Changes made inside a transaction reach it once it commits. The
+ * popularity used for ranking is counted from the orders and refreshed
+ * periodically.
+ */
+public interface AutocompleteService {
+
+	/**
+	 * Returns the restaurants and menu items with a word of their name starting
+	 * with the given prefix. Case, accents and punctuation are ignored.
+	 *
+	 * @param prefix The typed prefix.
+	 * @param limit  The maximum number of suggestions.
+	 * @return Up to limit suggestions, most popular first.
+	 */
+	List<NameSuggestion> suggest(String prefix, int limit);
+
+	/**
+	 * Records the name of a created or renamed restaurant.
+	 *
+	 * @param restaurantId The ID of the restaurant.
+	 * @param name         Its name.
+	 */
+	void updateRestaurant(int restaurantId, String name);
+
+	/**
+	 * Drops a deleted restaurant and its menu items.
+	 *
+	 * @param restaurantId The ID of the restaurant.
+	 */
+	void removeRestaurant(int restaurantId);
+
+	/**
+	 * Records the name and restaurant of a saved menu item.
+	 *
+	 * @param menuItem The saved menu item.
+	 */
+	void updateMenuItem(MenuItem menuItem);
+
+	/**
+	 * Drops a deleted menu item.
+	 *
+	 * @param itemId The ID of the menu item.
+	 */
+	void removeMenuItem(int itemId);
+}
@@ -0,0 +1,246 @@
+package com.fooddeliverysystem.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.entity.MenuItem;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Implementation of {@link AutocompleteService} on a {@link NameIndex}.
+ *
+ * The current index is published through a volatile field, so a keystroke
+ * query takes no lock: it binary searches the sorted keys and ranks the range
+ * starting with the prefix in a bounded heap. A save or delete merges the keys
+ * of the one restaurant or menu item into a new index under a lock, once its
+ * transaction has committed. The popularity of every name is recounted
+ * periodically, which only swaps the suggestions the keys point to.
+ */
+@Service
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AutocompleteServiceImpl.class);
+
+	private static final String SELECT_RESTAURANTS = "select r.restaurant_id, r.restaurant_name, count(o.order_id)"
+			+ " from restaurants r left join orders o on o.restaurant_id = r.restaurant_id"
+			+ " group by r.restaurant_id, r.restaurant_name";
+	private static final String SELECT_MENU_ITEMS = "select m.item_id, m.restaurant_id, m.item_name,"
+			+ " coalesce(sum(oi.quantity), 0) from menuitems m left join orderitems oi on oi.item_id = m.item_id"
+			+ " group by m.item_id, m.restaurant_id, m.item_name";
+
+	private JdbcTemplate jdbcTemplate;
+	private long refreshMillis;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Map<Integer, NameSuggestion> restaurants = new HashMap<>();
+	private final Map<Integer, NameSuggestion> menuItems = new HashMap<>();
+	private volatile NameIndex index = NameIndex.EMPTY;
+
+	private ScheduledExecutorService refresher;
+
+	@Autowired
+	public AutocompleteServiceImpl(JdbcTemplate jdbcTemplate,
+			@Value("${fooddelivery.autocomplete.popularity-refresh-millis:600000}") long refreshMillis) {
+		super();
+		this.jdbcTemplate = jdbcTemplate;
+		this.refreshMillis = refreshMillis;
+	}
+
+	/**
+	 * Loads the index and schedules the popularity refresh.
+	 */
+	@PostConstruct
+	public void start() {
+		load();
+
+		if (refreshMillis <= 0) {
+			return;
+		}
+		refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "autocomplete-refresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+		refresher.scheduleWithFixedDelay(this::refreshPopularityQuietly, refreshMillis, refreshMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (refresher != null) {
+			refresher.shutdownNow();
+			refresher.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Replaces the index with the names and popularity of every restaurant and
+	 * menu item. Changes committed while the queries run may be missed, so this
+	 * is meant for startup.
+	 *
+	 * @return The number of names indexed.
+	 */
+	public int load() {
+		long start = System.nanoTime();
+		List<NameSuggestion> loadedRestaurants = new ArrayList<>();
+		List<NameSuggestion> loadedMenuItems = new ArrayList<>();
+		jdbcTemplate.query(SELECT_RESTAURANTS, (RowCallbackHandler) rs -> loadedRestaurants.add(new NameSuggestion(
+				SuggestionType.RESTAURANT, rs.getInt(1), rs.getInt(1), rs.getString(2), rs.getLong(3))));
+		jdbcTemplate.query(SELECT_MENU_ITEMS, (RowCallbackHandler) rs -> loadedMenuItems.add(new NameSuggestion(
+				SuggestionType.MENU_ITEM, rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getLong(4))));
+
+		lock.lock();
+		try {
+			restaurants.clear();
+			loadedRestaurants.forEach(suggestion -> restaurants.put(suggestion.id(), suggestion));
+			menuItems.clear();
+			loadedMenuItems.forEach(suggestion -> menuItems.put(suggestion.id(), suggestion));
+			List<NameSuggestion> all = new ArrayList<>(restaurants.values());
+			all.addAll(menuItems.values());
+			index = NameIndex.of(all);
+		} finally {
+			lock.unlock();
+		}
+		logger.info("Indexed {} restaurant and {} menu item names with {} keys in {} ms", restaurants.size(),
+				menuItems.size(), index.size(), (System.nanoTime() - start) / 1_000_000);
+		return restaurants.size() + menuItems.size();
+	}
+
+	/**
+	 * Recounts the popularity of every indexed name. Names and deletions are
+	 * left to the save paths, so only the counts of the queries are used.
+	 *
+	 * @return The number of names whose popularity changed.
+	 */
+	public int refreshPopularity() {
+		Map<Integer, Long> restaurantCounts = new HashMap<>();
+		Map<Integer, Long> menuItemCounts = new HashMap<>();
+		jdbcTemplate.query(SELECT_RESTAURANTS,
+				(RowCallbackHandler) rs -> restaurantCounts.put(rs.getInt(1), rs.getLong(3)));
+		jdbcTemplate.query(SELECT_MENU_ITEMS,
+				(RowCallbackHandler) rs -> menuItemCounts.put(rs.getInt(1), rs.getLong(4)));
+
+		lock.lock();
+		try {
+			int changed = recount(restaurants, restaurantCounts) + recount(menuItems, menuItemCounts);
+			if (changed > 0) {
+				index = index.map(suggestion -> (suggestion.type() == SuggestionType.RESTAURANT ? restaurants
+						: menuItems).getOrDefault(suggestion.id(), suggestion));
+			}
+			logger.info("Refreshed the popularity of {} autocomplete names", changed);
+			return changed;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public List<NameSuggestion> suggest(String prefix, int limit) {
+		return index.search(prefix, limit);
+	}
+
+	@Override
+	public void updateRestaurant(int restaurantId, String name) {
+		AfterCommit.run(() -> put(restaurants,
+				new NameSuggestion(SuggestionType.RESTAURANT, restaurantId, restaurantId, name, 0)));
+	}
+
+	@Override
+	public void removeRestaurant(int restaurantId) {
+		AfterCommit.run(() -> {
+			lock.lock();
+			try {
+				restaurants.remove(restaurantId);
+				menuItems.values().removeIf(suggestion -> suggestion.restaurantId() == restaurantId);
+				index = index.with(suggestion -> suggestion.restaurantId() == restaurantId, List.of());
+			} finally {
+				lock.unlock();
+			}
+		});
+	}
+
+	@Override
+	public void updateMenuItem(MenuItem menuItem) {
+		int restaurantId = menuItem.getRestaurant() == null ? 0 : menuItem.getRestaurant().getRestaurantId();
+		NameSuggestion suggestion = new NameSuggestion(SuggestionType.MENU_ITEM, menuItem.getItemId(), restaurantId,
+				menuItem.getName(), 0);
+		AfterCommit.run(() -> put(menuItems, suggestion));
+	}
+
+	@Override
+	public void removeMenuItem(int itemId) {
+		AfterCommit.run(() -> {
+			lock.lock();
+			try {
+				if (menuItems.remove(itemId) != null) {
+					index = index.with(suggestion -> suggestion.type() == SuggestionType.MENU_ITEM
+							&& suggestion.id() == itemId, List.of());
+				}
+			} finally {
+				lock.unlock();
+			}
+		});
+	}
+
+	/**
+	 * Replaces the keys of one restaurant or menu item, keeping the popularity
+	 * it had. An unchanged name leaves the index alone.
+	 */
+	private void put(Map<Integer, NameSuggestion> suggestions, NameSuggestion suggestion) {
+		lock.lock();
+		try {
+			NameSuggestion previous = suggestions.get(suggestion.id());
+			NameSuggestion current = suggestion
+					.withPopularity(previous == null ? suggestion.popularity() : previous.popularity());
+			if (current.equals(previous)) {
+				return;
+			}
+			suggestions.put(current.id(), current);
+			index = index.with(indexed -> indexed.type() == current.type() && indexed.id() == current.id(),
+					List.of(current));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Applies recounted popularities to the suggestions of one type.
+	 *
+	 * @return The number of suggestions changed.
+	 */
+	private static int recount(Map<Integer, NameSuggestion> suggestions, Map<Integer, Long> counts) {
+		int changed = 0;
+		for (Map.Entry<Integer, NameSuggestion> entry : suggestions.entrySet()) {
+			Long count = counts.get(entry.getKey());
+			if (count != null && count != entry.getValue().popularity()) {
+				entry.setValue(entry.getValue().withPopularity(count));
+				changed++;
+			}
+		}
+		return changed;
+	}
+
+	private void refreshPopularityQuietly() {
+		try {
+			refreshPopularity();
+		} catch (RuntimeException e) {
+			logger.warn("Refreshing the autocomplete popularity failed, retrying on the next run: {}", e.toString());
+		}
+	}
+}
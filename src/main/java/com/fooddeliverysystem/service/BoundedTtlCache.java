@@ -0,0 +1,150 @@
+package com.fooddeliverysystem.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A small in-memory cache holding at most a fixed number of entries, each of
+ * which expires a fixed time after it was stored.
+ *
+ * Entries are kept in insertion order. Since every entry lives for the same
+ * time, the oldest entry is always the first to expire, so expired entries are
+ * dropped from the head of the map on every write and the eldest entry is
+ * evicted once the cache is full. Reads of an expired entry miss.
+ *
+ * @param <K> The type of the cache keys.
+ * @param <V> The type of the cached values.
+ */
+public class BoundedTtlCache<K, V> {
+
+	private final int maxEntries;
+	private final long ttlNanos;
+	private final LongSupplier nanoClock;
+
+	private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>();
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Creates a cache measuring expiry with {@link System#nanoTime()}.
+	 *
+	 * @param maxEntries The maximum number of entries kept.
+	 * @param ttl        How long an entry stays readable after it was stored.
+	 */
+	public BoundedTtlCache(int maxEntries, Duration ttl) {
+		this(maxEntries, ttl, System::nanoTime);
+	}
+
+	/**
+	 * Creates a cache measuring expiry with the given clock.
+	 *
+	 * @param maxEntries The maximum number of entries kept.
+	 * @param ttl        How long an entry stays readable after it was stored.
+	 * @param nanoClock  The monotonic clock, in nanoseconds.
+	 */
+	public BoundedTtlCache(int maxEntries, Duration ttl, LongSupplier nanoClock) {
+		this.maxEntries = Math.max(1, maxEntries);
+		this.ttlNanos = ttl.toNanos();
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * Returns the value stored for the key, or null if there is none or it has
+	 * expired.
+	 */
+	public V get(K key) {
+		lock.lock();
+		try {
+			Entry<V> entry = entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.expiresAt - nanoClock.getAsLong() <= 0) {
+				entries.remove(key);
+				return null;
+			}
+			return entry.value;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stores the value for the key, replacing and restarting the expiry of any
+	 * previous value, and evicts expired and surplus entries.
+	 */
+	public void put(K key, V value) {
+		lock.lock();
+		try {
+			long now = nanoClock.getAsLong();
+			// Re-inserting moves the key to the tail, keeping the map in expiry order
+			entries.remove(key);
+			entries.put(key, new Entry<>(value, now + ttlNanos));
+
+			Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Entry<V> eldest = iterator.next().getValue();
+				if (entries.size() > maxEntries || eldest.expiresAt - now <= 0) {
+					iterator.remove();
+				} else {
+					break;
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the value stored for the key.
+	 *
+	 * @return The removed value, or null if there was none.
+	 */
+	public V remove(K key) {
+		lock.lock();
+		try {
+			Entry<V> entry = entries.remove(key);
+			return entry == null ? null : entry.value;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			entries.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of entries currently held, including expired entries
+	 * that have not been dropped yet.
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return entries.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static final class Entry<V> {
+		private final V value;
+		private final long expiresAt;
+
+		private Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
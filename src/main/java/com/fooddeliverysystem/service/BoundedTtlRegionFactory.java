@@ -0,0 +1,117 @@
+package com.fooddeliverysystem.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hibernate second-level cache provider that keeps every entity, collection
+ * and query results region in memory in a {@link BoundedTtlCache}, so each
+ * region holds a bounded number of entries that expire a fixed time after they
+ * were cached.
+ *
+ * The size and lifetime of the regions are read from the Hibernate properties
+ * {@value #MAX_ENTRIES_SETTING} and {@value #TTL_MINUTES_SETTING}. The update
+ * timestamps region is not bounded and never expires: it holds one entry per
+ * table, and dropping one would let query results cached before a write to the
+ * table be served as current.
+ */
+public class BoundedTtlRegionFactory extends RegionFactoryTemplate {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger logger = LoggerFactory.getLogger(BoundedTtlRegionFactory.class);
+
+	public static final String MAX_ENTRIES_SETTING = "fooddelivery.cache.max-entries-per-region";
+	public static final String TTL_MINUTES_SETTING = "fooddelivery.cache.ttl-minutes";
+
+	private static final int DEFAULT_MAX_ENTRIES = 10_000;
+	private static final int DEFAULT_TTL_MINUTES = 30;
+
+	private int maxEntries;
+	private Duration ttl;
+
+	@Override
+	protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+		maxEntries = ConfigurationHelper.getInt(MAX_ENTRIES_SETTING, configValues, DEFAULT_MAX_ENTRIES);
+		ttl = Duration.ofMinutes(ConfigurationHelper.getLong(TTL_MINUTES_SETTING, configValues, DEFAULT_TTL_MINUTES));
+
+		logger.info("Second-level cache regions hold up to {} entries for {}", maxEntries, ttl);
+	}
+
+	@Override
+	protected void releaseFromUse() {
+		// The regions are released by Hibernate; nothing else is held
+	}
+
+	@Override
+	protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+			DomainDataRegionBuildingContext buildingContext) {
+		logger.info("Creating second-level cache region {}", regionConfig.getRegionName());
+		return new BoundedTtlStorageAccess(new BoundedTtlCache<>(maxEntries, ttl));
+	}
+
+	@Override
+	protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		logger.info("Creating query results cache region {}", regionName);
+		return new BoundedTtlStorageAccess(new BoundedTtlCache<>(maxEntries, ttl));
+	}
+
+	@Override
+	protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		return new TimestampsStorageAccess();
+	}
+
+	/**
+	 * Storage of the update timestamps region: the time of the last write to
+	 * each table, kept until the session factory closes.
+	 */
+	private static final class TimestampsStorageAccess implements StorageAccess {
+
+		private final Map<Object, Object> timestamps = new ConcurrentHashMap<>();
+
+		@Override
+		public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+			return timestamps.get(key);
+		}
+
+		@Override
+		public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+			timestamps.put(key, value);
+		}
+
+		@Override
+		public boolean contains(Object key) {
+			return timestamps.containsKey(key);
+		}
+
+		@Override
+		public void evictData() {
+			timestamps.clear();
+		}
+
+		@Override
+		public void evictData(Object key) {
+			timestamps.remove(key);
+		}
+
+		@Override
+		public void release() {
+			timestamps.clear();
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.fooddeliverysystem.service;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Storage of one Hibernate second-level cache region in a
+ * {@link BoundedTtlCache}.
+ *
+ * Hibernate keeps the locking and versioning of the cached entries itself and
+ * only reads, writes and evicts through this class, so the region just has to
+ * hold on to what it is given until it is evicted, expires or is pushed out by
+ * newer entries.
+ */
+public class BoundedTtlStorageAccess implements DomainDataStorageAccess {
+
+	private final BoundedTtlCache<Object, Object> cache;
+
+	/**
+	 * Creates the storage of a region.
+	 *
+	 * @param cache The cache holding the entries of the region.
+	 */
+	public BoundedTtlStorageAccess(BoundedTtlCache<Object, Object> cache) {
+		this.cache = cache;
+	}
+
+	@Override
+	public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+		return cache.get(key);
+	}
+
+	@Override
+	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+		cache.put(key, value);
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return cache.get(key) != null;
+	}
+
+	@Override
+	public void evictData() {
+		cache.clear();
+	}
+
+	@Override
+	public void evictData(Object key) {
+		cache.remove(key);
+	}
+
+	@Override
+	public void release() {
+		cache.clear();
+	}
+
+	/**
+	 * Returns the number of entries held by the region.
+	 */
+	public int size() {
+		return cache.size();
+	}
+}
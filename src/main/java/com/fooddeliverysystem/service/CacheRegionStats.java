@@ -0,0 +1,20 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * Hit and miss counters of one second-level cache region.
+ *
+ * @param region The name of the region, e.g. the entity or collection role.
+ * @param hits   The number of lookups answered from the region.
+ * @param misses The number of lookups that had to go to the database.
+ * @param puts   The number of entries stored in the region.
+ */
+public record CacheRegionStats(String region, long hits, long misses, long puts) {
+
+	/**
+	 * Returns the share of lookups answered from the region, between 0 and 1.
+	 */
+	public double hitRatio() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+}
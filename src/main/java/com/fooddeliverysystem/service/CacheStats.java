@@ -0,0 +1,14 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+/**
+ * A snapshot of the second-level and query cache counters since startup.
+ *
+ * @param secondLevel The counters of all entity and collection regions taken
+ *                    together.
+ * @param queries     The counters of the query results cache.
+ * @param regions     The counters of each entity and collection region.
+ */
+public record CacheStats(CacheRegionStats secondLevel, CacheRegionStats queries, List<CacheRegionStats> regions) {
+}
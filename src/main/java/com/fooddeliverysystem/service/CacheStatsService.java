@@ -0,0 +1,15 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * Service interface exposing the hit and miss statistics of the Hibernate
+ * second-level cache and query cache.
+ */
+public interface CacheStatsService {
+
+	/**
+	 * Returns the cache counters collected since startup.
+	 *
+	 * @return The overall, query cache and per region counters.
+	 */
+	CacheStats getStats();
+}
@@ -0,0 +1,63 @@
+package com.fooddeliverysystem.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Reads the cache counters from the Hibernate statistics, which are collected
+ * when hibernate.generate_statistics is enabled.
+ */
+@Service
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CacheStatsServiceImpl.class);
+
+	private Statistics statistics;
+
+	@Autowired
+	public CacheStatsServiceImpl(EntityManagerFactory entityManagerFactory) {
+		super();
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	/**
+	 * Collects the overall, query cache and per region counters.
+	 *
+	 * @return The cache counters; all zero if statistics are disabled.
+	 */
+	@Override
+	public CacheStats getStats() {
+		if (!statistics.isStatisticsEnabled()) {
+			logger.warn("Hibernate statistics are disabled, cache counters are not collected");
+		}
+
+		CacheRegionStats secondLevel = new CacheRegionStats("second-level", statistics.getSecondLevelCacheHitCount(),
+				statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount());
+		CacheRegionStats queries = new CacheRegionStats("queries", statistics.getQueryCacheHitCount(),
+				statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount());
+
+		List<CacheRegionStats> regions = new ArrayList<>();
+		String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+		Arrays.sort(regionNames);
+		for (String regionName : regionNames) {
+			CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+			if (region != null) {
+				regions.add(new CacheRegionStats(regionName, region.getHitCount(), region.getMissCount(),
+						region.getPutCount()));
+			}
+		}
+
+		return new CacheStats(secondLevel, queries, regions);
+	}
+}
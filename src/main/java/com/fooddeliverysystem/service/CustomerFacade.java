@@ -0,0 +1,113 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.fooddeliverysystem.dto.CustomerDto;
+import com.fooddeliverysystem.dto.ListOfRestaurantsDto;
+import com.fooddeliverysystem.dto.RestaurantSummary;
+import com.fooddeliverysystem.entity.Customer;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.entity.Rating;
+
+/**
+ * Application service for customers, called in process by both the REST
+ * controllers and the MVC pages.
+ *
+ * Every method throws jakarta.persistence.EntityNotFoundException when the
+ * customer, or an address or restaurant it refers to, does not exist.
+ */
+public interface CustomerFacade {
+
+	/**
+	 * Retrieves all customers with their collections.
+	 *
+	 * @return A list of all customers.
+	 */
+	List<Customer> findAll();
+
+	/**
+	 * Retrieves a customer by ID.
+	 *
+	 * @param id The ID of the customer.
+	 * @return The customer.
+	 */
+	Customer findById(int id);
+
+	/**
+	 * Updates the details and delivery addresses of a customer.
+	 *
+	 * @param id          The ID of the customer.
+	 * @param customerDto The new details and addresses.
+	 * @return The updated customer.
+	 */
+	Customer update(int id, CustomerDto customerDto);
+
+	/**
+	 * Deletes a customer.
+	 *
+	 * @param id The ID of the customer.
+	 */
+	void deleteById(int id);
+
+	/**
+	 * Retrieves the orders of a customer, loaded together with the customer.
+	 *
+	 * @param id The ID of the customer.
+	 * @return The orders of the customer.
+	 */
+	List<Order> findOrders(int id);
+
+	/**
+	 * Retrieves the ratings given on the orders of a customer.
+	 *
+	 * @param id The ID of the customer.
+	 * @return The ratings of the customer.
+	 */
+	List<Rating> findReviews(int id);
+
+	/**
+	 * Adds restaurants to the favorites of a customer. Nothing is added if any of
+	 * them does not exist.
+	 *
+	 * @param id                   The ID of the customer.
+	 * @param listOfRestaurantsDto The restaurants to add to the favorites.
+	 */
+	void addFavorites(int id, ListOfRestaurantsDto listOfRestaurantsDto);
+
+	/**
+	 * Removes a restaurant from the favorites of a customer; also throws the
+	 * not-found exception if it is not one of them.
+	 *
+	 * @param id           The ID of the customer.
+	 * @param restaurantId The ID of the restaurant.
+	 */
+	void removeFavorite(int id, int restaurantId);
+
+	/**
+	 * Checks whether a restaurant is a favorite of a customer.
+	 *
+	 * @param id           The ID of the customer.
+	 * @param restaurantId The ID of the restaurant.
+	 * @return True if it is.
+	 */
+	boolean isFavorite(int id, int restaurantId);
+
+	/**
+	 * Retrieves the favorite restaurants of a customer.
+	 *
+	 * @param id The ID of the customer.
+	 * @return The summaries of the favorite restaurants, by restaurant ID.
+	 */
+	List<RestaurantSummary> findFavorites(int id);
+
+	/**
+	 * Retrieves the favorite restaurants of several customers at once. Unknown
+	 * customers are answered with an empty list rather than an exception.
+	 *
+	 * @param ids The IDs of the customers.
+	 * @return The summaries of each customer's favorites, by customer ID.
+	 */
+	Map<Integer, List<RestaurantSummary>> findFavorites(Collection<Integer> ids);
+}
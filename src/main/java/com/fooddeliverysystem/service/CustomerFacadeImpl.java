@@ -0,0 +1,176 @@
+package com.fooddeliverysystem.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dto.CustomerDto;
+import com.fooddeliverysystem.dto.DeliveryAddressDto;
+import com.fooddeliverysystem.dto.ListOfRestaurantsDto;
+import com.fooddeliverysystem.dto.RestaurantDto;
+import com.fooddeliverysystem.dto.RestaurantSummary;
+import com.fooddeliverysystem.entity.Customer;
+import com.fooddeliverysystem.entity.DeliveryAddress;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.entity.Rating;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Implements the customer use cases on top of the customer, delivery address
+ * and favorite services.
+ */
+@Service
+public class CustomerFacadeImpl implements CustomerFacade {
+
+	private static final Logger logger = LoggerFactory.getLogger(CustomerFacadeImpl.class);
+
+	private CustomerService customerService;
+	private DeliveryAddressService deliveryAddressService;
+	private FavoriteService favoriteService;
+
+	@Autowired
+	public CustomerFacadeImpl(CustomerService customerService, DeliveryAddressService deliveryAddressService,
+			FavoriteService favoriteService) {
+		super();
+		this.customerService = customerService;
+		this.deliveryAddressService = deliveryAddressService;
+		this.favoriteService = favoriteService;
+	}
+
+	@Override
+	public List<Customer> findAll() {
+		logger.info("Fetching all customers");
+		return customerService.findAll();
+	}
+
+	@Override
+	public Customer findById(int id) {
+		return requireCustomer(customerService.findById(id), id);
+	}
+
+	@Override
+	public Customer update(int id, CustomerDto customerDto) {
+		logger.info("Updating customer with ID: {}", id);
+
+		Customer customer = requireCustomer(customerService.findById(id), id);
+
+		// Update customer details
+		customer.setEmail(customerDto.getEmail());
+		customer.setName(customerDto.getName());
+		customer.setPhone(customerDto.getPhone());
+
+		List<DeliveryAddress> addresses = new ArrayList<>();
+		for (DeliveryAddressDto deliveryAddressDto : customerDto.getAddresses()) {
+			DeliveryAddress deliveryAddress = deliveryAddressService.findById(deliveryAddressDto.getAddressId());
+
+			// Check if the delivery address is found
+			if (deliveryAddress == null) {
+				logger.warn("Delivery address with ID {} not found.", deliveryAddressDto.getAddressId());
+				throw new EntityNotFoundException(
+						"Delivery Address with ID " + deliveryAddressDto.getAddressId() + " not found");
+			}
+
+			// Update delivery address details
+			deliveryAddress.setAddressLine1(deliveryAddressDto.getAddressLine1());
+			deliveryAddress.setAddressLine2(deliveryAddressDto.getAddressLine2());
+			deliveryAddress.setCity(deliveryAddressDto.getCity());
+			deliveryAddress.setCustomer(customer);
+			deliveryAddress.setPostal(deliveryAddressDto.getPostal());
+			deliveryAddress.setState(deliveryAddressDto.getState());
+
+			addresses.add(deliveryAddress);
+			deliveryAddressService.save(deliveryAddress);
+		}
+
+		customer.setAddresses(addresses);
+
+		// Save the updated customer and log the success
+		Customer updatedCustomer = customerService.save(customer);
+		logger.info("Customer with ID {} updated successfully.", id);
+		return updatedCustomer;
+	}
+
+	@Override
+	public void deleteById(int id) {
+		requireCustomer(customerService.findById(id), id);
+
+		// Delete the customer's favorites first, they refer to it
+		favoriteService.removeCustomer(id);
+
+		// Delete the customer and log the success
+		customerService.deleteById(id);
+		logger.info("Customer with ID {} deleted successfully.", id);
+	}
+
+	@Override
+	public List<Order> findOrders(int id) {
+		return requireCustomer(customerService.findByIdWithOrders(id), id).getOrders();
+	}
+
+	@Override
+	public List<Rating> findReviews(int id) {
+		Customer customer = requireCustomer(customerService.findById(id), id);
+
+		// Collect the ratings from the customer's orders
+		return customer.getOrders().stream().flatMap(order -> order.getRatings().stream())
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public void addFavorites(int id, ListOfRestaurantsDto listOfRestaurantsDto) {
+		requireCustomer(customerService.findById(id), id);
+
+		List<Integer> restaurantIds = listOfRestaurantsDto.getRestaurants().stream()
+				.map(RestaurantDto::getRestaurantId).collect(Collectors.toList());
+		favoriteService.add(id, restaurantIds);
+	}
+
+	@Override
+	public void removeFavorite(int id, int restaurantId) {
+		requireCustomer(customerService.findById(id), id);
+
+		// Check if the restaurant was a favorite
+		if (!favoriteService.remove(id, restaurantId)) {
+			logger.warn("Restaurant with ID {} is not a favorite of customer ID {}.", restaurantId, id);
+			throw new EntityNotFoundException(
+					"Restaurant with ID " + restaurantId + " is not a favorite of customer with ID " + id);
+		}
+	}
+
+	@Override
+	public boolean isFavorite(int id, int restaurantId) {
+		requireCustomer(customerService.findById(id), id);
+		return favoriteService.contains(id, restaurantId);
+	}
+
+	@Override
+	public List<RestaurantSummary> findFavorites(int id) {
+		requireCustomer(customerService.findById(id), id);
+		return favoriteService.findSummaries(List.of(id)).get(id);
+	}
+
+	@Override
+	public Map<Integer, List<RestaurantSummary>> findFavorites(Collection<Integer> ids) {
+		return favoriteService.findSummaries(ids);
+	}
+
+	/**
+	 * Returns the customer or throws the not-found exception the API answers with
+	 * 404.
+	 */
+	private static Customer requireCustomer(Customer customer, int id) {
+		if (customer == null) {
+			logger.warn("Customer with ID {} not found.", id);
+			throw new EntityNotFoundException("Customer with ID " + id + " not found");
+		}
+		return customer;
+	}
+}
@@ -2,6 +2,7 @@ package com.fooddeliverysystem.service;
 
 import java.util.List;
 
+import com.fooddeliverysystem.dto.CustomerSummary;
 import com.fooddeliverysystem.entity.Customer;
 
 /**
@@ -22,17 +23,6 @@ public interface CustomerService {
 	 */
 	Customer save(Customer customer);
 
-	/**
-	 * Retrieves the most recently added customer from the database.
-	 *
-	 * This method queries the database to find the customer with the highest ID,
-	 * which represents the most recently added customer.
-	 *
-	 * @return The most recently added Customer object, or null if no customers are
-	 *         found.
-	 */
-	Customer findLastRecord();
-
 	/**
 	 * Finds a customer by its ID.
 	 *
@@ -44,6 +34,18 @@ public interface CustomerService {
 	 */
 	Customer findById(int id);
 
+	/**
+	 * Finds a customer by its ID together with its orders.
+	 *
+	 * The customer and its orders are loaded with one statement, and the items,
+	 * ratings and coupons of the orders in batches, so listing the orders costs a
+	 * bounded number of queries however many orders the customer has.
+	 *
+	 * @param id The unique ID of the customer to be retrieved.
+	 * @return A Customer object with its orders loaded if found, otherwise null.
+	 */
+	Customer findByIdWithOrders(int id);
+
 	/**
 	 * Retrieves a list of all customers from the database.
 	 *
@@ -53,6 +55,37 @@ public interface CustomerService {
 	 */
 	List<Customer> findAll();
 
+	/**
+	 * Retrieves one page of customers, ordered by ID.
+	 *
+	 * Pages are addressed by the last ID of the previous page rather than by an
+	 * offset, so each page is a range scan on the primary key.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of customers in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	KeysetPage<Customer> findPage(int after, int limit);
+
+	/**
+	 * Retrieves the summaries of all customers, ordered by ID.
+	 *
+	 * A summary carries the scalar columns and their order count, computed in the same
+	 * query, so none of the collections of the entity are loaded.
+	 *
+	 * @return A list of summaries of all customers.
+	 */
+	List<CustomerSummary> findAllSummaries();
+
+	/**
+	 * Retrieves one page of customers summaries, ordered by ID.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of summaries in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	KeysetPage<CustomerSummary> findSummaryPage(int after, int limit);
+
 	/**
 	 * Deletes a customer by its ID.
 	 *
@@ -5,9 +5,11 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.fooddeliverysystem.dao.CustomerDao;
+import com.fooddeliverysystem.dto.CustomerSummary;
 import com.fooddeliverysystem.entity.Customer;
 
 @Service
@@ -22,39 +24,41 @@ public class CustomerServiceImpl implements CustomerService {
 		this.customerDao = customerDao;
 	}
 
-	@Override
 	/**
-	 * Retrieve the most recently added customer based on the highest customer ID.
+	 * Find a customer by their ID.
 	 * 
-	 * @return The most recently added customer, or null if no customers exist.
+	 * @param id The ID of the customer to find.
+	 * @return The customer with the specified ID, or null if no customer is found.
 	 */
-	public Customer findLastRecord() {
-		logger.info("Attempting to find the most recently added customer.");
+	@Override
+	public Customer findById(int id) {
+		logger.info("Attempting to find customer with ID: {}", id);
 
-		// Retrieve the customer with the highest ID
-		Customer lastCustomer = customerDao.findFirstByOrderByCustomerIdDesc();
+		// Retrieve the customer from the database
+		Customer customer = customerDao.findById(id).orElse(null);
 
-		if (lastCustomer == null) {
-			logger.warn("No customers found in the database.");
+		if (customer == null) {
+			logger.warn("No customer found with ID: {}", id);
 		} else {
-			logger.info("Most recent customer found with ID: {}", lastCustomer.getCustomerId());
+			logger.info("Customer found with ID: {}", id);
 		}
 
-		return lastCustomer;
+		return customer;
 	}
 
 	/**
-	 * Find a customer by their ID.
+	 * Find a customer by their ID, fetching their orders in the same statement.
 	 * 
 	 * @param id The ID of the customer to find.
-	 * @return The customer with the specified ID, or null if no customer is found.
+	 * @return The customer with the specified ID and their orders, or null if no
+	 *         customer is found.
 	 */
 	@Override
-	public Customer findById(int id) {
-		logger.info("Attempting to find customer with ID: {}", id);
+	public Customer findByIdWithOrders(int id) {
+		logger.info("Attempting to find customer with orders, ID: {}", id);
 
-		// Retrieve the customer from the database
-		Customer customer = customerDao.findById(id).orElse(null);
+		// Retrieve the customer and their orders from the database
+		Customer customer = customerDao.findWithOrdersByCustomerId(id).orElse(null);
 
 		if (customer == null) {
 			logger.warn("No customer found with ID: {}", id);
@@ -81,6 +85,61 @@ public class CustomerServiceImpl implements CustomerService {
 		return customers;
 	}
 
+	/**
+	 * Retrieves one page of customers with IDs greater than the cursor.
+	 *
+	 * One row more than requested is fetched to tell whether a further page
+	 * exists; it is not part of the returned page.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of customers in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	@Override
+	public KeysetPage<Customer> findPage(int after, int limit) {
+		logger.info("Fetching up to {} customers after ID: {}", limit, after);
+
+		List<Customer> fetched = customerDao.findByCustomerIdGreaterThanOrderByCustomerIdAsc(after, Limit.of(limit + 1));
+		KeysetPage<Customer> page = KeysetPage.of(fetched, limit, Customer::getCustomerId);
+
+		logger.info("Fetched {} customers, next cursor: {}", page.items().size(), page.nextCursor());
+		return page;
+	}
+
+	/**
+	 * Retrieves the summaries of all customers with a single query.
+	 *
+	 * @return A list of summaries of all customers.
+	 */
+	@Override
+	public List<CustomerSummary> findAllSummaries() {
+		logger.info("Fetching summaries of all customers");
+
+		List<CustomerSummary> summaries = customerDao.findAllSummaries();
+
+		logger.info("Fetched {} customers summaries", summaries.size());
+		return summaries;
+	}
+
+	/**
+	 * Retrieves one page of customers summaries with IDs greater than the
+	 * cursor, fetching one extra row to tell whether a further page exists.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of summaries in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	@Override
+	public KeysetPage<CustomerSummary> findSummaryPage(int after, int limit) {
+		logger.info("Fetching up to {} customers summaries after ID: {}", limit, after);
+
+		List<CustomerSummary> fetched = customerDao.findSummariesAfter(after, Limit.of(limit + 1));
+		KeysetPage<CustomerSummary> page = KeysetPage.of(fetched, limit, CustomerSummary::customerId);
+
+		logger.info("Fetched {} customers summaries, next cursor: {}", page.items().size(), page.nextCursor());
+		return page;
+	}
+
 	/**
 	 * Save a customer to the database.
 	 * 
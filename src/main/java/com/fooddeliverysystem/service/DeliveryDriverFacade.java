@@ -0,0 +1,40 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+import com.fooddeliverysystem.entity.DeliveryDriver;
+import com.fooddeliverysystem.entity.Order;
+
+/**
+ * Application service for delivery drivers, called in process by both the REST
+ * controllers and the MVC pages.
+ *
+ * Every method throws jakarta.persistence.EntityNotFoundException when the
+ * delivery driver it refers to does not exist.
+ */
+public interface DeliveryDriverFacade {
+
+	/**
+	 * Retrieves all delivery drivers with their collections.
+	 *
+	 * @return A list of all delivery drivers.
+	 */
+	List<DeliveryDriver> findAll();
+
+	/**
+	 * Retrieves a delivery driver by ID.
+	 *
+	 * @param id The ID of the delivery driver.
+	 * @return The delivery driver.
+	 */
+	DeliveryDriver findById(int id);
+
+	/**
+	 * Retrieves the orders assigned to a delivery driver, loaded together with
+	 * the driver.
+	 *
+	 * @param id The ID of the delivery driver.
+	 * @return The orders of the delivery driver.
+	 */
+	List<Order> findOrders(int id);
+}
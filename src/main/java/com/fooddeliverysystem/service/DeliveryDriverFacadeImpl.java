@@ -0,0 +1,59 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.entity.DeliveryDriver;
+import com.fooddeliverysystem.entity.Order;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Implements the delivery driver use cases on top of the delivery driver
+ * service.
+ */
+@Service
+public class DeliveryDriverFacadeImpl implements DeliveryDriverFacade {
+
+	private static final Logger logger = LoggerFactory.getLogger(DeliveryDriverFacadeImpl.class);
+
+	private DeliveryDriverService deliveryDriverService;
+
+	@Autowired
+	public DeliveryDriverFacadeImpl(DeliveryDriverService deliveryDriverService) {
+		super();
+		this.deliveryDriverService = deliveryDriverService;
+	}
+
+	@Override
+	public List<DeliveryDriver> findAll() {
+		logger.info("Fetching all delivery drivers");
+		return deliveryDriverService.findAll();
+	}
+
+	@Override
+	public DeliveryDriver findById(int id) {
+		return requireDeliveryDriver(deliveryDriverService.findById(id), id);
+	}
+
+	@Override
+	public List<Order> findOrders(int id) {
+		return requireDeliveryDriver(deliveryDriverService.findByIdWithOrders(id), id).getOrders();
+	}
+
+	/**
+	 * Returns the delivery driver or throws the not-found exception the API
+	 * answers with 404.
+	 */
+	static DeliveryDriver requireDeliveryDriver(DeliveryDriver deliveryDriver, int id) {
+		if (deliveryDriver == null) {
+			logger.warn("Delivery driver with ID {} not found.", id);
+			throw new EntityNotFoundException("Delivery Driver with ID " + id + " not found");
+		}
+		return deliveryDriver;
+	}
+}
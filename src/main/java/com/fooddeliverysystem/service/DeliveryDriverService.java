@@ -2,6 +2,7 @@ package com.fooddeliverysystem.service;
 
 import java.util.List;
 
+import com.fooddeliverysystem.dto.DeliveryDriverSummary;
 import com.fooddeliverysystem.entity.DeliveryDriver;
 
 /**
@@ -21,6 +22,19 @@ public interface DeliveryDriverService {
 	 */
 	DeliveryDriver findById(int id);
 
+	/**
+	 * Finds a delivery driver by their ID together with their orders.
+	 *
+	 * The driver and their orders are loaded with one statement, and the items,
+	 * ratings and coupons of the orders in batches, so listing the orders costs a
+	 * bounded number of queries however many orders the driver has.
+	 *
+	 * @param id The unique ID of the delivery driver to be retrieved.
+	 * @return A DeliveryDriver object with its orders loaded if found, otherwise
+	 *         null.
+	 */
+	DeliveryDriver findByIdWithOrders(int id);
+
 	/**
 	 * Retrieves a list of all delivery drivers.
 	 *
@@ -33,6 +47,37 @@ public interface DeliveryDriverService {
 	 */
 	List<DeliveryDriver> findAll();
 
+	/**
+	 * Retrieves one page of delivery drivers, ordered by ID.
+	 *
+	 * Pages are addressed by the last ID of the previous page rather than by an
+	 * offset, so each page is a range scan on the primary key.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of delivery drivers in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	KeysetPage<DeliveryDriver> findPage(int after, int limit);
+
+	/**
+	 * Retrieves the summaries of all delivery drivers, ordered by ID.
+	 *
+	 * A summary carries the scalar columns and their order count, computed in the same
+	 * query, so none of the collections of the entity are loaded.
+	 *
+	 * @return A list of summaries of all delivery drivers.
+	 */
+	List<DeliveryDriverSummary> findAllSummaries();
+
+	/**
+	 * Retrieves one page of delivery drivers summaries, ordered by ID.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of summaries in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	KeysetPage<DeliveryDriverSummary> findSummaryPage(int after, int limit);
+
 	/**
 	 * Saves a delivery driver to the database.
 	 *
@@ -5,9 +5,11 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.fooddeliverysystem.dao.DeliveryDriverDao;
+import com.fooddeliverysystem.dto.DeliveryDriverSummary;
 import com.fooddeliverysystem.entity.DeliveryDriver;
 
 import jakarta.transaction.Transactional;
@@ -46,6 +48,29 @@ public class DeliveryDriverServiceImpl implements DeliveryDriverService {
 		return deliveryDriver;
 	}
 
+	/**
+	 * Retrieve a delivery driver by their ID, fetching their orders in the same
+	 * statement.
+	 * 
+	 * @param id The ID of the delivery driver to retrieve.
+	 * @return The delivery driver with the specified ID and their orders, or null
+	 *         if no such driver exists.
+	 */
+	@Override
+	public DeliveryDriver findByIdWithOrders(int id) {
+		logger.info("Fetching delivery driver with orders, ID: {}", id);
+
+		DeliveryDriver deliveryDriver = deliveryDriverDao.findWithOrdersByDriverId(id).orElse(null);
+
+		if (deliveryDriver == null) {
+			logger.warn("No delivery driver found with ID: {}", id);
+		} else {
+			logger.info("Delivery driver found with ID: {}", id);
+		}
+
+		return deliveryDriver;
+	}
+
 	/**
 	 * Retrieve all delivery drivers from the database.
 	 * 
@@ -62,6 +87,61 @@ public class DeliveryDriverServiceImpl implements DeliveryDriverService {
 		return deliveryDrivers;
 	}
 
+	/**
+	 * Retrieves one page of delivery drivers with IDs greater than the cursor.
+	 *
+	 * One row more than requested is fetched to tell whether a further page
+	 * exists; it is not part of the returned page.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of delivery drivers in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	@Override
+	public KeysetPage<DeliveryDriver> findPage(int after, int limit) {
+		logger.info("Fetching up to {} delivery drivers after ID: {}", limit, after);
+
+		List<DeliveryDriver> fetched = deliveryDriverDao.findByDriverIdGreaterThanOrderByDriverIdAsc(after, Limit.of(limit + 1));
+		KeysetPage<DeliveryDriver> page = KeysetPage.of(fetched, limit, DeliveryDriver::getDriverId);
+
+		logger.info("Fetched {} delivery drivers, next cursor: {}", page.items().size(), page.nextCursor());
+		return page;
+	}
+
+	/**
+	 * Retrieves the summaries of all delivery drivers with a single query.
+	 *
+	 * @return A list of summaries of all delivery drivers.
+	 */
+	@Override
+	public List<DeliveryDriverSummary> findAllSummaries() {
+		logger.info("Fetching summaries of all delivery drivers");
+
+		List<DeliveryDriverSummary> summaries = deliveryDriverDao.findAllSummaries();
+
+		logger.info("Fetched {} delivery drivers summaries", summaries.size());
+		return summaries;
+	}
+
+	/**
+	 * Retrieves one page of delivery drivers summaries with IDs greater than the
+	 * cursor, fetching one extra row to tell whether a further page exists.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of summaries in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	@Override
+	public KeysetPage<DeliveryDriverSummary> findSummaryPage(int after, int limit) {
+		logger.info("Fetching up to {} delivery drivers summaries after ID: {}", limit, after);
+
+		List<DeliveryDriverSummary> fetched = deliveryDriverDao.findSummariesAfter(after, Limit.of(limit + 1));
+		KeysetPage<DeliveryDriverSummary> page = KeysetPage.of(fetched, limit, DeliveryDriverSummary::driverId);
+
+		logger.info("Fetched {} delivery drivers summaries, next cursor: {}", page.items().size(), page.nextCursor());
+		return page;
+	}
+
 	/**
 	 * Save a delivery driver to the database.
 	 * 
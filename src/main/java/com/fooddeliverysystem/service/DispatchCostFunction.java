@@ -0,0 +1,36 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * The cost the dispatch optimizer minimizes over all the assignments of a
+ * tick. Both start from the distance between driver and restaurant, lengthened
+ * by the load penalty for every order the driver is already delivering.
+ */
+public enum DispatchCostFunction {
+
+	/** The total distance: every kilometre weighs the same. */
+	DISTANCE {
+		@Override
+		public double cost(double distanceKm, int activeOrders, double loadPenaltyKm) {
+			return distanceKm + loadPenaltyKm * activeOrders;
+		}
+	},
+
+	/** The sum of the squared distances: prefers two medium trips to a short and a long one. */
+	SQUARED_DISTANCE {
+		@Override
+		public double cost(double distanceKm, int activeOrders, double loadPenaltyKm) {
+			double effectiveKm = distanceKm + loadPenaltyKm * activeOrders;
+			return effectiveKm * effectiveKm;
+		}
+	};
+
+	/**
+	 * Returns the cost of giving an order to a driver.
+	 *
+	 * @param distanceKm    The distance of the driver from the restaurant.
+	 * @param activeOrders  The number of orders the driver already has.
+	 * @param loadPenaltyKm The distance each of those orders counts for.
+	 * @return The cost, never negative.
+	 */
+	public abstract double cost(double distanceKm, int activeOrders, double loadPenaltyKm);
+}
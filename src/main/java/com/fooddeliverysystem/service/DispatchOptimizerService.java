@@ -0,0 +1,29 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+/**
+ * Service interface for the periodic batch dispatch of orders waiting for a
+ * delivery driver.
+ *
+ * Every tick collects the unassigned orders and the drivers near them that
+ * can take another order, and assigns them all at once so that the total cost
+ * of the assignments is minimal, rather than giving each order the best driver
+ * left when its turn comes.
+ */
+public interface DispatchOptimizerService {
+
+	/**
+	 * Runs one tick now, waiting for a tick already running to finish first.
+	 *
+	 * @return The outcome of the tick.
+	 */
+	DispatchTickStats runTick();
+
+	/**
+	 * Returns the outcome of the most recent ticks.
+	 *
+	 * @return The ticks, latest first.
+	 */
+	List<DispatchTickStats> getRecentTicks();
+}
@@ -0,0 +1,423 @@
+package com.fooddeliverysystem.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fooddeliverysystem.dao.OrderDao;
+import com.fooddeliverysystem.dto.UnassignedOrder;
+import com.fooddeliverysystem.entity.Order;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Batch implementation of {@link DispatchOptimizerService} solving each tick as
+ * a linear assignment problem.
+ *
+ * A tick runs in three steps:
+ * <ol>
+ * <li>The oldest unassigned orders are loaded with one projection query, and
+ * the drivers within reach of each restaurant are taken from the driver
+ * location index. A driver with room for k more orders offers k slots, the
+ * later ones costing more by the load penalty.</li>
+ * <li>Orders that share no driver cannot affect each other, so the orders and
+ * slots are split into independent groups, each solved with the Hungarian
+ * algorithm. Large batches look up their drivers and solve their groups on a
+ * small pool of threads.</li>
+ * <li>The assignments are applied through {@link OrderFacade#assignDriver} in
+ * one transaction, so their updates are flushed together in JDBC batches. If
+ * that transaction fails the orders are assigned one by one instead.</li>
+ * </ol>
+ * An order assigned by someone else while the tick ran keeps its driver.
+ */
+@Service
+public class DispatchOptimizerServiceImpl implements DispatchOptimizerService {
+
+	private static final Logger logger = LoggerFactory.getLogger(DispatchOptimizerServiceImpl.class);
+
+	// The cost of an order and slot that cannot be paired; any real cost is far below
+	private static final double INFEASIBLE = 1e12;
+
+	private static final int RECENT_TICKS = 20;
+
+	private OrderDao orderDao;
+	private OrderFacade orderFacade;
+	private DriverDispatchService driverDispatchService;
+	private DriverLocationService driverLocationService;
+	private TransactionTemplate transactionTemplate;
+	private boolean enabled;
+	private long tickMillis;
+	private DispatchCostFunction costFunction;
+	private int maxOrdersPerTick;
+	private int candidatesPerOrder;
+	private double maxDistanceKm;
+	private double loadPenaltyKm;
+	private int parallelThreshold;
+	private Set<String> finishedStatuses;
+
+	private final ThreadPoolExecutor solvers;
+	private final ReentrantLock tickLock = new ReentrantLock();
+	private final AtomicLong ticks = new AtomicLong();
+	private final ConcurrentLinkedDeque<DispatchTickStats> recentTicks = new ConcurrentLinkedDeque<>();
+
+	private ScheduledExecutorService scheduler;
+
+	@Autowired
+	public DispatchOptimizerServiceImpl(OrderDao orderDao, OrderFacade orderFacade,
+			DriverDispatchService driverDispatchService, DriverLocationService driverLocationService,
+			PlatformTransactionManager transactionManager,
+			@Value("${fooddelivery.dispatch.optimizer.enabled:false}") boolean enabled,
+			@Value("${fooddelivery.dispatch.optimizer.tick-millis:10000}") long tickMillis,
+			@Value("${fooddelivery.dispatch.optimizer.cost-function:DISTANCE}") DispatchCostFunction costFunction,
+			@Value("${fooddelivery.dispatch.optimizer.max-orders-per-tick:500}") int maxOrdersPerTick,
+			@Value("${fooddelivery.dispatch.optimizer.candidates-per-order:10}") int candidatesPerOrder,
+			@Value("${fooddelivery.dispatch.optimizer.solver-threads:4}") int solverThreads,
+			@Value("${fooddelivery.dispatch.optimizer.parallel-threshold:64}") int parallelThreshold,
+			@Value("${fooddelivery.dispatch.max-distance-km:15}") double maxDistanceKm,
+			@Value("${fooddelivery.dispatch.load-penalty-km:2}") double loadPenaltyKm,
+			@Value("${fooddelivery.dispatch.finished-statuses:Delivered,Cancelled,Canceled,Completed}") String[] finishedStatuses) {
+		super();
+		this.orderDao = orderDao;
+		this.orderFacade = orderFacade;
+		this.driverDispatchService = driverDispatchService;
+		this.driverLocationService = driverLocationService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.tickMillis = Math.max(1, tickMillis);
+		this.costFunction = costFunction;
+		this.maxOrdersPerTick = Math.max(1, maxOrdersPerTick);
+		this.candidatesPerOrder = Math.max(1, candidatesPerOrder);
+		this.parallelThreshold = Math.max(1, parallelThreshold);
+		this.maxDistanceKm = maxDistanceKm;
+		this.loadPenaltyKm = Math.max(0, loadPenaltyKm);
+		this.finishedStatuses = DriverDispatchServiceImpl.normalizeStatuses(finishedStatuses);
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		int poolSize = Math.max(1, solverThreads);
+		this.solvers = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(this.maxOrdersPerTick), runnable -> {
+					Thread thread = new Thread(runnable, "dispatch-solver-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		this.solvers.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Starts the ticks if the optimizer is enabled.
+	 */
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			logger.info("Dispatch optimizer disabled");
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "dispatch-optimizer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::runTickQuietly, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+		logger.info("Dispatching pending orders every {} ms minimizing {}", tickMillis, costFunction);
+	}
+
+	/**
+	 * Stops the ticks and the solver threads.
+	 */
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (scheduler != null) {
+			scheduler.shutdown();
+			scheduler.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		solvers.shutdownNow();
+	}
+
+	@Override
+	public DispatchTickStats runTick() {
+		tickLock.lock();
+		try {
+			LocalDateTime startedAt = LocalDateTime.now();
+			List<UnassignedOrder> orders = orderDao.findUnassigned(finishedStatuses,
+					PageRequest.of(0, maxOrdersPerTick));
+
+			long solveStart = System.nanoTime();
+			Plan plan = plan(orders);
+			double solveMillis = (System.nanoTime() - solveStart) / 1_000_000.0;
+
+			long applyStart = System.nanoTime();
+			int assigned = plan.assignments().isEmpty() ? 0 : apply(plan.assignments());
+			double applyMillis = (System.nanoTime() - applyStart) / 1_000_000.0;
+
+			DispatchTickStats stats = new DispatchTickStats(ticks.incrementAndGet(), startedAt, orders.size(),
+					plan.drivers(), plan.components(), assigned, plan.totalDistanceKm(), solveMillis, applyMillis);
+			recentTicks.addFirst(stats);
+			while (recentTicks.size() > RECENT_TICKS) {
+				recentTicks.pollLast();
+			}
+
+			if (!orders.isEmpty()) {
+				logger.info("Dispatch tick {}: assigned {} of {} pending orders to {} drivers in {} groups,"
+						+ " solved in {} ms, written in {} ms", stats.tick(), assigned, orders.size(), plan.drivers(),
+						plan.components(), String.format(Locale.ROOT, "%.2f", solveMillis),
+						String.format(Locale.ROOT, "%.2f", applyMillis));
+			}
+			return stats;
+		} finally {
+			tickLock.unlock();
+		}
+	}
+
+	@Override
+	public List<DispatchTickStats> getRecentTicks() {
+		return new ArrayList<>(recentTicks);
+	}
+
+	private void runTickQuietly() {
+		try {
+			runTick();
+		} catch (RuntimeException e) {
+			logger.warn("Dispatch tick failed, retrying on the next tick: {}", e.toString());
+		}
+	}
+
+	/**
+	 * Finds the assignment of minimal total cost of the given orders to the
+	 * drivers around them.
+	 */
+	private Plan plan(List<UnassignedOrder> orders) {
+		if (orders.isEmpty()) {
+			return new Plan(List.of(), 0, 0, 0);
+		}
+
+		// The drivers within reach of each restaurant
+		List<Callable<List<NearbyDriver>>> lookups = new ArrayList<>();
+		for (UnassignedOrder order : orders) {
+			lookups.add(() -> driverLocationService.findWithinRadius(order.latitude(), order.longitude(),
+					maxDistanceKm, candidatesPerOrder));
+		}
+		List<List<NearbyDriver>> candidates = runAll(lookups);
+
+		// The room and load of each of those drivers, read once for the tick
+		Map<Integer, Integer> freeSlots = new HashMap<>();
+		Map<Integer, Integer> activeOrders = new HashMap<>();
+		for (List<NearbyDriver> drivers : candidates) {
+			for (NearbyDriver driver : drivers) {
+				int id = driver.deliveryDriverId();
+				if (!freeSlots.containsKey(id)) {
+					freeSlots.put(id, driverDispatchService.freeSlots(id));
+					activeOrders.put(id, driverDispatchService.activeOrders(id));
+				}
+			}
+		}
+
+		// Link the orders sharing a driver with free slots; each group is solved on its own
+		int[] parent = new int[orders.size()];
+		Arrays.setAll(parent, i -> i);
+		Map<Integer, Integer> firstOrderOfDriver = new HashMap<>();
+		boolean[] reachable = new boolean[orders.size()];
+		for (int i = 0; i < orders.size(); i++) {
+			for (NearbyDriver driver : candidates.get(i)) {
+				if (freeSlots.get(driver.deliveryDriverId()) == 0) {
+					continue;
+				}
+				reachable[i] = true;
+				Integer first = firstOrderOfDriver.putIfAbsent(driver.deliveryDriverId(), i);
+				if (first != null) {
+					parent[root(parent, i)] = root(parent, first);
+				}
+			}
+		}
+		Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+		for (int i = 0; i < orders.size(); i++) {
+			if (reachable[i]) {
+				groups.computeIfAbsent(root(parent, i), key -> new ArrayList<>()).add(i);
+			}
+		}
+
+		List<Callable<List<Assignment>>> solves = new ArrayList<>();
+		for (List<Integer> group : groups.values()) {
+			solves.add(() -> solve(group, orders, candidates, freeSlots, activeOrders));
+		}
+		List<Assignment> assignments = new ArrayList<>();
+		double totalDistanceKm = 0;
+		for (List<Assignment> solved : runAll(solves)) {
+			for (Assignment assignment : solved) {
+				assignments.add(assignment);
+				totalDistanceKm += assignment.distanceKm();
+			}
+		}
+		return new Plan(assignments, firstOrderOfDriver.size(), groups.size(), totalDistanceKm);
+	}
+
+	/**
+	 * Solves one group of orders over the free slots of their drivers.
+	 */
+	private List<Assignment> solve(List<Integer> group, List<UnassignedOrder> orders,
+			List<List<NearbyDriver>> candidates, Map<Integer, Integer> freeSlots, Map<Integer, Integer> activeOrders) {
+		// One column per free slot, the slots of a driver next to each other
+		Map<Integer, Integer> firstColumn = new LinkedHashMap<>();
+		List<Integer> driverOfColumn = new ArrayList<>();
+		for (int i : group) {
+			for (NearbyDriver driver : candidates.get(i)) {
+				int id = driver.deliveryDriverId();
+				if (freeSlots.get(id) > 0 && !firstColumn.containsKey(id)) {
+					firstColumn.put(id, driverOfColumn.size());
+					for (int slot = 0; slot < freeSlots.get(id); slot++) {
+						driverOfColumn.add(id);
+					}
+				}
+			}
+		}
+
+		double[][] cost = new double[group.size()][driverOfColumn.size()];
+		double[][] distance = new double[group.size()][driverOfColumn.size()];
+		for (int row = 0; row < group.size(); row++) {
+			Arrays.fill(cost[row], INFEASIBLE);
+			for (NearbyDriver driver : candidates.get(group.get(row))) {
+				int id = driver.deliveryDriverId();
+				for (int slot = 0; slot < freeSlots.get(id); slot++) {
+					int column = firstColumn.get(id) + slot;
+					cost[row][column] = costFunction.cost(driver.distanceKm(), activeOrders.get(id) + slot,
+							loadPenaltyKm);
+					distance[row][column] = driver.distanceKm();
+				}
+			}
+		}
+
+		int[] columnOfRow = HungarianSolver.solve(cost);
+		List<Assignment> assignments = new ArrayList<>();
+		for (int row = 0; row < group.size(); row++) {
+			int column = columnOfRow[row];
+			if (column >= 0 && cost[row][column] < INFEASIBLE) {
+				assignments.add(new Assignment(orders.get(group.get(row)).orderId(), driverOfColumn.get(column),
+						distance[row][column]));
+			}
+		}
+		return assignments;
+	}
+
+	/**
+	 * Assigns the orders in one transaction, or one by one if that fails.
+	 *
+	 * @return The number of orders assigned.
+	 */
+	private int apply(List<Assignment> assignments) {
+		try {
+			return transactionTemplate.execute(status -> {
+				int assigned = 0;
+				for (Assignment assignment : assignments) {
+					if (assignIfUnassigned(assignment)) {
+						assigned++;
+					}
+				}
+				return assigned;
+			});
+		} catch (RuntimeException e) {
+			logger.warn("Writing {} assignments at once failed, writing them one by one: {}", assignments.size(),
+					e.toString());
+		}
+
+		int assigned = 0;
+		for (Assignment assignment : assignments) {
+			try {
+				if (Boolean.TRUE.equals(transactionTemplate.execute(status -> assignIfUnassigned(assignment)))) {
+					assigned++;
+				}
+			} catch (RuntimeException e) {
+				logger.warn("Could not assign driver ID {} to order ID {}: {}", assignment.deliveryDriverId(),
+						assignment.orderId(), e.toString());
+			}
+		}
+		return assigned;
+	}
+
+	private boolean assignIfUnassigned(Assignment assignment) {
+		Order order = orderFacade.findById(assignment.orderId());
+		if (order.getDeliveryDriver() != null) {
+			return false;
+		}
+		orderFacade.assignDriver(assignment.orderId(), assignment.deliveryDriverId());
+		return true;
+	}
+
+	/**
+	 * Runs the tasks on the solver threads when there are enough of them to be
+	 * worth it, otherwise on the calling thread.
+	 */
+	private <T> List<T> runAll(List<Callable<T>> tasks) {
+		List<T> results = new ArrayList<>(tasks.size());
+		try {
+			if (tasks.size() < parallelThreshold) {
+				for (Callable<T> task : tasks) {
+					results.add(task.call());
+				}
+				return results;
+			}
+			for (Future<T> future : solvers.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while planning the dispatch", e);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static int root(int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	/**
+	 * An order and the driver chosen for it.
+	 */
+	private record Assignment(int orderId, int deliveryDriverId, double distanceKm) {
+	}
+
+	/**
+	 * The assignments of a tick and the size of the problem they solve.
+	 */
+	private record Plan(List<Assignment> assignments, int drivers, int components, double totalDistanceKm) {
+	}
+}
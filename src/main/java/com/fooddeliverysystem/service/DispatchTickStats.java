@@ -0,0 +1,23 @@
+package com.fooddeliverysystem.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * The outcome of one tick of the dispatch optimizer.
+ *
+ * @param tick             The number of the tick since startup.
+ * @param startedAt        When the tick started.
+ * @param pendingOrders    The number of unassigned orders collected.
+ * @param availableDrivers The number of drivers near them with room for
+ *                         another order.
+ * @param components       The number of independent groups of orders and
+ *                         drivers the problem split into.
+ * @param assignedOrders   The number of orders assigned.
+ * @param totalDistanceKm  The summed distance of the assigned drivers from
+ *                         their restaurants.
+ * @param solveMillis      The time spent finding the assignment.
+ * @param applyMillis      The time spent writing it.
+ */
+public record DispatchTickStats(long tick, LocalDateTime startedAt, int pendingOrders, int availableDrivers,
+		int components, int assignedOrders, double totalDistanceKm, double solveMillis, double applyMillis) {
+}
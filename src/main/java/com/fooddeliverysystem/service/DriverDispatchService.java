@@ -0,0 +1,63 @@
+package com.fooddeliverysystem.service;
+
+import com.fooddeliverysystem.exception.NoDriverAvailableException;
+
+/**
+ * Service interface for choosing delivery drivers automatically.
+ *
+ * It keeps the number of active orders of every driver in memory, so a driver
+ * can be chosen from the live positions and those counts without loading any
+ * orders. The counts follow the assignments made through this service and are
+ * resynchronized from the database periodically.
+ */
+public interface DriverDispatchService {
+
+	/**
+	 * Chooses the best delivery driver for an order picked up at the given point
+	 * and counts the order as active for that driver. Drivers closer to the point
+	 * and with fewer active orders are preferred; drivers too far away or with
+	 * the maximum number of active orders are never chosen.
+	 *
+	 * @param orderId   The ID of the order.
+	 * @param latitude  The latitude of the pick-up point.
+	 * @param longitude The longitude of the pick-up point.
+	 * @return The chosen driver.
+	 * @throws NoDriverAvailableException if no driver can be chosen.
+	 */
+	NearbyDriver reserve(int orderId, double latitude, double longitude);
+
+	/**
+	 * Records the current state of an order: it counts as active for its driver
+	 * unless it has none or its status is a finished one.
+	 *
+	 * @param orderId          The ID of the order.
+	 * @param deliveryDriverId The ID of its delivery driver, or null if none.
+	 * @param orderStatus      The status of the order.
+	 */
+	void track(int orderId, Integer deliveryDriverId, String orderStatus);
+
+	/**
+	 * Stops counting an order, e.g. when it was deleted or its reservation could
+	 * not be completed.
+	 *
+	 * @param orderId The ID of the order.
+	 */
+	void release(int orderId);
+
+	/**
+	 * Returns the number of active orders of a delivery driver.
+	 *
+	 * @param deliveryDriverId The ID of the delivery driver.
+	 * @return The number of orders counted for the driver.
+	 */
+	int activeOrders(int deliveryDriverId);
+
+	/**
+	 * Returns how many more orders a delivery driver may take before reaching
+	 * the maximum number of active orders.
+	 *
+	 * @param deliveryDriverId The ID of the delivery driver.
+	 * @return The number of free slots, never negative.
+	 */
+	int freeSlots(int deliveryDriverId);
+}
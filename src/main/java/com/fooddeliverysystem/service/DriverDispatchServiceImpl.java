@@ -0,0 +1,323 @@
+package com.fooddeliverysystem.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dao.OrderDao;
+import com.fooddeliverysystem.dto.DriverAssignment;
+import com.fooddeliverysystem.exception.NoDriverAvailableException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory implementation of {@link DriverDispatchService}.
+ *
+ * The driver of every active order and the resulting count per driver are held
+ * in two maps. Choosing a driver asks the driver location index for the drivers
+ * closest to the pick-up point and scores each of them as its distance plus a
+ * penalty per active order; the whole choice touches a few dozen map entries
+ * and no database.
+ *
+ * The counts start from the assignments in the database, loaded on first use,
+ * and are rebuilt from it periodically so that changes made outside this
+ * service (imports, manual edits) are picked up. Changes recorded before the
+ * first load or while a rebuild reads the database are applied again on top of
+ * what it read.
+ */
+@Service
+public class DriverDispatchServiceImpl implements DriverDispatchService {
+
+	private static final Logger logger = LoggerFactory.getLogger(DriverDispatchServiceImpl.class);
+
+	private DriverLocationService driverLocationService;
+	private OrderDao orderDao;
+	private int candidates;
+	private double maxDistanceKm;
+	private int maxActiveOrders;
+	private double loadPenaltyKm;
+	private long resyncIntervalMillis;
+	private Set<String> finishedStatuses;
+
+	// All changes to the two maps and the journal are made holding the lock
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Map<Integer, Integer> driverOfOrder = new HashMap<>();
+	private final ConcurrentHashMap<Integer, Integer> activeOrders = new ConcurrentHashMap<>();
+	// Orders changed while a rebuild reads the database, mapped to their driver or
+	// to null once released; kept from the start until the first load succeeds
+	private Map<Integer, Integer> journal = new HashMap<>();
+
+	private final ReentrantLock resyncLock = new ReentrantLock();
+	private volatile boolean loaded;
+	private ScheduledExecutorService resyncer;
+
+	@Autowired
+	public DriverDispatchServiceImpl(DriverLocationService driverLocationService, OrderDao orderDao,
+			@Value("${fooddelivery.dispatch.candidates:20}") int candidates,
+			@Value("${fooddelivery.dispatch.max-distance-km:15}") double maxDistanceKm,
+			@Value("${fooddelivery.dispatch.max-active-orders:3}") int maxActiveOrders,
+			@Value("${fooddelivery.dispatch.load-penalty-km:2}") double loadPenaltyKm,
+			@Value("${fooddelivery.dispatch.resync-interval-millis:60000}") long resyncIntervalMillis,
+			@Value("${fooddelivery.dispatch.finished-statuses:Delivered,Cancelled,Canceled,Completed}") String[] finishedStatuses) {
+		super();
+		this.driverLocationService = driverLocationService;
+		this.orderDao = orderDao;
+		this.candidates = Math.max(1, candidates);
+		this.maxDistanceKm = maxDistanceKm;
+		this.maxActiveOrders = Math.max(1, maxActiveOrders);
+		this.loadPenaltyKm = Math.max(0, loadPenaltyKm);
+		this.resyncIntervalMillis = Math.max(1, resyncIntervalMillis);
+		this.finishedStatuses = normalizeStatuses(finishedStatuses);
+	}
+
+	/**
+	 * Starts the periodic rebuild of the counts.
+	 */
+	@PostConstruct
+	public void start() {
+		resyncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "driver-load-resync");
+			thread.setDaemon(true);
+			return thread;
+		});
+		resyncer.scheduleWithFixedDelay(this::resyncQuietly, 0, resyncIntervalMillis, TimeUnit.MILLISECONDS);
+		logger.info("Resynchronizing driver loads every {} ms", resyncIntervalMillis);
+	}
+
+	/**
+	 * Stops the periodic rebuild.
+	 */
+	@PreDestroy
+	public void stop() {
+		if (resyncer != null) {
+			resyncer.shutdownNow();
+		}
+	}
+
+	@Override
+	public NearbyDriver reserve(int orderId, double latitude, double longitude) {
+		ensureLoaded();
+
+		List<NearbyDriver> nearest = driverLocationService.findNearest(latitude, longitude, candidates);
+		NearbyDriver chosen = reserve(orderId, nearest);
+		if (chosen == null && nearest.size() == candidates
+				&& nearest.get(nearest.size() - 1).distanceKm() <= maxDistanceKm) {
+			// Every candidate was busy but more drivers may be in range: look at all of them
+			chosen = reserve(orderId,
+					driverLocationService.findWithinRadius(latitude, longitude, maxDistanceKm, Integer.MAX_VALUE));
+		}
+		if (chosen == null) {
+			logger.warn("No delivery driver available for order ID {}", orderId);
+			throw new NoDriverAvailableException(
+					"No delivery driver is available within " + maxDistanceKm + " km of the restaurant");
+		}
+
+		logger.info("Chose driver ID {} at {} km for order ID {}", chosen.deliveryDriverId(),
+				String.format(Locale.ROOT, "%.2f", chosen.distanceKm()), orderId);
+		return chosen;
+	}
+
+	@Override
+	public void track(int orderId, Integer deliveryDriverId, String orderStatus) {
+		if (deliveryDriverId == null || isFinished(orderStatus)) {
+			release(orderId);
+			return;
+		}
+		lock.lock();
+		try {
+			assign(orderId, deliveryDriverId);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void release(int orderId) {
+		lock.lock();
+		try {
+			unassign(orderId);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int activeOrders(int deliveryDriverId) {
+		return activeOrders.getOrDefault(deliveryDriverId, 0);
+	}
+
+	@Override
+	public int freeSlots(int deliveryDriverId) {
+		ensureLoaded();
+		return Math.max(0, maxActiveOrders - activeOrders(deliveryDriverId));
+	}
+
+	/**
+	 * Rebuilds the counts from the assignments in the database.
+	 */
+	public void resync() {
+		resyncLock.lock();
+		try {
+			rebuild();
+		} finally {
+			resyncLock.unlock();
+		}
+	}
+
+	/**
+	 * Chooses the best of the given drivers and assigns it the order, or returns
+	 * null if none of them may take it.
+	 */
+	private NearbyDriver reserve(int orderId, List<NearbyDriver> drivers) {
+		lock.lock();
+		try {
+			NearbyDriver best = null;
+			double bestScore = Double.POSITIVE_INFINITY;
+			for (NearbyDriver driver : drivers) {
+				// Closest first, so nobody further on is in range either
+				if (driver.distanceKm() > maxDistanceKm) {
+					break;
+				}
+				int load = activeOrders(driver.deliveryDriverId());
+				if (load >= maxActiveOrders) {
+					continue;
+				}
+				double score = driver.distanceKm() + loadPenaltyKm * load;
+				if (score < bestScore) {
+					best = driver;
+					bestScore = score;
+				}
+			}
+			if (best != null) {
+				assign(orderId, best.deliveryDriverId());
+			}
+			return best;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void ensureLoaded() {
+		if (loaded) {
+			return;
+		}
+		resyncLock.lock();
+		try {
+			if (!loaded) {
+				rebuild();
+			}
+		} finally {
+			resyncLock.unlock();
+		}
+	}
+
+	private void resyncQuietly() {
+		try {
+			resync();
+		} catch (RuntimeException e) {
+			logger.warn("Resynchronizing driver loads failed, retrying later: {}", e.toString());
+		}
+	}
+
+	private void rebuild() {
+		lock.lock();
+		try {
+			if (journal == null) {
+				journal = new HashMap<>();
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		List<DriverAssignment> assignments;
+		try {
+			assignments = orderDao.findActiveAssignments(finishedStatuses);
+		} catch (RuntimeException e) {
+			lock.lock();
+			try {
+				if (loaded) {
+					journal = null;
+				}
+			} finally {
+				lock.unlock();
+			}
+			throw e;
+		}
+
+		lock.lock();
+		try {
+			Map<Integer, Integer> changes = journal;
+			journal = null;
+			driverOfOrder.clear();
+			activeOrders.clear();
+			for (DriverAssignment assignment : assignments) {
+				assign(assignment.orderId(), assignment.deliveryDriverId());
+			}
+			changes.forEach((orderId, deliveryDriverId) -> {
+				if (deliveryDriverId == null) {
+					unassign(orderId);
+				} else {
+					assign(orderId, deliveryDriverId);
+				}
+			});
+			loaded = true;
+			logger.debug("Loaded {} active orders of {} delivery drivers", driverOfOrder.size(), activeOrders.size());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void assign(int orderId, int deliveryDriverId) {
+		Integer previous = driverOfOrder.put(orderId, deliveryDriverId);
+		if (previous != null) {
+			decrement(previous);
+		}
+		activeOrders.merge(deliveryDriverId, 1, Integer::sum);
+		if (journal != null) {
+			journal.put(orderId, deliveryDriverId);
+		}
+	}
+
+	private void unassign(int orderId) {
+		Integer previous = driverOfOrder.remove(orderId);
+		if (previous != null) {
+			decrement(previous);
+		}
+		if (journal != null) {
+			journal.put(orderId, null);
+		}
+	}
+
+	private void decrement(int deliveryDriverId) {
+		activeOrders.computeIfPresent(deliveryDriverId, (id, count) -> count > 1 ? count - 1 : null);
+	}
+
+	private boolean isFinished(String orderStatus) {
+		return orderStatus != null && finishedStatuses.contains(orderStatus.trim().toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * Returns the configured order statuses trimmed and in lower case, as the
+	 * queries compare them.
+	 */
+	static Set<String> normalizeStatuses(String[] statuses) {
+		return Stream.of(statuses).map(String::trim).filter(status -> !status.isEmpty())
+				.map(status -> status.toLowerCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet());
+	}
+}
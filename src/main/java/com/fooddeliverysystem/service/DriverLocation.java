@@ -0,0 +1,14 @@
+package com.fooddeliverysystem.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * The last reported position of a delivery driver.
+ *
+ * @param deliveryDriverId The ID of the delivery driver.
+ * @param latitude         The latitude in degrees, between -90 and 90.
+ * @param longitude        The longitude in degrees, between -180 and 180.
+ * @param updatedAt        When the position was reported.
+ */
+public record DriverLocation(int deliveryDriverId, double latitude, double longitude, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,14 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+/**
+ * The outcome of a batch of driver location pings.
+ *
+ * @param accepted The number of pings stored.
+ * @param rejected The number of pings dropped.
+ * @param errors   Why each dropped ping was rejected, by its position in the
+ *                 batch.
+ */
+public record DriverLocationBatchResult(int accepted, int rejected, List<String> errors) {
+}
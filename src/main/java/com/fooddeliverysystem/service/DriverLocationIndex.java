@@ -0,0 +1,308 @@
+package com.fooddeliverysystem.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * A concurrent spatial index of driver positions over a uniform grid of
+ * latitude/longitude cells.
+ *
+ * Each driver is stored once by ID and its ID is listed in the cell holding its
+ * position, so an update only touches the driver's entry and, when it crosses
+ * into another cell, the two cells involved. Queries only look at the cells
+ * around the queried point:
+ * <ul>
+ * <li>a radius query scans the block of cells the circle can reach;</li>
+ * <li>a nearest-driver query scans rings of cells of growing size around the
+ * point and stops once no cell further out can hold a closer driver than the
+ * k found so far.</li>
+ * </ul>
+ * Whenever the cells to scan outnumber the indexed drivers, the query checks
+ * every driver instead, so sparse data never costs more than a full scan.
+ *
+ * Queries run concurrently with updates and see each driver at its latest
+ * position; a driver moving while a query runs may be missed by that query.
+ */
+public class DriverLocationIndex {
+
+	static final double EARTH_RADIUS_KM = 6371.0088;
+
+	private final double cellDegrees;
+	private final int latitudeCells;
+	private final int longitudeCells;
+
+	private final ConcurrentHashMap<Integer, DriverLocation> locations = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Long, Set<Integer>> cells = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param cellSizeDegrees The edge length of a grid cell, in degrees of
+	 *                        latitude and longitude. It is rounded so that the
+	 *                        cells divide the globe evenly.
+	 */
+	public DriverLocationIndex(double cellSizeDegrees) {
+		if (!(cellSizeDegrees > 0 && cellSizeDegrees <= 90)) {
+			throw new IllegalArgumentException("Cell size must be between 0 and 90 degrees: " + cellSizeDegrees);
+		}
+		this.latitudeCells = (int) Math.max(2, Math.round(180 / cellSizeDegrees));
+		this.longitudeCells = 2 * latitudeCells;
+		this.cellDegrees = 180.0 / latitudeCells;
+	}
+
+	/**
+	 * Stores the position of a driver, replacing its previous one unless that was
+	 * reported later (fixes can arrive out of order).
+	 *
+	 * @param location The new position.
+	 */
+	public void put(DriverLocation location) {
+		long cell = cellOf(location.latitude(), location.longitude());
+		locations.compute(location.deliveryDriverId(), (id, previous) -> {
+			if (previous != null) {
+				if (previous.updatedAt().isAfter(location.updatedAt())) {
+					return previous;
+				}
+				long previousCell = cellOf(previous.latitude(), previous.longitude());
+				if (previousCell == cell) {
+					return location;
+				}
+				leave(previousCell, id);
+			}
+			enter(cell, id);
+			return location;
+		});
+	}
+
+	/**
+	 * Returns the position of a driver, or null if none is stored.
+	 */
+	public DriverLocation get(int deliveryDriverId) {
+		return locations.get(deliveryDriverId);
+	}
+
+	/**
+	 * Removes the position of a driver.
+	 */
+	public void remove(int deliveryDriverId) {
+		locations.computeIfPresent(deliveryDriverId, (id, previous) -> {
+			leave(cellOf(previous.latitude(), previous.longitude()), id);
+			return null;
+		});
+	}
+
+	/**
+	 * Returns the number of drivers with a stored position.
+	 */
+	public int size() {
+		return locations.size();
+	}
+
+	/**
+	 * Finds the drivers closest to a point.
+	 *
+	 * @param latitude  The latitude of the point.
+	 * @param longitude The longitude of the point.
+	 * @param k         The maximum number of drivers returned.
+	 * @param filter    Which positions may be returned.
+	 * @return Up to k drivers, closest first.
+	 */
+	public List<NearbyDriver> nearest(double latitude, double longitude, int k, Predicate<DriverLocation> filter) {
+		if (k < 1 || locations.isEmpty()) {
+			return List.of();
+		}
+		// Max-heap of the best k so far: the head is the one to drop next
+		PriorityQueue<NearbyDriver> best = new PriorityQueue<>(
+				Comparator.comparingDouble(NearbyDriver::distanceKm).reversed());
+		Set<Integer> seen = new HashSet<>();
+		IntConsumer offer = id -> {
+			if (!seen.add(id)) {
+				return;
+			}
+			DriverLocation location = locations.get(id);
+			if (location == null || !filter.test(location)) {
+				return;
+			}
+			double distance = distanceKm(latitude, longitude, location.latitude(), location.longitude());
+			if (best.size() < k) {
+				best.add(NearbyDriver.of(location, distance));
+			} else if (distance < best.peek().distanceKm()) {
+				best.poll();
+				best.add(NearbyDriver.of(location, distance));
+			}
+		};
+
+		int centerLatitude = latitudeCell(latitude);
+		int centerLongitude = longitudeCell(longitude);
+		for (int ring = 0;; ring++) {
+			long scannedCells = (2L * ring + 1) * (2L * ring + 1);
+			if (scannedCells > locations.size()) {
+				// Cheaper to check every driver than to keep widening the rings
+				locations.keySet().forEach(offer::accept);
+				break;
+			}
+			visitRing(centerLatitude, centerLongitude, ring, offer);
+			if (best.size() == k && best.peek().distanceKm() <= minDistanceOutside(latitude, ring)) {
+				break;
+			}
+		}
+
+		List<NearbyDriver> nearest = new ArrayList<>(best);
+		nearest.sort(Comparator.comparingDouble(NearbyDriver::distanceKm));
+		return nearest;
+	}
+
+	/**
+	 * Finds the drivers within a distance of a point.
+	 *
+	 * @param latitude  The latitude of the point.
+	 * @param longitude The longitude of the point.
+	 * @param radiusKm  The maximum distance, in kilometres.
+	 * @param limit     The maximum number of drivers returned.
+	 * @param filter    Which positions may be returned.
+	 * @return Up to limit drivers within the radius, closest first.
+	 */
+	public List<NearbyDriver> withinRadius(double latitude, double longitude, double radiusKm, int limit,
+			Predicate<DriverLocation> filter) {
+		if (limit < 1 || radiusKm < 0 || locations.isEmpty()) {
+			return List.of();
+		}
+		List<NearbyDriver> found = new ArrayList<>();
+		Set<Integer> seen = new HashSet<>();
+		IntConsumer collect = id -> {
+			if (!seen.add(id)) {
+				return;
+			}
+			DriverLocation location = locations.get(id);
+			if (location == null || !filter.test(location)) {
+				return;
+			}
+			double distance = distanceKm(latitude, longitude, location.latitude(), location.longitude());
+			if (distance <= radiusKm) {
+				found.add(NearbyDriver.of(location, distance));
+			}
+		};
+
+		// The block of cells the circle can reach: its latitude span, and the
+		// longitude span at the highest latitude inside it
+		double radiusDegrees = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+		int fromLatitude = latitudeCell(Math.max(-90, latitude - radiusDegrees));
+		int toLatitude = latitudeCell(Math.min(90, latitude + radiusDegrees));
+		double longitudeSpan = longitudeSpan(Math.abs(latitude) + radiusDegrees, radiusKm / EARTH_RADIUS_KM);
+		long columns = longitudeSpan >= 180 ? longitudeCells
+				: Math.min(longitudeCells, (long) Math.floor((longitude + longitudeSpan + 180) / cellDegrees)
+						- (long) Math.floor((longitude - longitudeSpan + 180) / cellDegrees) + 1);
+		int fromLongitude = longitudeSpan >= 180 ? 0 : longitudeCell(longitude - longitudeSpan);
+
+		if ((long) (toLatitude - fromLatitude + 1) * columns > locations.size()) {
+			locations.keySet().forEach(collect::accept);
+		} else {
+			for (int row = fromLatitude; row <= toLatitude; row++) {
+				for (long column = 0; column < columns; column++) {
+					visitCell(row, fromLongitude + (int) column, collect);
+				}
+			}
+		}
+
+		found.sort(Comparator.comparingDouble(NearbyDriver::distanceKm));
+		return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+	}
+
+	/**
+	 * Returns the great-circle distance between two points, in kilometres.
+	 */
+	public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+		double sinLatitude = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+		double sinLongitude = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+		double a = sinLatitude * sinLatitude + Math.cos(Math.toRadians(latitude1))
+				* Math.cos(Math.toRadians(latitude2)) * sinLongitude * sinLongitude;
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+
+	/**
+	 * Returns a lower bound of the distance from a point to any position outside
+	 * the rings 0 to ring around the point's cell. Such a position is at least
+	 * ring cells away from the point in latitude or, if not, in longitude at a
+	 * latitude at most ring cells further from the equator.
+	 */
+	private double minDistanceOutside(double latitude, int ring) {
+		double angle = Math.toRadians(ring * cellDegrees);
+		double maxLatitude = Math.toRadians(Math.min(90, Math.abs(latitude) + ring * cellDegrees));
+		double latitudeBound = angle;
+		double longitudeBound = 2 * Math.asin(Math.cos(maxLatitude) * Math.sin(Math.min(Math.PI, angle) / 2));
+		return EARTH_RADIUS_KM * Math.min(latitudeBound, longitudeBound);
+	}
+
+	/**
+	 * Returns how many degrees of longitude a point at the given angular
+	 * distance can be away, for points up to the given absolute latitude.
+	 */
+	private static double longitudeSpan(double maxLatitudeDegrees, double angle) {
+		if (maxLatitudeDegrees >= 90 || angle >= Math.PI / 2) {
+			return 180;
+		}
+		double sinHalfSpan = Math.sin(angle / 2) / Math.cos(Math.toRadians(maxLatitudeDegrees));
+		return sinHalfSpan >= 1 ? 180 : Math.toDegrees(2 * Math.asin(sinHalfSpan));
+	}
+
+	private void visitRing(int centerLatitude, int centerLongitude, int ring, IntConsumer visitor) {
+		for (int row = centerLatitude - ring; row <= centerLatitude + ring; row++) {
+			if (row < 0 || row >= latitudeCells) {
+				continue;
+			}
+			if (Math.abs(row - centerLatitude) == ring) {
+				for (int column = centerLongitude - ring; column <= centerLongitude + ring; column++) {
+					visitCell(row, column, visitor);
+				}
+			} else {
+				visitCell(row, centerLongitude - ring, visitor);
+				visitCell(row, centerLongitude + ring, visitor);
+			}
+		}
+	}
+
+	private void visitCell(int row, int column, IntConsumer visitor) {
+		Set<Integer> ids = cells.get(cellKey(row, Math.floorMod(column, longitudeCells)));
+		if (ids != null) {
+			ids.forEach(visitor::accept);
+		}
+	}
+
+	private void enter(long cell, int id) {
+		cells.compute(cell, (key, ids) -> {
+			Set<Integer> members = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+			members.add(id);
+			return members;
+		});
+	}
+
+	private void leave(long cell, int id) {
+		cells.computeIfPresent(cell, (key, ids) -> {
+			ids.remove(id);
+			return ids.isEmpty() ? null : ids;
+		});
+	}
+
+	private long cellOf(double latitude, double longitude) {
+		return cellKey(latitudeCell(latitude), longitudeCell(longitude));
+	}
+
+	private int latitudeCell(double latitude) {
+		return Math.max(0, Math.min(latitudeCells - 1, (int) Math.floor((latitude + 90) / cellDegrees)));
+	}
+
+	private int longitudeCell(double longitude) {
+		return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), longitudeCells);
+	}
+
+	private static long cellKey(int row, int column) {
+		return ((long) row << 32) | column;
+	}
+}
@@ -0,0 +1,51 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+import com.fooddeliverysystem.dto.DriverLocationPing;
+
+/**
+ * Service interface for taking in driver location fixes at a high rate.
+ *
+ * Fixes go into a small per-driver ring and the driver location index without
+ * touching the database. The latest fix of every driver that reported since the
+ * last flush is written to the driver's row periodically, in one batch for all
+ * drivers, so many pings of a driver between two flushes cost a single update.
+ */
+public interface DriverLocationIngestService {
+
+	/**
+	 * Stores a batch of pings. Invalid pings and pings of unknown drivers are
+	 * dropped and reported; the others are stored.
+	 *
+	 * @param pings The pings, in any order and possibly several per driver.
+	 * @return How many pings were stored and why the others were not.
+	 */
+	DriverLocationBatchResult ingest(List<DriverLocationPing> pings);
+
+	/**
+	 * Stores the current position of a delivery driver already known to exist.
+	 *
+	 * @param deliveryDriverId The ID of the delivery driver.
+	 * @param latitude         The latitude in degrees.
+	 * @param longitude        The longitude in degrees.
+	 * @return The stored fix.
+	 */
+	DriverLocation record(int deliveryDriverId, double latitude, double longitude);
+
+	/**
+	 * Retrieves the most recent fixes of a delivery driver still held in memory.
+	 *
+	 * @param deliveryDriverId The ID of the delivery driver.
+	 * @return The fixes, oldest first.
+	 */
+	List<DriverLocation> findRecent(int deliveryDriverId);
+
+	/**
+	 * Writes the latest fix of every driver that reported since the last flush to
+	 * the database.
+	 *
+	 * @return The number of drivers written.
+	 */
+	int flush();
+}
@@ -0,0 +1,260 @@
+package com.fooddeliverysystem.service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dao.DeliveryDriverDao;
+import com.fooddeliverysystem.dto.DriverLocationPing;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Ring-buffered implementation of {@link DriverLocationIngestService}.
+ *
+ * Each accepted fix is appended to its driver's {@link DriverPingRing}, stored
+ * in the driver location index and the driver is marked pending. A flusher
+ * thread periodically takes the pending drivers, picks the latest fix of each
+ * that is newer than the one already written, and updates their rows with one
+ * JDBC batch. If the batch fails the drivers stay pending for the next flush.
+ *
+ * Driver IDs are checked against the database once: IDs found are remembered,
+ * so a batch from drivers seen before does not query the database at all.
+ */
+@Service
+public class DriverLocationIngestServiceImpl implements DriverLocationIngestService {
+
+	private static final Logger logger = LoggerFactory.getLogger(DriverLocationIngestServiceImpl.class);
+
+	// Fixes stamped further ahead of the server clock are rejected as device clock errors
+	private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(1);
+
+	// Only moves the stored position forward, should an older fix ever be flushed after a newer one
+	private static final String UPDATE_LAST_LOCATION = "update deliverydrivers set last_latitude = ?, last_longitude = ?,"
+			+ " last_location_at = ? where driver_id = ? and (last_location_at is null or last_location_at < ?)";
+
+	private DriverLocationService driverLocationService;
+	private DeliveryDriverDao deliveryDriverDao;
+	private JdbcTemplate jdbcTemplate;
+	private int ringSize;
+	private long flushIntervalMillis;
+	private int flushBatchSize;
+	private Clock clock;
+
+	private final ConcurrentHashMap<Integer, DriverPingRing> rings = new ConcurrentHashMap<>();
+	private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+	private final Set<Integer> knownDrivers = ConcurrentHashMap.newKeySet();
+	private final ReentrantLock flushLock = new ReentrantLock();
+
+	private ScheduledExecutorService flusher;
+
+	@Autowired
+	public DriverLocationIngestServiceImpl(DriverLocationService driverLocationService,
+			DeliveryDriverDao deliveryDriverDao, JdbcTemplate jdbcTemplate,
+			@Value("${fooddelivery.driver-locations.ring-size:8}") int ringSize,
+			@Value("${fooddelivery.driver-locations.flush-interval-millis:5000}") long flushIntervalMillis,
+			@Value("${fooddelivery.driver-locations.flush-batch-size:500}") int flushBatchSize) {
+		this(driverLocationService, deliveryDriverDao, jdbcTemplate, ringSize, flushIntervalMillis, flushBatchSize,
+				Clock.systemDefaultZone());
+	}
+
+	/**
+	 * Creates the service with the given clock, which stamps the fixes without a
+	 * timestamp and detects those from the future.
+	 */
+	public DriverLocationIngestServiceImpl(DriverLocationService driverLocationService,
+			DeliveryDriverDao deliveryDriverDao, JdbcTemplate jdbcTemplate, int ringSize, long flushIntervalMillis,
+			int flushBatchSize, Clock clock) {
+		super();
+		this.driverLocationService = driverLocationService;
+		this.deliveryDriverDao = deliveryDriverDao;
+		this.jdbcTemplate = jdbcTemplate;
+		this.ringSize = Math.max(1, ringSize);
+		this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+		this.flushBatchSize = Math.max(1, flushBatchSize);
+		this.clock = clock;
+	}
+
+	/**
+	 * Starts the periodic flush.
+	 */
+	@PostConstruct
+	public void start() {
+		flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "driver-location-flusher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+				TimeUnit.MILLISECONDS);
+		logger.info("Flushing driver locations every {} ms (ring size {})", flushIntervalMillis, ringSize);
+	}
+
+	/**
+	 * Stops the periodic flush and writes the fixes still pending.
+	 */
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (flusher != null) {
+			flusher.shutdown();
+			flusher.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		flushQuietly();
+	}
+
+	@Override
+	public DriverLocationBatchResult ingest(List<DriverLocationPing> pings) {
+		LocalDateTime now = LocalDateTime.now(clock);
+		List<String> errors = new ArrayList<>();
+
+		// Validate the pings on their own first
+		List<DriverLocation> fixes = new ArrayList<>();
+		List<Integer> positions = new ArrayList<>();
+		for (int i = 0; i < pings.size(); i++) {
+			DriverLocationPing ping = pings.get(i);
+			String error = validate(ping, now);
+			if (error != null) {
+				errors.add("pings[" + i + "]: " + error);
+				continue;
+			}
+			LocalDateTime timestamp = ping.getTimestamp() == null ? now : ping.getTimestamp();
+			fixes.add(new DriverLocation(ping.getDeliveryDriverId(), ping.getLatitude(), ping.getLongitude(),
+					timestamp));
+			positions.add(i);
+		}
+
+		// Look up the drivers not seen before with one query
+		Set<Integer> unknown = new HashSet<>();
+		for (DriverLocation fix : fixes) {
+			if (!knownDrivers.contains(fix.deliveryDriverId())) {
+				unknown.add(fix.deliveryDriverId());
+			}
+		}
+		if (!unknown.isEmpty()) {
+			knownDrivers.addAll(deliveryDriverDao.findExistingIds(unknown));
+		}
+
+		int accepted = 0;
+		for (int i = 0; i < fixes.size(); i++) {
+			DriverLocation fix = fixes.get(i);
+			if (!knownDrivers.contains(fix.deliveryDriverId())) {
+				errors.add("pings[" + positions.get(i) + "]: Delivery Driver with ID " + fix.deliveryDriverId()
+						+ " not found");
+				continue;
+			}
+			store(fix);
+			accepted++;
+		}
+
+		logger.debug("Ingested {} of {} driver location pings", accepted, pings.size());
+		return new DriverLocationBatchResult(accepted, pings.size() - accepted, errors);
+	}
+
+	@Override
+	public DriverLocation record(int deliveryDriverId, double latitude, double longitude) {
+		DriverLocation fix = new DriverLocation(deliveryDriverId, latitude, longitude, LocalDateTime.now(clock));
+		knownDrivers.add(deliveryDriverId);
+		store(fix);
+		return fix;
+	}
+
+	@Override
+	public List<DriverLocation> findRecent(int deliveryDriverId) {
+		DriverPingRing ring = rings.get(deliveryDriverId);
+		return ring == null ? List.of() : ring.recent();
+	}
+
+	@Override
+	public int flush() {
+		flushLock.lock();
+		try {
+			// Take the pending drivers before reading their rings, so a fix added
+			// meanwhile marks its driver pending again for the next flush
+			List<DriverLocation> batch = new ArrayList<>();
+			for (Iterator<Integer> pendingIds = pending.iterator(); pendingIds.hasNext();) {
+				int deliveryDriverId = pendingIds.next();
+				pendingIds.remove();
+				DriverLocation fix = rings.get(deliveryDriverId).unflushed();
+				if (fix != null) {
+					batch.add(fix);
+				}
+			}
+			if (batch.isEmpty()) {
+				return 0;
+			}
+
+			try {
+				jdbcTemplate.batchUpdate(UPDATE_LAST_LOCATION, batch, flushBatchSize, (ps, fix) -> {
+					Timestamp reportedAt = Timestamp.valueOf(fix.updatedAt());
+					ps.setDouble(1, fix.latitude());
+					ps.setDouble(2, fix.longitude());
+					ps.setTimestamp(3, reportedAt);
+					ps.setInt(4, fix.deliveryDriverId());
+					ps.setTimestamp(5, reportedAt);
+				});
+			} catch (RuntimeException e) {
+				batch.forEach(fix -> pending.add(fix.deliveryDriverId()));
+				throw e;
+			}
+
+			batch.forEach(fix -> rings.get(fix.deliveryDriverId()).markFlushed(fix));
+			logger.debug("Wrote the last known location of {} delivery drivers", batch.size());
+			return batch.size();
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			logger.warn("Writing driver locations failed, retrying on the next flush: {}", e.toString());
+		}
+	}
+
+	private void store(DriverLocation fix) {
+		// The ring before the pending mark, so the flusher finds the fix once it sees the mark
+		rings.computeIfAbsent(fix.deliveryDriverId(), id -> new DriverPingRing(ringSize)).add(fix);
+		driverLocationService.update(fix);
+		pending.add(fix.deliveryDriverId());
+	}
+
+	/**
+	 * Returns why the ping cannot be stored, or null if it can.
+	 */
+	private static String validate(DriverLocationPing ping, LocalDateTime now) {
+		if (ping == null) {
+			return "ping is missing";
+		}
+		if (ping.getLatitude() == null || !(ping.getLatitude() >= -90 && ping.getLatitude() <= 90)) {
+			return "latitude must be between -90 and 90";
+		}
+		if (ping.getLongitude() == null || !(ping.getLongitude() >= -180 && ping.getLongitude() <= 180)) {
+			return "longitude must be between -180 and 180";
+		}
+		if (ping.getTimestamp() != null && ping.getTimestamp().isAfter(now.plus(MAX_CLOCK_SKEW))) {
+			return "timestamp must not be in the future";
+		}
+		return null;
+	}
+}
@@ -0,0 +1,61 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+/**
+ * Service interface for the live positions of delivery drivers, kept in memory
+ * in a spatial index so that drivers can be looked up by distance.
+ *
+ * Positions are reported continuously by the drivers, and a position that has
+ * not been refreshed within the configured time is no longer returned. Writing
+ * them to the database is left to {@link DriverLocationIngestService}.
+ */
+public interface DriverLocationService {
+
+	/**
+	 * Stores the current position of a delivery driver.
+	 *
+	 * @param deliveryDriverId The ID of the delivery driver.
+	 * @param latitude         The latitude in degrees.
+	 * @param longitude        The longitude in degrees.
+	 * @return The stored position.
+	 */
+	DriverLocation update(int deliveryDriverId, double latitude, double longitude);
+
+	/**
+	 * Stores a position reported at the time it carries. A position older than
+	 * the one already stored for the driver is ignored.
+	 *
+	 * @param location The reported position.
+	 */
+	void update(DriverLocation location);
+
+	/**
+	 * Retrieves the last position of a delivery driver.
+	 *
+	 * @param deliveryDriverId The ID of the delivery driver.
+	 * @return The position, or null if none was reported recently.
+	 */
+	DriverLocation findById(int deliveryDriverId);
+
+	/**
+	 * Retrieves the delivery drivers closest to a point.
+	 *
+	 * @param latitude  The latitude of the point.
+	 * @param longitude The longitude of the point.
+	 * @param limit     The maximum number of drivers returned.
+	 * @return The drivers, closest first.
+	 */
+	List<NearbyDriver> findNearest(double latitude, double longitude, int limit);
+
+	/**
+	 * Retrieves the delivery drivers within a distance of a point.
+	 *
+	 * @param latitude  The latitude of the point.
+	 * @param longitude The longitude of the point.
+	 * @param radiusKm  The maximum distance, in kilometres.
+	 * @param limit     The maximum number of drivers returned.
+	 * @return The drivers, closest first.
+	 */
+	List<NearbyDriver> findWithinRadius(double latitude, double longitude, double radiusKm, int limit);
+}
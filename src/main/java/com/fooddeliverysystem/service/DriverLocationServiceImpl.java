@@ -0,0 +1,82 @@
+package com.fooddeliverysystem.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class DriverLocationServiceImpl implements DriverLocationService {
+
+	private static final Logger logger = LoggerFactory.getLogger(DriverLocationServiceImpl.class);
+
+	private final DriverLocationIndex index;
+	private final Duration maxAge;
+	private final Clock clock;
+
+	@Autowired
+	public DriverLocationServiceImpl(
+			@Value("${fooddelivery.driver-locations.cell-size-degrees:0.01}") double cellSizeDegrees,
+			@Value("${fooddelivery.driver-locations.max-age-minutes:15}") long maxAgeMinutes) {
+		this(cellSizeDegrees, Duration.ofMinutes(maxAgeMinutes), Clock.systemDefaultZone());
+	}
+
+	/**
+	 * Creates the service with the given clock, which stamps and ages the
+	 * positions.
+	 */
+	public DriverLocationServiceImpl(double cellSizeDegrees, Duration maxAge, Clock clock) {
+		super();
+		this.index = new DriverLocationIndex(cellSizeDegrees);
+		this.maxAge = maxAge;
+		this.clock = clock;
+	}
+
+	@Override
+	public DriverLocation update(int deliveryDriverId, double latitude, double longitude) {
+		DriverLocation location = new DriverLocation(deliveryDriverId, latitude, longitude, LocalDateTime.now(clock));
+		update(location);
+		return location;
+	}
+
+	@Override
+	public void update(DriverLocation location) {
+		index.put(location);
+		logger.debug("Delivery driver {} is at {}, {}", location.deliveryDriverId(), location.latitude(),
+				location.longitude());
+	}
+
+	@Override
+	public DriverLocation findById(int deliveryDriverId) {
+		DriverLocation location = index.get(deliveryDriverId);
+		if (location == null || !isCurrent().test(location)) {
+			return null;
+		}
+		return location;
+	}
+
+	@Override
+	public List<NearbyDriver> findNearest(double latitude, double longitude, int limit) {
+		return index.nearest(latitude, longitude, limit, isCurrent());
+	}
+
+	@Override
+	public List<NearbyDriver> findWithinRadius(double latitude, double longitude, double radiusKm, int limit) {
+		return index.withinRadius(latitude, longitude, radiusKm, limit, isCurrent());
+	}
+
+	/**
+	 * Matches the positions reported recently enough to be returned.
+	 */
+	private Predicate<DriverLocation> isCurrent() {
+		LocalDateTime oldest = LocalDateTime.now(clock).minus(maxAge);
+		return location -> !location.updatedAt().isBefore(oldest);
+	}
+}
@@ -0,0 +1,83 @@
+package com.fooddeliverysystem.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The most recent fixes of one delivery driver in a fixed-size ring.
+ *
+ * Any number of request threads append without locking: each claims the next
+ * slot with one atomic increment and overwrites the oldest fix there. Readers
+ * take a snapshot of the slots; since fixes may arrive out of order, the latest
+ * fix is the one with the newest timestamp, not the one written last.
+ */
+final class DriverPingRing {
+
+	private final AtomicReferenceArray<DriverLocation> slots;
+	private final AtomicLong next = new AtomicLong();
+
+	// The fix last written to the database, only touched by the flusher
+	private DriverLocation flushed;
+
+	DriverPingRing(int capacity) {
+		this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+	}
+
+	/**
+	 * Appends a fix, overwriting the oldest one once the ring is full.
+	 */
+	void add(DriverLocation fix) {
+		slots.set((int) (next.getAndIncrement() % slots.length()), fix);
+	}
+
+	/**
+	 * Returns the fix with the newest timestamp, or null if the ring is empty.
+	 */
+	DriverLocation latest() {
+		DriverLocation latest = null;
+		for (int i = 0; i < slots.length(); i++) {
+			DriverLocation fix = slots.get(i);
+			if (fix != null && (latest == null || fix.updatedAt().isAfter(latest.updatedAt()))) {
+				latest = fix;
+			}
+		}
+		return latest;
+	}
+
+	/**
+	 * Returns the fixes in the ring, oldest first.
+	 */
+	List<DriverLocation> recent() {
+		List<DriverLocation> fixes = new ArrayList<>(slots.length());
+		for (int i = 0; i < slots.length(); i++) {
+			DriverLocation fix = slots.get(i);
+			if (fix != null) {
+				fixes.add(fix);
+			}
+		}
+		fixes.sort(Comparator.comparing(DriverLocation::updatedAt));
+		return fixes;
+	}
+
+	/**
+	 * Returns the latest fix if it is newer than the one last written to the
+	 * database, otherwise null.
+	 */
+	DriverLocation unflushed() {
+		DriverLocation latest = latest();
+		if (latest == null || (flushed != null && !latest.updatedAt().isAfter(flushed.updatedAt()))) {
+			return null;
+		}
+		return latest;
+	}
+
+	/**
+	 * Records that the fix has been written to the database.
+	 */
+	void markFlushed(DriverLocation fix) {
+		flushed = fix;
+	}
+}
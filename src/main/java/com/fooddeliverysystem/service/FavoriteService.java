@@ -0,0 +1,82 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.fooddeliverysystem.dto.RestaurantSummary;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Service interface for the favorite restaurants of customers.
+ *
+ * The favorites are stored in the customer_favorites table and kept in memory
+ * as a set of restaurant IDs per customer, so adding, removing and checking a
+ * favorite take constant time once the customer's set has been loaded. The
+ * customers are expected to exist; checking that is left to the caller.
+ */
+public interface FavoriteService {
+
+	/**
+	 * Adds restaurants to the favorites of a customer. The restaurants are
+	 * checked with one query; nothing is added if any of them does not exist.
+	 *
+	 * @param customerId    The ID of the customer.
+	 * @param restaurantIds The IDs of the restaurants.
+	 * @return The number of restaurants that were not favorites yet.
+	 * @throws EntityNotFoundException if a restaurant does not exist.
+	 */
+	int add(int customerId, Collection<Integer> restaurantIds);
+
+	/**
+	 * Removes a restaurant from the favorites of a customer.
+	 *
+	 * @param customerId   The ID of the customer.
+	 * @param restaurantId The ID of the restaurant.
+	 * @return True if the restaurant was a favorite.
+	 */
+	boolean remove(int customerId, int restaurantId);
+
+	/**
+	 * Checks whether a restaurant is a favorite of a customer.
+	 *
+	 * @param customerId   The ID of the customer.
+	 * @param restaurantId The ID of the restaurant.
+	 * @return True if it is.
+	 */
+	boolean contains(int customerId, int restaurantId);
+
+	/**
+	 * Retrieves the IDs of the favorite restaurants of a customer.
+	 *
+	 * @param customerId The ID of the customer.
+	 * @return The IDs in ascending order.
+	 */
+	int[] findIds(int customerId);
+
+	/**
+	 * Retrieves the favorite restaurants of several customers, with their
+	 * summaries loaded in one query.
+	 *
+	 * @param customerIds The IDs of the customers.
+	 * @return The summaries of each customer's favorites by restaurant ID, in the
+	 *         order of the given customers; empty for a customer without any.
+	 */
+	Map<Integer, List<RestaurantSummary>> findSummaries(Collection<Integer> customerIds);
+
+	/**
+	 * Removes all favorites of a customer, e.g. when it is deleted.
+	 *
+	 * @param customerId The ID of the customer.
+	 */
+	void removeCustomer(int customerId);
+
+	/**
+	 * Removes a restaurant from the favorites of every customer, e.g. when it is
+	 * deleted.
+	 *
+	 * @param restaurantId The ID of the restaurant.
+	 */
+	void removeRestaurant(int restaurantId);
+}
@@ -0,0 +1,255 @@
+package com.fooddeliverysystem.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dao.RestaurantDao;
+import com.fooddeliverysystem.dto.RestaurantSummary;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Implementation of {@link FavoriteService} keeping each customer's favorites
+ * in an {@link IntHashSet}.
+ *
+ * A customer's set is loaded from the customer_favorites table the first time
+ * it is needed and then kept, so that only changes go to the database: an add
+ * inserts just the restaurants not in the set yet, in one JDBC batch, and a
+ * remove deletes one row. The database is written first and the set only
+ * changed once that succeeded. Each set is guarded by its own lock. Only sets
+ * of existing customers are kept, so that looking up unknown IDs does not fill
+ * the memory with empty sets.
+ */
+@Service
+public class FavoriteServiceImpl implements FavoriteService {
+
+	private static final Logger logger = LoggerFactory.getLogger(FavoriteServiceImpl.class);
+
+	private static final String SELECT_FAVORITES = "select c.customer_id, f.restaurant_id from customers c"
+			+ " left join customer_favorites f on f.customer_id = c.customer_id where c.customer_id in (%s)";
+	private static final String INSERT_FAVORITE = "insert into customer_favorites (customer_id, restaurant_id) values (?, ?)";
+	private static final String DELETE_FAVORITE = "delete from customer_favorites where customer_id = ? and restaurant_id = ?";
+	private static final String DELETE_CUSTOMER = "delete from customer_favorites where customer_id = ?";
+	private static final String DELETE_RESTAURANT = "delete from customer_favorites where restaurant_id = ?";
+
+	private RestaurantDao restaurantDao;
+	private JdbcTemplate jdbcTemplate;
+
+	private final ConcurrentHashMap<Integer, Favorites> favorites = new ConcurrentHashMap<>();
+
+	@Autowired
+	public FavoriteServiceImpl(RestaurantDao restaurantDao, JdbcTemplate jdbcTemplate) {
+		super();
+		this.restaurantDao = restaurantDao;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public int add(int customerId, Collection<Integer> restaurantIds) {
+		Set<Integer> requested = new LinkedHashSet<>(restaurantIds);
+		if (requested.isEmpty()) {
+			return 0;
+		}
+
+		// Check all restaurants with one query
+		Set<Integer> existing = new HashSet<>(restaurantDao.findExistingIds(requested));
+		for (Integer restaurantId : requested) {
+			if (!existing.contains(restaurantId)) {
+				logger.warn("Restaurant with ID {} not found.", restaurantId);
+				throw new EntityNotFoundException("Restaurant with ID " + restaurantId + " not found");
+			}
+		}
+
+		Favorites customerFavorites = favoritesOf(customerId);
+		customerFavorites.lock.lock();
+		try {
+			List<Integer> added = requested.stream().filter(id -> !customerFavorites.ids.contains(id))
+					.collect(Collectors.toList());
+			if (added.isEmpty()) {
+				return 0;
+			}
+			jdbcTemplate.batchUpdate(INSERT_FAVORITE, added, added.size(), (ps, restaurantId) -> {
+				ps.setInt(1, customerId);
+				ps.setInt(2, restaurantId);
+			});
+			added.forEach(customerFavorites.ids::add);
+
+			logger.info("Added {} favorite restaurants for customer ID {}", added.size(), customerId);
+			return added.size();
+		} finally {
+			customerFavorites.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(int customerId, int restaurantId) {
+		Favorites customerFavorites = favoritesOf(customerId);
+		customerFavorites.lock.lock();
+		try {
+			if (!customerFavorites.ids.contains(restaurantId)) {
+				return false;
+			}
+			jdbcTemplate.update(DELETE_FAVORITE, customerId, restaurantId);
+			customerFavorites.ids.remove(restaurantId);
+			return true;
+		} finally {
+			customerFavorites.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean contains(int customerId, int restaurantId) {
+		Favorites customerFavorites = favoritesOf(customerId);
+		customerFavorites.lock.lock();
+		try {
+			return customerFavorites.ids.contains(restaurantId);
+		} finally {
+			customerFavorites.lock.unlock();
+		}
+	}
+
+	@Override
+	public int[] findIds(int customerId) {
+		return favoritesOf(customerId).snapshot();
+	}
+
+	@Override
+	public Map<Integer, List<RestaurantSummary>> findSummaries(Collection<Integer> customerIds) {
+		loadMissing(customerIds);
+
+		Map<Integer, int[]> idsByCustomer = new LinkedHashMap<>();
+		Set<Integer> restaurantIds = new HashSet<>();
+		for (Integer customerId : customerIds) {
+			// An unknown customer has no set, and loading it again would not find one
+			Favorites customerFavorites = favorites.get(customerId);
+			int[] ids = customerFavorites == null ? new int[0] : customerFavorites.snapshot();
+			idsByCustomer.put(customerId, ids);
+			for (int id : ids) {
+				restaurantIds.add(id);
+			}
+		}
+
+		// One query for the restaurants of all customers
+		Map<Integer, RestaurantSummary> summaries = new HashMap<>();
+		if (!restaurantIds.isEmpty()) {
+			for (RestaurantSummary summary : restaurantDao.findSummariesByIds(restaurantIds)) {
+				summaries.put(summary.restaurantId(), summary);
+			}
+		}
+
+		Map<Integer, List<RestaurantSummary>> result = new LinkedHashMap<>();
+		idsByCustomer.forEach((customerId, ids) -> {
+			List<RestaurantSummary> customerSummaries = new ArrayList<>(ids.length);
+			for (int id : ids) {
+				// A restaurant deleted meanwhile has no summary
+				RestaurantSummary summary = summaries.get(id);
+				if (summary != null) {
+					customerSummaries.add(summary);
+				}
+			}
+			result.put(customerId, customerSummaries);
+		});
+		return result;
+	}
+
+	@Override
+	public void removeCustomer(int customerId) {
+		jdbcTemplate.update(DELETE_CUSTOMER, customerId);
+		favorites.remove(customerId);
+	}
+
+	@Override
+	public void removeRestaurant(int restaurantId) {
+		jdbcTemplate.update(DELETE_RESTAURANT, restaurantId);
+		for (Favorites customerFavorites : favorites.values()) {
+			customerFavorites.lock.lock();
+			try {
+				customerFavorites.ids.remove(restaurantId);
+			} finally {
+				customerFavorites.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Returns the favorites of a customer, loading them if needed. An unknown
+	 * customer gets an empty set that is not kept.
+	 */
+	private Favorites favoritesOf(int customerId) {
+		Favorites customerFavorites = favorites.get(customerId);
+		if (customerFavorites == null) {
+			loadMissing(List.of(customerId));
+			customerFavorites = favorites.getOrDefault(customerId, new Favorites(new IntHashSet()));
+		}
+		return customerFavorites;
+	}
+
+	/**
+	 * Loads the favorites of the given customers that are not in memory yet with
+	 * one query, which also tells which of them exist: a customer without
+	 * favorites has one row without a restaurant, an unknown one has none. A set
+	 * loaded meanwhile by another thread is kept.
+	 */
+	private void loadMissing(Collection<Integer> customerIds) {
+		Set<Integer> missing = new LinkedHashSet<>();
+		for (Integer customerId : customerIds) {
+			if (!favorites.containsKey(customerId)) {
+				missing.add(customerId);
+			}
+		}
+		if (missing.isEmpty()) {
+			return;
+		}
+
+		Map<Integer, IntHashSet> loaded = new HashMap<>();
+		String placeholders = String.join(", ", Collections.nCopies(missing.size(), "?"));
+		jdbcTemplate.query(String.format(SELECT_FAVORITES, placeholders), (RowCallbackHandler) rs -> {
+			IntHashSet ids = loaded.computeIfAbsent(rs.getInt(1), customerId -> new IntHashSet());
+			int restaurantId = rs.getInt(2);
+			if (!rs.wasNull()) {
+				ids.add(restaurantId);
+			}
+		}, missing.toArray());
+		loaded.forEach((customerId, ids) -> favorites.putIfAbsent(customerId, new Favorites(ids)));
+	}
+
+	/**
+	 * The favorites of one customer and the lock guarding them.
+	 */
+	private static class Favorites {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final IntHashSet ids;
+
+		Favorites(IntHashSet ids) {
+			this.ids = ids;
+		}
+
+		int[] snapshot() {
+			lock.lock();
+			try {
+				return ids.toSortedArray();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
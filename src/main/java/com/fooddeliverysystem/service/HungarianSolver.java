@@ -0,0 +1,120 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Arrays;
+
+/**
+ * Solves the linear assignment problem: given a cost for every row and column,
+ * pairs the rows with distinct columns so that the total cost is minimal.
+ *
+ * This is the shortest augmenting path form of the Hungarian algorithm with
+ * row and column potentials; it adds the rows one at a time and runs in
+ * O(n * n * m) for n rows and m columns, n &lt;= m. With more rows than
+ * columns the transposed problem is solved, leaving some rows unpaired.
+ */
+final class HungarianSolver {
+
+	private HungarianSolver() {
+	}
+
+	/**
+	 * Pairs the rows with distinct columns at minimal total cost.
+	 *
+	 * @param cost The cost of each row and column; all rows have the same
+	 *             length and every cost is finite.
+	 * @return The column paired with each row, or -1 for a row left unpaired.
+	 */
+	static int[] solve(double[][] cost) {
+		int rows = cost.length;
+		if (rows == 0 || cost[0].length == 0) {
+			int[] unpaired = new int[rows];
+			Arrays.fill(unpaired, -1);
+			return unpaired;
+		}
+		int columns = cost[0].length;
+		if (rows <= columns) {
+			return solveRowsFirst(cost, rows, columns);
+		}
+
+		double[][] transposed = new double[columns][rows];
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				transposed[column][row] = cost[row][column];
+			}
+		}
+		int[] rowOfColumn = solveRowsFirst(transposed, columns, rows);
+		int[] columnOfRow = new int[rows];
+		Arrays.fill(columnOfRow, -1);
+		for (int column = 0; column < columns; column++) {
+			columnOfRow[rowOfColumn[column]] = column;
+		}
+		return columnOfRow;
+	}
+
+	/**
+	 * Solves a problem with at most as many rows as columns; every row gets a
+	 * column. Rows and columns are numbered from 1 inside, column 0 being the
+	 * virtual start of each augmenting path.
+	 */
+	private static int[] solveRowsFirst(double[][] cost, int rows, int columns) {
+		double[] rowPotential = new double[rows + 1];
+		double[] columnPotential = new double[columns + 1];
+		int[] rowOfColumn = new int[columns + 1];
+		int[] previousColumn = new int[columns + 1];
+		double[] slack = new double[columns + 1];
+		boolean[] visited = new boolean[columns + 1];
+
+		for (int row = 1; row <= rows; row++) {
+			rowOfColumn[0] = row;
+			int column = 0;
+			Arrays.fill(slack, Double.POSITIVE_INFINITY);
+			Arrays.fill(visited, false);
+
+			// Grow the tree of tight edges from the new row until it reaches a free column
+			do {
+				visited[column] = true;
+				int treeRow = rowOfColumn[column];
+				double delta = Double.POSITIVE_INFINITY;
+				int nextColumn = 0;
+				for (int candidate = 1; candidate <= columns; candidate++) {
+					if (visited[candidate]) {
+						continue;
+					}
+					double reduced = cost[treeRow - 1][candidate - 1] - rowPotential[treeRow]
+							- columnPotential[candidate];
+					if (reduced < slack[candidate]) {
+						slack[candidate] = reduced;
+						previousColumn[candidate] = column;
+					}
+					if (slack[candidate] < delta) {
+						delta = slack[candidate];
+						nextColumn = candidate;
+					}
+				}
+				for (int other = 0; other <= columns; other++) {
+					if (visited[other]) {
+						rowPotential[rowOfColumn[other]] += delta;
+						columnPotential[other] -= delta;
+					} else {
+						slack[other] -= delta;
+					}
+				}
+				column = nextColumn;
+			} while (rowOfColumn[column] != 0);
+
+			// Flip the path back to the start
+			do {
+				int previous = previousColumn[column];
+				rowOfColumn[column] = rowOfColumn[previous];
+				column = previous;
+			} while (column != 0);
+		}
+
+		int[] columnOfRow = new int[rows];
+		for (int column = 1; column <= columns; column++) {
+			if (rowOfColumn[column] != 0) {
+				columnOfRow[rowOfColumn[column] - 1] = column - 1;
+			}
+		}
+		return columnOfRow;
+	}
+}
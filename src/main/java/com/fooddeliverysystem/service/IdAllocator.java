@@ -0,0 +1,28 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * Hands out primary keys for the entity tables, replacing the
+ * findLastRecord() + 1 pattern. Implementations are expected to be safe for
+ * concurrent use and must never return the same ID twice for a sequence.
+ */
+public interface IdAllocator {
+
+	/**
+	 * Returns the next unused ID for the given sequence.
+	 *
+	 * @param type The entity table the ID is allocated for.
+	 * @return A primary key that has not been handed out before.
+	 */
+	int nextId(IdSequenceType type);
+
+	/**
+	 * Returns a number of unused IDs for the given sequence in one call.
+	 *
+	 * The IDs are unique and increasing but are not guaranteed to be contiguous.
+	 *
+	 * @param type  The entity table the IDs are allocated for.
+	 * @param count The number of IDs to allocate.
+	 * @return An array of {@code count} primary keys.
+	 */
+	int[] nextIds(IdSequenceType type, int count);
+}
@@ -0,0 +1,32 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * The entity tables whose primary keys are handed out by an {@link IdAllocator}.
+ * Each constant carries the name of its row in the id_sequences table and the
+ * SQL query used to seed that row from the existing data the first time the
+ * sequence is used.
+ */
+public enum IdSequenceType {
+
+	ORDERS("orders", "select coalesce(max(order_id), 0) from orders"),
+	ORDER_ITEMS("orderitems", "select coalesce(max(order_item_id), 0) from orderitems"),
+	RATINGS("ratings", "select coalesce(max(rating_id), 0) from ratings"),
+	RESTAURANTS("restaurants", "select coalesce(max(restaurant_id), 0) from restaurants"),
+	MENU_ITEMS("menuitems", "select coalesce(max(item_id), 0) from menuitems");
+
+	private final String sequenceName;
+	private final String seedQuery;
+
+	IdSequenceType(String sequenceName, String seedQuery) {
+		this.sequenceName = sequenceName;
+		this.seedQuery = seedQuery;
+	}
+
+	public String getSequenceName() {
+		return sequenceName;
+	}
+
+	public String getSeedQuery() {
+		return seedQuery;
+	}
+}
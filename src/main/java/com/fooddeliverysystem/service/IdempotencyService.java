@@ -0,0 +1,25 @@
+package com.fooddeliverysystem.service;
+
+import com.fooddeliverysystem.dto.OrderDto;
+
+/**
+ * Service interface for placing orders at most once per client supplied
+ * idempotency key, so clients can safely retry order requests.
+ */
+public interface IdempotencyService {
+
+	/**
+	 * Places the order unless an order was already placed under the key, in which
+	 * case that order is returned instead.
+	 *
+	 * Completed keys are answered from memory while they are recent and from the
+	 * idempotency_keys table afterwards. A request arriving while another request
+	 * with the same key is still running waits for it and returns its outcome.
+	 *
+	 * @param idempotencyKey The client supplied key identifying the request.
+	 * @param orderDto       The DTO containing the order details.
+	 * @return The placed order, flagged as replayed when it was not placed by
+	 *         this call.
+	 */
+	OrderPlacementResult placeOrder(String idempotencyKey, OrderDto orderDto);
+}
@@ -0,0 +1,147 @@
+package com.fooddeliverysystem.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dao.IdempotencyKeyDao;
+import com.fooddeliverysystem.dao.OrderDao;
+import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.entity.Order;
+
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+	private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+	private OrderPlacementService orderPlacementService;
+	private IdempotencyKeyDao idempotencyKeyDao;
+	private OrderDao orderDao;
+
+	// Responses of recently completed keys, answered without touching the database
+	private BoundedTtlCache<String, Order> responses;
+
+	// Keys whose first request is still running; duplicates wait on its future
+	private final ConcurrentMap<String, CompletableFuture<Order>> inFlight = new ConcurrentHashMap<>();
+
+	@Autowired
+	public IdempotencyServiceImpl(OrderPlacementService orderPlacementService, IdempotencyKeyDao idempotencyKeyDao,
+			OrderDao orderDao, @Value("${fooddelivery.idempotency.max-entries:10000}") int maxEntries,
+			@Value("${fooddelivery.idempotency.ttl-minutes:1440}") long ttlMinutes) {
+		super();
+		this.orderPlacementService = orderPlacementService;
+		this.idempotencyKeyDao = idempotencyKeyDao;
+		this.orderDao = orderDao;
+		this.responses = new BoundedTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+	}
+
+	/**
+	 * Places the order at most once for the given key.
+	 *
+	 * A recent key is answered from the in-memory response cache. Otherwise the
+	 * calling thread registers a future for the key; if another thread already
+	 * registered one, the call waits for that execution instead of racing it. The
+	 * registering thread checks the idempotency_keys table for a key completed
+	 * before the cache entry was evicted (or before a restart) and only then places
+	 * the order, recording the key in the same transaction.
+	 *
+	 * @param idempotencyKey The client supplied key identifying the request.
+	 * @param orderDto       The DTO containing the order details.
+	 * @return The placed order, flagged as replayed when it was not placed by
+	 *         this call.
+	 */
+	@Override
+	public OrderPlacementResult placeOrder(String idempotencyKey, OrderDto orderDto) {
+		Order cached = responses.get(idempotencyKey);
+		if (cached != null) {
+			logger.info("Replaying order ID: {} for idempotency key: {}", cached.getOrderId(), idempotencyKey);
+			return OrderPlacementResult.replayed(cached);
+		}
+
+		CompletableFuture<Order> execution = new CompletableFuture<>();
+		CompletableFuture<Order> running = inFlight.putIfAbsent(idempotencyKey, execution);
+		if (running != null) {
+			logger.info("Waiting for in-flight request with idempotency key: {}", idempotencyKey);
+			return OrderPlacementResult.replayed(await(running));
+		}
+
+		try {
+			OrderPlacementResult result = placeOnce(idempotencyKey, orderDto);
+			responses.put(idempotencyKey, result.order());
+			execution.complete(result.order());
+			return result;
+		} catch (RuntimeException e) {
+			// Waiting duplicates fail the same way; a later retry starts afresh
+			execution.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(idempotencyKey, execution);
+		}
+	}
+
+	/**
+	 * Places the order unless the key has already been completed, either by a
+	 * request that finished just before this one registered or by an earlier run
+	 * of the application.
+	 */
+	private OrderPlacementResult placeOnce(String idempotencyKey, OrderDto orderDto) {
+		Order cached = responses.get(idempotencyKey);
+		if (cached != null) {
+			return OrderPlacementResult.replayed(cached);
+		}
+
+		Order stored = findStoredOrder(idempotencyKey);
+		if (stored != null) {
+			logger.info("Replaying stored order ID: {} for idempotency key: {}", stored.getOrderId(), idempotencyKey);
+			return OrderPlacementResult.replayed(stored);
+		}
+
+		try {
+			return orderPlacementService.placeOrder(orderDto, idempotencyKey);
+		} catch (DataIntegrityViolationException e) {
+			// Another instance committed the same key first and this order was rolled back
+			stored = findStoredOrder(idempotencyKey);
+			if (stored == null) {
+				throw e;
+			}
+			logger.info("Idempotency key: {} was completed concurrently, replaying order ID: {}", idempotencyKey,
+					stored.getOrderId());
+			return OrderPlacementResult.replayed(stored);
+		}
+	}
+
+	/**
+	 * Loads the order recorded for the key in the idempotency_keys table.
+	 *
+	 * @return The order, or null if no order was placed under the key.
+	 */
+	private Order findStoredOrder(String idempotencyKey) {
+		return idempotencyKeyDao.findById(idempotencyKey)
+				.flatMap(key -> orderDao.findById(key.getOrderId()))
+				.orElse(null);
+	}
+
+	/**
+	 * Waits for the in-flight execution of a key and rethrows its failure, if any,
+	 * unwrapped so the usual exception handlers apply.
+	 */
+	private static Order await(CompletableFuture<Order> running) {
+		try {
+			return running.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Arrays;
+
+/**
+ * A set of ints stored unboxed in one open-addressing table with linear
+ * probing, so that add, remove and contains take constant expected time and
+ * each element costs a few bytes instead of a boxed Integer and a map entry.
+ *
+ * Removal shifts the following elements of the probe run back instead of
+ * leaving tombstones, so the table never fills up with deleted slots.
+ * Integer.MIN_VALUE marks empty slots and cannot be stored. Not thread-safe.
+ */
+final class IntHashSet {
+
+	private static final int EMPTY = Integer.MIN_VALUE;
+	private static final int MIN_CAPACITY = 8;
+
+	private int[] slots;
+	private int size;
+
+	IntHashSet() {
+		this(0);
+	}
+
+	/**
+	 * Creates a set with room for the given number of elements before it grows.
+	 */
+	IntHashSet(int expectedSize) {
+		slots = emptyTable(capacityFor(expectedSize));
+	}
+
+	/**
+	 * Adds a value.
+	 *
+	 * @return True if the value was not in the set yet.
+	 */
+	boolean add(int value) {
+		if (value == EMPTY) {
+			throw new IllegalArgumentException("Cannot store " + value);
+		}
+		int mask = slots.length - 1;
+		int slot = slotOf(value, mask);
+		while (slots[slot] != EMPTY) {
+			if (slots[slot] == value) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		slots[slot] = value;
+		// Keep the table at most half full, so probe runs stay short
+		if (++size * 2 > slots.length) {
+			rehash(slots.length * 2);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes a value.
+	 *
+	 * @return True if the value was in the set.
+	 */
+	boolean remove(int value) {
+		int slot = find(value);
+		if (slot < 0) {
+			return false;
+		}
+		int mask = slots.length - 1;
+		// Move back every later element of the run that may no longer be reached
+		int hole = slot;
+		for (int next = (hole + 1) & mask; slots[next] != EMPTY; next = (next + 1) & mask) {
+			int home = slotOf(slots[next], mask);
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				slots[hole] = slots[next];
+				hole = next;
+			}
+		}
+		slots[hole] = EMPTY;
+		size--;
+		return true;
+	}
+
+	boolean contains(int value) {
+		return value != EMPTY && find(value) >= 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the values in ascending order.
+	 */
+	int[] toSortedArray() {
+		int[] values = new int[size];
+		int count = 0;
+		for (int value : slots) {
+			if (value != EMPTY) {
+				values[count++] = value;
+			}
+		}
+		Arrays.sort(values);
+		return values;
+	}
+
+	private int find(int value) {
+		int mask = slots.length - 1;
+		for (int slot = slotOf(value, mask); slots[slot] != EMPTY; slot = (slot + 1) & mask) {
+			if (slots[slot] == value) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	private void rehash(int capacity) {
+		int[] previous = slots;
+		slots = emptyTable(capacity);
+		int mask = capacity - 1;
+		for (int value : previous) {
+			if (value != EMPTY) {
+				int slot = slotOf(value, mask);
+				while (slots[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				slots[slot] = value;
+			}
+		}
+	}
+
+	private static int slotOf(int value, int mask) {
+		// Spread consecutive IDs over the table (Fibonacci hashing)
+		int hash = value * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	private static int capacityFor(int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private static int[] emptyTable(int capacity) {
+		int[] table = new int[capacity];
+		Arrays.fill(table, EMPTY);
+		return table;
+	}
+}
@@ -0,0 +1,150 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Arrays;
+
+/**
+ * A map from ints to non-negative ints stored unboxed in two parallel
+ * open-addressing tables with linear probing, the map counterpart of
+ * {@link IntHashSet}: each entry costs a few bytes instead of two boxed
+ * Integers and a map entry.
+ *
+ * Removal shifts the following entries of the probe run back instead of
+ * leaving tombstones. Integer.MIN_VALUE cannot be used as a key. Not
+ * thread-safe.
+ */
+final class IntIntHashMap {
+
+	/** Returned for keys without a value. */
+	static final int NO_VALUE = -1;
+
+	private static final int EMPTY = Integer.MIN_VALUE;
+	private static final int MIN_CAPACITY = 8;
+
+	private int[] keys;
+	private int[] values;
+	private int size;
+
+	IntIntHashMap() {
+		this(0);
+	}
+
+	/**
+	 * Creates a map with room for the given number of entries before it grows.
+	 */
+	IntIntHashMap(int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+		keys = emptyTable(capacity);
+		values = new int[capacity];
+	}
+
+	/**
+	 * Maps a key to a value, replacing its previous value.
+	 *
+	 * @param value A value of at least 0.
+	 */
+	void put(int key, int value) {
+		if (key == EMPTY || value < 0) {
+			throw new IllegalArgumentException("Cannot store " + key + " -> " + value);
+		}
+		int mask = keys.length - 1;
+		int slot = slotOf(key, mask);
+		while (keys[slot] != EMPTY) {
+			if (keys[slot] == key) {
+				values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		// Keep the table at most half full, so probe runs stay short
+		if (++size * 2 > keys.length) {
+			rehash(keys.length * 2);
+		}
+	}
+
+	/**
+	 * Returns the value of a key, or {@link #NO_VALUE} if it has none.
+	 */
+	int get(int key) {
+		int slot = find(key);
+		return slot < 0 ? NO_VALUE : values[slot];
+	}
+
+	/**
+	 * Removes a key.
+	 *
+	 * @return Its value, or {@link #NO_VALUE} if it had none.
+	 */
+	int remove(int key) {
+		int slot = find(key);
+		if (slot < 0) {
+			return NO_VALUE;
+		}
+		int removed = values[slot];
+		int mask = keys.length - 1;
+		// Move back every later entry of the run that may no longer be reached
+		int hole = slot;
+		for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+			int home = slotOf(keys[next], mask);
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				keys[hole] = keys[next];
+				values[hole] = values[next];
+				hole = next;
+			}
+		}
+		keys[hole] = EMPTY;
+		size--;
+		return removed;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private int find(int key) {
+		if (key == EMPTY) {
+			return -1;
+		}
+		int mask = keys.length - 1;
+		for (int slot = slotOf(key, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	private void rehash(int capacity) {
+		int[] previousKeys = keys;
+		int[] previousValues = values;
+		keys = emptyTable(capacity);
+		values = new int[capacity];
+		int mask = capacity - 1;
+		for (int i = 0; i < previousKeys.length; i++) {
+			if (previousKeys[i] != EMPTY) {
+				int slot = slotOf(previousKeys[i], mask);
+				while (keys[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = previousKeys[i];
+				values[slot] = previousValues[i];
+			}
+		}
+	}
+
+	private static int slotOf(int key, int mask) {
+		// Spread consecutive IDs over the table (Fibonacci hashing)
+		int hash = key * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	private static int[] emptyTable(int capacity) {
+		int[] table = new int[capacity];
+		Arrays.fill(table, EMPTY);
+		return table;
+	}
+}
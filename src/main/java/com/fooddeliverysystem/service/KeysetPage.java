@@ -0,0 +1,35 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * One page of a keyset (cursor) paginated listing ordered by primary key.
+ *
+ * A page is fetched with {@code WHERE id > :after ORDER BY id LIMIT :limit + 1}.
+ * The extra row only tells whether another page follows and is not returned, so
+ * every page costs one index range scan no matter how deep the client pages.
+ *
+ * @param <T>        The type of the listed entities.
+ * @param items      The entities of the page, in ascending key order.
+ * @param nextCursor The key to pass as {@code after} for the next page, or null
+ *                   if this is the last page.
+ */
+public record KeysetPage<T>(List<T> items, Integer nextCursor) {
+
+	/**
+	 * Builds a page from up to limit + 1 fetched rows.
+	 *
+	 * @param fetched The rows fetched with a limit of {@code limit + 1}.
+	 * @param limit   The requested page size.
+	 * @param key     Extracts the primary key of an entity.
+	 * @return The page holding at most limit entities.
+	 */
+	public static <T> KeysetPage<T> of(List<T> fetched, int limit, ToIntFunction<T> key) {
+		if (fetched.size() <= limit) {
+			return new KeysetPage<>(fetched, null);
+		}
+		List<T> items = fetched.subList(0, limit);
+		return new KeysetPage<>(items, key.applyAsInt(items.get(limit - 1)));
+	}
+}
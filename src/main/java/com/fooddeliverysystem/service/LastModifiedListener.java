@@ -0,0 +1,29 @@
+package com.fooddeliverysystem.service;
+
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Passes the entities Hibernate deletes on to the {@link LastModifiedService}.
+ * The events fire while the session flushes, so the parents are updated in the
+ * transaction of the delete.
+ */
+class LastModifiedListener implements PostDeleteEventListener {
+
+	private final LastModifiedService lastModifiedService;
+
+	LastModifiedListener(LastModifiedService lastModifiedService) {
+		this.lastModifiedService = lastModifiedService;
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		lastModifiedService.recordDeleted(event.getEntity());
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return false;
+	}
+}
@@ -0,0 +1,25 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * Service interface keeping the modification times read by conditional GET
+ * requests moving forward when rows are deleted.
+ *
+ * The Last-Modified time of a restaurant or an order is the latest
+ * modification of the entity or of its collections. Deleting the newest child
+ * of a collection would move it back, and a client sending only
+ * If-Modified-Since would be answered 304 with the collection it had before.
+ * Deletes made through Hibernate, directly or by cascade, therefore advance the
+ * modification time of the parents of the deleted row.
+ */
+public interface LastModifiedService {
+
+	/**
+	 * Advances the modification time of the parents of a deleted entity: the
+	 * restaurant of a menu item, the restaurant and order of a rating, the
+	 * restaurant of an order and the order of an order item. Other entities are
+	 * ignored.
+	 *
+	 * @param entity The deleted entity.
+	 */
+	void recordDeleted(Object entity);
+}
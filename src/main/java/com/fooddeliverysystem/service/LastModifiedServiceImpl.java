@@ -0,0 +1,84 @@
+package com.fooddeliverysystem.service;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.entity.MenuItem;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.entity.OrderItem;
+import com.fooddeliverysystem.entity.Rating;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Implementation of {@link LastModifiedService} writing the last_modified
+ * column of the parent rows with plain statements, on the connection and in the
+ * transaction of the delete.
+ *
+ * Only the time is written, not the version, so a parent loaded before the
+ * delete can still be saved in the same transaction without an optimistic lock
+ * failure.
+ */
+@Service
+public class LastModifiedServiceImpl implements LastModifiedService {
+
+	private static final Logger logger = LoggerFactory.getLogger(LastModifiedServiceImpl.class);
+
+	private static final String TOUCH_RESTAURANT = "update restaurants set last_modified = ? where restaurant_id = ?";
+	private static final String TOUCH_ORDER = "update orders set last_modified = ? where order_id = ?";
+
+	private JdbcTemplate jdbcTemplate;
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	public LastModifiedServiceImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+		super();
+		this.jdbcTemplate = jdbcTemplate;
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	/**
+	 * Registers the listener passing Hibernate's deletes on to this service.
+	 */
+	@PostConstruct
+	public void start() {
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_DELETE, new LastModifiedListener(this));
+	}
+
+	@Override
+	public void recordDeleted(Object entity) {
+		// The same clock as @UpdateTimestamp, so the times stay comparable
+		LocalDateTime now = LocalDateTime.now();
+		if (entity instanceof MenuItem menuItem && menuItem.getRestaurant() != null) {
+			touch(TOUCH_RESTAURANT, menuItem.getRestaurant().getRestaurantId(), now);
+		} else if (entity instanceof Rating rating) {
+			if (rating.getRestaurant() != null) {
+				touch(TOUCH_RESTAURANT, rating.getRestaurant().getRestaurantId(), now);
+			}
+			if (rating.getOrder() != null) {
+				touch(TOUCH_ORDER, rating.getOrder().getOrderId(), now);
+			}
+		} else if (entity instanceof Order order && order.getRestaurant() != null) {
+			touch(TOUCH_RESTAURANT, order.getRestaurant().getRestaurantId(), now);
+		} else if (entity instanceof OrderItem orderItem && orderItem.getOrder() != null) {
+			touch(TOUCH_ORDER, orderItem.getOrder().getOrderId(), now);
+		}
+	}
+
+	private void touch(String statement, int id, LocalDateTime now) {
+		// A parent deleted in the same flush is simply not found
+		int updated = jdbcTemplate.update(statement, now, id);
+		logger.debug("Advanced last modification of {} row(s) with ID {}", updated, id);
+	}
+}
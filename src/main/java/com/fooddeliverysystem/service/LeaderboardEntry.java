@@ -0,0 +1,39 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * The standing of a restaurant on the leaderboards.
+ *
+ * @param restaurantId  The ID of the restaurant.
+ * @param name          The name of the restaurant.
+ * @param orderCount    The number of orders placed with it.
+ * @param ratingCount   The number of ratings it received.
+ * @param ratingSum     The sum of those ratings.
+ * @param averageRating The average rating, or null if it has not been rated
+ *                      yet.
+ */
+public record LeaderboardEntry(int restaurantId, String name, long orderCount, long ratingCount, long ratingSum,
+		Double averageRating) {
+
+	/**
+	 * Returns the standing with the given counts, computing the average.
+	 */
+	static LeaderboardEntry of(int restaurantId, String name, long orderCount, long ratingCount, long ratingSum) {
+		return new LeaderboardEntry(restaurantId, name, orderCount, ratingCount, ratingSum,
+				ratingCount == 0 ? null : (double) ratingSum / ratingCount);
+	}
+
+	/**
+	 * Returns this standing with the order count and the rating count and sum
+	 * changed by the given amounts.
+	 */
+	LeaderboardEntry plus(long orders, long ratings, long ratingPoints) {
+		return of(restaurantId, name, orderCount + orders, ratingCount + ratings, ratingSum + ratingPoints);
+	}
+
+	/**
+	 * Returns this standing under another name.
+	 */
+	LeaderboardEntry withName(String newName) {
+		return new LeaderboardEntry(restaurantId, newName, orderCount, ratingCount, ratingSum, averageRating);
+	}
+}
@@ -0,0 +1,76 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.entity.Restaurant;
+
+/**
+ * Counts the orders Hibernate inserts, deletes or moves to another restaurant
+ * on the leaderboards. Ratings reach them through the rating aggregates.
+ */
+class LeaderboardListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+	private final LeaderboardService leaderboards;
+
+	LeaderboardListener(LeaderboardService leaderboards) {
+		this.leaderboards = leaderboards;
+	}
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		if (event.getEntity() instanceof Order order && order.getRestaurant() != null) {
+			leaderboards.recordOrders(Map.of(order.getRestaurant().getRestaurantId(), 1L));
+		}
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		if (event.getEntity() instanceof Order order && order.getRestaurant() != null) {
+			leaderboards.recordOrders(Map.of(order.getRestaurant().getRestaurantId(), -1L));
+		}
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		if (!(event.getEntity() instanceof Order order) || event.getOldState() == null) {
+			return;
+		}
+		String[] properties = event.getPersister().getPropertyNames();
+		Restaurant oldRestaurant = null;
+		for (int i = 0; i < properties.length; i++) {
+			if (properties[i].equals("restaurant")) {
+				oldRestaurant = (Restaurant) event.getOldState()[i];
+			}
+		}
+		Integer oldRestaurantId = oldRestaurant == null ? null : oldRestaurant.getRestaurantId();
+		Integer newRestaurantId = order.getRestaurant() == null ? null : order.getRestaurant().getRestaurantId();
+		if (Objects.equals(oldRestaurantId, newRestaurantId)) {
+			return;
+		}
+
+		Map<Integer, Long> changes = new TreeMap<>();
+		if (oldRestaurantId != null) {
+			changes.merge(oldRestaurantId, -1L, Long::sum);
+		}
+		if (newRestaurantId != null) {
+			changes.merge(newRestaurantId, 1L, Long::sum);
+		}
+		leaderboards.recordOrders(changes);
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return false;
+	}
+}
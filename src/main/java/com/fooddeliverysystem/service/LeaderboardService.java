@@ -0,0 +1,82 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.fooddeliverysystem.entity.Order;
+
+/**
+ * Service interface for the restaurant leaderboards: the top restaurants by
+ * average rating and by number of orders, kept in memory and answered without
+ * a query.
+ *
+ * The boards are seeded at startup and then follow every order and rating
+ * written. Orders written through Hibernate are picked up automatically, and
+ * rating changes come from the {@link RatingAggregateService}; orders inserted
+ * with plain JDBC have to be passed to {@link #recordPlaced(Collection)}.
+ * Changes made inside a transaction reach the boards once it commits.
+ */
+public interface LeaderboardService {
+
+	/**
+	 * Returns the best restaurants of a leaderboard.
+	 *
+	 * @param type The leaderboard.
+	 * @param k    The number of restaurants, at most {@link #getMaxSize()}.
+	 * @return Up to k restaurants, best first.
+	 */
+	List<LeaderboardEntry> findTop(LeaderboardType type, int k);
+
+	/**
+	 * Returns the largest number of restaurants a leaderboard holds.
+	 *
+	 * @return The maximum k.
+	 */
+	int getMaxSize();
+
+	/**
+	 * Counts orders inserted outside Hibernate.
+	 *
+	 * @param orders The inserted orders.
+	 */
+	void recordPlaced(Collection<Order> orders);
+
+	/**
+	 * Applies changes of the number of orders of restaurants.
+	 *
+	 * @param changes The change of the order count by restaurant ID.
+	 */
+	void recordOrders(Map<Integer, Long> changes);
+
+	/**
+	 * Applies changes of the ratings of restaurants.
+	 *
+	 * @param changes The change of the rating count and of the rating sum, as
+	 *                the first two values of each array, by restaurant ID.
+	 */
+	void recordRatings(Map<Integer, long[]> changes);
+
+	/**
+	 * Records the name of a created or renamed restaurant.
+	 *
+	 * @param restaurantId The ID of the restaurant.
+	 * @param name         Its name.
+	 */
+	void updateRestaurant(int restaurantId, String name);
+
+	/**
+	 * Drops a deleted restaurant from the leaderboards.
+	 *
+	 * @param restaurantId The ID of the restaurant.
+	 */
+	void removeRestaurant(int restaurantId);
+
+	/**
+	 * Replaces all standings with the order and rating counts read from the
+	 * database, correcting any drift of the in-memory standings.
+	 *
+	 * @return The number of restaurants loaded.
+	 */
+	int reload();
+}
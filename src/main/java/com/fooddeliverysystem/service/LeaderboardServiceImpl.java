@@ -0,0 +1,254 @@
+package com.fooddeliverysystem.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.entity.Order;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Implementation of {@link LeaderboardService} keeping the standing of every
+ * restaurant in memory.
+ *
+ * Each leaderboard is a sorted index of the standings of the restaurants that
+ * qualify for it, and publishes its first entries as an immutable list, so a
+ * read takes no lock and no copy. A change re-sorts one entry and republishes
+ * the list only when the entry was or is now among those first entries.
+ * Changes are applied under one lock, after the transaction that wrote them
+ * has committed, so a rolled back order or rating never shows.
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+	private static final Logger logger = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+	private static final String SELECT_STANDINGS = "select r.restaurant_id, r.restaurant_name,"
+			+ " coalesce(o.order_count, 0), coalesce(t.rating_count, 0), coalesce(t.rating_sum, 0) from restaurants r"
+			+ " left join (select restaurant_id, count(*) as order_count from orders group by restaurant_id) o"
+			+ " on o.restaurant_id = r.restaurant_id"
+			+ " left join (select restaurant_id, count(*) as rating_count, sum(rating) as rating_sum from ratings"
+			+ " group by restaurant_id) t on t.restaurant_id = r.restaurant_id";
+
+	private JdbcTemplate jdbcTemplate;
+	private EntityManagerFactory entityManagerFactory;
+	private int maxSize;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Map<Integer, LeaderboardEntry> standings = new HashMap<>();
+	private final Map<LeaderboardType, Board> boards = new EnumMap<>(LeaderboardType.class);
+
+	@Autowired
+	public LeaderboardServiceImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+			@Value("${fooddelivery.leaderboards.size:100}") int maxSize,
+			@Value("${fooddelivery.leaderboards.min-ratings:3}") int minRatings) {
+		super();
+		this.jdbcTemplate = jdbcTemplate;
+		this.entityManagerFactory = entityManagerFactory;
+		this.maxSize = Math.max(1, maxSize);
+
+		long requiredRatings = Math.max(1, minRatings);
+		boards.put(LeaderboardType.RATING, new Board(LeaderboardType.RATING,
+				entry -> entry.ratingCount() >= requiredRatings, this.maxSize));
+		boards.put(LeaderboardType.ORDERS, new Board(LeaderboardType.ORDERS, entry -> entry.orderCount() > 0,
+				this.maxSize));
+	}
+
+	/**
+	 * Seeds the leaderboards and registers the listener counting the orders
+	 * Hibernate writes.
+	 */
+	@PostConstruct
+	public void start() {
+		reload();
+
+		LeaderboardListener listener = new LeaderboardListener(this);
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_INSERT, listener);
+		registry.appendListeners(EventType.POST_UPDATE, listener);
+		registry.appendListeners(EventType.POST_DELETE, listener);
+	}
+
+	/**
+	 * Reads the order and rating counts of every restaurant with one query.
+	 * Changes committed while the query runs may be missed or counted twice until
+	 * the next reload, which runs at startup and after each rebuild of the rating
+	 * aggregates.
+	 */
+	@Override
+	public int reload() {
+		long start = System.nanoTime();
+		List<LeaderboardEntry> loaded = new ArrayList<>();
+		jdbcTemplate.query(SELECT_STANDINGS, (RowCallbackHandler) rs -> loaded.add(
+				LeaderboardEntry.of(rs.getInt(1), rs.getString(2), rs.getLong(3), rs.getLong(4), rs.getLong(5))));
+
+		lock.lock();
+		try {
+			standings.clear();
+			loaded.forEach(entry -> standings.put(entry.restaurantId(), entry));
+			boards.values().forEach(board -> board.reset(loaded));
+		} finally {
+			lock.unlock();
+		}
+		logger.info("Loaded the leaderboard standings of {} restaurants in {} ms", loaded.size(),
+				(System.nanoTime() - start) / 1_000_000);
+		return loaded.size();
+	}
+
+	@Override
+	public List<LeaderboardEntry> findTop(LeaderboardType type, int k) {
+		List<LeaderboardEntry> top = boards.get(type).top;
+		return top.subList(0, Math.max(0, Math.min(k, top.size())));
+	}
+
+	@Override
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	@Override
+	public void recordPlaced(Collection<Order> orders) {
+		Map<Integer, Long> changes = new TreeMap<>();
+		for (Order order : orders) {
+			changes.merge(order.getRestaurant().getRestaurantId(), 1L, Long::sum);
+		}
+		recordOrders(changes);
+	}
+
+	@Override
+	public void recordOrders(Map<Integer, Long> changes) {
+		Map<Integer, Long> pending = new HashMap<>(changes);
+		AfterCommit.run(() -> pending.forEach(
+				(restaurantId, orders) -> update(restaurantId, entry -> entry.plus(orders, 0, 0))));
+	}
+
+	@Override
+	public void recordRatings(Map<Integer, long[]> changes) {
+		Map<Integer, long[]> pending = new HashMap<>();
+		changes.forEach((restaurantId, change) -> pending.put(restaurantId, new long[] { change[0], change[1] }));
+		AfterCommit.run(() -> pending.forEach(
+				(restaurantId, change) -> update(restaurantId, entry -> entry.plus(0, change[0], change[1]))));
+	}
+
+	@Override
+	public void updateRestaurant(int restaurantId, String name) {
+		update(restaurantId, entry -> entry.withName(name));
+	}
+
+	@Override
+	public void removeRestaurant(int restaurantId) {
+		lock.lock();
+		try {
+			LeaderboardEntry removed = standings.remove(restaurantId);
+			if (removed != null) {
+				boards.values().forEach(board -> board.replace(removed, null));
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Changes the standing of a restaurant, starting from zero for one not seen
+	 * yet, and moves it on every leaderboard.
+	 */
+	private void update(int restaurantId, UnaryOperator<LeaderboardEntry> change) {
+		lock.lock();
+		try {
+			LeaderboardEntry previous = standings.get(restaurantId);
+			LeaderboardEntry current = change
+					.apply(previous != null ? previous : LeaderboardEntry.of(restaurantId, null, 0, 0, 0));
+			standings.put(restaurantId, current);
+			boards.values().forEach(board -> board.replace(previous, current));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * One leaderboard: the standings of the qualifying restaurants in its order,
+	 * and the first of them as published to readers. Only changed under the lock
+	 * of the service.
+	 */
+	private static class Board {
+
+		private final Comparator<LeaderboardEntry> order;
+		private final Predicate<LeaderboardEntry> qualifies;
+		private final int size;
+		private final TreeSet<LeaderboardEntry> index;
+
+		private volatile List<LeaderboardEntry> top = List.of();
+
+		Board(LeaderboardType type, Predicate<LeaderboardEntry> qualifies, int size) {
+			this.order = type.order();
+			this.qualifies = qualifies;
+			this.size = size;
+			this.index = new TreeSet<>(order);
+		}
+
+		void reset(Collection<LeaderboardEntry> entries) {
+			index.clear();
+			entries.stream().filter(qualifies).forEach(index::add);
+			publish();
+		}
+
+		/**
+		 * Replaces the previous standing of a restaurant with its current one;
+		 * either may be null.
+		 */
+		void replace(LeaderboardEntry previous, LeaderboardEntry current) {
+			boolean touchesTop = false;
+			if (previous != null && index.remove(previous)) {
+				touchesTop = withinTop(previous);
+			}
+			if (current != null && qualifies.test(current)) {
+				index.add(current);
+				touchesTop |= withinTop(current);
+			}
+			if (touchesTop) {
+				publish();
+			}
+		}
+
+		private boolean withinTop(LeaderboardEntry entry) {
+			List<LeaderboardEntry> published = top;
+			return published.size() < size
+					|| order.compare(entry, published.get(published.size() - 1)) <= 0;
+		}
+
+		private void publish() {
+			List<LeaderboardEntry> first = new ArrayList<>(Math.min(size, index.size()));
+			for (LeaderboardEntry entry : index) {
+				if (first.size() == size) {
+					break;
+				}
+				first.add(entry);
+			}
+			top = Collections.unmodifiableList(first);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Comparator;
+
+/**
+ * The orders of the restaurant leaderboards, chosen with
+ * {@code ?by=rating|orders}. Ties go to the lower restaurant ID, so every
+ * restaurant has exactly one place.
+ */
+public enum LeaderboardType {
+
+	/** By average rating, then by number of ratings. */
+	RATING {
+		@Override
+		Comparator<LeaderboardEntry> order() {
+			// Compares sum / count exactly by cross multiplication
+			return (a, b) -> {
+				int byAverage = Long.compare(b.ratingSum() * a.ratingCount(), a.ratingSum() * b.ratingCount());
+				if (byAverage != 0) {
+					return byAverage;
+				}
+				int byCount = Long.compare(b.ratingCount(), a.ratingCount());
+				return byCount != 0 ? byCount : Integer.compare(a.restaurantId(), b.restaurantId());
+			};
+		}
+	},
+
+	/** By number of orders. */
+	ORDERS {
+		@Override
+		Comparator<LeaderboardEntry> order() {
+			return (a, b) -> {
+				int byOrders = Long.compare(b.orderCount(), a.orderCount());
+				return byOrders != 0 ? byOrders : Integer.compare(a.restaurantId(), b.restaurantId());
+			};
+		}
+	};
+
+	/**
+	 * Returns the order of the leaderboard, best first.
+	 */
+	abstract Comparator<LeaderboardEntry> order();
+}
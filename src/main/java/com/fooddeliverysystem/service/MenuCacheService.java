@@ -0,0 +1,29 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * Service interface for the encoded restaurant menus served by GET
+ * /api/restaurants/{id}/menu.
+ *
+ * Each restaurant has a menu version. An encoded menu is reused for as long as
+ * the version it was built at is current, and every change to a menu has to
+ * bump the version once it is committed.
+ */
+public interface MenuCacheService {
+
+	/**
+	 * Returns the encoded menu of the restaurant, building it if the current
+	 * version has not been encoded yet.
+	 *
+	 * @param restaurantId The ID of the restaurant.
+	 * @return The encoded menu, or null if the restaurant does not exist.
+	 */
+	MenuPayload getMenu(int restaurantId);
+
+	/**
+	 * Bumps the menu version of the restaurant, so the next request encodes the
+	 * menu again. Must be called after the change has been committed.
+	 *
+	 * @param restaurantId The ID of the restaurant whose menu changed.
+	 */
+	void invalidate(int restaurantId);
+}
@@ -0,0 +1,102 @@
+package com.fooddeliverysystem.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddeliverysystem.dao.MenuItemDao;
+import com.fooddeliverysystem.dao.RestaurantDao;
+import com.fooddeliverysystem.dto.MenuItemSummary;
+
+@Service
+public class MenuCacheServiceImpl implements MenuCacheService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MenuCacheServiceImpl.class);
+
+	private RestaurantDao restaurantDao;
+	private MenuItemDao menuItemDao;
+	private ObjectMapper objectMapper;
+
+	private final ConcurrentHashMap<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+	private final BoundedTtlCache<Integer, MenuPayload> payloads;
+
+	@Autowired
+	public MenuCacheServiceImpl(RestaurantDao restaurantDao, MenuItemDao menuItemDao, ObjectMapper objectMapper,
+			@Value("${fooddelivery.menu-cache.max-entries:1000}") int maxEntries,
+			@Value("${fooddelivery.menu-cache.ttl-minutes:60}") long ttlMinutes) {
+		super();
+		this.restaurantDao = restaurantDao;
+		this.menuItemDao = menuItemDao;
+		this.objectMapper = objectMapper;
+		this.payloads = new BoundedTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+	}
+
+	/**
+	 * Returns the cached menu if it was built at the current version, otherwise
+	 * loads, encodes and compresses the menu once and caches it.
+	 *
+	 * The version is read before the menu is loaded. If the menu changes while
+	 * it is being encoded, the version moves on and the payload is not cached,
+	 * so an outdated menu is never stored under the current version.
+	 *
+	 * @param restaurantId The ID of the restaurant.
+	 * @return The encoded menu, or null if the restaurant does not exist.
+	 */
+	@Override
+	public MenuPayload getMenu(int restaurantId) {
+		long version = versionOf(restaurantId);
+
+		MenuPayload cached = payloads.get(restaurantId);
+		if (cached != null && cached.version() == version) {
+			logger.debug("Serving cached menu of restaurant {} at version {}", restaurantId, version);
+			return cached;
+		}
+
+		if (!restaurantDao.existsById(restaurantId)) {
+			logger.warn("No restaurant found with ID: {}", restaurantId);
+			return null;
+		}
+
+		List<MenuItemSummary> menu = menuItemDao.findMenu(restaurantId);
+		MenuPayload payload;
+		try {
+			payload = MenuPayload.of(version, objectMapper.writeValueAsBytes(menu));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not encode the menu of restaurant " + restaurantId, e);
+		}
+
+		if (versionOf(restaurantId) == version) {
+			payloads.put(restaurantId, payload);
+		}
+		logger.info("Encoded menu of restaurant {} at version {}: {} items, {} bytes ({} gzipped)", restaurantId,
+				version, menu.size(), payload.json().length, payload.gzip().length);
+		return payload;
+	}
+
+	/**
+	 * Bumps the menu version of the restaurant and drops its cached payload.
+	 *
+	 * @param restaurantId The ID of the restaurant whose menu changed.
+	 */
+	@Override
+	public void invalidate(int restaurantId) {
+		long version = versions.computeIfAbsent(restaurantId, id -> new AtomicLong()).incrementAndGet();
+		payloads.remove(restaurantId);
+
+		logger.info("Menu of restaurant {} changed, now at version {}", restaurantId, version);
+	}
+
+	private long versionOf(int restaurantId) {
+		AtomicLong version = versions.get(restaurantId);
+		return version == null ? 0 : version.get();
+	}
+}
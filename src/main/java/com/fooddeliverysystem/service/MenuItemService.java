@@ -10,18 +10,6 @@ import com.fooddeliverysystem.entity.MenuItem;
  */
 public interface MenuItemService {
 
-	/**
-	 * Retrieves the most recently added menu item from the database.
-	 *
-	 * This method queries the database to find the menu item with the highest
-	 * itemId, which represents the most recently added item. It returns the most
-	 * recent MenuItem object or null if no items are found.
-	 *
-	 * @return The most recently added MenuItem object, or null if no items are
-	 *         found.
-	 */
-	MenuItem findLastRecord();
-
 	/**
 	 * Saves a menu item to the database.
 	 *
@@ -17,45 +17,20 @@ public class MenuItemServiceImpl implements MenuItemService {
 	
 	private static final Logger logger = LoggerFactory.getLogger(MenuItemServiceImpl.class);
 	private MenuItemDao menuItemDao;
+	private AutocompleteService autocompleteService;
 	@Autowired
-	public MenuItemServiceImpl(MenuItemDao menuItemDao) {
+	public MenuItemServiceImpl(MenuItemDao menuItemDao, AutocompleteService autocompleteService) {
 		super();
 		this.menuItemDao = menuItemDao;
+		this.autocompleteService = autocompleteService;
 	}
 
-	/**
-	 * Retrieves the most recently added menu item from the database.
-	 *
-	 * This method queries the database to find the menu item with the highest ID, which 
-	 * represents the most recently added item. It uses the menuItemDao to fetch the record 
-	 * ordered by itemId in descending order.
-	 *
-	 * @return The most recently added MenuItem object, or null if no items are found.
-	 */
-	@Override
-	public MenuItem findLastRecord() {
-	    // Log the attempt to find the last menu item record
-	    logger.info("Attempting to find the most recently added MenuItem.");
-
-	    // Query the database to find the menu item with the highest itemId
-	    MenuItem lastMenuItem = menuItemDao.findFirstByOrderByItemIdDesc();
-
-	    // Log the result of the query
-	    if (lastMenuItem != null) {
-	        logger.info("Most recently added MenuItem found with ID: {}", lastMenuItem.getItemId());
-	    } else {
-	        logger.info("No MenuItem records found in the database.");
-	    }
-
-	    return lastMenuItem;
-	}
-
-
 	/**
 	 * Saves a menu item to the database.
 	 *
 	 * This method persists the given MenuItem object to the database using the menuItemDao.
 	 * If the MenuItem already exists, it will be updated; otherwise, a new record will be created.
+	 * Its name is indexed for autocompletion once the save commits.
 	 *
 	 * @param menuItem The MenuItem object to be saved.
 	 * @return The saved MenuItem object, which includes any updates or new database-generated fields.
@@ -68,6 +43,7 @@ public class MenuItemServiceImpl implements MenuItemService {
 
 	    // Save the MenuItem to the database and return the saved entity
 	    MenuItem savedMenuItem = menuItemDao.save(menuItem);
+	    autocompleteService.updateMenuItem(savedMenuItem);
 
 	    // Log the successful save operation
 	    logger.info("MenuItem with ID: {} has been successfully saved", savedMenuItem.getItemId());
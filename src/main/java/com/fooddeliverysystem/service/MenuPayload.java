@@ -0,0 +1,70 @@
+package com.fooddeliverysystem.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The encoded menu of one restaurant, ready to be written to a response as is.
+ *
+ * The ETag is derived from the JSON bytes, so it stays the same across
+ * restarts for as long as the menu does. The gzip encoding is a different
+ * representation and gets its own strong ETag.
+ *
+ * @param version The menu version the payload was built for.
+ * @param json    The menu encoded as a JSON array.
+ * @param gzip    The JSON bytes compressed with gzip.
+ * @param etag    The strong ETag of the JSON bytes, including the quotes.
+ */
+public record MenuPayload(long version, byte[] json, byte[] gzip, String etag) {
+
+	/**
+	 * Builds the payload from the encoded menu, compressing it and computing its
+	 * ETag once.
+	 *
+	 * @param version The menu version the JSON was read at.
+	 * @param json    The menu encoded as a JSON array.
+	 * @return The payload.
+	 */
+	public static MenuPayload of(long version, byte[] json) {
+		return new MenuPayload(version, json, compress(json), "\"" + digest(json) + "\"");
+	}
+
+	/**
+	 * Returns the body for the requested encoding.
+	 */
+	public byte[] body(boolean gzipped) {
+		return gzipped ? gzip : json;
+	}
+
+	/**
+	 * Returns the ETag of the representation in the requested encoding.
+	 */
+	public String etag(boolean gzipped) {
+		return gzipped ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag;
+	}
+
+	private static byte[] compress(byte[] bytes) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+		try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+			gzipOut.write(bytes);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	private static String digest(byte[] bytes) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+			// 128 bits of the hash are plenty to tell two menus apart
+			return HexFormat.of().formatHex(hash, 0, 16);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+/**
+ * The menu items of one restaurant found by a menu search.
+ *
+ * @param restaurantId   The ID of the restaurant.
+ * @param restaurantName Its name.
+ * @param items          Its matching items, best first.
+ */
+public record MenuSearchGroup(int restaurantId, String restaurantName, List<MenuSearchHit> items) {
+}
@@ -0,0 +1,17 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * A menu item found by a typo-tolerant menu search.
+ *
+ * @param itemId       The ID of the menu item.
+ * @param name         Its name.
+ * @param description  Its description.
+ * @param price        Its price.
+ * @param matchedWords How many words of the query it matched.
+ * @param score        How well its words matched; higher is better. A word of
+ *                     the name counts twice as much as one of the description,
+ *                     and each edit needed to reach it lowers its share.
+ */
+public record MenuSearchHit(int itemId, String name, String description, double price, int matchedWords,
+		double score) {
+}
@@ -0,0 +1,522 @@
+package com.fooddeliverysystem.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A typo-tolerant index over the names and descriptions of menu items.
+ *
+ * Two levels keep the memory proportional to the words indexed:
+ * <ul>
+ * <li>The vocabulary holds each distinct word once, with an index from its
+ * trigrams to the words containing them. A query word is matched against the
+ * vocabulary only: the trigrams it shares with a word bound their edit
+ * distance from below, so only words sharing enough of them, or a swap of
+ * neighbouring letters away, are compared with an edit distance.</li>
+ * <li>Each word keeps the items using it as one int per item, in a growable
+ * array: the item's slot with a flag telling whether the word is in its
+ * name.</li>
+ * </ul>
+ * A changed or removed item only marks its slot dead; its postings are
+ * dropped, and words no longer used forgotten, by a compaction once a
+ * quarter of the slots are dead. Searches may run concurrently with each
+ * other, but not with changes.
+ */
+final class MenuSearchIndex {
+
+	// Name words weigh more than description words
+	private static final double NAME_WEIGHT = 2;
+
+	// The most words of a query that are matched
+	private static final int MAX_QUERY_WORDS = 8;
+
+	// Compact once this many slots, and a quarter of all, are dead
+	private static final int MIN_DEAD_SLOTS = 1024;
+
+	private final int maxDescriptionTerms;
+
+	private final Map<String, Integer> termIds = new HashMap<>();
+	private final List<String> terms = new ArrayList<>();
+	private final List<IntList> postings = new ArrayList<>();
+	private final Map<Long, IntList> trigrams = new HashMap<>();
+	private final List<IntList> termsByLength = new ArrayList<>();
+
+	private int[] slotItems = new int[16];
+	private int[] slotRestaurants = new int[16];
+	private int slotCount;
+	private final BitSet deadSlots = new BitSet();
+	private int deadCount;
+	private IntIntHashMap slotsByItem = new IntIntHashMap();
+	private final AtomicLong comparedTerms = new AtomicLong();
+
+	/**
+	 * A menu item matching a query.
+	 *
+	 * @param itemId       The ID of the menu item.
+	 * @param restaurantId The ID of its restaurant.
+	 * @param matchedWords How many query words it matched.
+	 * @param score        The sum of the best match of each query word; higher
+	 *                     is better.
+	 */
+	record Match(int itemId, int restaurantId, int matchedWords, double score) {
+	}
+
+	/**
+	 * @param maxDescriptionTerms The most distinct description words indexed per
+	 *                            item, bounding the postings of long
+	 *                            descriptions.
+	 */
+	MenuSearchIndex(int maxDescriptionTerms) {
+		this.maxDescriptionTerms = Math.max(0, maxDescriptionTerms);
+	}
+
+	/**
+	 * Returns how many edits a query word of the given length may be away from
+	 * the word it matches: none up to 3 letters, 1 up to 7, then 2.
+	 */
+	static int allowedEdits(int length) {
+		return length <= 3 ? 0 : length <= 7 ? 1 : 2;
+	}
+
+	/**
+	 * Adds a menu item, replacing its previous version. An item without words is
+	 * only removed.
+	 */
+	void put(int itemId, int restaurantId, String name, String description) {
+		remove(itemId);
+		Set<String> nameTerms = new LinkedHashSet<>(ReviewIndex.tokenize(name));
+		Set<String> descriptionTerms = new LinkedHashSet<>();
+		for (String term : ReviewIndex.tokenize(description)) {
+			if (descriptionTerms.size() == maxDescriptionTerms) {
+				break;
+			}
+			if (!nameTerms.contains(term)) {
+				descriptionTerms.add(term);
+			}
+		}
+		if (nameTerms.isEmpty() && descriptionTerms.isEmpty()) {
+			return;
+		}
+
+		if (slotCount == slotItems.length) {
+			slotItems = Arrays.copyOf(slotItems, slotCount * 2);
+			slotRestaurants = Arrays.copyOf(slotRestaurants, slotCount * 2);
+		}
+		int slot = slotCount++;
+		slotItems[slot] = itemId;
+		slotRestaurants[slot] = restaurantId;
+		slotsByItem.put(itemId, slot);
+		for (String term : nameTerms) {
+			postings.get(termId(term)).add(slot << 1 | 1);
+		}
+		for (String term : descriptionTerms) {
+			postings.get(termId(term)).add(slot << 1);
+		}
+	}
+
+	/**
+	 * Removes a menu item, if indexed.
+	 */
+	void remove(int itemId) {
+		int slot = slotsByItem.remove(itemId);
+		if (slot == IntIntHashMap.NO_VALUE) {
+			return;
+		}
+		deadSlots.set(slot);
+		deadCount++;
+		if (deadCount >= MIN_DEAD_SLOTS && deadCount * 4 >= slotCount) {
+			compact();
+		}
+	}
+
+	/**
+	 * Returns the best matches of a query: first those matching the most query
+	 * words, then those whose words match best.
+	 *
+	 * @param words The query words, as returned by {@link ReviewIndex#tokenize}.
+	 * @param limit The maximum number of matches.
+	 */
+	List<Match> search(List<String> words, int limit) {
+		List<String> queryWords = new ArrayList<>(new LinkedHashSet<>(words));
+		if (queryWords.size() > MAX_QUERY_WORDS) {
+			queryWords = queryWords.subList(0, MAX_QUERY_WORDS);
+		}
+		if (queryWords.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+
+		// The best match of each query word by slot
+		Map<Integer, double[]> scores = new HashMap<>();
+		for (int word = 0; word < queryWords.size(); word++) {
+			int index = word;
+			int size = queryWords.size();
+			similarTerms(queryWords.get(index)).forEach((termId, similarity) -> {
+				IntList list = postings.get(termId);
+				for (int i = 0; i < list.size; i++) {
+					int slot = list.values[i] >>> 1;
+					if (deadSlots.get(slot)) {
+						continue;
+					}
+					double score = (list.values[i] & 1) == 1 ? similarity * NAME_WEIGHT : similarity;
+					double[] best = scores.computeIfAbsent(slot, s -> new double[size]);
+					best[index] = Math.max(best[index], score);
+				}
+			});
+		}
+
+		// Keep the best matches in a bounded heap whose head is the worst of them
+		Comparator<Match> ranking = Comparator.comparingInt(Match::matchedWords).reversed()
+				.thenComparing(Comparator.comparingDouble(Match::score).reversed())
+				.thenComparingInt(Match::itemId);
+		PriorityQueue<Match> best = new PriorityQueue<>(ranking.reversed());
+		scores.forEach((slot, wordScores) -> {
+			int matched = 0;
+			double score = 0;
+			for (double wordScore : wordScores) {
+				if (wordScore > 0) {
+					matched++;
+					score += wordScore;
+				}
+			}
+			best.add(new Match(slotItems[slot], slotRestaurants[slot], matched, score));
+			if (best.size() > limit) {
+				best.poll();
+			}
+		});
+		List<Match> matches = new ArrayList<>(best);
+		matches.sort(ranking);
+		return matches;
+	}
+
+	/**
+	 * Releases the room the growable arrays keep for further postings, after a
+	 * bulk load.
+	 */
+	void trim() {
+		postings.forEach(IntList::trim);
+		trigrams.values().forEach(IntList::trim);
+		termsByLength.forEach(IntList::trim);
+		slotItems = Arrays.copyOf(slotItems, Math.max(16, slotCount));
+		slotRestaurants = Arrays.copyOf(slotRestaurants, Math.max(16, slotCount));
+	}
+
+	/**
+	 * Returns the number of indexed items.
+	 */
+	int size() {
+		return slotsByItem.size();
+	}
+
+	/**
+	 * Returns the number of distinct words indexed.
+	 */
+	int terms() {
+		return terms.size();
+	}
+
+	/**
+	 * Returns how many vocabulary words have been compared with query words by
+	 * edit distance.
+	 */
+	long comparedTerms() {
+		return comparedTerms.get();
+	}
+
+	/**
+	 * Returns the number of postings held, those of dead slots included.
+	 */
+	long postingCount() {
+		long count = 0;
+		for (IntList list : postings) {
+			count += list.size;
+		}
+		return count;
+	}
+
+	/**
+	 * Finds the vocabulary words within the allowed edits of a query word.
+	 *
+	 * @return The similarity of each, by term ID: 1 for the word itself, less
+	 *         for each edit.
+	 */
+	private Map<Integer, Double> similarTerms(String word) {
+		Map<Integer, Double> similar = new LinkedHashMap<>();
+		int maxEdits = allowedEdits(word.length());
+		Integer exact = termIds.get(word);
+		if (exact != null) {
+			similar.put(exact, 1.0);
+		}
+		if (maxEdits == 0) {
+			return similar;
+		}
+
+		// An edit changes at most three trigrams of a word, except a swap of
+		// neighbouring letters inside it, which changes four: the words sharing
+		// enough trigrams are candidates, and so are those a swap away, looked up
+		// as the swapped words themselves
+		IntList candidates = new IntList();
+		addSharingTrigrams(word, maxEdits, candidates);
+		for (String swapped : swaps(word)) {
+			addTerm(swapped, candidates);
+			if (maxEdits == 2) {
+				addSharingTrigrams(swapped, 1, candidates);
+				for (String swappedTwice : swaps(swapped)) {
+					addTerm(swappedTwice, candidates);
+				}
+			}
+		}
+
+		int[] sorted = Arrays.copyOf(candidates.values, candidates.size);
+		Arrays.sort(sorted);
+		int compared = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			int termId = sorted[i];
+			if (i > 0 && sorted[i - 1] == termId || exact != null && termId == exact) {
+				continue;
+			}
+			String term = terms.get(termId);
+			if (Math.abs(term.length() - word.length()) > maxEdits) {
+				continue;
+			}
+			compared++;
+			int distance = distance(word, term, maxEdits);
+			if (distance <= maxEdits) {
+				similar.put(termId, 1 - (double) distance / (maxEdits + 1));
+			}
+		}
+		comparedTerms.addAndGet(compared);
+		return similar;
+	}
+
+	/**
+	 * Adds the IDs of the vocabulary words sharing enough trigrams with a word to
+	 * be within the given edits of it, counting three changed trigrams per edit.
+	 */
+	private void addSharingTrigrams(String word, int maxEdits, IntList candidates) {
+		Set<Long> wordTrigrams = trigramsOf(word);
+		int required = wordTrigrams.size() - 3 * maxEdits;
+		if (required <= 0) {
+			// A word repeating its letters has too few distinct trigrams to need any
+			// shared; every word of a close length is a candidate
+			int maxLength = Math.min(termsByLength.size() - 1, word.length() + maxEdits);
+			for (int length = Math.max(0, word.length() - maxEdits); length <= maxLength; length++) {
+				IntList list = termsByLength.get(length);
+				for (int i = 0; i < list.size; i++) {
+					candidates.add(list.values[i]);
+				}
+			}
+			return;
+		}
+
+		// Count the words of all postings at once, as runs of a sorted array
+		int total = 0;
+		List<IntList> lists = new ArrayList<>(wordTrigrams.size());
+		for (Long trigram : wordTrigrams) {
+			IntList list = trigrams.get(trigram);
+			if (list != null) {
+				lists.add(list);
+				total += list.size;
+			}
+		}
+		int[] termIdsFound = new int[total];
+		int filled = 0;
+		for (IntList list : lists) {
+			System.arraycopy(list.values, 0, termIdsFound, filled, list.size);
+			filled += list.size;
+		}
+		Arrays.sort(termIdsFound);
+		for (int i = 0; i < total;) {
+			int end = i + 1;
+			while (end < total && termIdsFound[end] == termIdsFound[i]) {
+				end++;
+			}
+			if (end - i >= required) {
+				candidates.add(termIdsFound[i]);
+			}
+			i = end;
+		}
+	}
+
+	private void addTerm(String term, IntList candidates) {
+		Integer termId = termIds.get(term);
+		if (termId != null) {
+			candidates.add(termId);
+		}
+	}
+
+	/**
+	 * Returns the distinct words made by swapping two neighbouring letters of a
+	 * word.
+	 */
+	private static Set<String> swaps(String word) {
+		Set<String> swapped = new LinkedHashSet<>();
+		char[] letters = word.toCharArray();
+		for (int i = 0; i + 1 < letters.length; i++) {
+			if (letters[i] != letters[i + 1]) {
+				char letter = letters[i];
+				letters[i] = letters[i + 1];
+				letters[i + 1] = letter;
+				swapped.add(new String(letters));
+				letters[i + 1] = letters[i];
+				letters[i] = letter;
+			}
+		}
+		return swapped;
+	}
+
+	private int termId(String term) {
+		Integer id = termIds.get(term);
+		if (id != null) {
+			return id;
+		}
+		int termId = terms.size();
+		termIds.put(term, termId);
+		terms.add(term);
+		postings.add(new IntList());
+		while (termsByLength.size() <= term.length()) {
+			termsByLength.add(new IntList());
+		}
+		termsByLength.get(term.length()).add(termId);
+		for (Long trigram : trigramsOf(term)) {
+			trigrams.computeIfAbsent(trigram, t -> new IntList()).add(termId);
+		}
+		return termId;
+	}
+
+	/**
+	 * Drops the postings of dead slots, renumbers the live slots from 0 and
+	 * rebuilds the vocabulary from the words still used.
+	 */
+	private void compact() {
+		int[] renumbered = new int[slotCount];
+		int live = 0;
+		for (int slot = 0; slot < slotCount; slot++) {
+			if (deadSlots.get(slot)) {
+				renumbered[slot] = -1;
+				continue;
+			}
+			renumbered[slot] = live;
+			slotItems[live] = slotItems[slot];
+			slotRestaurants[live] = slotRestaurants[slot];
+			live++;
+		}
+		IntIntHashMap liveSlots = new IntIntHashMap(live);
+		for (int slot = 0; slot < live; slot++) {
+			liveSlots.put(slotItems[slot], slot);
+		}
+
+		List<String> usedTerms = new ArrayList<>();
+		List<IntList> usedPostings = new ArrayList<>();
+		for (int termId = 0; termId < terms.size(); termId++) {
+			IntList list = postings.get(termId);
+			IntList kept = new IntList();
+			for (int i = 0; i < list.size; i++) {
+				int slot = renumbered[list.values[i] >>> 1];
+				if (slot >= 0) {
+					kept.add(slot << 1 | list.values[i] & 1);
+				}
+			}
+			if (kept.size > 0) {
+				kept.trim();
+				usedTerms.add(terms.get(termId));
+				usedPostings.add(kept);
+			}
+		}
+
+		termIds.clear();
+		terms.clear();
+		postings.clear();
+		trigrams.clear();
+		termsByLength.clear();
+		for (int i = 0; i < usedTerms.size(); i++) {
+			termId(usedTerms.get(i));
+			postings.set(i, usedPostings.get(i));
+		}
+		trigrams.values().forEach(IntList::trim);
+		termsByLength.forEach(IntList::trim);
+
+		slotCount = live;
+		slotsByItem = liveSlots;
+		deadSlots.clear();
+		deadCount = 0;
+	}
+
+	/**
+	 * Returns the trigrams of a word padded with a space on both sides, each
+	 * packed into a long.
+	 */
+	private static Set<Long> trigramsOf(String word) {
+		String padded = " " + word + " ";
+		Set<Long> packed = new LinkedHashSet<>();
+		for (int i = 0; i + 3 <= padded.length(); i++) {
+			packed.add((long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2));
+		}
+		return packed;
+	}
+
+	/**
+	 * Returns the edit distance of two words counting a swap of neighbouring
+	 * letters as one edit, or maxEdits + 1 once it is known to exceed maxEdits.
+	 */
+	static int distance(String a, String b, int maxEdits) {
+		int[] twoBack = new int[b.length() + 1];
+		int[] previous = new int[b.length() + 1];
+		int[] current = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= a.length(); i++) {
+			current[0] = i;
+			int rowMinimum = current[0];
+			for (int j = 1; j <= b.length(); j++) {
+				int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+				int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+				if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+					value = Math.min(value, twoBack[j - 2] + 1);
+				}
+				current[j] = value;
+				rowMinimum = Math.min(rowMinimum, value);
+			}
+			if (rowMinimum > maxEdits) {
+				return maxEdits + 1;
+			}
+			int[] recycled = twoBack;
+			twoBack = previous;
+			previous = current;
+			current = recycled;
+		}
+		return Math.min(previous[b.length()], maxEdits + 1);
+	}
+
+	/**
+	 * A growable array of ints.
+	 */
+	private static final class IntList {
+
+		private int[] values = new int[2];
+		private int size;
+
+		void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		void trim() {
+			if (values.length > size) {
+				values = Arrays.copyOf(values, Math.max(1, size));
+			}
+		}
+	}
+}
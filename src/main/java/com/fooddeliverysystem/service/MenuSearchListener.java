@@ -0,0 +1,50 @@
+package com.fooddeliverysystem.service;
+
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import com.fooddeliverysystem.entity.MenuItem;
+
+/**
+ * Passes the menu items Hibernate inserts, updates and deletes on to the menu
+ * search index.
+ */
+class MenuSearchListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+	private final MenuSearchService menuSearchService;
+
+	MenuSearchListener(MenuSearchService menuSearchService) {
+		this.menuSearchService = menuSearchService;
+	}
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		if (event.getEntity() instanceof MenuItem menuItem) {
+			menuSearchService.recordSaved(menuItem);
+		}
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		if (event.getEntity() instanceof MenuItem menuItem) {
+			menuSearchService.recordSaved(menuItem);
+		}
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		if (event.getEntity() instanceof MenuItem menuItem) {
+			menuSearchService.recordDeleted(menuItem.getItemId());
+		}
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return false;
+	}
+}
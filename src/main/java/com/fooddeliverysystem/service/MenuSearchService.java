@@ -0,0 +1,43 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+import com.fooddeliverysystem.entity.MenuItem;
+
+/**
+ * Service interface for the typo-tolerant search over the names and
+ * descriptions of menu items, so that "biryni" still finds biryani.
+ *
+ * The items are held in an in-memory trigram index. Menu items written through
+ * Hibernate (saved, updated, or deleted directly or with their restaurant) are
+ * indexed automatically. Changes made inside a transaction are searchable once
+ * it commits.
+ */
+public interface MenuSearchService {
+
+	/**
+	 * Finds the menu items best matching a query, allowing a typo or two in each
+	 * word, and groups them by restaurant.
+	 *
+	 * @param query The words to look for. Case and punctuation are ignored, and
+	 *              so are stop words such as "with".
+	 * @param limit The maximum number of menu items.
+	 * @return The restaurants of the matching items, the one with the best item
+	 *         first, each with its items best first.
+	 */
+	List<MenuSearchGroup> search(String query, int limit);
+
+	/**
+	 * Indexes an inserted or updated menu item.
+	 *
+	 * @param menuItem The menu item.
+	 */
+	void recordSaved(MenuItem menuItem);
+
+	/**
+	 * Removes a deleted menu item from the index.
+	 *
+	 * @param itemId The ID of the menu item.
+	 */
+	void recordDeleted(int itemId);
+}
@@ -0,0 +1,192 @@
+package com.fooddeliverysystem.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dao.MenuItemDao;
+import com.fooddeliverysystem.entity.MenuItem;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Implementation of {@link MenuSearchService} on a {@link MenuSearchIndex}
+ * kept in memory.
+ *
+ * The index holds no text beyond the distinct words of the catalog: each item
+ * costs its slot and one int per distinct word of its name and of the first
+ * words of its description, so a catalog of a few million items stays within
+ * a few hundred megabytes. A search only loads the menu items it returns.
+ * Searches share a read lock; changes take the write lock, once the writing
+ * transaction has committed.
+ */
+@Service
+public class MenuSearchServiceImpl implements MenuSearchService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MenuSearchServiceImpl.class);
+
+	private static final String SELECT_MENU_ITEMS = "select item_id, restaurant_id, item_name, item_description"
+			+ " from menuitems";
+
+	private MenuItemDao menuItemDao;
+	private JdbcTemplate jdbcTemplate;
+	private EntityManagerFactory entityManagerFactory;
+	private int maxDescriptionTerms;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private MenuSearchIndex index;
+
+	@Autowired
+	public MenuSearchServiceImpl(MenuItemDao menuItemDao, JdbcTemplate jdbcTemplate,
+			EntityManagerFactory entityManagerFactory,
+			@Value("${fooddelivery.menu-search.max-description-terms:16}") int maxDescriptionTerms) {
+		super();
+		this.menuItemDao = menuItemDao;
+		this.jdbcTemplate = jdbcTemplate;
+		this.entityManagerFactory = entityManagerFactory;
+		this.maxDescriptionTerms = maxDescriptionTerms;
+		this.index = new MenuSearchIndex(maxDescriptionTerms);
+	}
+
+	/**
+	 * Loads the index and registers the listener indexing Hibernate's menu item
+	 * writes.
+	 */
+	@PostConstruct
+	public void start() {
+		load();
+
+		MenuSearchListener listener = new MenuSearchListener(this);
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_INSERT, listener);
+		registry.appendListeners(EventType.POST_UPDATE, listener);
+		registry.appendListeners(EventType.POST_DELETE, listener);
+	}
+
+	/**
+	 * Builds the index from all menu items, read with one query, and replaces the
+	 * current index with it. Changes committed meanwhile may be missed, so this
+	 * is meant for startup.
+	 *
+	 * @return The number of menu items indexed.
+	 */
+	public int load() {
+		long start = System.nanoTime();
+		MenuSearchIndex loaded = new MenuSearchIndex(maxDescriptionTerms);
+		jdbcTemplate.query(SELECT_MENU_ITEMS,
+				(RowCallbackHandler) rs -> loaded.put(rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getString(4)));
+		loaded.trim();
+
+		lock.writeLock().lock();
+		try {
+			index = loaded;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		logger.info("Indexed {} menu items with {} words and {} postings in {} ms", loaded.size(), loaded.terms(),
+				loaded.postingCount(), (System.nanoTime() - start) / 1_000_000);
+		return loaded.size();
+	}
+
+	@Override
+	public List<MenuSearchGroup> search(String query, int limit) {
+		List<String> words = ReviewIndex.tokenize(query);
+		if (words.isEmpty()) {
+			return List.of();
+		}
+		List<MenuSearchIndex.Match> matches;
+		lock.readLock().lock();
+		try {
+			matches = index.search(words, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+		if (matches.isEmpty()) {
+			return List.of();
+		}
+
+		// Load the menu items of the matches only, with one query
+		Map<Integer, MenuItem> menuItems = new HashMap<>();
+		menuItemDao.findAllById(matches.stream().map(MenuSearchIndex.Match::itemId).collect(Collectors.toList()))
+				.forEach(menuItem -> menuItems.put(menuItem.getItemId(), menuItem));
+
+		// Group by restaurant in the order of their best item
+		Map<Integer, List<MenuSearchHit>> hitsByRestaurant = new LinkedHashMap<>();
+		Map<Integer, String> restaurantNames = new HashMap<>();
+		for (MenuSearchIndex.Match match : matches) {
+			// A menu item deleted meanwhile is skipped
+			MenuItem menuItem = menuItems.get(match.itemId());
+			if (menuItem == null) {
+				continue;
+			}
+			if (menuItem.getRestaurant() != null) {
+				restaurantNames.put(match.restaurantId(), menuItem.getRestaurant().getName());
+			}
+			hitsByRestaurant.computeIfAbsent(match.restaurantId(), id -> new ArrayList<>())
+					.add(new MenuSearchHit(match.itemId(), menuItem.getName(), menuItem.getDescription(),
+							menuItem.getPrice(), match.matchedWords(), match.score()));
+		}
+		List<MenuSearchGroup> groups = new ArrayList<>(hitsByRestaurant.size());
+		hitsByRestaurant.forEach((restaurantId, hits) -> groups
+				.add(new MenuSearchGroup(restaurantId, restaurantNames.get(restaurantId), hits)));
+		return groups;
+	}
+
+	/**
+	 * Returns how many indexed words searches have compared with their query
+	 * words by edit distance, since the index was loaded.
+	 */
+	public long getComparedTerms() {
+		lock.readLock().lock();
+		try {
+			return index.comparedTerms();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void recordSaved(MenuItem menuItem) {
+		int itemId = menuItem.getItemId();
+		int restaurantId = menuItem.getRestaurant() == null ? 0 : menuItem.getRestaurant().getRestaurantId();
+		String name = menuItem.getName();
+		String description = menuItem.getDescription();
+		AfterCommit.run(() -> {
+			lock.writeLock().lock();
+			try {
+				index.put(itemId, restaurantId, name, description);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	@Override
+	public void recordDeleted(int itemId) {
+		AfterCommit.run(() -> {
+			lock.writeLock().lock();
+			try {
+				index.remove(itemId);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+}
@@ -0,0 +1,261 @@
+package com.fooddeliverysystem.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A sorted array of name keys answering prefix queries by binary search.
+ *
+ * Every word of a normalized name starts one key, so "Joe's Pizza" is found
+ * by "jo" and by "pi". A key is not copied out of the name: it is the
+ * normalized name shared by all keys of a suggestion plus the offset of its
+ * word, kept in parallel arrays. Instances are immutable, so they can be read
+ * without a lock; a change builds a new instance by merging, without sorting
+ * the unchanged keys again.
+ */
+final class NameIndex {
+
+	static final NameIndex EMPTY = new NameIndex(new String[0], new int[0], new NameSuggestion[0]);
+
+	// Most popular first, then by name, so equally popular names read in order
+	static final Comparator<NameSuggestion> RANKING = Comparator.comparingLong(NameSuggestion::popularity)
+			.reversed().thenComparing(NameSuggestion::name, String.CASE_INSENSITIVE_ORDER)
+			.thenComparing(NameSuggestion::type).thenComparingInt(NameSuggestion::id);
+
+	private final String[] texts;
+	private final int[] offsets;
+	private final NameSuggestion[] targets;
+	// The popularity of each target again, so a scan skips the keys of names
+	// ranking too low without dereferencing them
+	private final long[] popularities;
+
+	private NameIndex(String[] texts, int[] offsets, NameSuggestion[] targets) {
+		this.texts = texts;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.popularities = new long[targets.length];
+		for (int i = 0; i < targets.length; i++) {
+			popularities[i] = targets[i].popularity();
+		}
+	}
+
+	/**
+	 * Lower cases a name, drops accents and apostrophes, and turns every run of
+	 * other characters that are not letters or digits into a single space.
+	 */
+	static String normalize(String name) {
+		if (name == null) {
+			return "";
+		}
+		String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+		StringBuilder normalized = new StringBuilder(decomposed.length());
+		boolean separated = false;
+		for (int i = 0; i < decomposed.length(); i++) {
+			char c = decomposed.charAt(i);
+			if (Character.getType(c) == Character.NON_SPACING_MARK || c == '\'' || c == '\u2019') {
+				continue;
+			}
+			if (!Character.isLetterOrDigit(c)) {
+				separated = true;
+				continue;
+			}
+			if (separated && normalized.length() > 0) {
+				normalized.append(' ');
+			}
+			separated = false;
+			normalized.append(Character.toLowerCase(c));
+		}
+		return normalized.toString();
+	}
+
+	/**
+	 * Builds an index of the given suggestions.
+	 */
+	static NameIndex of(Collection<NameSuggestion> suggestions) {
+		return EMPTY.with(suggestion -> false, suggestions);
+	}
+
+	/**
+	 * Returns a copy of this index without the suggestions matching removed and
+	 * with the added ones.
+	 */
+	NameIndex with(Predicate<NameSuggestion> removed, Collection<NameSuggestion> added) {
+		List<Key> fresh = keys(added);
+		int size = texts.length + fresh.size();
+		String[] mergedTexts = new String[size];
+		int[] mergedOffsets = new int[size];
+		NameSuggestion[] mergedTargets = new NameSuggestion[size];
+
+		// Merge the kept keys with the new ones, both already sorted
+		int count = 0;
+		int old = 0;
+		int next = 0;
+		while (old < texts.length || next < fresh.size()) {
+			if (old < texts.length && removed.test(targets[old])) {
+				old++;
+				continue;
+			}
+			boolean takeOld = next == fresh.size() || old < texts.length && compare(texts[old], offsets[old],
+					targets[old], fresh.get(next).text(), fresh.get(next).offset(), fresh.get(next).target()) <= 0;
+			if (takeOld) {
+				mergedTexts[count] = texts[old];
+				mergedOffsets[count] = offsets[old];
+				mergedTargets[count] = targets[old];
+				old++;
+			} else {
+				Key key = fresh.get(next++);
+				mergedTexts[count] = key.text();
+				mergedOffsets[count] = key.offset();
+				mergedTargets[count] = key.target();
+			}
+			count++;
+		}
+		return new NameIndex(Arrays.copyOf(mergedTexts, count), Arrays.copyOf(mergedOffsets, count),
+				Arrays.copyOf(mergedTargets, count));
+	}
+
+	/**
+	 * Returns a copy of this index with every suggestion replaced by another of
+	 * the same name, such as one with a new popularity. The keys keep their
+	 * order, so nothing is sorted.
+	 */
+	NameIndex map(UnaryOperator<NameSuggestion> change) {
+		Map<NameSuggestion, NameSuggestion> changed = new IdentityHashMap<>();
+		NameSuggestion[] mapped = new NameSuggestion[targets.length];
+		for (int i = 0; i < targets.length; i++) {
+			mapped[i] = changed.computeIfAbsent(targets[i], change);
+		}
+		return new NameIndex(texts, offsets, mapped);
+	}
+
+	/**
+	 * Returns the most popular suggestions with a word of their name starting
+	 * with the given prefix.
+	 *
+	 * @param prefix The prefix; normalized like the names.
+	 * @param limit  The maximum number of suggestions.
+	 * @return The suggestions, most popular first.
+	 */
+	List<NameSuggestion> search(String prefix, int limit) {
+		String key = normalize(prefix);
+		if (key.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+
+		// Find the first key not before the prefix, then the first key after it
+		// not starting with it
+		int first = 0;
+		int high = texts.length;
+		while (first < high) {
+			int middle = (first + high) >>> 1;
+			if (compare(texts[middle], offsets[middle], key, 0) < 0) {
+				first = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		int end = first;
+		high = texts.length;
+		while (end < high) {
+			int middle = (end + high) >>> 1;
+			if (texts[middle].startsWith(key, offsets[middle])) {
+				end = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		// Keep the best of the keys in between in a bounded heap whose head is the
+		// worst of them; a name matching with two words counts once
+		PriorityQueue<NameSuggestion> best = new PriorityQueue<>(RANKING.reversed());
+		Set<NameSuggestion> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		long worst = Long.MIN_VALUE;
+		for (int i = first; i < end; i++) {
+			if (popularities[i] < worst) {
+				continue;
+			}
+			NameSuggestion target = targets[i];
+			if (best.size() == limit && RANKING.compare(target, best.peek()) >= 0 || !seen.add(target)) {
+				continue;
+			}
+			best.add(target);
+			if (best.size() > limit) {
+				best.poll();
+			}
+			if (best.size() == limit) {
+				worst = best.peek().popularity();
+			}
+		}
+		List<NameSuggestion> suggestions = new ArrayList<>(best);
+		suggestions.sort(RANKING);
+		return suggestions;
+	}
+
+	/**
+	 * Returns the number of keys.
+	 */
+	int size() {
+		return texts.length;
+	}
+
+	/**
+	 * The key of one word of a name, used while building.
+	 */
+	private record Key(String text, int offset, NameSuggestion target) {
+	}
+
+	private static List<Key> keys(Collection<NameSuggestion> suggestions) {
+		List<Key> keys = new ArrayList<>();
+		for (NameSuggestion suggestion : suggestions) {
+			String text = normalize(suggestion.name());
+			for (int i = 0; i < text.length(); i++) {
+				if (i == 0 || text.charAt(i - 1) == ' ') {
+					keys.add(new Key(text, i, suggestion));
+				}
+			}
+		}
+		keys.sort((a, b) -> compare(a.text(), a.offset(), a.target(), b.text(), b.offset(), b.target()));
+		return keys;
+	}
+
+	/**
+	 * Orders keys by their text from the offset on, then by what they name, so
+	 * every key has exactly one place.
+	 */
+	private static int compare(String a, int aOffset, NameSuggestion aTarget, String b, int bOffset,
+			NameSuggestion bTarget) {
+		int byText = compare(a, aOffset, b, bOffset);
+		if (byText != 0) {
+			return byText;
+		}
+		int byType = aTarget.type().compareTo(bTarget.type());
+		return byType != 0 ? byType : Integer.compare(aTarget.id(), bTarget.id());
+	}
+
+	/**
+	 * Compares two strings from the given offsets on, without copying them.
+	 */
+	private static int compare(String a, int aOffset, String b, int bOffset) {
+		int aLength = a.length() - aOffset;
+		int bLength = b.length() - bOffset;
+		int length = Math.min(aLength, bLength);
+		for (int i = 0; i < length; i++) {
+			int difference = a.charAt(aOffset + i) - b.charAt(bOffset + i);
+			if (difference != 0) {
+				return difference;
+			}
+		}
+		return aLength - bLength;
+	}
+}
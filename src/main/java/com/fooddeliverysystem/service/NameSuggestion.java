@@ -0,0 +1,19 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * A restaurant or menu item whose name matches an autocomplete prefix.
+ *
+ * @param type         Whether a restaurant or a menu item is named.
+ * @param id           The ID of the restaurant or of the menu item.
+ * @param restaurantId The ID of the restaurant, or of the restaurant serving
+ *                     the menu item (0 if it has none).
+ * @param name         The name as stored.
+ * @param popularity   The number of orders of the restaurant, or the quantity
+ *                     ordered of the menu item; higher ranks first.
+ */
+public record NameSuggestion(SuggestionType type, int id, int restaurantId, String name, long popularity) {
+
+	NameSuggestion withPopularity(long popularity) {
+		return popularity == this.popularity ? this : new NameSuggestion(type, id, restaurantId, name, popularity);
+	}
+}
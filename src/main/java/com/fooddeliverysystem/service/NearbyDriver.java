@@ -0,0 +1,25 @@
+package com.fooddeliverysystem.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * A delivery driver found by a location query, with its distance from the
+ * queried point.
+ *
+ * @param deliveryDriverId The ID of the delivery driver.
+ * @param latitude         The last reported latitude in degrees.
+ * @param longitude        The last reported longitude in degrees.
+ * @param distanceKm       The great-circle distance from the queried point.
+ * @param updatedAt        When the position was reported.
+ */
+public record NearbyDriver(int deliveryDriverId, double latitude, double longitude, double distanceKm,
+		LocalDateTime updatedAt) {
+
+	/**
+	 * Returns the driver at the given location and distance.
+	 */
+	static NearbyDriver of(DriverLocation location, double distanceKm) {
+		return new NearbyDriver(location.deliveryDriverId(), location.latitude(), location.longitude(), distanceKm,
+				location.updatedAt());
+	}
+}
@@ -0,0 +1,29 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * The file formats supported by the order export.
+ */
+public enum OrderExportFormat {
+
+	/** One JSON object per order and line. */
+	NDJSON("application/x-ndjson", "ndjson"),
+
+	/** One CSV row per order item; orders without items get one row. */
+	CSV("text/csv", "csv");
+
+	private final String contentType;
+	private final String fileExtension;
+
+	OrderExportFormat(String contentType, String fileExtension) {
+		this.contentType = contentType;
+		this.fileExtension = fileExtension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getFileExtension() {
+		return fileExtension;
+	}
+}
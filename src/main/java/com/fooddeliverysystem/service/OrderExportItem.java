@@ -0,0 +1,14 @@
+package com.fooddeliverysystem.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * One order item as written by the order export.
+ *
+ * @param orderId     The ID of the order the item belongs to.
+ * @param orderItemId The ID of the order item.
+ * @param menuItemId  The ID of the ordered menu item.
+ * @param quantity    The ordered quantity.
+ */
+public record OrderExportItem(@JsonIgnore int orderId, int orderItemId, int menuItemId, int quantity) {
+}
@@ -0,0 +1,20 @@
+package com.fooddeliverysystem.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One order as written by the order export, with its references flattened to
+ * IDs.
+ *
+ * @param orderId          The ID of the order.
+ * @param orderDate        When the order was placed.
+ * @param customerId       The ID of the ordering customer, if any.
+ * @param restaurantId     The ID of the restaurant, if any.
+ * @param deliveryDriverId The ID of the assigned driver, if any.
+ * @param orderStatus      The status of the order.
+ * @param items            The items of the order.
+ */
+public record OrderExportLine(int orderId, LocalDateTime orderDate, Integer customerId, Integer restaurantId,
+		Integer deliveryDriverId, String orderStatus, List<OrderExportItem> items) {
+}
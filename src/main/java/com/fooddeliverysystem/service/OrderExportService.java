@@ -0,0 +1,24 @@
+package com.fooddeliverysystem.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting all orders with their items.
+ */
+public interface OrderExportService {
+
+	/**
+	 * Writes every order with its items to the output stream.
+	 *
+	 * Orders are streamed from the database and written in chunks, so memory use
+	 * stays flat regardless of the number of orders.
+	 *
+	 * @param out    The stream to write to; it is flushed after every chunk but not
+	 *               closed.
+	 * @param format The format to write.
+	 * @return The number of orders written.
+	 * @throws IOException if writing to the stream fails.
+	 */
+	long exportOrders(OutputStream out, OrderExportFormat format) throws IOException;
+}
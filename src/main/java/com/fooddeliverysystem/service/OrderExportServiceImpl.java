@@ -0,0 +1,158 @@
+package com.fooddeliverysystem.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fooddeliverysystem.dao.OrderDao;
+import com.fooddeliverysystem.dao.OrderItemDao;
+import com.fooddeliverysystem.entity.Order;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+
+/**
+ * Streaming implementation of {@link OrderExportService}.
+ *
+ * Orders are read through {@link OrderDao#streamAllForExport()}, which pulls
+ * rows from a server-side cursor. They are buffered one chunk at a time; the
+ * items of a chunk are loaded with a single projection query, the chunk is
+ * written and flushed, and its orders are detached before the next chunk is
+ * read, so neither the heap nor the persistence context grows with the table.
+ */
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderExportServiceImpl.class);
+
+	private static final String CSV_HEADER = "order_id,order_date,customer_id,restaurant_id,delivery_driver_id,order_status,order_item_id,item_id,quantity\n";
+
+	private OrderDao orderDao;
+	private OrderItemDao orderItemDao;
+	private ObjectWriter lineWriter;
+	private int chunkSize;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	public OrderExportServiceImpl(OrderDao orderDao, OrderItemDao orderItemDao, ObjectMapper objectMapper,
+			@Value("${fooddelivery.export.chunk-size:500}") int chunkSize) {
+		super();
+		this.orderDao = orderDao;
+		this.orderItemDao = orderItemDao;
+		this.lineWriter = objectMapper.writerFor(OrderExportLine.class);
+		this.chunkSize = Math.max(1, chunkSize);
+	}
+
+	/**
+	 * Writes every order with its items to the output stream, one chunk at a time.
+	 *
+	 * @param out    The stream to write to; it is flushed after every chunk but not
+	 *               closed.
+	 * @param format The format to write.
+	 * @return The number of orders written.
+	 * @throws IOException if writing to the stream fails.
+	 */
+	@Transactional
+	@Override
+	public long exportOrders(OutputStream out, OrderExportFormat format) throws IOException {
+		logger.info("Starting {} export of all orders in chunks of {}", format, chunkSize);
+
+		if (format == OrderExportFormat.CSV) {
+			out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+		}
+
+		long exported = 0;
+		List<Order> chunk = new ArrayList<>(chunkSize);
+		try (Stream<Order> orders = orderDao.streamAllForExport()) {
+			Iterator<Order> iterator = orders.iterator();
+			while (iterator.hasNext()) {
+				chunk.add(iterator.next());
+				if (chunk.size() == chunkSize || !iterator.hasNext()) {
+					writeChunk(chunk, out, format);
+					exported += chunk.size();
+					chunk.clear();
+				}
+			}
+		}
+
+		logger.info("Exported {} orders", exported);
+		return exported;
+	}
+
+	/**
+	 * Loads the items of the chunk, writes and flushes the chunk and detaches its
+	 * orders.
+	 */
+	private void writeChunk(List<Order> chunk, OutputStream out, OrderExportFormat format) throws IOException {
+		List<Integer> orderIds = chunk.stream().map(Order::getOrderId).collect(Collectors.toList());
+		Map<Integer, List<OrderExportItem>> itemsByOrder = orderItemDao.findExportItems(orderIds).stream()
+				.collect(Collectors.groupingBy(OrderExportItem::orderId));
+
+		for (Order order : chunk) {
+			OrderExportLine line = new OrderExportLine(order.getOrderId(), order.getOrderDate(),
+					order.getCustomer() == null ? null : order.getCustomer().getCustomerId(),
+					order.getRestaurant() == null ? null : order.getRestaurant().getRestaurantId(),
+					order.getDeliveryDriver() == null ? null : order.getDeliveryDriver().getDriverId(),
+					order.getOrderStatus(), itemsByOrder.getOrDefault(order.getOrderId(), Collections.emptyList()));
+			if (format == OrderExportFormat.CSV) {
+				writeCsv(line, out);
+			} else {
+				out.write(lineWriter.writeValueAsBytes(line));
+				out.write('\n');
+			}
+			entityManager.detach(order);
+		}
+
+		// Also drop the customers, restaurants and drivers fetched with the chunk
+		entityManager.clear();
+		out.flush();
+	}
+
+	private static void writeCsv(OrderExportLine line, OutputStream out) throws IOException {
+		String orderColumns = line.orderId() + "," + csv(line.orderDate()) + "," + csv(line.customerId()) + ","
+				+ csv(line.restaurantId()) + "," + csv(line.deliveryDriverId()) + "," + csv(line.orderStatus());
+
+		StringBuilder rows = new StringBuilder();
+		if (line.items().isEmpty()) {
+			rows.append(orderColumns).append(",,,\n");
+		}
+		for (OrderExportItem item : line.items()) {
+			rows.append(orderColumns).append(',').append(item.orderItemId()).append(',').append(item.menuItemId())
+					.append(',').append(item.quantity()).append('\n');
+		}
+		out.write(rows.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Formats a CSV field, quoting it when it contains a separator, quote or line
+	 * break.
+	 */
+	private static String csv(Object value) {
+		if (value == null) {
+			return "";
+		}
+		String text = value.toString();
+		if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+			return '"' + text.replace("\"", "\"\"") + '"';
+		}
+		return text;
+	}
+}
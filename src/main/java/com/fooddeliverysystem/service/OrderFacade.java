@@ -0,0 +1,79 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.entity.DeliveryDriver;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.exception.NoDriverAvailableException;
+
+/**
+ * Application service for orders, called in process by both the REST
+ * controllers and the MVC pages.
+ *
+ * Every method throws jakarta.persistence.EntityNotFoundException when the
+ * order, or an entity it refers to, does not exist.
+ */
+public interface OrderFacade {
+
+	/**
+	 * Retrieves all orders with their collections.
+	 *
+	 * @return A list of all orders.
+	 */
+	List<Order> findAll();
+
+	/**
+	 * Retrieves an order by ID.
+	 *
+	 * @param id The ID of the order.
+	 * @return The order.
+	 */
+	Order findById(int id);
+
+	/**
+	 * Places a new order with its items, ratings and coupons in one transaction.
+	 *
+	 * @param orderDto The details of the order.
+	 * @return The placed order.
+	 */
+	Order placeOrder(OrderDto orderDto);
+
+	/**
+	 * Changes the status of an order.
+	 *
+	 * @param id          The ID of the order.
+	 * @param orderStatus The new status.
+	 * @return The updated order.
+	 */
+	Order changeStatus(int id, String orderStatus);
+
+	/**
+	 * Deletes an order.
+	 *
+	 * @param id The ID of the order.
+	 */
+	void deleteById(int id);
+
+	/**
+	 * Assigns a delivery driver to an order.
+	 *
+	 * @param orderId  The ID of the order.
+	 * @param driverId The ID of the delivery driver.
+	 * @return The assigned delivery driver.
+	 */
+	DeliveryDriver assignDriver(int orderId, int driverId);
+
+	/**
+	 * Assigns the best available delivery driver to an order, chosen from the
+	 * position of its restaurant, the live positions of the drivers and the
+	 * number of orders they are already delivering. An order that already has a
+	 * driver keeps it.
+	 *
+	 * @param orderId The ID of the order.
+	 * @return The assigned delivery driver.
+	 * @throws NoDriverAvailableException if the restaurant has no known position
+	 *                                    or no driver is available.
+	 */
+	DeliveryDriver autoAssignDriver(int orderId);
+}
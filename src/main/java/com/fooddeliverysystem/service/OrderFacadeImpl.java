@@ -0,0 +1,167 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.entity.DeliveryDriver;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.exception.NoDriverAvailableException;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Implements the order use cases on top of the order, order placement,
+ * delivery driver and driver dispatch services.
+ */
+@Service
+public class OrderFacadeImpl implements OrderFacade {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderFacadeImpl.class);
+
+	private OrderService orderService;
+	private OrderPlacementService orderPlacementService;
+	private DeliveryDriverService deliveryDriverService;
+	private DriverDispatchService driverDispatchService;
+
+	@Autowired
+	public OrderFacadeImpl(OrderService orderService, OrderPlacementService orderPlacementService,
+			DeliveryDriverService deliveryDriverService, DriverDispatchService driverDispatchService) {
+		super();
+		this.orderService = orderService;
+		this.orderPlacementService = orderPlacementService;
+		this.deliveryDriverService = deliveryDriverService;
+		this.driverDispatchService = driverDispatchService;
+	}
+
+	@Override
+	public List<Order> findAll() {
+		logger.info("Fetching all orders");
+		return orderService.findAll();
+	}
+
+	@Override
+	public Order findById(int id) {
+		return requireOrder(id);
+	}
+
+	@Override
+	public Order placeOrder(OrderDto orderDto) {
+		logger.info("Placing order for customer ID: {}", orderDto.getCustomer().getCustomerId());
+		return orderPlacementService.placeOrder(orderDto).order();
+	}
+
+	@Override
+	public Order changeStatus(int id, String orderStatus) {
+		Order order = requireOrder(id);
+
+		// Log the status change
+		logger.info("Changing status of order ID: {} to {}", id, orderStatus);
+
+		order.setOrderStatus(orderStatus);
+		Order savedOrder = orderService.save(order);
+		Integer driverId = order.getDeliveryDriver() == null ? null : order.getDeliveryDriver().getDriverId();
+		AfterCommit.run(() -> driverDispatchService.track(id, driverId, orderStatus));
+
+		// Log the successful update of the order status
+		logger.info("Order status updated successfully for order ID: {}", id);
+		return savedOrder;
+	}
+
+	@Override
+	public void deleteById(int id) {
+		requireOrder(id);
+
+		// Log the order deletion
+		logger.info("Deleting order with ID: {}", id);
+
+		orderService.deleteById(id);
+		driverDispatchService.release(id);
+
+		// Log the successful deletion of the order
+		logger.info("Order with ID: {} deleted successfully.", id);
+	}
+
+	@Override
+	public DeliveryDriver assignDriver(int orderId, int driverId) {
+		DeliveryDriver deliveryDriver = DeliveryDriverFacadeImpl
+				.requireDeliveryDriver(deliveryDriverService.findById(driverId), driverId);
+		Order order = requireOrder(orderId);
+
+		// Log the assignment action
+		logger.info("Assigning driver ID: {} to order ID: {}", driverId, orderId);
+
+		assign(order, deliveryDriver);
+
+		// Log the successful assignment
+		logger.info("Driver ID: {} successfully assigned to order ID: {}", driverId, orderId);
+		return deliveryDriver;
+	}
+
+	@Override
+	public DeliveryDriver autoAssignDriver(int orderId) {
+		Order order = requireOrder(orderId);
+
+		// Assigning again must not move the order to another driver
+		if (order.getDeliveryDriver() != null) {
+			logger.info("Order ID: {} already has driver ID: {}", orderId, order.getDeliveryDriver().getDriverId());
+			return order.getDeliveryDriver();
+		}
+
+		Restaurant restaurant = order.getRestaurant();
+		if (restaurant == null || restaurant.getLatitude() == null || restaurant.getLongitude() == null) {
+			logger.warn("Restaurant of order ID {} has no position, cannot choose a driver.", orderId);
+			throw new NoDriverAvailableException("The restaurant of order ID " + orderId
+					+ " has no known position, please assign a driver manually");
+		}
+
+		// The chosen driver counts the order from here on, so concurrent
+		// assignments see its new load; undo that if the assignment fails
+		NearbyDriver chosen = driverDispatchService.reserve(orderId, restaurant.getLatitude(),
+				restaurant.getLongitude());
+		try {
+			DeliveryDriver deliveryDriver = DeliveryDriverFacadeImpl.requireDeliveryDriver(
+					deliveryDriverService.findById(chosen.deliveryDriverId()), chosen.deliveryDriverId());
+			assign(order, deliveryDriver);
+
+			logger.info("Driver ID: {} automatically assigned to order ID: {}", chosen.deliveryDriverId(), orderId);
+			return deliveryDriver;
+		} catch (RuntimeException e) {
+			driverDispatchService.release(orderId);
+			throw e;
+		}
+	}
+
+	/**
+	 * Links the order and the driver, saves both and records the order in the
+	 * driver's load once the surrounding transaction, if any, has committed.
+	 */
+	private void assign(Order order, DeliveryDriver deliveryDriver) {
+		deliveryDriver.getOrders().add(order);
+		order.setDeliveryDriver(deliveryDriver);
+		orderService.save(order);
+		deliveryDriverService.save(deliveryDriver);
+		int orderId = order.getOrderId();
+		int driverId = deliveryDriver.getDriverId();
+		String orderStatus = order.getOrderStatus();
+		AfterCommit.run(() -> driverDispatchService.track(orderId, driverId, orderStatus));
+	}
+
+	/**
+	 * Loads the order with the given ID or throws the not-found exception the API
+	 * answers with 404.
+	 */
+	private Order requireOrder(int id) {
+		Order order = orderService.findById(id);
+		if (order == null) {
+			logger.warn("Order with ID {} not found.", id);
+			throw new EntityNotFoundException("Order not found at ID " + id);
+		}
+		return order;
+	}
+}
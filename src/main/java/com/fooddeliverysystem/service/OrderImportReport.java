@@ -0,0 +1,14 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+/**
+ * The summary of a bulk order import.
+ *
+ * @param accepted The number of lines whose order was created.
+ * @param rejected The number of lines that were not imported.
+ * @param errors   The reasons for the first rejected lines, each prefixed with
+ *                 its line number; capped so large imports stay small.
+ */
+public record OrderImportReport(long accepted, long rejected, List<String> errors) {
+}
@@ -0,0 +1,23 @@
+package com.fooddeliverysystem.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk importing orders from newline-delimited JSON.
+ */
+public interface OrderImportService {
+
+	/**
+	 * Imports one order per line of the stream.
+	 *
+	 * Lines are parsed and validated one at a time and placed in chunks, each in a
+	 * transaction of its own, so memory use does not grow with the size of the
+	 * input. Invalid lines are counted as rejected and do not stop the import.
+	 *
+	 * @param ndjson The NDJSON stream, one serialized OrderDto per line.
+	 * @return The numbers of accepted and rejected lines.
+	 * @throws IOException if the stream cannot be read.
+	 */
+	OrderImportReport importOrders(InputStream ndjson) throws IOException;
+}
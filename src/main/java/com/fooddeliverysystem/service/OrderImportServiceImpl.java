@@ -0,0 +1,187 @@
+package com.fooddeliverysystem.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.dto.OrderItemDto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Chunked implementation of {@link OrderImportService}.
+ *
+ * The body is read line by line and each line is bound to an OrderDto with a
+ * shared ObjectReader, so only the current chunk is held in memory. Every full
+ * chunk is handed to {@link OrderPlacementService#placeOrders(List)}, which
+ * resolves the customers, restaurants, menu items and coupons of the chunk with
+ * one query per table and writes the chunk with batched inserts in one
+ * transaction.
+ */
+@Service
+public class OrderImportServiceImpl implements OrderImportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderImportServiceImpl.class);
+
+	// Only the first rejections are reported back; the rest are counted
+	private static final int MAX_REPORTED_ERRORS = 100;
+
+	private OrderPlacementService orderPlacementService;
+	private ObjectReader orderReader;
+	private Validator validator;
+	private int chunkSize;
+
+	@Autowired
+	public OrderImportServiceImpl(OrderPlacementService orderPlacementService, ObjectMapper objectMapper,
+			Validator validator, @Value("${fooddelivery.import.chunk-size:500}") int chunkSize) {
+		super();
+		this.orderPlacementService = orderPlacementService;
+		this.orderReader = objectMapper.readerFor(OrderDto.class);
+		this.validator = validator;
+		this.chunkSize = Math.max(1, chunkSize);
+	}
+
+	/**
+	 * Imports one order per non-blank line of the stream, committing every
+	 * chunk-size valid orders.
+	 *
+	 * @param ndjson The NDJSON stream, one serialized OrderDto per line.
+	 * @return The numbers of accepted and rejected lines.
+	 * @throws IOException if the stream cannot be read.
+	 */
+	@Override
+	public OrderImportReport importOrders(InputStream ndjson) throws IOException {
+		logger.info("Starting order import in chunks of {}", chunkSize);
+		ImportProgress progress = new ImportProgress();
+
+		BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+		List<OrderDto> chunk = new ArrayList<>(chunkSize);
+		List<Long> chunkLines = new ArrayList<>(chunkSize);
+		long lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.isBlank()) {
+				continue;
+			}
+
+			OrderDto orderDto;
+			try {
+				orderDto = orderReader.readValue(line);
+			} catch (JsonProcessingException e) {
+				progress.reject(lineNumber, "malformed JSON (" + e.getOriginalMessage() + ")");
+				continue;
+			}
+
+			String invalid = validate(orderDto);
+			if (invalid != null) {
+				progress.reject(lineNumber, invalid);
+				continue;
+			}
+
+			chunk.add(orderDto);
+			chunkLines.add(lineNumber);
+			if (chunk.size() == chunkSize) {
+				placeChunk(chunk, chunkLines, progress);
+				chunk.clear();
+				chunkLines.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			placeChunk(chunk, chunkLines, progress);
+		}
+
+		logger.info("Order import finished: {} accepted, {} rejected", progress.accepted, progress.rejected);
+		return new OrderImportReport(progress.accepted, progress.rejected, progress.errors);
+	}
+
+	/**
+	 * Places one chunk in a single transaction and counts the outcome of every
+	 * line. If the chunk transaction fails as a whole, its orders are placed one by
+	 * one so the failure is attributed to the offending line only.
+	 */
+	private void placeChunk(List<OrderDto> chunk, List<Long> chunkLines, ImportProgress progress) {
+		List<OrderPlacementOutcome> outcomes;
+		try {
+			outcomes = orderPlacementService.placeOrders(chunk);
+		} catch (RuntimeException e) {
+			logger.warn("Chunk of {} orders failed ({}), placing them one by one", chunk.size(), e.getMessage());
+			outcomes = chunk.stream().map(this::placeAlone).collect(Collectors.toList());
+		}
+
+		for (int i = 0; i < chunk.size(); i++) {
+			OrderPlacementOutcome outcome = outcomes.get(i);
+			if (outcome.isPlaced()) {
+				progress.accepted++;
+			} else {
+				progress.reject(chunkLines.get(i), outcome.error());
+			}
+		}
+	}
+
+	private OrderPlacementOutcome placeAlone(OrderDto orderDto) {
+		try {
+			return OrderPlacementOutcome.placed(orderPlacementService.placeOrder(orderDto).order());
+		} catch (RuntimeException e) {
+			return OrderPlacementOutcome.rejected(e.getMessage());
+		}
+	}
+
+	/**
+	 * Applies the same bean validation as POST /api/orders and checks that every
+	 * reference the placement resolves is present.
+	 *
+	 * @return The validation messages, or null if the order is valid.
+	 */
+	private String validate(OrderDto orderDto) {
+		List<String> errors = validator.validate(orderDto).stream().map(ConstraintViolation::getMessage).sorted()
+				.collect(Collectors.toList());
+		if (orderDto.getCustomer() == null) {
+			errors.add("Customer is mandatory");
+		}
+		if (orderDto.getRestaurant() == null) {
+			errors.add("Restaurant is mandatory");
+		}
+		if (orderDto.getItems() != null) {
+			for (OrderItemDto itemDto : orderDto.getItems()) {
+				if (itemDto == null || itemDto.getMenuItem() == null) {
+					errors.add("Menu Item is mandatory for every order item");
+					break;
+				}
+			}
+		}
+		return errors.isEmpty() ? null : String.join(", ", errors);
+	}
+
+	/**
+	 * Running counters of one import.
+	 */
+	private static final class ImportProgress {
+		private long accepted;
+		private long rejected;
+		private final List<String> errors = new ArrayList<>();
+
+		private void reject(long lineNumber, String reason) {
+			rejected++;
+			if (errors.size() < MAX_REPORTED_ERRORS) {
+				errors.add("Line " + lineNumber + ": " + reason);
+			}
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.fooddeliverysystem.service;
+
+import com.fooddeliverysystem.dto.OrderDto;
+
+/**
+ * Service interface for asynchronous order intake. Accepted orders are queued
+ * and written in groups by background workers; callers track them by ticket.
+ */
+public interface OrderIntakeService {
+
+	/**
+	 * Queues the order for placement.
+	 *
+	 * @param orderDto The validated DTO containing the order details.
+	 * @return The ticket of the queued order.
+	 * @throws com.fooddeliverysystem.exception.QueueFullException if the queue is
+	 *         at capacity.
+	 */
+	OrderTicket submit(OrderDto orderDto);
+
+	/**
+	 * Finds the ticket with the given ID.
+	 *
+	 * @param ticketId The ID handed out by {@link #submit(OrderDto)}.
+	 * @return The ticket, or null if it is unknown or has expired.
+	 */
+	OrderTicket findTicket(String ticketId);
+
+	/**
+	 * Returns the current queue depth and the placement counters.
+	 */
+	OrderIntakeStats getStats();
+}
@@ -0,0 +1,212 @@
+package com.fooddeliverysystem.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.exception.QueueFullException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Queue-backed implementation of {@link OrderIntakeService}.
+ *
+ * Submitted orders go into a bounded in-process queue. Each writer worker takes
+ * the next order, drains up to group-size - 1 more without waiting, and places
+ * the whole group in one transaction. If the group transaction itself fails the
+ * orders of the group are retried one by one, so a single bad order cannot fail
+ * its neighbours. Tickets are kept in a bounded, TTL-evicting cache.
+ */
+@Service
+public class OrderIntakeServiceImpl implements OrderIntakeService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderIntakeServiceImpl.class);
+
+	// How long an idle worker waits for an order before re-checking for shutdown
+	private static final long POLL_MILLIS = 200;
+
+	private OrderPlacementService orderPlacementService;
+	private BlockingQueue<PendingOrder> queue;
+	private BoundedTtlCache<String, OrderTicket> tickets;
+	private int queueCapacity;
+	private int writers;
+	private int groupSize;
+
+	private ExecutorService writerPool;
+	private volatile boolean running;
+
+	private final AtomicLong placedOrders = new AtomicLong();
+	private final AtomicLong failedOrders = new AtomicLong();
+	private final AtomicLong committedGroups = new AtomicLong();
+
+	@Autowired
+	public OrderIntakeServiceImpl(OrderPlacementService orderPlacementService,
+			@Value("${fooddelivery.intake.queue-capacity:1000}") int queueCapacity,
+			@Value("${fooddelivery.intake.writers:2}") int writers,
+			@Value("${fooddelivery.intake.group-size:64}") int groupSize,
+			@Value("${fooddelivery.intake.ticket-ttl-minutes:60}") long ticketTtlMinutes) {
+		super();
+		this.orderPlacementService = orderPlacementService;
+		this.queueCapacity = Math.max(1, queueCapacity);
+		this.writers = Math.max(1, writers);
+		this.groupSize = Math.max(1, groupSize);
+		this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+		// Enough tickets for every queued order plus the recently completed ones
+		this.tickets = new BoundedTtlCache<>(this.queueCapacity * 10, Duration.ofMinutes(ticketTtlMinutes));
+	}
+
+	/**
+	 * Starts the writer workers.
+	 */
+	@PostConstruct
+	public void start() {
+		AtomicInteger threadNumber = new AtomicInteger();
+		running = true;
+		writerPool = Executors.newFixedThreadPool(writers, runnable -> {
+			Thread thread = new Thread(runnable, "order-writer-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (int i = 0; i < writers; i++) {
+			writerPool.execute(this::drain);
+		}
+		logger.info("Started {} order writers (queue capacity {}, group size {})", writers, queueCapacity, groupSize);
+	}
+
+	/**
+	 * Stops accepting work and lets the writers finish the orders still queued.
+	 */
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		if (writerPool != null) {
+			writerPool.shutdown();
+			if (!writerPool.awaitTermination(30, TimeUnit.SECONDS)) {
+				logger.warn("Order writers did not finish in time, {} orders left in the queue", queue.size());
+				writerPool.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Queues the order for placement without blocking.
+	 *
+	 * @param orderDto The validated DTO containing the order details.
+	 * @return The ticket of the queued order.
+	 * @throws QueueFullException if the queue is at capacity.
+	 */
+	@Override
+	public OrderTicket submit(OrderDto orderDto) {
+		OrderTicket ticket = OrderTicket.queued(UUID.randomUUID().toString(), LocalDateTime.now());
+
+		// Register the ticket first so a fast worker cannot complete it before it exists
+		tickets.put(ticket.ticketId(), ticket);
+		if (!running || !queue.offer(new PendingOrder(ticket.ticketId(), orderDto))) {
+			tickets.remove(ticket.ticketId());
+			logger.warn("Order queue is full ({} orders), rejecting order", queueCapacity);
+			throw new QueueFullException("Order queue is full, please retry later");
+		}
+
+		logger.info("Order queued with ticket ID: {}", ticket.ticketId());
+		return ticket;
+	}
+
+	@Override
+	public OrderTicket findTicket(String ticketId) {
+		return tickets.get(ticketId);
+	}
+
+	@Override
+	public OrderIntakeStats getStats() {
+		return new OrderIntakeStats(queue.size(), queueCapacity, writers, placedOrders.get(), failedOrders.get(),
+				committedGroups.get());
+	}
+
+	/**
+	 * The loop of one writer worker: wait for an order, top the group up with
+	 * whatever else is already queued and commit it. Runs until shutdown has been
+	 * requested and the queue is empty.
+	 */
+	private void drain() {
+		List<PendingOrder> group = new ArrayList<>(groupSize);
+		try {
+			while (running || !queue.isEmpty()) {
+				PendingOrder first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				group.add(first);
+				queue.drainTo(group, groupSize - 1);
+				commitGroup(group);
+				group.clear();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Places the group in one transaction and records the outcome of each order
+	 * on its ticket.
+	 */
+	private void commitGroup(List<PendingOrder> group) {
+		List<OrderDto> orderDtos = group.stream().map(PendingOrder::orderDto).collect(Collectors.toList());
+		List<OrderPlacementOutcome> outcomes;
+		try {
+			outcomes = orderPlacementService.placeOrders(orderDtos);
+			committedGroups.incrementAndGet();
+		} catch (RuntimeException e) {
+			logger.warn("Group of {} orders failed ({}), placing them one by one", group.size(), e.getMessage());
+			outcomes = orderDtos.stream().map(this::placeAlone).collect(Collectors.toList());
+		}
+
+		for (int i = 0; i < group.size(); i++) {
+			record(group.get(i).ticketId(), outcomes.get(i));
+		}
+	}
+
+	private OrderPlacementOutcome placeAlone(OrderDto orderDto) {
+		try {
+			return OrderPlacementOutcome.placed(orderPlacementService.placeOrder(orderDto).order());
+		} catch (RuntimeException e) {
+			return OrderPlacementOutcome.rejected(e.getMessage());
+		}
+	}
+
+	private void record(String ticketId, OrderPlacementOutcome outcome) {
+		OrderTicket ticket = tickets.get(ticketId);
+		if (ticket == null) {
+			// The ticket expired while queued; nobody can ask for it any more
+			ticket = OrderTicket.queued(ticketId, LocalDateTime.now());
+		}
+		if (outcome.isPlaced()) {
+			placedOrders.incrementAndGet();
+			tickets.put(ticketId, ticket.placed(outcome.order().getOrderId()));
+		} else {
+			failedOrders.incrementAndGet();
+			logger.warn("Order with ticket ID {} failed: {}", ticketId, outcome.error());
+			tickets.put(ticketId, ticket.failed(outcome.error()));
+		}
+	}
+
+	private record PendingOrder(String ticketId, OrderDto orderDto) {
+	}
+}
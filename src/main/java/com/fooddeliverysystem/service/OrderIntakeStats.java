@@ -0,0 +1,16 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * A snapshot of the asynchronous order intake.
+ *
+ * @param queueDepth      The number of orders waiting to be written.
+ * @param queueCapacity   The number of orders the queue holds before new
+ *                        submissions are rejected.
+ * @param writers         The number of writer workers draining the queue.
+ * @param placedOrders    The number of orders placed since startup.
+ * @param failedOrders    The number of orders that could not be placed.
+ * @param committedGroups The number of group transactions committed.
+ */
+public record OrderIntakeStats(int queueDepth, int queueCapacity, int writers, long placedOrders, long failedOrders,
+		long committedGroups) {
+}
@@ -7,18 +7,6 @@ import com.fooddeliverysystem.entity.OrderItem;
  */
 public interface OrderItemService {
 
-	/**
-	 * Retrieves the most recently added OrderItem from the database.
-	 *
-	 * This method queries the database to find the OrderItem with the highest ID,
-	 * which represents the most recently added item. The implementation should
-	 * provide logic to fetch the record ordered by item ID in descending order.
-	 *
-	 * @return The most recently added OrderItem object, or null if no items are
-	 *         found.
-	 */
-	OrderItem findLastRecord();
-
 	/**
 	 * Saves an OrderItem to the database.
 	 *
@@ -20,26 +20,6 @@ public class OrderItemServiceImpl implements OrderItemService {
 		this.orderItemDao = orderItemDao;
 	}
 
-	/**
-	 * Retrieve the most recently added order item from the database.
-	 * 
-	 * @return The most recently added `OrderItem`, or null if no order items are
-	 *         present.
-	 */
-	@Override
-	public OrderItem findLastRecord() {
-		logger.info("Fetching the most recent order item");
-
-		OrderItem latestOrderItem = orderItemDao.findFirstByOrderByOrderItemIdDesc();
-		if (latestOrderItem == null) {
-			logger.warn("No order items found in the database");
-		} else {
-			logger.info("Most recent order item retrieved with ID: {}", latestOrderItem.getOrderItemId());
-		}
-
-		return latestOrderItem;
-	}
-
 	/**
 	 * Save an order item to the database.
 	 * 
@@ -0,0 +1,28 @@
+package com.fooddeliverysystem.service;
+
+import com.fooddeliverysystem.entity.Order;
+
+/**
+ * The outcome of one order within a group placement: either the created order
+ * or the reason it was rejected.
+ *
+ * @param order The created order, or null if the order was rejected.
+ * @param error The reason the order was rejected, or null if it was placed.
+ */
+public record OrderPlacementOutcome(Order order, String error) {
+
+	public static OrderPlacementOutcome placed(Order order) {
+		return new OrderPlacementOutcome(order, null);
+	}
+
+	public static OrderPlacementOutcome rejected(String error) {
+		return new OrderPlacementOutcome(null, error);
+	}
+
+	/**
+	 * Returns whether the order was created.
+	 */
+	public boolean isPlaced() {
+		return order != null;
+	}
+}
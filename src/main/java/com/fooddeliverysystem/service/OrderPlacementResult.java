@@ -0,0 +1,33 @@
+package com.fooddeliverysystem.service;
+
+import com.fooddeliverysystem.entity.Order;
+
+/**
+ * The outcome of placing an order: the created order graph together with the
+ * latency breakdown of the placement.
+ *
+ * @param order    The created order, including its items, ratings and coupons.
+ * @param timings  The latency breakdown of the placement, or null when the
+ *                 order was not placed by this request.
+ * @param replayed Whether the order was created by an earlier request with the
+ *                 same idempotency key and is only returned again.
+ */
+public record OrderPlacementResult(Order order, OrderPlacementTimings timings, boolean replayed) {
+
+	/**
+	 * Creates the result of an order placed by the current request.
+	 */
+	public OrderPlacementResult(Order order, OrderPlacementTimings timings) {
+		this(order, timings, false);
+	}
+
+	/**
+	 * Creates the result of a request replaying an order placed earlier.
+	 *
+	 * @param order The order created by the original request.
+	 * @return A result without timings, flagged as replayed.
+	 */
+	public static OrderPlacementResult replayed(Order order) {
+		return new OrderPlacementResult(order, null, true);
+	}
+}
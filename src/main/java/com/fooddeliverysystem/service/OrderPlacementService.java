@@ -0,0 +1,51 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+import com.fooddeliverysystem.dto.OrderDto;
+
+/**
+ * Service interface for placing new orders. Placing an order writes the order,
+ * its items, ratings and coupon links in a single transaction.
+ */
+public interface OrderPlacementService {
+
+	/**
+	 * Places a new order.
+	 *
+	 * All menu items and coupons referenced by the order are loaded with one query
+	 * each, and the order rows are written with batched inserts in a single
+	 * transaction, so the number of statements does not grow with the number of
+	 * items.
+	 *
+	 * @param orderDto The DTO containing the order details.
+	 * @return The created order and the latency breakdown of the placement.
+	 * @throws jakarta.persistence.EntityNotFoundException if the customer,
+	 *         restaurant, a menu item or a coupon does not exist.
+	 */
+	OrderPlacementResult placeOrder(OrderDto orderDto);
+
+	/**
+	 * Places a new order and records the idempotency key it was placed under in
+	 * the same transaction, so the key row exists if and only if the order does.
+	 *
+	 * @param orderDto       The DTO containing the order details.
+	 * @param idempotencyKey The client supplied key, or null to record none.
+	 * @return The created order and the latency breakdown of the placement.
+	 * @throws org.springframework.dao.DuplicateKeyException if an order was
+	 *         already placed under the key; nothing is written in that case.
+	 */
+	OrderPlacementResult placeOrder(OrderDto orderDto, String idempotencyKey);
+
+	/**
+	 * Places a group of orders in a single transaction, so the cost of the lookups,
+	 * the insert round trips and the commit is shared by the whole group.
+	 *
+	 * An order referring to a customer, restaurant, menu item or coupon that does
+	 * not exist is rejected on its own without affecting the rest of the group.
+	 *
+	 * @param orderDtos The DTOs of the orders to place.
+	 * @return One outcome per DTO, in the same order.
+	 */
+	List<OrderPlacementOutcome> placeOrders(List<OrderDto> orderDtos);
+}
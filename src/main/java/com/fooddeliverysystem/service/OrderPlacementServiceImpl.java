@@ -0,0 +1,393 @@
+package com.fooddeliverysystem.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dao.CouponDao;
+import com.fooddeliverysystem.dao.CustomerDao;
+import com.fooddeliverysystem.dao.MenuItemDao;
+import com.fooddeliverysystem.dao.RestaurantDao;
+import com.fooddeliverysystem.dto.CouponDto;
+import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.dto.OrderItemDto;
+import com.fooddeliverysystem.dto.RatingDto;
+import com.fooddeliverysystem.entity.Coupon;
+import com.fooddeliverysystem.entity.Customer;
+import com.fooddeliverysystem.entity.MenuItem;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.entity.OrderItem;
+import com.fooddeliverysystem.entity.Rating;
+import com.fooddeliverysystem.entity.Restaurant;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+
+@Service
+public class OrderPlacementServiceImpl implements OrderPlacementService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderPlacementServiceImpl.class);
+
+	private static final String INSERT_ORDER = "INSERT INTO orders (order_id, order_date, customer_id, restaurant_id, order_status, version, last_modified) VALUES (?, ?, ?, ?, ?, 0, ?)";
+	private static final String INSERT_ORDER_ITEM = "INSERT INTO orderitems (order_item_id, order_id, item_id, quantity) VALUES (?, ?, ?, ?)";
+	private static final String INSERT_RATING = "INSERT INTO ratings (rating_id, order_id, restaurant_id, rating, review, version, last_modified) VALUES (?, ?, ?, ?, ?, 0, ?)";
+	private static final String INSERT_ORDER_COUPON = "INSERT INTO orderscoupons (coupon_id, order_id) VALUES (?, ?)";
+	private static final String INSERT_IDEMPOTENCY_KEY = "INSERT INTO idempotency_keys (idempotency_key, order_id, created_at) VALUES (?, ?, ?)";
+
+	private CustomerDao customerDao;
+	private RestaurantDao restaurantDao;
+	private MenuItemDao menuItemDao;
+	private CouponDao couponDao;
+	private IdAllocator idAllocator;
+	private JdbcTemplate jdbcTemplate;
+	private RatingAggregateService ratingAggregateService;
+	private LeaderboardService leaderboardService;
+	private ReviewSearchService reviewSearchService;
+
+	@Autowired
+	public OrderPlacementServiceImpl(CustomerDao customerDao, RestaurantDao restaurantDao, MenuItemDao menuItemDao,
+			CouponDao couponDao, IdAllocator idAllocator, JdbcTemplate jdbcTemplate,
+			RatingAggregateService ratingAggregateService, LeaderboardService leaderboardService,
+			ReviewSearchService reviewSearchService) {
+		super();
+		this.customerDao = customerDao;
+		this.restaurantDao = restaurantDao;
+		this.menuItemDao = menuItemDao;
+		this.couponDao = couponDao;
+		this.idAllocator = idAllocator;
+		this.jdbcTemplate = jdbcTemplate;
+		this.ratingAggregateService = ratingAggregateService;
+		this.leaderboardService = leaderboardService;
+		this.reviewSearchService = reviewSearchService;
+	}
+
+	/**
+	 * Places a new order in a single transaction.
+	 *
+	 * The customer and restaurant are loaded by ID, all referenced menu items and
+	 * coupons with one IN query each, and the order, its items, ratings and coupon
+	 * links are written with one (batched) insert statement per table.
+	 *
+	 * @param orderDto The DTO containing the order details.
+	 * @return The created order and the latency breakdown of the placement.
+	 */
+	@Transactional
+	@Override
+	public OrderPlacementResult placeOrder(OrderDto orderDto) {
+		return placeOrder(orderDto, null);
+	}
+
+	/**
+	 * Places a new order like {@link #placeOrder(OrderDto)} and, when a key is
+	 * given, inserts it into idempotency_keys as the last statement of the same
+	 * transaction. A second placement under the same key fails on the primary key
+	 * and rolls back its order.
+	 *
+	 * @param orderDto       The DTO containing the order details.
+	 * @param idempotencyKey The client supplied key, or null to record none.
+	 * @return The created order and the latency breakdown of the placement.
+	 */
+	@Transactional
+	@Override
+	public OrderPlacementResult placeOrder(OrderDto orderDto, String idempotencyKey) {
+		logger.info("Placing order for customer ID: {}", orderDto.getCustomer().getCustomerId());
+		long start = System.nanoTime();
+
+		// Resolve every entity the order refers to
+		Customer customer = customerDao.findById(orderDto.getCustomer().getCustomerId()).orElse(null);
+		if (customer == null) {
+			logger.warn("Customer with ID {} not found.", orderDto.getCustomer().getCustomerId());
+			throw new EntityNotFoundException(
+					"Customer with ID " + orderDto.getCustomer().getCustomerId() + " not found");
+		}
+
+		Restaurant restaurant = restaurantDao.findById(orderDto.getRestaurant().getRestaurantId()).orElse(null);
+		if (restaurant == null) {
+			logger.warn("Restaurant with ID {} not found.", orderDto.getRestaurant().getRestaurantId());
+			throw new EntityNotFoundException(
+					"Restaurant with ID " + orderDto.getRestaurant().getRestaurantId() + " not found");
+		}
+
+		List<OrderItemDto> itemDtos = nullToEmpty(orderDto.getItems());
+		List<CouponDto> couponDtos = nullToEmpty(orderDto.getCoupons());
+
+		Set<Integer> menuItemIds = itemDtos.stream().map(itemDto -> itemDto.getMenuItem().getMenuItemId())
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		Map<Integer, MenuItem> menuItems = loadMenuItems(menuItemIds);
+		requireAll(menuItemIds, menuItems, "Menu Item");
+
+		Set<Integer> couponIds = couponDtos.stream().map(CouponDto::getCouponId)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		Map<Integer, Coupon> coupons = loadCoupons(couponIds);
+		requireAll(couponIds, coupons, "Coupon");
+		long looked = System.nanoTime();
+
+		// Build the order graph in memory with freshly allocated keys
+		Order order = buildOrder(orderDto, customer, restaurant, menuItems, coupons);
+		long allocated = System.nanoTime();
+
+		// Write the whole graph with one statement per table
+		insertOrders(List.of(order));
+		if (idempotencyKey != null) {
+			jdbcTemplate.update(INSERT_IDEMPOTENCY_KEY, idempotencyKey, order.getOrderId(),
+					Timestamp.valueOf(LocalDateTime.now()));
+		}
+		long inserted = System.nanoTime();
+
+		OrderPlacementTimings timings = new OrderPlacementTimings(looked - start, allocated - looked,
+				inserted - allocated, inserted - start);
+		logger.info("Order created successfully with ID: {} ({} items) [{}]", order.getOrderId(), itemDtos.size(),
+				timings.toServerTiming());
+
+		return new OrderPlacementResult(order, timings);
+	}
+
+	/**
+	 * Places a group of orders in a single transaction.
+	 *
+	 * The customers, restaurants, menu items and coupons referenced by the whole
+	 * group are loaded with one IN query each. Orders referring to an entity that
+	 * does not exist are rejected individually with the same message
+	 * {@link #placeOrder(OrderDto)} would throw, and all remaining orders are
+	 * written together with one batched insert statement per table.
+	 *
+	 * @param orderDtos The DTOs of the orders to place.
+	 * @return One outcome per DTO, in the same order.
+	 */
+	@Transactional
+	@Override
+	public List<OrderPlacementOutcome> placeOrders(List<OrderDto> orderDtos) {
+		logger.info("Placing a group of {} orders", orderDtos.size());
+
+		// Resolve every entity the group refers to, one query per table
+		Map<Integer, Customer> customers = customerDao
+				.findAllById(idsOf(orderDtos, orderDto -> List.of(orderDto.getCustomer().getCustomerId()))).stream()
+				.collect(Collectors.toMap(Customer::getCustomerId, Function.identity()));
+		Map<Integer, Restaurant> restaurants = restaurantDao
+				.findAllById(idsOf(orderDtos, orderDto -> List.of(orderDto.getRestaurant().getRestaurantId())))
+				.stream().collect(Collectors.toMap(Restaurant::getRestaurantId, Function.identity()));
+		Map<Integer, MenuItem> menuItems = loadMenuItems(idsOf(orderDtos, orderDto -> nullToEmpty(orderDto.getItems())
+				.stream().map(itemDto -> itemDto.getMenuItem().getMenuItemId()).collect(Collectors.toList())));
+		Map<Integer, Coupon> coupons = loadCoupons(idsOf(orderDtos, orderDto -> nullToEmpty(orderDto.getCoupons())
+				.stream().map(CouponDto::getCouponId).collect(Collectors.toList())));
+
+		// Build the graphs of all orders whose references resolved
+		List<OrderPlacementOutcome> outcomes = new ArrayList<>(orderDtos.size());
+		List<Order> orders = new ArrayList<>(orderDtos.size());
+		for (OrderDto orderDto : orderDtos) {
+			String missing = findMissingReference(orderDto, customers, restaurants, menuItems, coupons);
+			if (missing != null) {
+				logger.warn("Rejecting order for customer ID {}: {}", orderDto.getCustomer().getCustomerId(), missing);
+				outcomes.add(OrderPlacementOutcome.rejected(missing));
+				continue;
+			}
+			Order order = buildOrder(orderDto, customers.get(orderDto.getCustomer().getCustomerId()),
+					restaurants.get(orderDto.getRestaurant().getRestaurantId()), menuItems, coupons);
+			orders.add(order);
+			outcomes.add(OrderPlacementOutcome.placed(order));
+		}
+
+		// Write the whole group with one statement per table
+		if (!orders.isEmpty()) {
+			insertOrders(orders);
+		}
+		logger.info("Group placed: {} orders created, {} rejected", orders.size(), orderDtos.size() - orders.size());
+
+		return outcomes;
+	}
+
+	/**
+	 * Builds the order graph for the DTO from already resolved entities,
+	 * allocating the keys of the order, its items and its ratings.
+	 */
+	private Order buildOrder(OrderDto orderDto, Customer customer, Restaurant restaurant,
+			Map<Integer, MenuItem> menuItems, Map<Integer, Coupon> coupons) {
+		List<OrderItemDto> itemDtos = nullToEmpty(orderDto.getItems());
+		List<RatingDto> ratingDtos = nullToEmpty(orderDto.getRatings());
+		List<CouponDto> couponDtos = nullToEmpty(orderDto.getCoupons());
+
+		Order order = new Order();
+		order.setOrderId(idAllocator.nextId(IdSequenceType.ORDERS));
+		order.setCustomer(customer);
+		order.setRestaurant(restaurant);
+		order.setOrderDate(orderDto.getOrderDate());
+		order.setOrderStatus(orderDto.getOrderStatus());
+
+		int[] itemIds = idAllocator.nextIds(IdSequenceType.ORDER_ITEMS, itemDtos.size());
+		List<OrderItem> items = new ArrayList<>(itemDtos.size());
+		for (int i = 0; i < itemDtos.size(); i++) {
+			OrderItem orderItem = new OrderItem();
+			orderItem.setOrderItemId(itemIds[i]);
+			orderItem.setOrder(order);
+			orderItem.setMenuItem(menuItems.get(itemDtos.get(i).getMenuItem().getMenuItemId()));
+			orderItem.setQuantity(itemDtos.get(i).getQuantity());
+			items.add(orderItem);
+		}
+
+		int[] ratingIds = idAllocator.nextIds(IdSequenceType.RATINGS, ratingDtos.size());
+		List<Rating> ratings = new ArrayList<>(ratingDtos.size());
+		for (int i = 0; i < ratingDtos.size(); i++) {
+			Rating rating = new Rating();
+			rating.setRatingId(ratingIds[i]);
+			rating.setOrder(order);
+			rating.setRestaurant(restaurant);
+			rating.setRating(ratingDtos.get(i).getRating());
+			rating.setReview(ratingDtos.get(i).getReview());
+			ratings.add(rating);
+		}
+
+		List<Coupon> orderCoupons = couponDtos.stream().map(couponDto -> coupons.get(couponDto.getCouponId()))
+				.collect(Collectors.toList());
+
+		order.setItems(items);
+		order.setRatings(ratings);
+		order.setCoupons(orderCoupons);
+		return order;
+	}
+
+	/**
+	 * Returns the not-found message for the first entity the order refers to that
+	 * is missing from the resolved entities, or null if all of them exist.
+	 */
+	private static String findMissingReference(OrderDto orderDto, Map<Integer, Customer> customers,
+			Map<Integer, Restaurant> restaurants, Map<Integer, MenuItem> menuItems, Map<Integer, Coupon> coupons) {
+		if (!customers.containsKey(orderDto.getCustomer().getCustomerId())) {
+			return "Customer with ID " + orderDto.getCustomer().getCustomerId() + " not found";
+		}
+		if (!restaurants.containsKey(orderDto.getRestaurant().getRestaurantId())) {
+			return "Restaurant with ID " + orderDto.getRestaurant().getRestaurantId() + " not found";
+		}
+		for (OrderItemDto itemDto : nullToEmpty(orderDto.getItems())) {
+			if (!menuItems.containsKey(itemDto.getMenuItem().getMenuItemId())) {
+				return "Menu Item with ID " + itemDto.getMenuItem().getMenuItemId() + " not found";
+			}
+		}
+		for (CouponDto couponDto : nullToEmpty(orderDto.getCoupons())) {
+			if (!coupons.containsKey(couponDto.getCouponId())) {
+				return "Coupon with ID " + couponDto.getCouponId() + " not found";
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Loads the menu items with the given IDs with a single IN query.
+	 */
+	private Map<Integer, MenuItem> loadMenuItems(Set<Integer> ids) {
+		return ids.isEmpty() ? Collections.emptyMap()
+				: menuItemDao.findAllById(ids).stream()
+						.collect(Collectors.toMap(MenuItem::getItemId, Function.identity()));
+	}
+
+	/**
+	 * Loads the coupons with the given IDs with a single IN query.
+	 */
+	private Map<Integer, Coupon> loadCoupons(Set<Integer> ids) {
+		return ids.isEmpty() ? Collections.emptyMap()
+				: couponDao.findAllById(ids).stream()
+						.collect(Collectors.toMap(Coupon::getCouponId, Function.identity()));
+	}
+
+	/**
+	 * Throws the not-found exception for the first of the IDs missing from the
+	 * loaded entities.
+	 */
+	private static void requireAll(Set<Integer> ids, Map<Integer, ?> loaded, String entityName) {
+		for (Integer id : ids) {
+			if (!loaded.containsKey(id)) {
+				logger.warn("{} with ID {} not found.", entityName, id);
+				throw new EntityNotFoundException(entityName + " with ID " + id + " not found");
+			}
+		}
+	}
+
+	/**
+	 * Collects the distinct IDs the given function extracts from each DTO.
+	 */
+	private static Set<Integer> idsOf(List<OrderDto> orderDtos, Function<OrderDto, List<Integer>> extractor) {
+		Set<Integer> ids = new LinkedHashSet<>();
+		for (OrderDto orderDto : orderDtos) {
+			ids.addAll(extractor.apply(orderDto));
+		}
+		return ids;
+	}
+
+	/**
+	 * Writes the given orders with their items, ratings and coupon links using one
+	 * JDBC batch per table, and adds the ratings to the rating aggregates and the
+	 * review index and the orders to the leaderboards. Orders and ratings start at
+	 * version 0 and are stamped with the same modification time, as Hibernate
+	 * would on insert.
+	 */
+	private void insertOrders(List<Order> orders) {
+		LocalDateTime now = LocalDateTime.now();
+		Timestamp lastModified = Timestamp.valueOf(now);
+		orders.forEach(order -> order.setLastModified(now));
+
+		jdbcTemplate.batchUpdate(INSERT_ORDER, orders, orders.size(), (ps, order) -> {
+			ps.setInt(1, order.getOrderId());
+			ps.setTimestamp(2, order.getOrderDate() == null ? null : Timestamp.valueOf(order.getOrderDate()));
+			ps.setInt(3, order.getCustomer().getCustomerId());
+			ps.setInt(4, order.getRestaurant().getRestaurantId());
+			ps.setString(5, order.getOrderStatus());
+			ps.setTimestamp(6, lastModified);
+		});
+		leaderboardService.recordPlaced(orders);
+
+		List<OrderItem> items = orders.stream().flatMap(order -> order.getItems().stream())
+				.collect(Collectors.toList());
+		if (!items.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, items, items.size(), (ps, item) -> {
+				ps.setInt(1, item.getOrderItemId());
+				ps.setInt(2, item.getOrder().getOrderId());
+				ps.setInt(3, item.getMenuItem().getItemId());
+				ps.setInt(4, item.getQuantity());
+			});
+		}
+
+		List<Rating> ratings = orders.stream().flatMap(order -> order.getRatings().stream())
+				.collect(Collectors.toList());
+		ratings.forEach(rating -> rating.setLastModified(now));
+		if (!ratings.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_RATING, ratings, ratings.size(), (ps, rating) -> {
+				ps.setInt(1, rating.getRatingId());
+				ps.setInt(2, rating.getOrder().getOrderId());
+				ps.setInt(3, rating.getRestaurant().getRestaurantId());
+				ps.setInt(4, rating.getRating());
+				ps.setString(5, rating.getReview());
+				ps.setTimestamp(6, lastModified);
+			});
+
+			// Bypassing Hibernate, so its listeners do not see them
+			ratingAggregateService.recordAdded(ratings);
+			reviewSearchService.recordSaved(ratings);
+		}
+
+		List<Object[]> couponLinks = new ArrayList<>();
+		for (Order order : orders) {
+			for (Coupon coupon : order.getCoupons()) {
+				couponLinks.add(new Object[] { coupon.getCouponId(), order.getOrderId() });
+			}
+		}
+		if (!couponLinks.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_ORDER_COUPON, couponLinks);
+		}
+	}
+
+	private static <T> List<T> nullToEmpty(List<T> list) {
+		return list == null ? Collections.emptyList() : list;
+	}
+}
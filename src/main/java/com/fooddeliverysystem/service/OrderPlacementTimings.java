@@ -0,0 +1,29 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Locale;
+
+/**
+ * Latency breakdown of one order placement, measured in nanoseconds.
+ *
+ * @param lookupNanos       Time spent loading the customer, restaurant, menu
+ *                          items and coupons referenced by the order.
+ * @param idAllocationNanos Time spent allocating primary keys.
+ * @param insertNanos       Time spent in the batched insert statements.
+ * @param totalNanos        Wall-clock time of the whole placement.
+ */
+public record OrderPlacementTimings(long lookupNanos, long idAllocationNanos, long insertNanos, long totalNanos) {
+
+	/**
+	 * Formats the breakdown as a Server-Timing header value, in milliseconds.
+	 *
+	 * @return The header value, e.g. {@code lookup;dur=1.20, ids;dur=0.01, ...}
+	 */
+	public String toServerTiming() {
+		return String.format(Locale.ROOT, "lookup;dur=%.2f, ids;dur=%.2f, insert;dur=%.2f, total;dur=%.2f",
+				millis(lookupNanos), millis(idAllocationNanos), millis(insertNanos), millis(totalNanos));
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
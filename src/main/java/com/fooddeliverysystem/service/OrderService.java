@@ -2,6 +2,7 @@ package com.fooddeliverysystem.service;
 
 import java.util.List;
 
+import com.fooddeliverysystem.dto.ResourceVersion;
 import com.fooddeliverysystem.entity.Order;
 
 /**
@@ -16,6 +17,18 @@ public interface OrderService {
 	 */
 	List<Order> findAll();
 
+	/**
+	 * Retrieves one page of orders, ordered by ID.
+	 *
+	 * Pages are addressed by the last ID of the previous page rather than by an
+	 * offset, so each page is a range scan on the primary key.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of orders in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	KeysetPage<Order> findPage(int after, int limit);
+
 	/**
 	 * Finds an order by its unique ID.
 	 *
@@ -28,15 +41,13 @@ public interface OrderService {
 	Order findById(int id);
 
 	/**
-	 * Retrieves the most recently added order from the system.
-	 *
-	 * This method queries the system to find the order with the highest ID, which
-	 * represents the most recently added order. It will return null if no orders
-	 * are found.
+	 * Finds the validators of an order for conditional requests with a single
+	 * aggregate query, without loading the order graph.
 	 *
-	 * @return The most recently added Order object, or null if no orders are found.
+	 * @param id The unique ID of the order.
+	 * @return The version of the order, or null if it does not exist.
 	 */
-	Order findLastRecord();
+	ResourceVersion findVersion(int id);
 
 	/**
 	 * Saves an order to the system.
@@ -5,9 +5,11 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.fooddeliverysystem.dao.OrderDao;
+import com.fooddeliverysystem.dto.ResourceVersion;
 import com.fooddeliverysystem.entity.Order;
 
 import jakarta.transaction.Transactional;
@@ -44,6 +46,27 @@ public class OrderServiceImpl implements OrderService{
 	    return orders;
 	}
 
+	/**
+	 * Retrieves one page of orders with IDs greater than the cursor.
+	 *
+	 * One row more than requested is fetched to tell whether a further page
+	 * exists; it is not part of the returned page.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of orders in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	@Override
+	public KeysetPage<Order> findPage(int after, int limit) {
+		logger.info("Fetching up to {} orders after ID: {}", limit, after);
+
+		List<Order> fetched = orderDao.findByOrderIdGreaterThanOrderByOrderIdAsc(after, Limit.of(limit + 1));
+		KeysetPage<Order> page = KeysetPage.of(fetched, limit, Order::getOrderId);
+
+		logger.info("Fetched {} orders, next cursor: {}", page.items().size(), page.nextCursor());
+		return page;
+	}
+
 	/**
 	 * Finds an order by its ID.
 	 *
@@ -73,30 +96,16 @@ public class OrderServiceImpl implements OrderService{
 	}
 
 	/**
-	 * Retrieves the most recently added order from the database.
-	 *
-	 * This method queries the database to find the order with the highest ID, 
-	 * representing the most recently added order. It uses the orderDao to fetch 
-	 * the record ordered by orderId in descending order.
+	 * Finds the validators of an order with one aggregate query over its version
+	 * columns and those of its ratings.
 	 *
-	 * @return The most recently added Order object, or null if no orders are found.
+	 * @param id The unique ID of the order.
+	 * @return The version of the order, or null if it does not exist.
 	 */
 	@Override
-	public Order findLastRecord() {
-	    // Log the attempt to find the last order record
-	    logger.info("Attempting to find the most recently added Order.");
-
-	    // Query the database to find the order with the highest orderId
-	    Order lastOrder = orderDao.findFirstByOrderByOrderIdDesc();
-
-	    // Log the result of the query
-	    if (lastOrder != null) {
-	        logger.info("Most recently added Order found with ID: {}", lastOrder.getOrderId());
-	    } else {
-	        logger.info("No Order records found in the database.");
-	    }
-
-	    return lastOrder;
+	public ResourceVersion findVersion(int id) {
+		logger.info("Fetching version of Order with ID: {}", id);
+		return orderDao.findVersion(id);
 	}
 
 	/**
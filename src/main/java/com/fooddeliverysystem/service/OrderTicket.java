@@ -0,0 +1,40 @@
+package com.fooddeliverysystem.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * The status of an order submitted for asynchronous placement.
+ *
+ * @param ticketId    The ID handed out when the order was accepted.
+ * @param status      Whether the order is still queued, placed or failed.
+ * @param orderId     The ID of the created order, once placed.
+ * @param error       The reason the order could not be placed, if it failed.
+ * @param submittedAt When the order was accepted.
+ */
+public record OrderTicket(String ticketId, Status status, Integer orderId, String error, LocalDateTime submittedAt) {
+
+	public enum Status {
+		QUEUED, PLACED, FAILED
+	}
+
+	/**
+	 * Creates the ticket of a freshly accepted order.
+	 */
+	public static OrderTicket queued(String ticketId, LocalDateTime submittedAt) {
+		return new OrderTicket(ticketId, Status.QUEUED, null, null, submittedAt);
+	}
+
+	/**
+	 * Returns this ticket marked as placed under the given order ID.
+	 */
+	public OrderTicket placed(int orderId) {
+		return new OrderTicket(ticketId, Status.PLACED, orderId, null, submittedAt);
+	}
+
+	/**
+	 * Returns this ticket marked as failed for the given reason.
+	 */
+	public OrderTicket failed(String error) {
+		return new OrderTicket(ticketId, Status.FAILED, null, error, submittedAt);
+	}
+}
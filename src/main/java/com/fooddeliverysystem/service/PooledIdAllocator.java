@@ -0,0 +1,198 @@
+package com.fooddeliverysystem.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Pooled (hi/lo style) implementation of {@link IdAllocator}.
+ *
+ * Each sequence reserves a block of IDs at a time by advancing its row in the
+ * id_sequences table under a row lock, in a transaction of its own. The IDs of
+ * the current block are then handed out from memory with a single atomic
+ * increment, so the database is only visited once every block-size inserts.
+ * IDs left over in a block when the application stops are simply skipped.
+ *
+ * The reservation runs on a connection of its own, opened outside the Hikari
+ * pool. IDs are mostly requested inside a transaction that already holds a
+ * pooled connection; taking a second one from the pool for the reservation
+ * deadlocked once every pooled connection was held by a caller waiting for
+ * the next block.
+ */
+@Service
+public class PooledIdAllocator implements IdAllocator {
+
+	private static final Logger logger = LoggerFactory.getLogger(PooledIdAllocator.class);
+
+	private static final String SELECT_FOR_UPDATE = "select next_val from id_sequences where sequence_name = ? for update";
+	private static final String INSERT_SEQUENCE = "insert into id_sequences (sequence_name, next_val) values (?, ?)";
+	private static final String UPDATE_SEQUENCE = "update id_sequences set next_val = ? where sequence_name = ?";
+
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private int blockSize;
+
+	// The block currently being handed out for each sequence
+	private final Map<IdSequenceType, Segment> segments = new ConcurrentHashMap<>();
+
+	// Only the thread refilling a sequence takes its lock, handing out IDs never does
+	private final Map<IdSequenceType, ReentrantLock> refillLocks = new EnumMap<>(IdSequenceType.class);
+
+	@Autowired
+	public PooledIdAllocator(DataSourceProperties dataSourceProperties,
+			@Value("${fooddelivery.id-allocator.block-size:50}") int blockSize) {
+		this(reservationDataSource(dataSourceProperties), blockSize);
+	}
+
+	private PooledIdAllocator(DataSource dataSource, int blockSize) {
+		this(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource), blockSize);
+	}
+
+	/**
+	 * Creates an allocator reserving its blocks with the given template, in
+	 * transactions of the given manager.
+	 */
+	public PooledIdAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			int blockSize) {
+		super();
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.blockSize = Math.max(1, blockSize);
+		for (IdSequenceType type : IdSequenceType.values()) {
+			refillLocks.put(type, new ReentrantLock());
+		}
+	}
+
+	/**
+	 * Opens a new physical connection for each reservation. A reservation happens
+	 * once per block of IDs, so the cost of connecting is spread over the block.
+	 */
+	private static DataSource reservationDataSource(DataSourceProperties dataSourceProperties) {
+		return dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+	}
+
+	/**
+	 * Returns the next ID of the sequence, reserving a new block from the database
+	 * only when the current one is used up.
+	 *
+	 * @param type The entity table the ID is allocated for.
+	 * @return A primary key that has not been handed out before.
+	 */
+	@Override
+	public int nextId(IdSequenceType type) {
+		while (true) {
+			// Fast path: take the next ID of the current block without locking
+			Segment segment = segments.get(type);
+			if (segment != null) {
+				int id = segment.tryNext();
+				if (id > 0) {
+					return id;
+				}
+			}
+			refill(type, segment);
+		}
+	}
+
+	/**
+	 * Returns several IDs of the sequence at once.
+	 *
+	 * @param type  The entity table the IDs are allocated for.
+	 * @param count The number of IDs to allocate.
+	 * @return An array of {@code count} primary keys.
+	 */
+	@Override
+	public int[] nextIds(IdSequenceType type, int count) {
+		int[] ids = new int[count];
+		for (int i = 0; i < count; i++) {
+			ids[i] = nextId(type);
+		}
+		return ids;
+	}
+
+	/**
+	 * Replaces an exhausted block with a freshly reserved one. Threads that find
+	 * the block already replaced by someone else return straight away.
+	 */
+	private void refill(IdSequenceType type, Segment exhausted) {
+		ReentrantLock lock = refillLocks.get(type);
+		lock.lock();
+		try {
+			if (segments.get(type) != exhausted) {
+				return;
+			}
+			int start = reserveBlock(type);
+			segments.put(type, new Segment(start, start + blockSize));
+			logger.info("Reserved IDs {} to {} for sequence {}", start, start + blockSize - 1, type.getSequenceName());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Advances the sequence row by one block and returns the first ID of the
+	 * reserved block. A missing row is seeded from the highest ID already stored
+	 * in the entity table; if another instance seeds it first the reservation is
+	 * retried against that row.
+	 */
+	private int reserveBlock(IdSequenceType type) {
+		try {
+			return transactionTemplate.execute(status -> advance(type));
+		} catch (DataIntegrityViolationException e) {
+			logger.warn("Sequence {} was created concurrently, retrying reservation", type.getSequenceName());
+			return transactionTemplate.execute(status -> advance(type));
+		}
+	}
+
+	private int advance(IdSequenceType type) {
+		String name = type.getSequenceName();
+		Integer nextVal = jdbcTemplate.query(SELECT_FOR_UPDATE, rs -> rs.next() ? rs.getInt(1) : null, name);
+		if (nextVal == null) {
+			Integer highestId = jdbcTemplate.queryForObject(type.getSeedQuery(), Integer.class);
+			int start = highestId + 1;
+			logger.info("Seeding sequence {} at {}", name, start);
+			jdbcTemplate.update(INSERT_SEQUENCE, name, start + blockSize);
+			return start;
+		}
+		jdbcTemplate.update(UPDATE_SEQUENCE, nextVal + blockSize, name);
+		return nextVal;
+	}
+
+	/**
+	 * A reserved range [next, limit) of IDs handed out with an atomic counter.
+	 */
+	private static final class Segment {
+		private final AtomicInteger next;
+		private final int limit;
+
+		Segment(int start, int limit) {
+			this.next = new AtomicInteger(start);
+			this.limit = limit;
+		}
+
+		// Returns the next ID of the block, or -1 once the block is used up
+		int tryNext() {
+			if (next.get() >= limit) {
+				return -1;
+			}
+			int id = next.getAndIncrement();
+			return id < limit ? id : -1;
+		}
+	}
+}
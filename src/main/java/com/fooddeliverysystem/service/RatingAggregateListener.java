@@ -0,0 +1,97 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fooddeliverysystem.entity.Rating;
+import com.fooddeliverysystem.entity.Restaurant;
+
+/**
+ * Applies the ratings Hibernate inserts, updates and deletes to the rating
+ * aggregates. The events fire while the session flushes, so the aggregate
+ * statements run on the connection and in the transaction of the rating
+ * statements.
+ */
+class RatingAggregateListener
+		implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(RatingAggregateListener.class);
+
+	private final RatingAggregateServiceImpl aggregates;
+
+	RatingAggregateListener(RatingAggregateServiceImpl aggregates) {
+		this.aggregates = aggregates;
+	}
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		if (event.getEntity() instanceof Rating rating && rating.getRestaurant() != null) {
+			Map<Integer, long[]> deltas = new TreeMap<>();
+			RatingAggregateServiceImpl.add(deltas, rating.getRestaurant().getRestaurantId(), rating.getRating(), 1);
+			aggregates.apply(deltas);
+		}
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		if (event.getEntity() instanceof Rating rating && rating.getRestaurant() != null) {
+			Map<Integer, long[]> deltas = new TreeMap<>();
+			RatingAggregateServiceImpl.add(deltas, rating.getRestaurant().getRestaurantId(), rating.getRating(), -1);
+			aggregates.apply(deltas);
+		}
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		if (!(event.getEntity() instanceof Rating rating)) {
+			return;
+		}
+		Object[] oldState = event.getOldState();
+		if (oldState == null) {
+			// Only an update without a loaded state, which the rebuild catches up with
+			logger.warn("Rating with ID {} updated without its previous state; aggregates left unchanged",
+					rating.getRatingId());
+			return;
+		}
+		String[] properties = event.getPersister().getPropertyNames();
+		Integer oldRating = null;
+		Restaurant oldRestaurant = null;
+		for (int i = 0; i < properties.length; i++) {
+			if (properties[i].equals("rating")) {
+				oldRating = (Integer) oldState[i];
+			} else if (properties[i].equals("restaurant")) {
+				oldRestaurant = (Restaurant) oldState[i];
+			}
+		}
+		Integer oldRestaurantId = oldRestaurant == null ? null : oldRestaurant.getRestaurantId();
+		Integer newRestaurantId = rating.getRestaurant() == null ? null : rating.getRestaurant().getRestaurantId();
+		if (Objects.equals(oldRating, rating.getRating()) && Objects.equals(oldRestaurantId, newRestaurantId)) {
+			return;
+		}
+
+		Map<Integer, long[]> deltas = new TreeMap<>();
+		if (oldRestaurantId != null && oldRating != null) {
+			RatingAggregateServiceImpl.add(deltas, oldRestaurantId, oldRating, -1);
+		}
+		if (newRestaurantId != null) {
+			RatingAggregateServiceImpl.add(deltas, newRestaurantId, rating.getRating(), 1);
+		}
+		aggregates.apply(deltas);
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return false;
+	}
+}
@@ -0,0 +1,59 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Collection;
+
+import com.fooddeliverysystem.dto.RatingSummary;
+import com.fooddeliverysystem.entity.Rating;
+
+/**
+ * Service interface for the rating aggregates of restaurants: the count, sum
+ * and 1 to 5 star histogram of each restaurant's ratings, kept in
+ * restaurant_rating_aggregates so they can be read without loading the
+ * ratings.
+ *
+ * Ratings written through Hibernate (saved, updated, or deleted directly or by
+ * cascade) are applied to the aggregates automatically, in the transaction that
+ * writes them. Ratings inserted with plain JDBC have to be passed to
+ * {@link #recordAdded(Collection)} in the same transaction.
+ */
+public interface RatingAggregateService {
+
+	/**
+	 * Adds ratings inserted outside Hibernate to the aggregates of their
+	 * restaurants, with one batched statement in the caller's transaction.
+	 *
+	 * @param ratings The inserted ratings.
+	 */
+	void recordAdded(Collection<Rating> ratings);
+
+	/**
+	 * Retrieves the rating aggregates of a restaurant.
+	 *
+	 * @param restaurantId The ID of the restaurant.
+	 * @return The aggregates, all zero if it has not been rated yet, or null if
+	 *         the restaurant does not exist.
+	 */
+	RatingSummary findSummary(int restaurantId);
+
+	/**
+	 * Compares the aggregates of every restaurant with its ratings, checking
+	 * ranges of restaurants in parallel, and recomputes those that differ.
+	 *
+	 * @return What was checked and repaired.
+	 */
+	RatingRebuildReport rebuild();
+
+	/**
+	 * Returns the outcome of the last rebuild.
+	 *
+	 * @return The report, or null if no rebuild has finished yet.
+	 */
+	RatingRebuildReport getLastRebuild();
+
+	/**
+	 * Deletes the aggregates of a deleted restaurant.
+	 *
+	 * @param restaurantId The ID of the restaurant.
+	 */
+	void removeRestaurant(int restaurantId);
+}
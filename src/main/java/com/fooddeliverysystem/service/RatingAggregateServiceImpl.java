@@ -0,0 +1,328 @@
+package com.fooddeliverysystem.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dao.RestaurantDao;
+import com.fooddeliverysystem.dto.RatingSummary;
+import com.fooddeliverysystem.entity.Rating;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Implementation of {@link RatingAggregateService} keeping the aggregates up to
+ * date with increments.
+ *
+ * Each write adds its changes to the aggregate rows of the restaurants involved
+ * with an insert ... on duplicate key update, so concurrent writers never lose
+ * an increment and the first rating of a restaurant creates its row. Hibernate
+ * writes reach it through a {@link RatingAggregateListener} registered at
+ * startup.
+ *
+ * The rebuild reads the aggregates and the ratings of ranges of restaurant IDs
+ * on a pool of threads and recomputes every restaurant whose numbers differ
+ * with one statement that reads its ratings and overwrites its row, so a
+ * rating written meanwhile is never lost. It runs once at startup, which also
+ * fills in the aggregates of ratings written before they existed, and then
+ * periodically. Each rebuild ends by reloading the leaderboards.
+ */
+@Service
+public class RatingAggregateServiceImpl implements RatingAggregateService {
+
+	private static final Logger logger = LoggerFactory.getLogger(RatingAggregateServiceImpl.class);
+
+	// count, sum, then the number of ratings of 1 to 5 stars
+	private static final int FIELDS = 7;
+
+	private static final String STAR_COUNTS = "sum(case when rating = 1 then 1 else 0 end),"
+			+ " sum(case when rating = 2 then 1 else 0 end), sum(case when rating = 3 then 1 else 0 end),"
+			+ " sum(case when rating = 4 then 1 else 0 end), sum(case when rating = 5 then 1 else 0 end)";
+	private static final String AGGREGATE_COLUMNS = "restaurant_id, rating_count, rating_sum, one_star, two_stars,"
+			+ " three_stars, four_stars, five_stars";
+
+	private static final String ADD_TO_AGGREGATE = "insert into restaurant_rating_aggregates (" + AGGREGATE_COLUMNS
+			+ ") values (?, ?, ?, ?, ?, ?, ?, ?) on duplicate key update rating_count = rating_count + values(rating_count),"
+			+ " rating_sum = rating_sum + values(rating_sum), one_star = one_star + values(one_star),"
+			+ " two_stars = two_stars + values(two_stars), three_stars = three_stars + values(three_stars),"
+			+ " four_stars = four_stars + values(four_stars), five_stars = five_stars + values(five_stars)";
+	private static final String RECOMPUTE_AGGREGATE = "insert into restaurant_rating_aggregates (" + AGGREGATE_COLUMNS
+			+ ") select ?, count(*), coalesce(sum(rating), 0), " + STAR_COUNTS + " from ratings where restaurant_id = ?"
+			+ " on duplicate key update rating_count = values(rating_count), rating_sum = values(rating_sum),"
+			+ " one_star = values(one_star), two_stars = values(two_stars), three_stars = values(three_stars),"
+			+ " four_stars = values(four_stars), five_stars = values(five_stars)";
+	private static final String SELECT_RESTAURANT_IDS = "select restaurant_id from restaurants"
+			+ " union select restaurant_id from restaurant_rating_aggregates order by restaurant_id";
+	private static final String SELECT_RATING_TOTALS = "select restaurant_id, count(*), coalesce(sum(rating), 0), "
+			+ STAR_COUNTS + " from ratings where restaurant_id between ? and ? group by restaurant_id";
+	private static final String SELECT_AGGREGATES = "select " + AGGREGATE_COLUMNS
+			+ " from restaurant_rating_aggregates where restaurant_id between ? and ?";
+	private static final String DELETE_AGGREGATE = "delete from restaurant_rating_aggregates where restaurant_id = ?";
+
+	private RestaurantDao restaurantDao;
+	private JdbcTemplate jdbcTemplate;
+	private EntityManagerFactory entityManagerFactory;
+	private LeaderboardService leaderboardService;
+	private int rebuildBatchSize;
+	private long rebuildIntervalMillis;
+	private boolean rebuildOnStartup;
+
+	private final ExecutorService rebuilders;
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+	private volatile RatingRebuildReport lastRebuild;
+
+	private ScheduledExecutorService scheduler;
+
+	@Autowired
+	public RatingAggregateServiceImpl(RestaurantDao restaurantDao, JdbcTemplate jdbcTemplate,
+			EntityManagerFactory entityManagerFactory, LeaderboardService leaderboardService,
+			@Value("${fooddelivery.ratings.rebuild-threads:4}") int rebuildThreads,
+			@Value("${fooddelivery.ratings.rebuild-batch-size:1000}") int rebuildBatchSize,
+			@Value("${fooddelivery.ratings.rebuild-interval-millis:3600000}") long rebuildIntervalMillis,
+			@Value("${fooddelivery.ratings.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+		super();
+		this.restaurantDao = restaurantDao;
+		this.jdbcTemplate = jdbcTemplate;
+		this.entityManagerFactory = entityManagerFactory;
+		this.leaderboardService = leaderboardService;
+		this.rebuildBatchSize = Math.max(1, rebuildBatchSize);
+		this.rebuildIntervalMillis = rebuildIntervalMillis;
+		this.rebuildOnStartup = rebuildOnStartup;
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.rebuilders = Executors.newFixedThreadPool(Math.max(1, rebuildThreads), runnable -> {
+			Thread thread = new Thread(runnable, "rating-rebuild-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Registers the listener applying Hibernate's rating writes and schedules the
+	 * rebuilds.
+	 */
+	@PostConstruct
+	public void start() {
+		RatingAggregateListener listener = new RatingAggregateListener(this);
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_INSERT, listener);
+		registry.appendListeners(EventType.POST_UPDATE, listener);
+		registry.appendListeners(EventType.POST_DELETE, listener);
+
+		if (!rebuildOnStartup && rebuildIntervalMillis <= 0) {
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "rating-rebuild-scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		if (rebuildOnStartup) {
+			scheduler.execute(this::rebuildQuietly);
+		}
+		if (rebuildIntervalMillis > 0) {
+			scheduler.scheduleWithFixedDelay(this::rebuildQuietly, rebuildIntervalMillis, rebuildIntervalMillis,
+					TimeUnit.MILLISECONDS);
+			logger.info("Verifying rating aggregates every {} ms", rebuildIntervalMillis);
+		}
+	}
+
+	/**
+	 * Stops the rebuilds.
+	 */
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		rebuilders.shutdownNow();
+	}
+
+	@Override
+	public void recordAdded(Collection<Rating> ratings) {
+		Map<Integer, long[]> deltas = new TreeMap<>();
+		for (Rating rating : ratings) {
+			add(deltas, rating.getRestaurant().getRestaurantId(), rating.getRating(), 1);
+		}
+		apply(deltas);
+	}
+
+	@Override
+	public RatingSummary findSummary(int restaurantId) {
+		return restaurantDao.findRatingSummary(restaurantId);
+	}
+
+	@Override
+	public RatingRebuildReport rebuild() {
+		rebuildLock.lock();
+		try {
+			LocalDateTime startedAt = LocalDateTime.now();
+			long start = System.nanoTime();
+			List<Integer> restaurantIds = jdbcTemplate.queryForList(SELECT_RESTAURANT_IDS, Integer.class);
+
+			// Consecutive IDs per task, so each reads its range with one query per table
+			List<Callable<Integer>> tasks = new ArrayList<>();
+			for (int from = 0; from < restaurantIds.size(); from += rebuildBatchSize) {
+				List<Integer> batch = restaurantIds.subList(from, Math.min(restaurantIds.size(), from + rebuildBatchSize));
+				tasks.add(() -> verify(batch));
+			}
+			int repaired = 0;
+			for (Future<Integer> future : rebuilders.invokeAll(tasks)) {
+				repaired += future.get();
+			}
+
+			RatingRebuildReport report = new RatingRebuildReport(startedAt, restaurantIds.size(), tasks.size(),
+					repaired, (System.nanoTime() - start) / 1_000_000.0);
+			lastRebuild = report;
+			if (repaired > 0) {
+				logger.warn("Repaired the rating aggregates of {} of {} restaurants", repaired, restaurantIds.size());
+			} else {
+				logger.info("Verified the rating aggregates of {} restaurants", restaurantIds.size());
+			}
+
+			// The leaderboards count the same ratings, so correct their drift too
+			leaderboardService.reload();
+			return report;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while rebuilding the rating aggregates", e);
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	@Override
+	public RatingRebuildReport getLastRebuild() {
+		return lastRebuild;
+	}
+
+	@Override
+	public void removeRestaurant(int restaurantId) {
+		jdbcTemplate.update(DELETE_AGGREGATE, restaurantId);
+	}
+
+	/**
+	 * Adds the changes to the aggregate rows, in ascending restaurant order so
+	 * concurrent writers lock the rows in the same order, and passes them on to
+	 * the leaderboards.
+	 */
+	void apply(Map<Integer, long[]> deltas) {
+		Map<Integer, long[]> changes = new TreeMap<>();
+		deltas.forEach((restaurantId, delta) -> {
+			if (Arrays.stream(delta).anyMatch(value -> value != 0)) {
+				changes.put(restaurantId, delta);
+			}
+		});
+		if (changes.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(ADD_TO_AGGREGATE, changes.entrySet(), changes.size(), (ps, change) -> {
+			ps.setInt(1, change.getKey());
+			for (int i = 0; i < FIELDS; i++) {
+				ps.setLong(i + 2, change.getValue()[i]);
+			}
+		});
+		leaderboardService.recordRatings(changes);
+	}
+
+	/**
+	 * Adds one rating, or takes it away for a negative sign, to the changes of its
+	 * restaurant.
+	 */
+	static void add(Map<Integer, long[]> deltas, int restaurantId, int rating, int sign) {
+		long[] delta = deltas.computeIfAbsent(restaurantId, id -> new long[FIELDS]);
+		delta[0] += sign;
+		delta[1] += (long) sign * rating;
+		if (rating >= 1 && rating <= 5) {
+			delta[rating + 1] += sign;
+		}
+	}
+
+	/**
+	 * Compares the aggregates of the restaurants with their ratings and
+	 * recomputes those that differ.
+	 *
+	 * @param restaurantIds Consecutive restaurant IDs in ascending order.
+	 * @return The number of restaurants recomputed.
+	 */
+	private int verify(List<Integer> restaurantIds) {
+		int first = restaurantIds.get(0);
+		int last = restaurantIds.get(restaurantIds.size() - 1);
+		Map<Integer, long[]> actual = totals(SELECT_RATING_TOTALS, first, last);
+		Map<Integer, long[]> stored = totals(SELECT_AGGREGATES, first, last);
+
+		long[] none = new long[FIELDS];
+		List<Integer> differing = new ArrayList<>();
+		for (Integer restaurantId : restaurantIds) {
+			long[] expected = actual.getOrDefault(restaurantId, none);
+			long[] found = stored.get(restaurantId);
+			if (found == null ? expected[0] != 0 : !Arrays.equals(expected, found)) {
+				differing.add(restaurantId);
+			}
+		}
+		if (!differing.isEmpty()) {
+			jdbcTemplate.batchUpdate(RECOMPUTE_AGGREGATE, differing, differing.size(), (ps, restaurantId) -> {
+				ps.setInt(1, restaurantId);
+				ps.setInt(2, restaurantId);
+			});
+		}
+		return differing.size();
+	}
+
+	/**
+	 * Runs a query returning a restaurant ID followed by the aggregate fields for
+	 * a range of restaurants.
+	 */
+	private Map<Integer, long[]> totals(String sql, int first, int last) {
+		Map<Integer, long[]> totals = new HashMap<>();
+		jdbcTemplate.query(sql, rs -> {
+			long[] fields = new long[FIELDS];
+			for (int i = 0; i < FIELDS; i++) {
+				fields[i] = rs.getLong(i + 2);
+			}
+			totals.put(rs.getInt(1), fields);
+		}, first, last);
+		return totals;
+	}
+
+	private void rebuildQuietly() {
+		try {
+			rebuild();
+		} catch (RuntimeException e) {
+			logger.warn("Verifying the rating aggregates failed, retrying on the next run: {}", e.toString());
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.fooddeliverysystem.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * The outcome of one verification of the rating aggregates against the ratings
+ * table.
+ *
+ * @param startedAt   When the rebuild started.
+ * @param restaurants The number of restaurants checked.
+ * @param batches     The number of ID ranges they were checked in.
+ * @param repaired    The number of restaurants whose aggregates differed from
+ *                    their ratings and were recomputed.
+ * @param millis      The time the rebuild took.
+ */
+public record RatingRebuildReport(LocalDateTime startedAt, int restaurants, int batches, int repaired,
+		double millis) {
+}
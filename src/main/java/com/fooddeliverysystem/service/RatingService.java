@@ -9,18 +9,6 @@ import com.fooddeliverysystem.entity.Rating;
  */
 public interface RatingService {
 
-	/**
-	 * Retrieves the most recently added rating from the database.
-	 *
-	 * This method queries the database to find the rating with the highest ID,
-	 * which represents the most recently added rating. It is expected to return the
-	 * latest Rating object or null if no ratings are present.
-	 *
-	 * @return The most recently added Rating object, or null if no ratings are
-	 *         found.
-	 */
-	Rating findLastRecord();
-
 	/**
 	 * Saves a rating to the database.
 	 *
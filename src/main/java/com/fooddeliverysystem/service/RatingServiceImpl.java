@@ -21,26 +21,9 @@ public class RatingServiceImpl implements RatingService {
 	}
 
 	/**
-	 * Retrieve the most recently added rating from the database.
-	 * 
-	 * @return The most recently added `Rating`, or null if no ratings are present.
-	 */
-	@Override
-	public Rating findLastRecord() {
-		logger.info("Fetching the most recent rating");
-
-		Rating latestRating = ratingDao.findFirstByOrderByRatingIdDesc();
-
-		if (latestRating == null) {
-			logger.warn("No ratings found in the database");
-		} else {
-			logger.info("Most recent rating retrieved with ID: {}", latestRating.getRatingId());
-		}
-		return latestRating;
-	}
-
-	/**
-	 * Save a rating to the database.
+	 * Save a rating to the database. The rating aggregates of its restaurant are
+	 * updated in the same transaction when the insert or update is flushed, and
+	 * its review is indexed for search once that transaction commits.
 	 * 
 	 * @param rating The rating object to be saved.
 	 * @return The saved `Rating` object, which may include updated details such as
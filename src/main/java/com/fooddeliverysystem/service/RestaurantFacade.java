@@ -0,0 +1,125 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+import com.fooddeliverysystem.dto.MenuItemDto;
+import com.fooddeliverysystem.dto.RatingSummary;
+import com.fooddeliverysystem.dto.RestaurantDto;
+import com.fooddeliverysystem.entity.DeliveryAddress;
+import com.fooddeliverysystem.entity.MenuItem;
+import com.fooddeliverysystem.entity.Rating;
+import com.fooddeliverysystem.entity.Restaurant;
+
+/**
+ * Application service for restaurants and their menus, called in process by both
+ * the REST controllers and the MVC pages. It combines the restaurant, menu item,
+ * ID allocation and menu cache services into the use cases the API exposes.
+ *
+ * Every method throws jakarta.persistence.EntityNotFoundException when the
+ * restaurant or menu item it refers to does not exist.
+ */
+public interface RestaurantFacade {
+
+	/**
+	 * Retrieves all restaurants with their collections.
+	 *
+	 * @return A list of all restaurants.
+	 */
+	List<Restaurant> findAll();
+
+	/**
+	 * Retrieves a restaurant by its ID.
+	 *
+	 * @param id The ID of the restaurant.
+	 * @return The restaurant.
+	 */
+	Restaurant findById(int id);
+
+	/**
+	 * Creates a restaurant together with the menu items given in the DTO, taking
+	 * the IDs of both from the ID allocator.
+	 *
+	 * @param restaurantDto The details of the restaurant and its menu items.
+	 * @return The created restaurant.
+	 */
+	Restaurant create(RestaurantDto restaurantDto);
+
+	/**
+	 * Updates the details and menu items of a restaurant. Menu items listed in the
+	 * DTO are moved to this restaurant, and the menus of every restaurant touched
+	 * are invalidated.
+	 *
+	 * @param id            The ID of the restaurant.
+	 * @param restaurantDto The new details; null fields are left unchanged.
+	 * @return The updated restaurant.
+	 */
+	Restaurant update(int id, RestaurantDto restaurantDto);
+
+	/**
+	 * Deletes a restaurant and drops its cached menu.
+	 *
+	 * @param id The ID of the restaurant.
+	 */
+	void deleteById(int id);
+
+	/**
+	 * Retrieves the menu items of a restaurant.
+	 *
+	 * @param id The ID of the restaurant.
+	 * @return The menu items of the restaurant.
+	 */
+	List<MenuItem> findMenu(int id);
+
+	/**
+	 * Adds a new menu item to a restaurant.
+	 *
+	 * @param id          The ID of the restaurant.
+	 * @param menuItemDto The details of the menu item.
+	 * @return The created menu item.
+	 */
+	MenuItem addMenuItem(int id, MenuItemDto menuItemDto);
+
+	/**
+	 * Updates a menu item of a restaurant.
+	 *
+	 * @param id          The ID of the restaurant.
+	 * @param itemId      The ID of the menu item.
+	 * @param menuItemDto The new details; null fields and a zero price are left
+	 *                    unchanged.
+	 * @return The updated menu item.
+	 */
+	MenuItem updateMenuItem(int id, int itemId, MenuItemDto menuItemDto);
+
+	/**
+	 * Deletes a menu item of a restaurant.
+	 *
+	 * @param id     The ID of the restaurant.
+	 * @param itemId The ID of the menu item.
+	 */
+	void deleteMenuItem(int id, int itemId);
+
+	/**
+	 * Retrieves the reviews of a restaurant.
+	 *
+	 * @param id The ID of the restaurant.
+	 * @return The ratings of the restaurant.
+	 */
+	List<Rating> findReviews(int id);
+
+	/**
+	 * Retrieves the rating count, sum and star histogram of a restaurant without
+	 * loading its ratings.
+	 *
+	 * @param id The ID of the restaurant.
+	 * @return The rating aggregates of the restaurant.
+	 */
+	RatingSummary findRatingSummary(int id);
+
+	/**
+	 * Retrieves the delivery addresses served by a restaurant.
+	 *
+	 * @param id The ID of the restaurant.
+	 * @return The delivery addresses of the customers who ordered from it.
+	 */
+	List<DeliveryAddress> findDeliveryAreas(int id);
+}
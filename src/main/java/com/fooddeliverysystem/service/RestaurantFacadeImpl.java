@@ -0,0 +1,372 @@
+package com.fooddeliverysystem.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dto.MenuItemDto;
+import com.fooddeliverysystem.dto.RatingSummary;
+import com.fooddeliverysystem.dto.RestaurantDto;
+import com.fooddeliverysystem.entity.DeliveryAddress;
+import com.fooddeliverysystem.entity.MenuItem;
+import com.fooddeliverysystem.entity.Rating;
+import com.fooddeliverysystem.entity.Restaurant;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Implements the restaurant use cases on top of the restaurant, menu item, ID
+ * allocation and menu cache services.
+ *
+ * The methods are deliberately not transactional as a whole: each save commits
+ * on its own, so a menu is only invalidated after the change it reflects is
+ * visible to the next reader rebuilding it.
+ */
+@Service
+public class RestaurantFacadeImpl implements RestaurantFacade {
+
+	private static final Logger logger = LoggerFactory.getLogger(RestaurantFacadeImpl.class);
+
+	private RestaurantService restaurantService;
+	private MenuItemService menuItemService;
+	private IdAllocator idAllocator;
+	private MenuCacheService menuCacheService;
+	private FavoriteService favoriteService;
+	private RatingAggregateService ratingAggregateService;
+	private LeaderboardService leaderboardService;
+	private AutocompleteService autocompleteService;
+
+	@Autowired
+	public RestaurantFacadeImpl(RestaurantService restaurantService, MenuItemService menuItemService,
+			IdAllocator idAllocator, MenuCacheService menuCacheService, FavoriteService favoriteService,
+			RatingAggregateService ratingAggregateService, LeaderboardService leaderboardService,
+			AutocompleteService autocompleteService) {
+		super();
+		this.restaurantService = restaurantService;
+		this.menuItemService = menuItemService;
+		this.idAllocator = idAllocator;
+		this.menuCacheService = menuCacheService;
+		this.favoriteService = favoriteService;
+		this.ratingAggregateService = ratingAggregateService;
+		this.leaderboardService = leaderboardService;
+		this.autocompleteService = autocompleteService;
+	}
+
+	@Override
+	public List<Restaurant> findAll() {
+		logger.info("Fetching all restaurants");
+		return restaurantService.findAll();
+	}
+
+	@Override
+	public Restaurant findById(int id) {
+		return requireRestaurant(id);
+	}
+
+	@Override
+	public Restaurant create(RestaurantDto restaurantDto) {
+		// Log the incoming request for adding a new restaurant
+		logger.info("Request received to add a new restaurant with name: {}", restaurantDto.getName());
+
+		// Create a new Restaurant object
+		Restaurant restaurant = new Restaurant();
+
+		// Take the next restaurant ID from the pooled ID allocator
+		restaurant.setRestaurantId(idAllocator.nextId(IdSequenceType.RESTAURANTS));
+
+		// Set the restaurant details from the received RestaurantDto
+		restaurant.setName(restaurantDto.getName());
+		restaurant.setAddress(restaurantDto.getAddress());
+		restaurant.setPhone(restaurantDto.getPhone());
+		restaurant.setLatitude(restaurantDto.getLatitude());
+		restaurant.setLongitude(restaurantDto.getLongitude());
+
+		// Save the new restaurant to the database and put it on the leaderboards and
+		// in the autocomplete index
+		restaurantService.save(restaurant);
+		leaderboardService.updateRestaurant(restaurant.getRestaurantId(), restaurant.getName());
+		autocompleteService.updateRestaurant(restaurant.getRestaurantId(), restaurant.getName());
+
+		// Log the successful saving of the restaurant
+		logger.info("Restaurant saved with ID: {}", restaurant.getRestaurantId());
+
+		// Initialize an empty list to hold the menu items for the new restaurant
+		List<MenuItem> menuItems = new ArrayList<>();
+
+		// Iterate over the menu items provided in the RestaurantDto
+		for (MenuItemDto menuItemDto : restaurantDto.getMenuItems()) {
+			// Create a new MenuItem object
+			MenuItem menuItem = new MenuItem();
+
+			// Take the next item ID from the pooled ID allocator
+			menuItem.setItemId(idAllocator.nextId(IdSequenceType.MENU_ITEMS));
+
+			// Set the menu item details from the received MenuItemDto
+			menuItem.setDescription(menuItemDto.getDescription());
+			menuItem.setName(menuItemDto.getName());
+			menuItem.setPrice(menuItemDto.getPrice());
+
+			// Associate the menu item with the newly created restaurant
+			menuItem.setRestaurant(restaurant);
+
+			// Set order items to null (assuming no orders are associated at creation)
+			menuItem.setOrderItems(null);
+
+			// Add the menu item to the list
+			menuItems.add(menuItem);
+
+			// Save the menu item to the database
+			menuItemService.save(menuItem);
+
+			// Log the successful saving of the menu item
+			logger.info("Menu item saved with ID: {} for restaurant ID: {}", menuItem.getItemId(),
+					restaurant.getRestaurantId());
+		}
+
+		// Associate the list of menu items with the restaurant
+		restaurant.setMenuItems(menuItems);
+
+		// Drop a menu cached by a request served between the saves above
+		menuCacheService.invalidate(restaurant.getRestaurantId());
+
+		// Set orders and ratings to null (assuming no orders or ratings are associated
+		// at creation)
+		restaurant.setOrders(null);
+		restaurant.setRatings(null);
+
+		logger.info("Restaurant created successfully with ID: {}", restaurant.getRestaurantId());
+		return restaurant;
+	}
+
+	@Override
+	public Restaurant update(int id, RestaurantDto restaurantDto) {
+		// Log the start of the update operation
+		logger.info("Starting update operation for restaurant with ID {}", id);
+
+		// Find the restaurant by its ID
+		Restaurant restaurant = requireRestaurant(id);
+		Set<Integer> changedMenus = new LinkedHashSet<>();
+		changedMenus.add(id);
+
+		// Update the restaurant's name if provided
+		if (restaurantDto.getName() != null) {
+			logger.info("Updating name of restaurant ID {} to {}", id, restaurantDto.getName());
+			restaurant.setName(restaurantDto.getName());
+		}
+
+		// Update the restaurant's address if provided
+		if (restaurantDto.getAddress() != null) {
+			logger.info("Updating address of restaurant ID {}", id);
+			restaurant.setAddress(restaurantDto.getAddress());
+		}
+
+		// Update the restaurant's phone if provided
+		if (restaurantDto.getPhone() != null) {
+			logger.info("Updating phone of restaurant ID {}", id);
+			restaurant.setPhone(restaurantDto.getPhone());
+		}
+
+		// Update the restaurant's position if provided
+		if (restaurantDto.getLatitude() != null && restaurantDto.getLongitude() != null) {
+			logger.info("Updating position of restaurant ID {}", id);
+			restaurant.setLatitude(restaurantDto.getLatitude());
+			restaurant.setLongitude(restaurantDto.getLongitude());
+		}
+
+		// Update the restaurant's menu items, remembering which other restaurants
+		// lose an item to this one so their menus are refreshed as well
+		List<MenuItem> menuItems = new ArrayList<>();
+		for (MenuItemDto menuItemDto : restaurantDto.getMenuItems()) {
+			// Find the menu item by its ID
+			MenuItem menuItem = menuItemService.findById(menuItemDto.getMenuItemId());
+
+			// If the menu item is not found, throw an exception
+			if (menuItem == null) {
+				logger.error("Menu Item with ID {} not found", menuItemDto.getMenuItemId());
+				throw new EntityNotFoundException("Menu Item with ID " + menuItemDto.getMenuItemId() + " not found");
+			}
+
+			// Update menu item details
+			logger.info("Updating menu item with ID {} for restaurant ID {}", menuItemDto.getMenuItemId(), id);
+			if (menuItem.getRestaurant() != null && menuItem.getRestaurant().getRestaurantId() != id) {
+				changedMenus.add(menuItem.getRestaurant().getRestaurantId());
+			}
+			menuItem.setRestaurant(restaurant);
+			menuItem.setDescription(menuItemDto.getDescription());
+			menuItem.setName(menuItemDto.getName());
+			menuItem.setPrice(menuItemDto.getPrice());
+
+			// Save the updated menu item
+			menuItemService.save(menuItem);
+			menuItems.add(menuItem);
+		}
+
+		// Set the updated menu items to the restaurant
+		restaurant.setMenuItems(menuItems);
+
+		// Save the updated restaurant and bump the version of every menu it touched
+		Restaurant savedRestaurant = restaurantService.save(restaurant);
+		changedMenus.forEach(menuCacheService::invalidate);
+		if (restaurantDto.getName() != null) {
+			leaderboardService.updateRestaurant(id, restaurantDto.getName());
+			autocompleteService.updateRestaurant(id, restaurantDto.getName());
+		}
+
+		logger.info("Successfully updated restaurant with ID {}", id);
+		return savedRestaurant;
+	}
+
+	@Override
+	public void deleteById(int id) {
+		// Log the start of the delete operation
+		logger.info("Attempting to delete restaurant with ID: {}", id);
+
+		requireRestaurant(id);
+
+		// Drop the restaurant from all favorites, then delete it by ID and drop its cached menu
+		favoriteService.removeRestaurant(id);
+		restaurantService.deleteById(id);
+		menuCacheService.invalidate(id);
+		ratingAggregateService.removeRestaurant(id);
+		leaderboardService.removeRestaurant(id);
+		autocompleteService.removeRestaurant(id);
+
+		logger.info("Restaurant with ID {} successfully deleted", id);
+	}
+
+	@Override
+	public List<MenuItem> findMenu(int id) {
+		logger.info("Fetching menu items for restaurant with ID: {}", id);
+		return requireRestaurant(id).getMenuItems();
+	}
+
+	@Override
+	public MenuItem addMenuItem(int id, MenuItemDto menuItemDto) {
+		// Fetch the restaurant by ID
+		Restaurant restaurant = requireRestaurant(id);
+
+		// Create a new MenuItem and set its properties from the MenuItemDto
+		MenuItem menuItem = new MenuItem();
+		menuItem.setRestaurant(restaurant); // Associate the menu item with the restaurant
+		restaurant.getMenuItems().add(menuItem); // Add the menu item to the restaurant's menu
+		menuItem.setItemId(idAllocator.nextId(IdSequenceType.MENU_ITEMS)); // Generate new item ID
+		menuItem.setDescription(menuItemDto.getDescription());
+		menuItem.setName(menuItemDto.getName());
+		menuItem.setPrice(menuItemDto.getPrice());
+		menuItem.setOrderItems(null); // Initialize order items to null as it's not provided
+
+		// Save the updated restaurant entity with the new menu item
+		logger.info("Adding new menu item to restaurant with ID {}", id);
+		restaurantService.save(restaurant);
+
+		// Save the menu item and bump the menu version of the restaurant
+		MenuItem savedMenuItem = menuItemService.save(menuItem);
+		menuCacheService.invalidate(id);
+
+		logger.info("New menu item added successfully with ID {} to restaurant with ID {}", menuItem.getItemId(), id);
+		return savedMenuItem;
+	}
+
+	@Override
+	public MenuItem updateMenuItem(int id, int itemId, MenuItemDto menuItemDto) {
+		// Log entry into the method
+		logger.info("Updating menu item with ID {} for restaurant with ID {}", itemId, id);
+
+		requireRestaurant(id);
+
+		// Find the menu item by itemId
+		MenuItem menuItem = menuItemService.findById(itemId);
+
+		// Check if the menu item exists
+		if (menuItem == null) {
+			logger.error("Menu item with ID {} not found", itemId);
+			throw new EntityNotFoundException("Item not found at ID " + itemId);
+		}
+
+		// Update menu item details if they are provided in the request body
+		if (menuItemDto.getDescription() != null) {
+			menuItem.setDescription(menuItemDto.getDescription());
+		}
+		if (menuItemDto.getName() != null) {
+			menuItem.setName(menuItemDto.getName());
+		}
+		if (menuItemDto.getPrice() != 0) {
+			menuItem.setPrice(menuItemDto.getPrice());
+		}
+
+		// Save the updated menu item and bump the version of the menu holding it
+		MenuItem savedMenuItem = menuItemService.save(menuItem);
+		menuCacheService.invalidate(id);
+		if (menuItem.getRestaurant() != null && menuItem.getRestaurant().getRestaurantId() != id) {
+			menuCacheService.invalidate(menuItem.getRestaurant().getRestaurantId());
+		}
+
+		logger.info("Menu item with ID {} for restaurant ID {} updated successfully", itemId, id);
+		return savedMenuItem;
+	}
+
+	@Override
+	public void deleteMenuItem(int id, int itemId) {
+		// Log the request to delete a menu item
+		logger.info("Request received to delete menu item with ID {} from restaurant with ID {}", itemId, id);
+
+		requireRestaurant(id);
+
+		// Look up the restaurant whose menu holds the item before it is gone
+		MenuItem menuItem = menuItemService.findById(itemId);
+
+		// Delete the menu item by ID and drop its name from the autocomplete index
+		restaurantService.deleteMenuItemsById(itemId);
+		autocompleteService.removeMenuItem(itemId);
+
+		// Bump the version of the menu the item was on
+		menuCacheService.invalidate(id);
+		if (menuItem != null && menuItem.getRestaurant() != null
+				&& menuItem.getRestaurant().getRestaurantId() != id) {
+			menuCacheService.invalidate(menuItem.getRestaurant().getRestaurantId());
+		}
+
+		logger.info("Successfully deleted menu item with ID {} from restaurant with ID {}", itemId, id);
+	}
+
+	@Override
+	public List<Rating> findReviews(int id) {
+		requireRestaurant(id);
+		return restaurantService.reviewsById(id);
+	}
+
+	@Override
+	public RatingSummary findRatingSummary(int id) {
+		RatingSummary summary = ratingAggregateService.findSummary(id);
+		if (summary == null) {
+			logger.error("No restaurant found with ID: {}", id);
+			throw new EntityNotFoundException("No restaurant found with ID " + id);
+		}
+		return summary;
+	}
+
+	@Override
+	public List<DeliveryAddress> findDeliveryAreas(int id) {
+		requireRestaurant(id);
+		return restaurantService.deliveryAddressServedById(id);
+	}
+
+	/**
+	 * Loads the restaurant with the given ID or throws the not-found exception the
+	 * API answers with 404.
+	 */
+	private Restaurant requireRestaurant(int id) {
+		Restaurant restaurant = restaurantService.findById(id);
+		if (restaurant == null) {
+			logger.error("No restaurant found with ID: {}", id);
+			throw new EntityNotFoundException("No restaurant found with ID " + id);
+		}
+		return restaurant;
+	}
+}
@@ -2,6 +2,8 @@ package com.fooddeliverysystem.service;
 
 import java.util.List;
 
+import com.fooddeliverysystem.dto.ResourceVersion;
+import com.fooddeliverysystem.dto.RestaurantSummary;
 import com.fooddeliverysystem.entity.DeliveryAddress;
 import com.fooddeliverysystem.entity.MenuItem;
 import com.fooddeliverysystem.entity.Rating;
@@ -20,6 +22,37 @@ public interface RestaurantService {
 	 */
 	List<Restaurant> findAll();
 
+	/**
+	 * Retrieves one page of restaurants, ordered by ID.
+	 *
+	 * Pages are addressed by the last ID of the previous page rather than by an
+	 * offset, so each page is a range scan on the primary key.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of restaurants in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	KeysetPage<Restaurant> findPage(int after, int limit);
+
+	/**
+	 * Retrieves the summaries of all restaurants, ordered by ID.
+	 *
+	 * A summary carries the scalar columns, its menu item count and its rating aggregates, read in the same
+	 * query, so none of the collections of the entity are loaded.
+	 *
+	 * @return A list of summaries of all restaurants.
+	 */
+	List<RestaurantSummary> findAllSummaries();
+
+	/**
+	 * Retrieves one page of restaurants summaries, ordered by ID.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of summaries in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	KeysetPage<RestaurantSummary> findSummaryPage(int after, int limit);
+
 	/**
 	 * Finds a restaurant by its unique ID.
 	 *
@@ -31,6 +64,15 @@ public interface RestaurantService {
 	 */
 	Restaurant findById(int id);
 
+	/**
+	 * Finds the validators of a restaurant for conditional requests with a single
+	 * aggregate query, without loading the restaurant or its collections.
+	 *
+	 * @param id The unique ID of the restaurant.
+	 * @return The version of the restaurant, or null if it does not exist.
+	 */
+	ResourceVersion findVersion(int id);
+
 	/**
 	 * Saves or updates a restaurant in the database.
 	 *
@@ -76,6 +118,16 @@ public interface RestaurantService {
 	 */
 	List<Rating> reviewsById(int id);
 
+	/**
+	 * Finds the validators of the reviews of a restaurant for conditional
+	 * requests with a single aggregate query, without loading the ratings.
+	 *
+	 * @param id The unique ID of the restaurant.
+	 * @return The version of the reviews, or null if the restaurant does not
+	 *         exist.
+	 */
+	ResourceVersion findReviewsVersion(int id);
+
 	/**
 	 * Retrieves a list of delivery addresses served by a specific restaurant.
 	 *
@@ -89,17 +141,6 @@ public interface RestaurantService {
 	 */
 	List<DeliveryAddress> deliveryAddressServedById(int id);
 
-	/**
-	 * Retrieves the most recently added restaurant.
-	 *
-	 * This method queries the database to find the restaurant with the highest ID,
-	 * which represents the most recently added restaurant.
-	 *
-	 * @return The most recently added Restaurant object, or null if no restaurants
-	 *         are found.
-	 */
-	Restaurant findLastRecord();
-
 	/**
 	 * Saves or updates a menu item for a specific restaurant.
 	 *
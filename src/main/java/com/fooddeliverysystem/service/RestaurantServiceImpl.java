@@ -6,10 +6,13 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.fooddeliverysystem.dao.MenuItemDao;
 import com.fooddeliverysystem.dao.RestaurantDao;
+import com.fooddeliverysystem.dto.ResourceVersion;
+import com.fooddeliverysystem.dto.RestaurantSummary;
 import com.fooddeliverysystem.entity.Customer;
 import com.fooddeliverysystem.entity.DeliveryAddress;
 import com.fooddeliverysystem.entity.MenuItem;
@@ -27,12 +30,14 @@ public class RestaurantServiceImpl implements RestaurantService{
 	
 	private RestaurantDao restaurantDao;
 	private MenuItemDao menuItemDao;
+	private IdAllocator idAllocator;
 	
 	@Autowired
-	public RestaurantServiceImpl(RestaurantDao restaurantDao, MenuItemDao menuItemDao) {
+	public RestaurantServiceImpl(RestaurantDao restaurantDao, MenuItemDao menuItemDao, IdAllocator idAllocator) {
 		super();
 		this.restaurantDao = restaurantDao;
 		this.menuItemDao = menuItemDao;
+		this.idAllocator = idAllocator;
 	}
 
 	/**
@@ -49,6 +54,61 @@ public class RestaurantServiceImpl implements RestaurantService{
 	    return restaurantDao.findAll();
 	}
 
+	/**
+	 * Retrieves one page of restaurants with IDs greater than the cursor.
+	 *
+	 * One row more than requested is fetched to tell whether a further page
+	 * exists; it is not part of the returned page.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of restaurants in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	@Override
+	public KeysetPage<Restaurant> findPage(int after, int limit) {
+		logger.info("Fetching up to {} restaurants after ID: {}", limit, after);
+
+		List<Restaurant> fetched = restaurantDao.findByRestaurantIdGreaterThanOrderByRestaurantIdAsc(after, Limit.of(limit + 1));
+		KeysetPage<Restaurant> page = KeysetPage.of(fetched, limit, Restaurant::getRestaurantId);
+
+		logger.info("Fetched {} restaurants, next cursor: {}", page.items().size(), page.nextCursor());
+		return page;
+	}
+
+	/**
+	 * Retrieves the summaries of all restaurants with a single query.
+	 *
+	 * @return A list of summaries of all restaurants.
+	 */
+	@Override
+	public List<RestaurantSummary> findAllSummaries() {
+		logger.info("Fetching summaries of all restaurants");
+
+		List<RestaurantSummary> summaries = restaurantDao.findAllSummaries();
+
+		logger.info("Fetched {} restaurants summaries", summaries.size());
+		return summaries;
+	}
+
+	/**
+	 * Retrieves one page of restaurants summaries with IDs greater than the
+	 * cursor, fetching one extra row to tell whether a further page exists.
+	 *
+	 * @param after The ID after which the page starts; 0 for the first page.
+	 * @param limit The maximum number of summaries in the page.
+	 * @return The page, with the cursor of the next page if there is one.
+	 */
+	@Override
+	public KeysetPage<RestaurantSummary> findSummaryPage(int after, int limit) {
+		logger.info("Fetching up to {} restaurants summaries after ID: {}", limit, after);
+
+		List<RestaurantSummary> fetched = restaurantDao.findSummariesAfter(after, Limit.of(limit + 1));
+		KeysetPage<RestaurantSummary> page = KeysetPage.of(fetched, limit, RestaurantSummary::restaurantId);
+
+		logger.info("Fetched {} restaurants summaries, next cursor: {}", page.items().size(), page.nextCursor());
+		return page;
+	}
+
 	/**
 	 * Finds a restaurant by its ID.
 	 *
@@ -68,6 +128,19 @@ public class RestaurantServiceImpl implements RestaurantService{
 	    // Return the restaurant if found, otherwise return null
 	    return restaurantDao.findById(id).orElse(null);
 	}
+
+	/**
+	 * Finds the validators of a restaurant with one aggregate query over its
+	 * version columns and those of its menu items, ratings and orders.
+	 *
+	 * @param id The unique ID of the restaurant.
+	 * @return The version of the restaurant, or null if it does not exist.
+	 */
+	@Override
+	public ResourceVersion findVersion(int id) {
+		logger.info("Fetching version of restaurant with ID: {}", id);
+		return restaurantDao.findVersion(id);
+	}
 	
 	/**
 	 * Saves a restaurant to the database.
@@ -152,6 +225,20 @@ public class RestaurantServiceImpl implements RestaurantService{
 	    return restaurantDao.findById(id).orElse(null).getRatings();
 	}
 
+	/**
+	 * Finds the validators of the reviews of a restaurant with one aggregate
+	 * query over the version columns of its ratings.
+	 *
+	 * @param id The unique ID of the restaurant.
+	 * @return The version of the reviews, or null if the restaurant does not
+	 *         exist.
+	 */
+	@Override
+	public ResourceVersion findReviewsVersion(int id) {
+		logger.info("Fetching version of reviews for restaurant with ID: {}", id);
+		return restaurantDao.findReviewsVersion(id);
+	}
+
 
 	/**
 	 * Retrieves a list of delivery addresses served by a specific restaurant.
@@ -180,20 +267,6 @@ public class RestaurantServiceImpl implements RestaurantService{
 	}
 
 
-	/**
-	 * Retrieves the most recently added restaurant from the database.
-	 *
-	 * This method fetches the restaurant with the highest ID, which is 
-	 * typically the most recently added record based on the ID ordering.
-	 *
-	 * @return The most recently added Restaurant object.
-	 */
-	@Override
-	public Restaurant findLastRecord() {
-	    // Fetch the restaurant with the highest ID (most recent record) from the database
-	    return restaurantDao.findFirstByOrderByRestaurantIdDesc();
-	}
-
 	
 	/**
 	 * Saves a new menu item to the specified restaurant and returns the saved menu item.
@@ -215,8 +288,8 @@ public class RestaurantServiceImpl implements RestaurantService{
 	    // Add the menu item to the restaurant's list of menu items
 	    restaurant.getMenuItems().add(menuItem);
 
-	    // Set a new item ID for the menu item by incrementing the highest existing ID
-	    menuItem.setItemId(menuItemDao.findFirstByOrderByItemIdDesc().getItemId() + 1);
+	    // Set a new item ID for the menu item from the pooled ID allocator
+	    menuItem.setItemId(idAllocator.nextId(IdSequenceType.MENU_ITEMS));
 
 	    // Save the updated restaurant to the database
 	    restaurantDao.save(restaurant);
@@ -233,7 +306,8 @@ public class RestaurantServiceImpl implements RestaurantService{
 	 * Deletes a menu item from the database by its ID.
 	 *
 	 * This method attempts to find the menu item using the provided ID. If the item is not found,
-	 * it throws an EntityNotFoundException. If the item is found, it is deleted from the database.
+	 * it throws an EntityNotFoundException. If the item is found, it is removed from its
+	 * restaurant's menu and deleted from the database.
 	 *
 	 * @param itemId The unique ID of the menu item to be deleted.
 	 */
@@ -248,6 +322,13 @@ public class RestaurantServiceImpl implements RestaurantService{
 	        throw new EntityNotFoundException("Item not found at ID " + itemId);
 	    }
 	    
+	    // Drop the item from its restaurant's menu as well, so the cached menuItems
+	    // collection of the restaurant is invalidated together with the item
+	    Restaurant restaurant = menuItem.getRestaurant();
+	    if (restaurant != null && restaurant.getMenuItems() != null) {
+	        restaurant.getMenuItems().remove(menuItem);
+	    }
+
 	    // Delete the menu item from the database
 	    menuItemDao.deleteById(itemId);
 	}
@@ -0,0 +1,267 @@
+package com.fooddeliverysystem.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * An inverted index over review texts, ranking matches with BM25.
+ *
+ * Each term maps to the reviews containing it and how often; each review keeps
+ * its own term frequencies, so it can be replaced or removed without looking
+ * at its text again, and so can a snapshot restore it. Not thread-safe.
+ */
+final class ReviewIndex {
+
+	// The usual BM25 parameters: term frequency saturation and length normalization
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+
+	private static final int SNAPSHOT_MAGIC = 0x52564958;
+	private static final int SNAPSHOT_FORMAT = 1;
+
+	private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "but", "by",
+			"for", "if", "in", "into", "is", "it", "no", "not", "of", "on", "or", "such", "that", "the", "their",
+			"then", "there", "these", "they", "this", "to", "was", "will", "with");
+
+	private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+	private final Map<Integer, Document> documents = new HashMap<>();
+	private long totalLength;
+
+	/**
+	 * The indexed form of one review.
+	 *
+	 * @param ratingId     The ID of the rating holding the review.
+	 * @param restaurantId The ID of the rated restaurant.
+	 * @param terms        How often each term occurs.
+	 * @param length       The number of terms, stop words excluded.
+	 */
+	record Document(int ratingId, int restaurantId, Map<String, Integer> terms, int length) {
+	}
+
+	/**
+	 * A review matching a query.
+	 *
+	 * @param ratingId     The ID of the rating holding the review.
+	 * @param restaurantId The ID of the rated restaurant.
+	 * @param score        The BM25 score; higher is better.
+	 */
+	record Match(int ratingId, int restaurantId, double score) {
+	}
+
+	/**
+	 * Splits a text into lower case terms of letters and digits, dropping stop
+	 * words.
+	 */
+	static List<String> tokenize(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null) {
+			return terms;
+		}
+		String lowerCase = text.toLowerCase(Locale.ROOT);
+		int start = -1;
+		for (int i = 0; i <= lowerCase.length(); i++) {
+			boolean inWord = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+			if (inWord && start < 0) {
+				start = i;
+			} else if (!inWord && start >= 0) {
+				String term = lowerCase.substring(start, i);
+				if (!STOP_WORDS.contains(term)) {
+					terms.add(term);
+				}
+				start = -1;
+			}
+		}
+		return terms;
+	}
+
+	/**
+	 * Tokenizes a review into the document to index.
+	 */
+	static Document document(int ratingId, int restaurantId, String review) {
+		List<String> terms = tokenize(review);
+		Map<String, Integer> frequencies = new HashMap<>();
+		for (String term : terms) {
+			frequencies.merge(term, 1, Integer::sum);
+		}
+		return new Document(ratingId, restaurantId, Collections.unmodifiableMap(frequencies), terms.size());
+	}
+
+	/**
+	 * Adds a review, replacing the previous version of the same rating. A review
+	 * without terms is only removed.
+	 */
+	void put(Document document) {
+		remove(document.ratingId());
+		if (document.length() == 0) {
+			return;
+		}
+		documents.put(document.ratingId(), document);
+		totalLength += document.length();
+		document.terms().forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new HashMap<>())
+				.put(document.ratingId(), frequency));
+	}
+
+	/**
+	 * Removes the review of a rating, if indexed.
+	 */
+	void remove(int ratingId) {
+		Document removed = documents.remove(ratingId);
+		if (removed == null) {
+			return;
+		}
+		totalLength -= removed.length();
+		for (String term : removed.terms().keySet()) {
+			Map<Integer, Integer> reviews = postings.get(term);
+			reviews.remove(ratingId);
+			if (reviews.isEmpty()) {
+				postings.remove(term);
+			}
+		}
+	}
+
+	/**
+	 * Returns the best matches of a query, best first.
+	 *
+	 * @param terms        The query terms, as returned by {@link #tokenize}.
+	 * @param restaurantId Only match reviews of this restaurant, or null for all.
+	 * @param limit        The maximum number of matches.
+	 */
+	List<Match> search(Collection<String> terms, Integer restaurantId, int limit) {
+		if (documents.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		double averageLength = (double) totalLength / documents.size();
+
+		Map<Integer, Double> scores = new HashMap<>();
+		for (String term : new LinkedHashSet<>(terms)) {
+			Map<Integer, Integer> reviews = postings.get(term);
+			if (reviews == null) {
+				continue;
+			}
+			double idf = Math.log(1 + (documents.size() - reviews.size() + 0.5) / (reviews.size() + 0.5));
+			reviews.forEach((ratingId, frequency) -> {
+				Document document = documents.get(ratingId);
+				if (restaurantId != null && document.restaurantId() != restaurantId) {
+					return;
+				}
+				double norm = K1 * (1 - B + B * document.length() / averageLength);
+				scores.merge(ratingId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+			});
+		}
+
+		// Keep the best matches in a bounded heap whose head is the worst of them
+		Comparator<Match> ranking = Comparator.comparingDouble(Match::score).reversed()
+				.thenComparingInt(Match::ratingId);
+		PriorityQueue<Match> best = new PriorityQueue<>(ranking.reversed());
+		scores.forEach((ratingId, score) -> {
+			best.add(new Match(ratingId, documents.get(ratingId).restaurantId(), score));
+			if (best.size() > limit) {
+				best.poll();
+			}
+		});
+		List<Match> matches = new ArrayList<>(best);
+		matches.sort(ranking);
+		return matches;
+	}
+
+	/**
+	 * Returns the number of indexed reviews.
+	 */
+	int size() {
+		return documents.size();
+	}
+
+	/**
+	 * Returns the number of distinct terms.
+	 */
+	int terms() {
+		return postings.size();
+	}
+
+	/**
+	 * Returns the indexed reviews. They are immutable, so they can be written
+	 * out after the caller stopped guarding the index.
+	 */
+	List<Document> documents() {
+		return new ArrayList<>(documents.values());
+	}
+
+	/**
+	 * Writes reviews in the snapshot format: a header with the given mark, the
+	 * dictionary of all terms once, then each review with its term frequencies
+	 * as dictionary positions.
+	 */
+	static void writeSnapshot(Collection<Document> documents, long markMillis, DataOutputStream out)
+			throws IOException {
+		Map<String, Integer> dictionary = new LinkedHashMap<>();
+		for (Document document : documents) {
+			for (String term : document.terms().keySet()) {
+				dictionary.putIfAbsent(term, dictionary.size());
+			}
+		}
+
+		out.writeInt(SNAPSHOT_MAGIC);
+		out.writeInt(SNAPSHOT_FORMAT);
+		out.writeLong(markMillis);
+		out.writeInt(dictionary.size());
+		for (String term : dictionary.keySet()) {
+			out.writeUTF(term);
+		}
+		out.writeInt(documents.size());
+		for (Document document : documents) {
+			out.writeInt(document.ratingId());
+			out.writeInt(document.restaurantId());
+			out.writeInt(document.terms().size());
+			for (Map.Entry<String, Integer> term : document.terms().entrySet()) {
+				out.writeInt(dictionary.get(term.getKey()));
+				out.writeInt(term.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Reads reviews written by {@link #writeSnapshot} into this index.
+	 *
+	 * @return The mark stored with them.
+	 * @throws IOException if the data is not a snapshot of this format.
+	 */
+	long readSnapshot(DataInputStream in) throws IOException {
+		if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT) {
+			throw new IOException("Not a review index snapshot of format " + SNAPSHOT_FORMAT);
+		}
+		long markMillis = in.readLong();
+		String[] dictionary = new String[in.readInt()];
+		for (int i = 0; i < dictionary.length; i++) {
+			dictionary[i] = in.readUTF();
+		}
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			int ratingId = in.readInt();
+			int restaurantId = in.readInt();
+			int distinctTerms = in.readInt();
+			Map<String, Integer> frequencies = new HashMap<>();
+			int length = 0;
+			for (int j = 0; j < distinctTerms; j++) {
+				String term = dictionary[in.readInt()];
+				int frequency = in.readInt();
+				frequencies.put(term, frequency);
+				length += frequency;
+			}
+			put(new Document(ratingId, restaurantId, Collections.unmodifiableMap(frequencies), length));
+		}
+		return markMillis;
+	}
+}
@@ -0,0 +1,52 @@
+package com.fooddeliverysystem.service;
+
+import java.util.List;
+
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import com.fooddeliverysystem.entity.Rating;
+
+/**
+ * Passes the ratings Hibernate inserts, updates and deletes on to the review
+ * search index.
+ */
+class ReviewIndexListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+	private final ReviewSearchService reviewSearchService;
+
+	ReviewIndexListener(ReviewSearchService reviewSearchService) {
+		this.reviewSearchService = reviewSearchService;
+	}
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		if (event.getEntity() instanceof Rating rating) {
+			reviewSearchService.recordSaved(List.of(rating));
+		}
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		if (event.getEntity() instanceof Rating rating) {
+			reviewSearchService.recordSaved(List.of(rating));
+		}
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		if (event.getEntity() instanceof Rating rating) {
+			reviewSearchService.recordDeleted(rating.getRatingId());
+		}
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return false;
+	}
+}
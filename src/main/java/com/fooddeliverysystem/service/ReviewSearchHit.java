@@ -0,0 +1,14 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * A review found by a full-text search.
+ *
+ * @param ratingId     The ID of the rating holding the review.
+ * @param restaurantId The ID of the rated restaurant.
+ * @param rating       The stars given with the review.
+ * @param review       The review text.
+ * @param score        The BM25 relevance of the review to the query; higher is
+ *                     better.
+ */
+public record ReviewSearchHit(int ratingId, int restaurantId, int rating, String review, double score) {
+}
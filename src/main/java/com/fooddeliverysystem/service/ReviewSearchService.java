@@ -0,0 +1,45 @@
+package com.fooddeliverysystem.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.fooddeliverysystem.entity.Rating;
+
+/**
+ * Service interface for the full-text search over the reviews of ratings.
+ *
+ * The reviews are held in an in-memory inverted index. Ratings written through
+ * Hibernate (saved, updated, or deleted directly or by cascade) are indexed
+ * automatically; ratings inserted with plain JDBC have to be passed to
+ * {@link #recordSaved(Collection)}. Changes made inside a transaction are
+ * searchable once it commits.
+ */
+public interface ReviewSearchService {
+
+	/**
+	 * Finds the reviews best matching a query, ranked with BM25.
+	 *
+	 * @param query        The words to look for. Case and punctuation are
+	 *                     ignored, and so are stop words such as "the".
+	 * @param restaurantId Only search the reviews of this restaurant, or null for
+	 *                     all.
+	 * @param limit        The maximum number of reviews.
+	 * @return The matching reviews, most relevant first.
+	 */
+	List<ReviewSearchHit> search(String query, Integer restaurantId, int limit);
+
+	/**
+	 * Indexes the reviews of inserted or updated ratings.
+	 *
+	 * @param ratings The ratings; those without a review are removed from the
+	 *                index.
+	 */
+	void recordSaved(Collection<Rating> ratings);
+
+	/**
+	 * Removes the review of a deleted rating from the index.
+	 *
+	 * @param ratingId The ID of the rating.
+	 */
+	void recordDeleted(int ratingId);
+}
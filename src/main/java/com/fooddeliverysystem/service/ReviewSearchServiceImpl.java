@@ -0,0 +1,312 @@
+package com.fooddeliverysystem.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.fooddeliverysystem.dao.RatingDao;
+import com.fooddeliverysystem.entity.Rating;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Implementation of {@link ReviewSearchService} on a {@link ReviewIndex} kept
+ * in memory and written to a snapshot file.
+ *
+ * At startup the index is read back from the snapshot and only caught up with
+ * the database: reviews of deleted ratings are dropped after reading the
+ * rating IDs, and the reviews of ratings modified since the snapshot was taken
+ * are tokenized again. Only without a usable snapshot is every review
+ * tokenized. The snapshot is rewritten periodically and at shutdown.
+ *
+ * Reviews are tokenized by the writer and applied to the index, under the write
+ * lock, once the writing transaction has committed. Searches share the read
+ * lock, and only load the ratings of the reviews they return.
+ */
+@Service
+public class ReviewSearchServiceImpl implements ReviewSearchService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReviewSearchServiceImpl.class);
+
+	// How far before a snapshot modifications are tokenized again at startup, for
+	// the transactions that wrote them before it was taken but committed after
+	private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(10);
+
+	private static final String SELECT_REVIEWS = "select rating_id, restaurant_id, review from ratings"
+			+ " where review is not null";
+	private static final String SELECT_CHANGED_REVIEWS = "select rating_id, restaurant_id, review from ratings"
+			+ " where last_modified >= ?";
+	private static final String SELECT_RATING_IDS = "select rating_id from ratings";
+
+	private RatingDao ratingDao;
+	private JdbcTemplate jdbcTemplate;
+	private EntityManagerFactory entityManagerFactory;
+	private Path snapshotPath;
+	private long snapshotIntervalMillis;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private ReviewIndex index = new ReviewIndex();
+
+	private ScheduledExecutorService snapshotter;
+
+	@Autowired
+	public ReviewSearchServiceImpl(RatingDao ratingDao, JdbcTemplate jdbcTemplate,
+			EntityManagerFactory entityManagerFactory,
+			@Value("${fooddelivery.reviews.snapshot-path:data/review-index.snapshot}") String snapshotPath,
+			@Value("${fooddelivery.reviews.snapshot-interval-millis:300000}") long snapshotIntervalMillis) {
+		super();
+		this.ratingDao = ratingDao;
+		this.jdbcTemplate = jdbcTemplate;
+		this.entityManagerFactory = entityManagerFactory;
+		this.snapshotPath = snapshotPath == null || snapshotPath.isBlank() ? null : Paths.get(snapshotPath);
+		this.snapshotIntervalMillis = snapshotIntervalMillis;
+	}
+
+	/**
+	 * Loads the index, registers the listener indexing Hibernate's rating writes
+	 * and schedules the snapshots.
+	 */
+	@PostConstruct
+	public void start() {
+		load();
+
+		ReviewIndexListener listener = new ReviewIndexListener(this);
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_INSERT, listener);
+		registry.appendListeners(EventType.POST_UPDATE, listener);
+		registry.appendListeners(EventType.POST_DELETE, listener);
+
+		if (snapshotPath == null || snapshotIntervalMillis <= 0) {
+			return;
+		}
+		snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "review-index-snapshot");
+			thread.setDaemon(true);
+			return thread;
+		});
+		snapshotter.scheduleWithFixedDelay(this::writeSnapshotQuietly, snapshotIntervalMillis,
+				snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+		logger.info("Writing review index snapshots to {} every {} ms", snapshotPath, snapshotIntervalMillis);
+	}
+
+	/**
+	 * Stops the snapshots and writes a last one.
+	 */
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (snapshotter != null) {
+			snapshotter.shutdownNow();
+			snapshotter.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		writeSnapshotQuietly();
+	}
+
+	/**
+	 * Builds the index from the snapshot caught up with the database, or from
+	 * all reviews without one, and replaces the current index with it. Changes
+	 * committed meanwhile may be missed, so this is meant for startup.
+	 *
+	 * @return The number of reviews indexed.
+	 */
+	public int load() {
+		long start = System.nanoTime();
+		ReviewIndex loaded = new ReviewIndex();
+		Long markMillis = readSnapshot(loaded);
+		if (markMillis == null) {
+			jdbcTemplate.query(SELECT_REVIEWS, (RowCallbackHandler) rs -> loaded
+					.put(ReviewIndex.document(rs.getInt(1), rs.getInt(2), rs.getString(3))));
+		} else {
+			// Drop the reviews of ratings deleted since the snapshot
+			IntHashSet ratingIds = new IntHashSet();
+			jdbcTemplate.query(SELECT_RATING_IDS, (RowCallbackHandler) rs -> ratingIds.add(rs.getInt(1)));
+			for (ReviewIndex.Document document : loaded.documents()) {
+				if (!ratingIds.contains(document.ratingId())) {
+					loaded.remove(document.ratingId());
+				}
+			}
+
+			// Tokenize the reviews of ratings written since again
+			Timestamp since = new Timestamp(markMillis - CATCH_UP_MARGIN.toMillis());
+			jdbcTemplate.query(SELECT_CHANGED_REVIEWS, (RowCallbackHandler) rs -> loaded
+					.put(ReviewIndex.document(rs.getInt(1), rs.getInt(2), rs.getString(3))), since);
+		}
+
+		lock.writeLock().lock();
+		try {
+			index = loaded;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		logger.info("Indexed {} reviews with {} terms {} in {} ms", loaded.size(), loaded.terms(),
+				markMillis == null ? "from the ratings table" : "from the snapshot",
+				(System.nanoTime() - start) / 1_000_000);
+		return loaded.size();
+	}
+
+	/**
+	 * Writes the index to the snapshot file, replacing the previous snapshot
+	 * only once the new one is complete.
+	 *
+	 * @return The number of reviews written, or 0 if snapshots are disabled.
+	 * @throws UncheckedIOException if the file cannot be written.
+	 */
+	public int writeSnapshot() {
+		if (snapshotPath == null) {
+			return 0;
+		}
+		// Taken before the copy, so whatever the copy misses is newer than the mark
+		long markMillis = System.currentTimeMillis();
+		List<ReviewIndex.Document> documents;
+		lock.readLock().lock();
+		try {
+			documents = index.documents();
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+		try {
+			if (snapshotPath.getParent() != null) {
+				Files.createDirectories(snapshotPath.getParent());
+			}
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temporary))))) {
+				ReviewIndex.writeSnapshot(documents, markMillis, out);
+			}
+			Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write the review index snapshot " + snapshotPath, e);
+		}
+		logger.info("Wrote {} reviews to the review index snapshot {}", documents.size(), snapshotPath);
+		return documents.size();
+	}
+
+	@Override
+	public List<ReviewSearchHit> search(String query, Integer restaurantId, int limit) {
+		List<String> terms = ReviewIndex.tokenize(query);
+		if (terms.isEmpty()) {
+			return List.of();
+		}
+		List<ReviewIndex.Match> matches;
+		lock.readLock().lock();
+		try {
+			matches = index.search(terms, restaurantId, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+		if (matches.isEmpty()) {
+			return List.of();
+		}
+
+		// Load the ratings of the matches only, with one query
+		Map<Integer, Rating> ratings = new HashMap<>();
+		ratingDao.findAllById(matches.stream().map(ReviewIndex.Match::ratingId).collect(Collectors.toList()))
+				.forEach(rating -> ratings.put(rating.getRatingId(), rating));
+
+		List<ReviewSearchHit> hits = new ArrayList<>(matches.size());
+		for (ReviewIndex.Match match : matches) {
+			// A rating deleted meanwhile is skipped
+			Rating rating = ratings.get(match.ratingId());
+			if (rating != null) {
+				hits.add(new ReviewSearchHit(match.ratingId(), match.restaurantId(), rating.getRating(),
+						rating.getReview(), match.score()));
+			}
+		}
+		return hits;
+	}
+
+	@Override
+	public void recordSaved(Collection<Rating> ratings) {
+		// Tokenized by the writer, so the write lock is only held to update the index
+		List<ReviewIndex.Document> documents = new ArrayList<>(ratings.size());
+		for (Rating rating : ratings) {
+			int restaurantId = rating.getRestaurant() == null ? 0 : rating.getRestaurant().getRestaurantId();
+			documents.add(ReviewIndex.document(rating.getRatingId(), restaurantId, rating.getReview()));
+		}
+		AfterCommit.run(() -> {
+			lock.writeLock().lock();
+			try {
+				documents.forEach(index::put);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	@Override
+	public void recordDeleted(int ratingId) {
+		AfterCommit.run(() -> {
+			lock.writeLock().lock();
+			try {
+				index.remove(ratingId);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	/**
+	 * Reads the snapshot file into the given index.
+	 *
+	 * @return The mark of the snapshot, or null if there is none or it cannot be
+	 *         read.
+	 */
+	private Long readSnapshot(ReviewIndex into) {
+		if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new GZIPInputStream(Files.newInputStream(snapshotPath))))) {
+			return into.readSnapshot(in);
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Could not read the review index snapshot {}, indexing all reviews: {}", snapshotPath,
+					e.toString());
+			into.documents().forEach(document -> into.remove(document.ratingId()));
+			return null;
+		}
+	}
+
+	private void writeSnapshotQuietly() {
+		try {
+			writeSnapshot();
+		} catch (RuntimeException e) {
+			logger.warn("Writing the review index snapshot failed, retrying on the next run: {}", e.toString());
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package com.fooddeliverysystem.service;
+
+/**
+ * What an autocomplete suggestion names.
+ */
+public enum SuggestionType {
+
+	/** A restaurant; the suggestion ID is its restaurant ID. */
+	RESTAURANT,
+
+	/** A menu item; the suggestion ID is its item ID. */
+	MENU_ITEM
+}
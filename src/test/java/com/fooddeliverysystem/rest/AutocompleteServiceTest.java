@@ -0,0 +1,199 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fooddeliverysystem.entity.MenuItem;
+import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.service.AutocompleteServiceImpl;
+import com.fooddeliverysystem.service.NameSuggestion;
+
+public class AutocompleteServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AutocompleteServiceImpl autocompleteService;
+
+    // The rows of the restaurant query: ID, name and order count
+    private final List<Object[]> restaurants = new ArrayList<>();
+
+    // The rows of the menu item query: ID, restaurant ID, name and ordered quantity
+    private final List<Object[]> menuItems = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        autocompleteService = new AutocompleteServiceImpl(jdbcTemplate, 0);
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : restaurants) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt(1)).thenReturn((int) row[0]);
+                when(rs.getString(2)).thenReturn((String) row[1]);
+                when(rs.getLong(3)).thenReturn((long) row[2]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("from restaurants"), any(RowCallbackHandler.class));
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : menuItems) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt(1)).thenReturn((int) row[0]);
+                when(rs.getInt(2)).thenReturn((int) row[1]);
+                when(rs.getString(3)).thenReturn((String) row[2]);
+                when(rs.getLong(4)).thenReturn((long) row[3]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("from menuitems"), any(RowCallbackHandler.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // Test that any word of a name matches, ignoring case, accents and punctuation, most popular first
+    @Test
+    void testSuggest_MatchesWordPrefixes() {
+        restaurants.add(new Object[] { 1, "Joe's Pizza", 12L });
+        restaurants.add(new Object[] { 2, "Caf\u00e9 Ol\u00e9", 30L });
+        restaurants.add(new Object[] { 3, "Pizza Pizza", 5L });
+        menuItems.add(new Object[] { 10, 1, "Pizza Margherita", 40L });
+        menuItems.add(new Object[] { 11, 2, "Cr\u00e8me br\u00fbl\u00e9e", 8L });
+
+        assertEquals(5, autocompleteService.load());
+
+        assertEquals(List.of("Pizza Margherita", "Joe's Pizza", "Pizza Pizza"), names("PIZ", 10));
+        assertEquals(List.of("Pizza Margherita"), names("piz", 1));
+        assertEquals(List.of("Joe's Pizza"), names("joes", 10));
+        assertEquals(List.of("Joe's Pizza"), names("joe's piz", 10));
+        assertEquals(List.of("Caf\u00e9 Ol\u00e9", "Cr\u00e8me br\u00fbl\u00e9e"), names("c", 10));
+        assertEquals(List.of("Cr\u00e8me br\u00fbl\u00e9e"), names("brule", 10));
+        assertEquals(List.of(), names("  ", 10));
+        assertEquals(List.of(), names("zzz", 10));
+
+        NameSuggestion first = autocompleteService.suggest("marg", 1).get(0);
+        assertEquals(10, first.id());
+        assertEquals(1, first.restaurantId());
+        assertEquals(40, first.popularity());
+    }
+
+    // Test that saves and deletes change the suggestions once their transaction commits
+    @Test
+    void testUpdates_AfterCommit() {
+        restaurants.add(new Object[] { 1, "Joe's Pizza", 12L });
+        menuItems.add(new Object[] { 10, 1, "Pizza Margherita", 40L });
+        menuItems.add(new Object[] { 11, 1, "Garlic Bread", 3L });
+        autocompleteService.load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        autocompleteService.updateMenuItem(menuItem(12, 1, "Pizza Funghi"));
+        autocompleteService.updateMenuItem(menuItem(10, 1, "Margherita"));
+        autocompleteService.removeMenuItem(11);
+        assertEquals(List.of("Pizza Margherita", "Joe's Pizza"), names("pi", 10));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        // The renamed item keeps its popularity; the new one starts from zero
+        assertEquals(List.of("Joe's Pizza", "Pizza Funghi"), names("pi", 10));
+        assertEquals(40, autocompleteService.suggest("marg", 1).get(0).popularity());
+        assertEquals(List.of(), names("gar", 10));
+
+        // Outside a transaction a change applies right away
+        autocompleteService.updateRestaurant(1, "Luigi's");
+        autocompleteService.updateRestaurant(2, "Green Garden");
+        assertEquals(List.of("Luigi's"), names("lu", 10));
+        autocompleteService.removeRestaurant(1);
+        assertEquals(List.of(), names("pi", 10));
+        assertEquals(List.of(), names("marg", 10));
+        assertEquals(List.of("Green Garden"), names("g", 10));
+    }
+
+    // Test that a popularity refresh reorders the suggestions without touching the names
+    @Test
+    void testRefreshPopularity() {
+        restaurants.add(new Object[] { 1, "Sushi Bar", 10L });
+        restaurants.add(new Object[] { 2, "Sushi Palace", 20L });
+        autocompleteService.load();
+        autocompleteService.updateRestaurant(2, "Sushi Garden");
+
+        restaurants.set(0, new Object[] { 1, "Sushi Bar", 50L });
+        restaurants.set(1, new Object[] { 2, "Sushi Palace", 20L });
+        assertEquals(1, autocompleteService.refreshPopularity());
+
+        assertEquals(List.of("Sushi Bar", "Sushi Garden"), names("sushi", 10));
+        assertEquals(50, autocompleteService.suggest("bar", 1).get(0).popularity());
+    }
+
+    // Test that the suggestions match a full scan after many random changes
+    @Test
+    void testRandomChanges_MatchFullScan() {
+        Random random = new Random(5);
+        String[] words = { "pad", "pasta", "pho", "pie", "pizza", "poke", "taco", "tapas", "tea", "thai" };
+        Map<Integer, String> expected = new HashMap<>();
+        autocompleteService.load();
+        for (int i = 0; i < 2000; i++) {
+            int itemId = random.nextInt(60);
+            if (random.nextInt(4) == 0) {
+                expected.remove(itemId);
+                autocompleteService.removeMenuItem(itemId);
+            } else {
+                String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                expected.put(itemId, name);
+                autocompleteService.updateMenuItem(menuItem(itemId, 1, name));
+            }
+
+            String prefix = words[random.nextInt(words.length)].substring(0, 1 + random.nextInt(2));
+            List<Integer> expectedIds = expected.entrySet().stream()
+                    .filter(entry -> entry.getValue().startsWith(prefix) || entry.getValue().contains(" " + prefix))
+                    .sorted(Map.Entry.<Integer, String>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(5).map(Map.Entry::getKey).collect(Collectors.toList());
+            assertEquals(expectedIds, autocompleteService.suggest(prefix, 5).stream().map(NameSuggestion::id)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private List<String> names(String prefix, int limit) {
+        return autocompleteService.suggest(prefix, limit).stream().map(NameSuggestion::name)
+                .collect(Collectors.toList());
+    }
+
+    private static MenuItem menuItem(int itemId, int restaurantId, String name) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(restaurantId);
+        MenuItem menuItem = new MenuItem();
+        menuItem.setItemId(itemId);
+        menuItem.setRestaurant(restaurant);
+        menuItem.setName(name);
+        return menuItem;
+    }
+}
@@ -0,0 +1,58 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fooddeliverysystem.service.BoundedTtlCache;
+import com.fooddeliverysystem.service.BoundedTtlStorageAccess;
+
+public class BoundedTtlStorageAccessTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private BoundedTtlStorageAccess storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new BoundedTtlStorageAccess(new BoundedTtlCache<>(2, Duration.ofMinutes(10), clock::get));
+    }
+
+    // Test that cached entries are returned until they are evicted
+    @Test
+    void testPutAndEvict() {
+        storage.putIntoCache(1, "Coupon 1", null);
+        storage.putIntoCache(2, "Coupon 2", null);
+
+        assertEquals("Coupon 1", storage.getFromCache(1, null));
+        assertTrue(storage.contains(2));
+
+        storage.evictData(1);
+        assertNull(storage.getFromCache(1, null));
+
+        storage.evictData();
+        assertFalse(storage.contains(2));
+        assertEquals(0, storage.size());
+    }
+
+    // Test that entries expire after the TTL and the region never grows past its bound
+    @Test
+    void testExpiryAndBound() {
+        storage.putIntoCache(1, "Coupon 1", null);
+        storage.putIntoCache(2, "Coupon 2", null);
+        storage.putIntoCache(3, "Coupon 3", null);
+
+        assertEquals(2, storage.size());
+        assertNull(storage.getFromCache(1, null));
+
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertNull(storage.getFromCache(3, null));
+    }
+}
@@ -0,0 +1,71 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.fooddeliverysystem.service.CacheStats;
+import com.fooddeliverysystem.service.CacheStatsServiceImpl;
+
+import jakarta.persistence.EntityManagerFactory;
+
+public class CacheStatsServiceTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    @Mock
+    private CacheRegionStatistics couponRegion;
+
+    private CacheStatsServiceImpl cacheStatsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        cacheStatsService = new CacheStatsServiceImpl(entityManagerFactory);
+    }
+
+    // Test that the overall, query cache and per region counters are reported
+    @Test
+    void testGetStats() {
+        // Mock data
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getSecondLevelCacheHitCount()).thenReturn(30L);
+        when(statistics.getSecondLevelCacheMissCount()).thenReturn(10L);
+        when(statistics.getQueryCacheHitCount()).thenReturn(8L);
+        when(statistics.getQueryCacheMissCount()).thenReturn(2L);
+        when(statistics.getSecondLevelCacheRegionNames())
+                .thenReturn(new String[] { "com.fooddeliverysystem.entity.Coupon" });
+        when(statistics.getCacheRegionStatistics("com.fooddeliverysystem.entity.Coupon")).thenReturn(couponRegion);
+        when(couponRegion.getHitCount()).thenReturn(5L);
+        when(couponRegion.getMissCount()).thenReturn(5L);
+        when(couponRegion.getPutCount()).thenReturn(5L);
+
+        // Call service method
+        CacheStats stats = cacheStatsService.getStats();
+
+        // Assert the result is as expected
+        assertEquals(30, stats.secondLevel().hits());
+        assertEquals(0.75, stats.secondLevel().hitRatio());
+        assertEquals(0.8, stats.queries().hitRatio());
+        assertEquals(1, stats.regions().size());
+        assertEquals("com.fooddeliverysystem.entity.Coupon", stats.regions().get(0).region());
+        assertEquals(0.5, stats.regions().get(0).hitRatio());
+    }
+}
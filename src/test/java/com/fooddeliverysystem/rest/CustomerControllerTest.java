@@ -2,16 +2,23 @@ package com.fooddeliverysystem.rest;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,26 +26,30 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fooddeliverysystem.dto.CustomerDto;
+import com.fooddeliverysystem.dto.CustomerSummary;
 import com.fooddeliverysystem.dto.DeliveryAddressDto;
 import com.fooddeliverysystem.dto.ListOfRestaurantsDto;
 import com.fooddeliverysystem.dto.RestaurantDto;
+import com.fooddeliverysystem.dto.RestaurantSummary;
 import com.fooddeliverysystem.entity.Customer;
 import com.fooddeliverysystem.entity.DeliveryAddress;
 import com.fooddeliverysystem.entity.Order;
 import com.fooddeliverysystem.entity.Rating;
-import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.service.CustomerFacadeImpl;
 import com.fooddeliverysystem.service.CustomerService;
 import com.fooddeliverysystem.service.DeliveryAddressService;
-import com.fooddeliverysystem.service.RestaurantService;
+import com.fooddeliverysystem.service.FavoriteService;
 
 import jakarta.persistence.EntityNotFoundException;
 
 @WebMvcTest(CustomerController.class)
+@Import(CustomerFacadeImpl.class)
 public class CustomerControllerTest {
 
 	@Autowired
@@ -51,7 +62,7 @@ public class CustomerControllerTest {
 	private DeliveryAddressService deliveryAddressService;
 
 	@MockBean
-	private RestaurantService restaurantService;
+	private FavoriteService favoriteService;
 
 	@Autowired
 	private ObjectMapper objectMapper;
@@ -91,11 +102,22 @@ public class CustomerControllerTest {
 
 	@Test
 	void testFindAll() throws Exception {
+		List<CustomerSummary> summaries = List.of(new CustomerSummary(1, "John Doe", "john@example.com", "1234567890", 3));
+
+		when(customerService.findAllSummaries()).thenReturn(summaries);
+
+		mockMvc.perform(get("/api/customers")).andExpect(status().isOk())
+				.andExpect(content().json(objectMapper.writeValueAsString(summaries)));
+		verify(customerService, never()).findAll();
+	}
+
+	@Test
+	void testFindAll_FullView() throws Exception {
 		List<Customer> customers = Arrays.asList(customer);
 
 		when(customerService.findAll()).thenReturn(customers);
 
-		mockMvc.perform(get("/api/customers")).andExpect(status().isOk())
+		mockMvc.perform(get("/api/customers").param("view", "full")).andExpect(status().isOk())
 				.andExpect(content().json(objectMapper.writeValueAsString(customers)));
 	}
 
@@ -155,7 +177,7 @@ public class CustomerControllerTest {
 	void testFindOrdersByCustomerId() throws Exception {
 		List<Order> orders = Arrays.asList(order);
 
-		when(customerService.findById(anyInt())).thenReturn(customer);
+		when(customerService.findByIdWithOrders(anyInt())).thenReturn(customer);
 
 		mockMvc.perform(get("/api/customers/{id}/orders", 1)).andExpect(status().isOk())
 				.andExpect(content().json(objectMapper.writeValueAsString(orders)));
@@ -163,7 +185,7 @@ public class CustomerControllerTest {
 
 	@Test
 	void testFindOrdersByCustomerId_NotFound() throws Exception {
-		when(customerService.findById(anyInt())).thenThrow(new EntityNotFoundException("Customer with ID 1 not found"));
+		when(customerService.findByIdWithOrders(anyInt())).thenThrow(new EntityNotFoundException("Customer with ID 1 not found"));
 
 		mockMvc.perform(get("/api/customers/{id}/orders", 1)).andExpect(status().isNotFound());
 	}
@@ -180,15 +202,26 @@ public class CustomerControllerTest {
 		ListOfRestaurantsDto listOfRestaurantsDto = new ListOfRestaurantsDto();
 		listOfRestaurantsDto.setRestaurants(Arrays.asList(new RestaurantDto()));
 
-		Restaurant restaurant = new Restaurant();
-		restaurant.setRestaurantId(1);
-
 		when(customerService.findById(anyInt())).thenReturn(customer);
-		when(restaurantService.findById(anyInt())).thenReturn(restaurant);
+		when(favoriteService.add(eq(1), any())).thenReturn(1);
 
 		mockMvc.perform(post("/api/customers/{id}/favorites", 1).contentType(MediaType.APPLICATION_JSON)
 				.content(objectMapper.writeValueAsString(listOfRestaurantsDto))).andExpect(status().isOk())
 				.andExpect(content().string("Customer's favorite restaurants retrieved successfully."));
+
+		verify(favoriteService).add(1, List.of(0));
+	}
+
+	@Test
+	void testAddRestaurantsToCustomerFavorites_RestaurantNotFound() throws Exception {
+		ListOfRestaurantsDto listOfRestaurantsDto = new ListOfRestaurantsDto();
+		listOfRestaurantsDto.setRestaurants(Arrays.asList(new RestaurantDto()));
+
+		when(customerService.findById(anyInt())).thenReturn(customer);
+		when(favoriteService.add(eq(1), any())).thenThrow(new EntityNotFoundException("Restaurant with ID 0 not found"));
+
+		mockMvc.perform(post("/api/customers/{id}/favorites", 1).contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(listOfRestaurantsDto))).andExpect(status().isNotFound());
 	}
 
 	@Test
@@ -208,4 +241,63 @@ public class CustomerControllerTest {
 
 		mockMvc.perform(delete("/api/customers/{id}/favorites/{restaurantId}", 1, 1)).andExpect(status().isNotFound());
 	}
+
+	@Test
+	void testRemoveRestaurantFromCustomerFavorites() throws Exception {
+		when(customerService.findById(anyInt())).thenReturn(customer);
+		when(favoriteService.remove(1, 2)).thenReturn(true);
+
+		mockMvc.perform(delete("/api/customers/{id}/favorites/{restaurantId}", 1, 2)).andExpect(status().isOk())
+				.andExpect(content().string("Restaurant removed from customer's favorites successfully."));
+	}
+
+	@Test
+	void testRemoveRestaurantFromCustomerFavorites_NotAFavorite() throws Exception {
+		when(customerService.findById(anyInt())).thenReturn(customer);
+		when(favoriteService.remove(1, 2)).thenReturn(false);
+
+		mockMvc.perform(delete("/api/customers/{id}/favorites/{restaurantId}", 1, 2)).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void testFindCustomerFavorites() throws Exception {
+		RestaurantSummary summary = new RestaurantSummary(2, "Pizza Place", "1 Main St", "555", 3, 2, 9, 0, 0, 0, 1, 1);
+
+		when(customerService.findById(anyInt())).thenReturn(customer);
+		when(favoriteService.findSummaries(List.of(1))).thenReturn(Map.of(1, List.of(summary)));
+
+		mockMvc.perform(get("/api/customers/{id}/favorites", 1)).andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].restaurantId").value(2)).andExpect(jsonPath("$[0].name").value("Pizza Place"));
+	}
+
+	@Test
+	void testIsCustomerFavorite() throws Exception {
+		when(customerService.findById(anyInt())).thenReturn(customer);
+		when(favoriteService.contains(1, 2)).thenReturn(true);
+
+		mockMvc.perform(get("/api/customers/{id}/favorites/{restaurantId}", 1, 2)).andExpect(status().isOk())
+				.andExpect(content().string("true"));
+	}
+
+	@Test
+	void testFindFavoritesOfCustomers() throws Exception {
+		RestaurantSummary summary = new RestaurantSummary(2, "Pizza Place", "1 Main St", "555", 3, 2, 9, 0, 0, 0, 1, 1);
+		Map<Integer, List<RestaurantSummary>> favorites = new LinkedHashMap<>();
+		favorites.put(1, List.of(summary));
+		favorites.put(3, List.of());
+
+		when(favoriteService.findSummaries(List.of(1, 3))).thenReturn(favorites);
+
+		mockMvc.perform(get("/api/customers/favorites").param("customerIds", "1,3")).andExpect(status().isOk())
+				.andExpect(jsonPath("$['1'][0].restaurantId").value(2)).andExpect(jsonPath("$['3']").isEmpty());
+	}
+
+	@Test
+	void testFindFavoritesOfCustomers_TooMany() throws Exception {
+		String customerIds = String.join(",", Collections.nCopies(CustomerController.MAX_FAVORITES_BATCH + 1, "1"));
+
+		mockMvc.perform(get("/api/customers/favorites").param("customerIds", customerIds))
+				.andExpect(status().isBadRequest());
+		verify(favoriteService, never()).findSummaries(any());
+	}
 }
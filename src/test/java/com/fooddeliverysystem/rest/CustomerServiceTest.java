@@ -32,35 +32,38 @@ public class CustomerServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
-    // Test method for findLastRecord
+    // Test method for findById
     @Test
-    void testFindLastRecord() {
+    void testFindById() {
         // Mock data
         Customer customer = new Customer();
-        customer.setCustomerId(10);
-        when(customerDao.findFirstByOrderByCustomerIdDesc()).thenReturn(customer);
+        customer.setCustomerId(1);
+        when(customerDao.findById(1)).thenReturn(Optional.of(customer));
 
         // Call service method
-        Customer result = customerService.findLastRecord();
+        Customer result = customerService.findById(1);
 
         // Assert the result is as expected
         assertEquals(customer, result);
     }
 
-    // Test method for findById
+    // Test method for findByIdWithOrders
     @Test
-    void testFindById() {
+    void testFindByIdWithOrders() {
         // Mock data
         Customer customer = new Customer();
         customer.setCustomerId(1);
-        when(customerDao.findById(1)).thenReturn(Optional.of(customer));
+        customer.setOrders(new ArrayList<>());
+        when(customerDao.findWithOrdersByCustomerId(1)).thenReturn(Optional.of(customer));
 
         // Call service method
-        Customer result = customerService.findById(1);
+        Customer result = customerService.findByIdWithOrders(1);
 
-        // Assert the result is as expected
+        // Assert the customer is loaded through the entity graph query
         assertEquals(customer, result);
+        verify(customerDao, times(1)).findWithOrdersByCustomerId(1);
     }
+
     // Test method for findAll
     @Test
     void testFindAll() {
@@ -1,10 +1,13 @@
 package com.fooddeliverysystem.rest;
 
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Arrays;
@@ -16,18 +19,27 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddeliverysystem.dao.DeliveryDriverDao;
 import com.fooddeliverysystem.dto.DeliveryDriverDto;
+import com.fooddeliverysystem.dto.DeliveryDriverSummary;
+import com.fooddeliverysystem.dto.DriverLocationPing;
 import com.fooddeliverysystem.entity.DeliveryDriver;
 import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.service.DeliveryDriverFacadeImpl;
 import com.fooddeliverysystem.service.DeliveryDriverService;
+import com.fooddeliverysystem.service.DriverLocationIngestServiceImpl;
+import com.fooddeliverysystem.service.DriverLocationServiceImpl;
 
 import jakarta.persistence.EntityNotFoundException;
 
 @WebMvcTest(DeliveryDriverController.class)
+@Import({ DeliveryDriverFacadeImpl.class, DriverLocationServiceImpl.class, DriverLocationIngestServiceImpl.class })
 public class DeliveryDriverControllerTest {
 
     @Autowired
@@ -36,6 +48,12 @@ public class DeliveryDriverControllerTest {
     @MockBean
     private DeliveryDriverService deliveryDriverService;
 
+    @MockBean
+    private DeliveryDriverDao deliveryDriverDao;
+
+    @MockBean
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -58,15 +76,32 @@ public class DeliveryDriverControllerTest {
 
     @Test
     void testFindAll() throws Exception {
+        List<DeliveryDriverSummary> summaries = List.of(new DeliveryDriverSummary(1, "Jane Roe", "1234567890", "Bike", 2));
+
+        when(deliveryDriverService.findAllSummaries()).thenReturn(summaries);
+
+        mockMvc.perform(get("/api/drivers"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(summaries)));
+    }
+
+    @Test
+    void testFindAll_FullView() throws Exception {
         List<DeliveryDriver> drivers = Arrays.asList(driver);
 
         when(deliveryDriverService.findAll()).thenReturn(drivers);
 
-        mockMvc.perform(get("/api/drivers"))
+        mockMvc.perform(get("/api/drivers").param("view", "full"))
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(drivers)));
     }
 
+    @Test
+    void testFindAll_InvalidView() throws Exception {
+        mockMvc.perform(get("/api/drivers").param("view", "everything"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testFindById() throws Exception {
         when(deliveryDriverService.findById(anyInt())).thenReturn(driver);
@@ -111,6 +146,93 @@ public class DeliveryDriverControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void testUpdateLocation_IndexesCoordinates() throws Exception {
+        DeliveryDriverDto deliveryDriverDto = new DeliveryDriverDto();
+        deliveryDriverDto.setLatitude(34.0522);
+        deliveryDriverDto.setLongitude(-118.2437);
+
+        when(deliveryDriverService.findById(anyInt())).thenReturn(driver);
+
+        mockMvc.perform(put("/api/drivers/{id}/location", 7)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(deliveryDriverDto)))
+                .andExpect(status().isOk());
+
+        // The indexed position is returned by the location and query endpoints
+        mockMvc.perform(get("/api/drivers/{id}/location", 7))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.latitude").value(34.0522));
+        mockMvc.perform(get("/api/drivers/nearest").param("latitude", "34.05").param("longitude", "-118.24")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].deliveryDriverId").value(7));
+        mockMvc.perform(get("/api/drivers/nearby").param("latitude", "34.05").param("longitude", "-118.24")
+                .param("radiusKm", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].deliveryDriverId").value(7));
+    }
+
+    @Test
+    void testUpdateLocation_InvalidCoordinates() throws Exception {
+        DeliveryDriverDto deliveryDriverDto = new DeliveryDriverDto();
+        deliveryDriverDto.setLatitude(91.0);
+
+        when(deliveryDriverService.findById(anyInt())).thenReturn(driver);
+
+        mockMvc.perform(put("/api/drivers/{id}/location", 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(deliveryDriverDto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFindLocation_NotReported() throws Exception {
+        when(deliveryDriverService.findById(anyInt())).thenReturn(driver);
+
+        mockMvc.perform(get("/api/drivers/{id}/location", 99))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testFindNearest_InvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/drivers/nearest").param("latitude", "34.05").param("longitude", "-118.24")
+                .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testIngestLocations() throws Exception {
+        List<DriverLocationPing> pings = List.of(
+                new DriverLocationPing(11, 40.7128, -74.0060, null),
+                new DriverLocationPing(12, 40.7130, -74.0062, null));
+
+        // Only driver 11 exists
+        when(deliveryDriverDao.findExistingIds(anyCollection())).thenReturn(List.of(11));
+
+        mockMvc.perform(post("/api/drivers/locations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(pings)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0]").value("pings[1]: Delivery Driver with ID 12 not found"));
+
+        // The accepted fix is kept with the recent fixes of the driver
+        when(deliveryDriverService.findById(anyInt())).thenReturn(driver);
+        mockMvc.perform(get("/api/drivers/{id}/location/recent", 11))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].latitude").value(40.7128));
+    }
+
+    @Test
+    void testIngestLocations_EmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/drivers/locations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testFindOrdersByDeliveryDriver() throws Exception {
         Order order = new Order(); // Initialize and set order properties
@@ -120,7 +242,7 @@ public class DeliveryDriverControllerTest {
         driver.setOrders(orders);
 
         // Mock the service to return the driver
-        when(deliveryDriverService.findById(anyInt())).thenReturn(driver);
+        when(deliveryDriverService.findByIdWithOrders(anyInt())).thenReturn(driver);
 
         mockMvc.perform(get("/api/drivers/{id}/orders", 1))
                 .andExpect(status().isOk())
@@ -130,7 +252,7 @@ public class DeliveryDriverControllerTest {
 
     @Test
     void testFindOrdersByDeliveryDriver_NotFound() throws Exception {
-        when(deliveryDriverService.findById(anyInt())).thenThrow(new EntityNotFoundException("Delivery Driver with ID 1 not found"));
+        when(deliveryDriverService.findByIdWithOrders(anyInt())).thenThrow(new EntityNotFoundException("Delivery Driver with ID 1 not found"));
 
         mockMvc.perform(get("/api/drivers/{id}/orders", 1))
                 .andExpect(status().isNotFound());
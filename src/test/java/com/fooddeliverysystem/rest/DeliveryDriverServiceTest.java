@@ -2,6 +2,7 @@ package com.fooddeliverysystem.rest;
 
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -46,6 +47,19 @@ public class DeliveryDriverServiceTest {
         assertEquals(deliveryDriver, result);
     }
 
+    // Test method for findByIdWithOrders
+    @Test
+    void testFindByIdWithOrders_NotFound() {
+        // Mock data
+        when(deliveryDriverDao.findWithOrdersByDriverId(1)).thenReturn(Optional.empty());
+
+        // Call service method
+        DeliveryDriver result = deliveryDriverService.findByIdWithOrders(1);
+
+        // Assert no driver is returned
+        assertNull(result);
+    }
+
     // Test method for findAll
     @Test
     void testFindAll() {
@@ -0,0 +1,256 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fooddeliverysystem.dao.OrderDao;
+import com.fooddeliverysystem.dto.UnassignedOrder;
+import com.fooddeliverysystem.entity.DeliveryDriver;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.service.DispatchCostFunction;
+import com.fooddeliverysystem.service.DispatchOptimizerServiceImpl;
+import com.fooddeliverysystem.service.DispatchTickStats;
+import com.fooddeliverysystem.service.DriverDispatchService;
+import com.fooddeliverysystem.service.DriverLocationIndex;
+import com.fooddeliverysystem.service.DriverLocationServiceImpl;
+import com.fooddeliverysystem.service.OrderFacade;
+
+public class DispatchOptimizerServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 7, 1, 12, 0);
+
+    // All positions lie on this parallel, 0.01 degrees of longitude apart being about 0.68 km
+    private static final double LATITUDE = 52.52;
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private OrderFacade orderFacade;
+
+    @Mock
+    private DriverDispatchService driverDispatchService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DriverLocationServiceImpl driverLocationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        driverLocationService = new DriverLocationServiceImpl(0.01, Duration.ofMinutes(15), clock);
+        when(driverDispatchService.freeSlots(anyInt())).thenReturn(1);
+        when(driverDispatchService.activeOrders(anyInt())).thenReturn(0);
+        when(orderFacade.findById(anyInt())).thenAnswer(invocation -> order(invocation.getArgument(0)));
+    }
+
+    // Test that the tick minimizes the total distance where assigning the oldest order first would not
+    @Test
+    void testRunTick_FindsGlobalOptimum() {
+        // Order 1 at 0, order 2 at 2; driver 1 at 1, driver 2 at -1.5 (in 0.01 degrees)
+        pending(unassigned(1, 0), unassigned(2, 0.02));
+        driverLocationService.update(1, LATITUDE, 0.01);
+        driverLocationService.update(2, LATITUDE, -0.015);
+
+        DispatchTickStats stats = optimizer(DispatchCostFunction.DISTANCE, 64).runTick();
+
+        // Greedily order 1 would take driver 1 and leave order 2 the long trip
+        verify(orderFacade).assignDriver(1, 2);
+        verify(orderFacade).assignDriver(2, 1);
+        assertEquals(2, stats.pendingOrders());
+        assertEquals(2, stats.availableDrivers());
+        assertEquals(1, stats.components());
+        assertEquals(2, stats.assignedOrders());
+        assertEquals(distance(0, -0.015) + distance(0.02, 0.01), stats.totalDistanceKm(), 1e-9);
+    }
+
+    // Test that a driver with room for several orders takes them, and busy drivers cost more
+    @Test
+    void testRunTick_UsesFreeSlotsAndLoad() {
+        pending(unassigned(1, 0), unassigned(2, 0), unassigned(3, 0));
+        driverLocationService.update(1, LATITUDE, 0.001);
+        driverLocationService.update(2, LATITUDE, 0.03);
+        when(driverDispatchService.freeSlots(1)).thenReturn(2);
+
+        DispatchTickStats stats = optimizer(DispatchCostFunction.DISTANCE, 64).runTick();
+
+        // Driver 1 takes two orders, the third goes to driver 2
+        verify(orderFacade, times(2)).assignDriver(anyInt(), eq(1));
+        verify(orderFacade, times(1)).assignDriver(anyInt(), eq(2));
+        assertEquals(3, stats.assignedOrders());
+    }
+
+    // Test that orders without a reachable driver stay pending and drivers without room are skipped
+    @Test
+    void testRunTick_LeavesUnreachableOrders() {
+        pending(unassigned(1, 0), unassigned(2, 0.001), unassigned(3, 2));
+        driverLocationService.update(1, LATITUDE, 0.002);
+        driverLocationService.update(2, LATITUDE, 0.003);
+        when(driverDispatchService.freeSlots(2)).thenReturn(0);
+
+        DispatchTickStats stats = optimizer(DispatchCostFunction.DISTANCE, 64).runTick();
+
+        assertEquals(3, stats.pendingOrders());
+        assertEquals(1, stats.availableDrivers());
+        assertEquals(1, stats.assignedOrders());
+        verify(orderFacade, never()).assignDriver(3, 1);
+        verify(orderFacade, never()).assignDriver(anyInt(), eq(2));
+    }
+
+    // Test that independent groups are solved on the solver threads
+    @Test
+    void testRunTick_SolvesGroupsInParallel() {
+        pending(unassigned(1, 0), unassigned(2, 1), unassigned(3, 2));
+        driverLocationService.update(1, LATITUDE, 0.001);
+        driverLocationService.update(2, LATITUDE, 1.001);
+        driverLocationService.update(3, LATITUDE, 2.001);
+
+        DispatchTickStats stats = optimizer(DispatchCostFunction.DISTANCE, 1).runTick();
+
+        assertEquals(3, stats.components());
+        verify(orderFacade).assignDriver(1, 1);
+        verify(orderFacade).assignDriver(2, 2);
+        verify(orderFacade).assignDriver(3, 3);
+    }
+
+    // Test that an order assigned meanwhile keeps its driver and a failing batch is retried one by one
+    @Test
+    void testRunTick_AppliesSafely() {
+        pending(unassigned(1, 0), unassigned(2, 0.02));
+        driverLocationService.update(1, LATITUDE, 0.001);
+        driverLocationService.update(2, LATITUDE, 0.021);
+        Order assigned = order(1);
+        assigned.setDeliveryDriver(new DeliveryDriver());
+        when(orderFacade.findById(1)).thenReturn(assigned);
+        when(orderFacade.assignDriver(2, 2)).thenThrow(new OptimisticLockingFailureException("changed"))
+                .thenReturn(new DeliveryDriver());
+
+        DispatchTickStats stats = optimizer(DispatchCostFunction.DISTANCE, 64).runTick();
+
+        verify(orderFacade, never()).assignDriver(1, 1);
+        verify(orderFacade, times(2)).assignDriver(2, 2);
+        assertEquals(1, stats.assignedOrders());
+    }
+
+    // Test that the solution matches an exhaustive search on random instances, for both cost functions
+    @Test
+    void testRunTick_MatchesBruteForce() {
+        Random random = new Random(42);
+        for (DispatchCostFunction costFunction : DispatchCostFunction.values()) {
+            for (int round = 0; round < 20; round++) {
+                setUp();
+                int orders = 1 + random.nextInt(5);
+                int drivers = 1 + random.nextInt(5);
+                double[] orderPositions = new double[orders];
+                double[] driverPositions = new double[drivers];
+                List<UnassignedOrder> unassigned = new ArrayList<>();
+                for (int i = 0; i < orders; i++) {
+                    orderPositions[i] = random.nextDouble() * 0.1;
+                    unassigned.add(unassigned(i + 1, orderPositions[i]));
+                }
+                for (int j = 0; j < drivers; j++) {
+                    driverPositions[j] = random.nextDouble() * 0.1;
+                    driverLocationService.update(j + 1, LATITUDE, driverPositions[j]);
+                }
+                when(orderDao.findUnassigned(anyCollection(), any(Pageable.class))).thenReturn(unassigned);
+                List<Integer> assignedDrivers = new ArrayList<>();
+                when(orderFacade.assignDriver(anyInt(), anyInt())).thenAnswer(invocation -> {
+                    assignedDrivers.add(invocation.getArgument(0));
+                    assignedDrivers.add(invocation.getArgument(1));
+                    return new DeliveryDriver();
+                });
+
+                optimizer(costFunction, 64).runTick();
+
+                double cost = 0;
+                for (int k = 0; k < assignedDrivers.size(); k += 2) {
+                    double distance = distance(orderPositions[assignedDrivers.get(k) - 1],
+                            driverPositions[assignedDrivers.get(k + 1) - 1]);
+                    cost += costFunction.cost(distance, 0, 0);
+                }
+                assertEquals(Math.min(orders, drivers) * 2, assignedDrivers.size());
+                assertEquals(bruteForce(costFunction, orderPositions, driverPositions, 0, new boolean[drivers]),
+                        cost, 1e-9);
+            }
+        }
+    }
+
+    private DispatchOptimizerServiceImpl optimizer(DispatchCostFunction costFunction, int parallelThreshold) {
+        return new DispatchOptimizerServiceImpl(orderDao, orderFacade, driverDispatchService, driverLocationService,
+                transactionManager, false, 10000, costFunction, 500, 10, 4, parallelThreshold, 15, 2,
+                new String[] { "Delivered" });
+    }
+
+    private void pending(UnassignedOrder... orders) {
+        when(orderDao.findUnassigned(anyCollection(), any(Pageable.class))).thenReturn(List.of(orders));
+    }
+
+    private static UnassignedOrder unassigned(int orderId, double longitude) {
+        return new UnassignedOrder(orderId, LATITUDE, longitude);
+    }
+
+    private static Order order(int orderId) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setOrderStatus("Pending");
+        return order;
+    }
+
+    private static double distance(double longitude1, double longitude2) {
+        return DriverLocationIndex.distanceKm(LATITUDE, longitude1, LATITUDE, longitude2);
+    }
+
+    /**
+     * Returns the minimal cost of pairing the orders from the given one on with
+     * distinct free drivers, pairing as many as possible.
+     */
+    private static double bruteForce(DispatchCostFunction costFunction, double[] orders, double[] drivers, int order,
+            boolean[] taken) {
+        int remainingDrivers = 0;
+        for (boolean isTaken : taken) {
+            remainingDrivers += isTaken ? 0 : 1;
+        }
+        if (order == orders.length || remainingDrivers == 0) {
+            return 0;
+        }
+        double best = Double.POSITIVE_INFINITY;
+        // Skipping an order is only allowed when there are more orders than drivers left
+        if (orders.length - order > remainingDrivers) {
+            best = bruteForce(costFunction, orders, drivers, order + 1, taken);
+        }
+        for (int driver = 0; driver < drivers.length; driver++) {
+            if (!taken[driver]) {
+                taken[driver] = true;
+                best = Math.min(best, costFunction.cost(distance(orders[order], drivers[driver]), 0, 0)
+                        + bruteForce(costFunction, orders, drivers, order + 1, taken));
+                taken[driver] = false;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,134 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.fooddeliverysystem.dao.OrderDao;
+import com.fooddeliverysystem.dto.DriverAssignment;
+import com.fooddeliverysystem.exception.NoDriverAvailableException;
+import com.fooddeliverysystem.service.DriverDispatchServiceImpl;
+import com.fooddeliverysystem.service.DriverLocationServiceImpl;
+import com.fooddeliverysystem.service.NearbyDriver;
+
+public class DriverDispatchServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 7, 1, 12, 0);
+
+    // The restaurant every order is picked up from
+    private static final double LATITUDE = 52.52;
+    private static final double LONGITUDE = 13.405;
+
+    @Mock
+    private OrderDao orderDao;
+
+    private DriverLocationServiceImpl driverLocationService;
+    private DriverDispatchServiceImpl dispatchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        driverLocationService = new DriverLocationServiceImpl(0.01, Duration.ofMinutes(15), clock);
+        // 20 candidates, 15 km at most, 2 active orders at most, 2 km penalty per active order
+        dispatchService = new DriverDispatchServiceImpl(driverLocationService, orderDao, 20, 15, 2, 2, 60000,
+                new String[] { "Delivered", " Cancelled " });
+        when(orderDao.findActiveAssignments(anyCollection())).thenReturn(List.of());
+    }
+
+    // Test that the closest idle driver is chosen and counts the order
+    @Test
+    void testReserve_ChoosesClosestDriver() {
+        driverLocationService.update(1, LATITUDE + 0.02, LONGITUDE);
+        driverLocationService.update(2, LATITUDE + 0.01, LONGITUDE);
+
+        NearbyDriver chosen = dispatchService.reserve(100, LATITUDE, LONGITUDE);
+
+        assertEquals(2, chosen.deliveryDriverId());
+        assertEquals(1, dispatchService.activeOrders(2));
+        assertEquals(0, dispatchService.activeOrders(1));
+    }
+
+    // Test that a busy driver loses to an idle one slightly further away
+    @Test
+    void testReserve_PrefersLessLoadedDriver() {
+        driverLocationService.update(1, LATITUDE + 0.01, LONGITUDE); // about 1.1 km
+        driverLocationService.update(2, LATITUDE + 0.02, LONGITUDE); // about 2.2 km
+        dispatchService.track(1, 1, "Pending");
+
+        // 1.1 km + 2 km penalty is worse than 2.2 km
+        assertEquals(2, dispatchService.reserve(100, LATITUDE, LONGITUDE).deliveryDriverId());
+    }
+
+    // Test that drivers at capacity or out of range are never chosen
+    @Test
+    void testReserve_NoDriverAvailable() {
+        driverLocationService.update(1, LATITUDE + 0.01, LONGITUDE);
+        driverLocationService.update(2, LATITUDE + 1, LONGITUDE); // over 100 km away
+        dispatchService.track(1, 1, "Pending");
+        dispatchService.track(2, 1, "Pending");
+
+        assertThrows(NoDriverAvailableException.class, () -> dispatchService.reserve(100, LATITUDE, LONGITUDE));
+        assertEquals(2, dispatchService.activeOrders(1));
+    }
+
+    // Test that finished, deleted and reassigned orders stop counting for their driver
+    @Test
+    void testTrack_FollowsOrderState() {
+        dispatchService.track(1, 1, "Pending");
+        dispatchService.track(2, 1, "Pending");
+        dispatchService.track(3, 1, "Pending");
+        assertEquals(3, dispatchService.activeOrders(1));
+
+        dispatchService.track(1, 1, "delivered");
+        dispatchService.release(2);
+        dispatchService.track(3, 2, "Pending");
+
+        assertEquals(0, dispatchService.activeOrders(1));
+        assertEquals(1, dispatchService.activeOrders(2));
+    }
+
+    // Test that the counts start from the database and are only loaded once
+    @Test
+    void testReserve_LoadsAssignmentsFromDatabase() {
+        when(orderDao.findActiveAssignments(anyCollection()))
+                .thenReturn(List.of(new DriverAssignment(1, 1), new DriverAssignment(2, 1)));
+        driverLocationService.update(1, LATITUDE + 0.01, LONGITUDE);
+        driverLocationService.update(2, LATITUDE + 0.05, LONGITUDE);
+
+        // Driver 1 is closer but already at capacity
+        assertEquals(2, dispatchService.reserve(100, LATITUDE, LONGITUDE).deliveryDriverId());
+        assertEquals(2, dispatchService.reserve(101, LATITUDE, LONGITUDE).deliveryDriverId());
+
+        assertEquals(2, dispatchService.activeOrders(1));
+        assertEquals(2, dispatchService.activeOrders(2));
+        verify(orderDao, times(1)).findActiveAssignments(anyCollection());
+    }
+
+    // Test that a rebuild replaces the counts with those in the database
+    @Test
+    void testResync_ReplacesCounts() {
+        dispatchService.resync();
+        dispatchService.track(1, 1, "Pending");
+        when(orderDao.findActiveAssignments(anyCollection())).thenReturn(List.of(new DriverAssignment(2, 3)));
+
+        dispatchService.resync();
+
+        assertEquals(0, dispatchService.activeOrders(1));
+        assertEquals(1, dispatchService.activeOrders(3));
+    }
+}
@@ -0,0 +1,177 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fooddeliverysystem.service.DriverLocation;
+import com.fooddeliverysystem.service.DriverLocationIndex;
+import com.fooddeliverysystem.service.DriverLocationServiceImpl;
+import com.fooddeliverysystem.service.NearbyDriver;
+
+public class DriverLocationIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 7, 1, 12, 0);
+
+    private DriverLocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DriverLocationIndex(0.01);
+    }
+
+    // Test that the nearest drivers match a full scan, for points spread over a city
+    @Test
+    void testNearest_MatchesFullScan() {
+        Random random = new Random(42);
+        for (int id = 1; id <= 2000; id++) {
+            index.put(location(id, 40.6 + random.nextDouble() * 0.3, -74.1 + random.nextDouble() * 0.3));
+        }
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = 40.6 + random.nextDouble() * 0.3;
+            double longitude = -74.1 + random.nextDouble() * 0.3;
+
+            // Assert the same drivers are found, in the same order
+            assertEquals(ids(fullScan(latitude, longitude, Double.MAX_VALUE, 5)),
+                    ids(index.nearest(latitude, longitude, 5, location -> true)));
+        }
+    }
+
+    // Test that a radius query matches a full scan
+    @Test
+    void testWithinRadius_MatchesFullScan() {
+        Random random = new Random(7);
+        for (int id = 1; id <= 2000; id++) {
+            index.put(location(id, 51.3 + random.nextDouble() * 0.4, -0.4 + random.nextDouble() * 0.6));
+        }
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = 51.3 + random.nextDouble() * 0.4;
+            double longitude = -0.4 + random.nextDouble() * 0.6;
+
+            // Assert every driver within 3 km is found and no other
+            assertEquals(ids(fullScan(latitude, longitude, 3, Integer.MAX_VALUE)),
+                    ids(index.withinRadius(latitude, longitude, 3, Integer.MAX_VALUE, location -> true)));
+        }
+    }
+
+    // Test that a driver moving to another cell is only found at its new position
+    @Test
+    void testPut_MovesDriverBetweenCells() {
+        index.put(location(1, 48.8566, 2.3522));
+        index.put(location(1, 48.9000, 2.5000));
+
+        // Assert the old position no longer matches and the new one does
+        assertTrue(index.withinRadius(48.8566, 2.3522, 1, 10, location -> true).isEmpty());
+        assertEquals(List.of(1), ids(index.withinRadius(48.9000, 2.5000, 1, 10, location -> true)));
+        assertEquals(1, index.size());
+    }
+
+    // Test that queries find drivers on the other side of the antimeridian
+    @Test
+    void testQueries_WrapAroundAntimeridian() {
+        index.put(location(1, -17.0, 179.999));
+        index.put(location(2, -17.0, 170.0));
+
+        // Assert the driver a few hundred metres across the date line is found
+        List<NearbyDriver> nearby = index.withinRadius(-17.0, -179.999, 1, 10, location -> true);
+        assertEquals(List.of(1), ids(nearby));
+        assertEquals(0.21, nearby.get(0).distanceKm(), 0.01);
+        assertEquals(List.of(1, 2), ids(index.nearest(-17.0, -179.999, 2, location -> true)));
+    }
+
+    // Test that removed drivers and filtered positions are not returned
+    @Test
+    void testQueries_SkipRemovedAndFiltered() {
+        index.put(location(1, 35.0, 139.0));
+        index.put(location(2, 35.001, 139.001));
+        index.put(location(3, 35.002, 139.002));
+        index.remove(1);
+
+        // Assert only the drivers passing the filter remain
+        assertNull(index.get(1));
+        assertEquals(List.of(3), ids(index.nearest(35.0, 139.0, 5, location -> location.deliveryDriverId() != 2)));
+    }
+
+    // Test that the service stops returning positions older than the maximum age
+    @Test
+    void testService_SkipsStalePositions() {
+        MutableClock clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        DriverLocationServiceImpl service = new DriverLocationServiceImpl(0.01, Duration.ofMinutes(15), clock);
+        service.update(1, 35.0, 139.0);
+        clock.advance(Duration.ofMinutes(10));
+        service.update(2, 35.001, 139.001);
+        clock.advance(Duration.ofMinutes(10));
+
+        // Assert only the position reported within the last 15 minutes is returned
+        assertNull(service.findById(1));
+        assertEquals(List.of(2), ids(service.findNearest(35.0, 139.0, 5)));
+        assertEquals(List.of(2), ids(service.findWithinRadius(35.0, 139.0, 1, 5)));
+    }
+
+    private DriverLocation location(int id, double latitude, double longitude) {
+        return new DriverLocation(id, latitude, longitude, NOW);
+    }
+
+    /**
+     * Returns the drivers within the radius by checking every stored driver.
+     */
+    private List<NearbyDriver> fullScan(double latitude, double longitude, double radiusKm, int limit) {
+        return IntStream.rangeClosed(1, index.size()).mapToObj(index::get)
+                .map(location -> new NearbyDriver(location.deliveryDriverId(), location.latitude(),
+                        location.longitude(), DriverLocationIndex.distanceKm(latitude, longitude,
+                                location.latitude(), location.longitude()), location.updatedAt()))
+                .filter(driver -> driver.distanceKm() <= radiusKm)
+                .sorted(Comparator.comparingDouble(NearbyDriver::distanceKm)).limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> ids(List<NearbyDriver> drivers) {
+        return drivers.stream().map(NearbyDriver::deliveryDriverId).collect(Collectors.toList());
+    }
+
+    /**
+     * A clock that only moves when told to.
+     */
+    private static class MutableClock extends java.time.Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public java.time.Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
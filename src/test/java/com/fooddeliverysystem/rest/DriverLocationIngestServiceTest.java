@@ -0,0 +1,150 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import com.fooddeliverysystem.dao.DeliveryDriverDao;
+import com.fooddeliverysystem.dto.DriverLocationPing;
+import com.fooddeliverysystem.service.DriverLocation;
+import com.fooddeliverysystem.service.DriverLocationBatchResult;
+import com.fooddeliverysystem.service.DriverLocationIngestServiceImpl;
+import com.fooddeliverysystem.service.DriverLocationServiceImpl;
+
+public class DriverLocationIngestServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 7, 1, 12, 0);
+
+    @Mock
+    private DeliveryDriverDao deliveryDriverDao;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private DriverLocationServiceImpl driverLocationService;
+    private DriverLocationIngestServiceImpl ingestService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        driverLocationService = new DriverLocationServiceImpl(0.01, Duration.ofMinutes(15), clock);
+        ingestService = new DriverLocationIngestServiceImpl(driverLocationService, deliveryDriverDao, jdbcTemplate, 4,
+                5000, 500, clock);
+        when(deliveryDriverDao.findExistingIds(anyCollection())).thenReturn(List.of(1, 2));
+    }
+
+    // Test that invalid pings and pings of unknown drivers are dropped without failing the batch
+    @Test
+    void testIngest_RejectsInvalidPings() {
+        DriverLocationBatchResult result = ingestService.ingest(List.of(
+                ping(1, 52.52, 13.40, NOW.minusSeconds(5)),
+                ping(2, 95.0, 13.40, NOW),
+                ping(3, 52.52, 13.40, NOW),
+                ping(2, 52.52, 13.40, NOW.plusHours(1))));
+
+        // Assert only the first ping is stored and the others are explained
+        assertEquals(1, result.accepted());
+        assertEquals(3, result.rejected());
+        assertEquals(List.of("pings[1]: latitude must be between -90 and 90",
+                "pings[3]: timestamp must not be in the future",
+                "pings[2]: Delivery Driver with ID 3 not found"), result.errors());
+        assertEquals(52.52, driverLocationService.findById(1).latitude());
+    }
+
+    // Test that drivers are looked up once and then remembered
+    @Test
+    void testIngest_LooksUpDriversOnce() {
+        ingestService.ingest(List.of(ping(1, 52.52, 13.40, NOW), ping(2, 52.53, 13.41, NOW)));
+        ingestService.ingest(List.of(ping(1, 52.54, 13.42, NOW), ping(2, 52.55, 13.43, NOW)));
+
+        // Assert the database is only asked about the drivers of the first batch
+        verify(deliveryDriverDao, times(1)).findExistingIds(anyCollection());
+    }
+
+    // Test that only the latest fix of each driver is written, in one batch
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_CoalescesLatestFixPerDriver() {
+        ingestService.ingest(List.of(
+                ping(1, 52.50, 13.40, NOW.minusSeconds(10)),
+                ping(1, 52.52, 13.42, NOW.minusSeconds(2)),
+                ping(1, 52.51, 13.41, NOW.minusSeconds(6)),
+                ping(2, 48.85, 2.35, NOW.minusSeconds(3))));
+
+        assertEquals(2, ingestService.flush());
+
+        // Assert one row per driver, carrying its newest fix
+        ArgumentCaptor<Collection<DriverLocation>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), eq(500),
+                any(ParameterizedPreparedStatementSetter.class));
+        List<DriverLocation> written = new ArrayList<>(batch.getValue());
+        written.sort((a, b) -> Integer.compare(a.deliveryDriverId(), b.deliveryDriverId()));
+        assertEquals(52.52, written.get(0).latitude());
+        assertEquals(48.85, written.get(1).latitude());
+
+        // Assert nothing is written again until a newer fix arrives
+        assertEquals(0, ingestService.flush());
+        ingestService.ingest(List.of(ping(1, 52.50, 13.40, NOW.minusSeconds(30))));
+        assertEquals(0, ingestService.flush());
+        ingestService.ingest(List.of(ping(1, 52.53, 13.43, NOW)));
+        assertEquals(1, ingestService.flush());
+    }
+
+    // Test that a failed flush is retried with the next one
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_RetriesAfterFailure() {
+        ingestService.ingest(List.of(ping(1, 52.52, 13.40, NOW)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"))
+                .thenReturn(new int[][] { { 1 } });
+
+        // Assert the fix is still pending after the failure
+        assertThrows(DataAccessResourceFailureException.class, () -> ingestService.flush());
+        assertEquals(1, ingestService.flush());
+    }
+
+    // Test that the ring keeps only the most recent fixes
+    @Test
+    void testFindRecent_KeepsLastFixes() {
+        for (int i = 0; i < 6; i++) {
+            ingestService.ingest(List.of(ping(1, 52.50 + i / 100.0, 13.40, NOW.minusSeconds(60 - i))));
+        }
+
+        // Assert the ring of four holds the last four fixes, oldest first
+        List<DriverLocation> recent = ingestService.findRecent(1);
+        assertEquals(4, recent.size());
+        assertEquals(NOW.minusSeconds(58), recent.get(0).updatedAt());
+        assertEquals(NOW.minusSeconds(55), recent.get(3).updatedAt());
+    }
+
+    private static DriverLocationPing ping(int driverId, double latitude, double longitude, LocalDateTime timestamp) {
+        return new DriverLocationPing(driverId, latitude, longitude, timestamp);
+    }
+}
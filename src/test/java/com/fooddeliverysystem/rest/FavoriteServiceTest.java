@@ -0,0 +1,227 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.fooddeliverysystem.dao.RestaurantDao;
+import com.fooddeliverysystem.dto.RestaurantSummary;
+import com.fooddeliverysystem.service.FavoriteServiceImpl;
+
+import jakarta.persistence.EntityNotFoundException;
+
+public class FavoriteServiceTest {
+
+    @Mock
+    private RestaurantDao restaurantDao;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private FavoriteServiceImpl favoriteService;
+
+    // The IDs of the customers table
+    private final Set<Integer> customers = new HashSet<>(List.of(1, 2, 3));
+
+    // The rows of customer_favorites, as customer ID and restaurant ID pairs
+    private final List<int[]> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        favoriteService = new FavoriteServiceImpl(restaurantDao, jdbcTemplate);
+
+        // Every restaurant exists
+        when(restaurantDao.findExistingIds(anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<Integer>>getArgument(0)));
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            Set<Object> customerIds = new HashSet<>(Arrays.asList(invocation.getArguments()).subList(2,
+                    invocation.getArguments().length));
+            // The customers left joined with their favorites
+            for (Object customerId : customerIds) {
+                if (!customers.contains(customerId)) {
+                    continue;
+                }
+                List<int[]> favorites = rows.stream().filter(row -> customerId.equals(row[0]))
+                        .collect(Collectors.toList());
+                if (favorites.isEmpty()) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getInt(1)).thenReturn((Integer) customerId);
+                    when(rs.wasNull()).thenReturn(true);
+                    handler.processRow(rs);
+                }
+                for (int[] row : favorites) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getInt(1)).thenReturn(row[0]);
+                    when(rs.getInt(2)).thenReturn(row[1]);
+                    handler.processRow(rs);
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    // Test that favorites are loaded once from the table and then answered from memory
+    @Test
+    void testContains_LoadsOnce() {
+        rows.add(new int[] { 1, 5 });
+        rows.add(new int[] { 2, 6 });
+
+        assertTrue(favoriteService.contains(1, 5));
+        assertFalse(favoriteService.contains(1, 6));
+        assertArrayEquals(new int[] { 5 }, favoriteService.findIds(1));
+
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    // Test that only the restaurants not yet favorites are inserted, in one batch
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAdd_InsertsNewOnly() {
+        rows.add(new int[] { 1, 5 });
+
+        int added = favoriteService.add(1, List.of(5, 7, 7, 9));
+
+        assertEquals(2, added);
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(List.of(7, 9)), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertArrayEquals(new int[] { 5, 7, 9 }, favoriteService.findIds(1));
+
+        // Adding them again changes nothing
+        assertEquals(0, favoriteService.add(1, List.of(7, 9)));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    // Test that nothing is added when one of the restaurants does not exist
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAdd_UnknownRestaurant() {
+        when(restaurantDao.findExistingIds(anyCollection())).thenReturn(List.of(7));
+
+        assertThrows(EntityNotFoundException.class, () -> favoriteService.add(1, List.of(7, 8)));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertArrayEquals(new int[0], favoriteService.findIds(1));
+    }
+
+    // Test that removing restaurant 1 leaves restaurant 11, which the cookie string replace did not
+    @Test
+    void testRemove_ExactId() {
+        rows.add(new int[] { 1, 11 });
+        rows.add(new int[] { 1, 1 });
+
+        assertTrue(favoriteService.remove(1, 1));
+        assertFalse(favoriteService.remove(1, 1));
+
+        assertArrayEquals(new int[] { 11 }, favoriteService.findIds(1));
+        verify(jdbcTemplate, times(1)).update(anyString(), eq(1), eq(1));
+    }
+
+    // Test that the summaries of several customers are loaded with one query each for favorites and restaurants
+    @Test
+    void testFindSummaries_Batch() {
+        rows.add(new int[] { 1, 5 });
+        rows.add(new int[] { 1, 6 });
+        rows.add(new int[] { 2, 6 });
+        when(restaurantDao.findSummariesByIds(anyCollection()))
+                .thenReturn(List.of(summary(5), summary(6)));
+
+        Map<Integer, List<RestaurantSummary>> favorites = favoriteService.findSummaries(List.of(2, 1, 3));
+
+        assertEquals(List.of(2, 1, 3), new ArrayList<>(favorites.keySet()));
+        assertEquals(List.of(summary(6)), favorites.get(2));
+        assertEquals(List.of(summary(5), summary(6)), favorites.get(1));
+        assertEquals(List.of(), favorites.get(3));
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        verify(restaurantDao, times(1)).findSummariesByIds(Set.of(5, 6));
+    }
+
+    // Test that unknown customers are answered without keeping a set for them
+    @Test
+    void testFindSummaries_UnknownCustomerNotKept() {
+        Map<Integer, List<RestaurantSummary>> favorites = favoriteService.findSummaries(List.of(4, 5));
+
+        assertEquals(List.of(), favorites.get(4));
+        assertEquals(List.of(), favorites.get(5));
+        assertArrayEquals(new int[0], favoriteService.findIds(4));
+
+        // A customer created later under the ID sees its favorites
+        customers.add(4);
+        rows.add(new int[] { 4, 6 });
+        assertArrayEquals(new int[] { 6 }, favoriteService.findIds(4));
+        verify(jdbcTemplate, times(3)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    // Test that a deleted restaurant disappears from every loaded set
+    @Test
+    void testRemoveRestaurant() {
+        rows.add(new int[] { 1, 5 });
+        rows.add(new int[] { 2, 5 });
+        favoriteService.findSummaries(List.of(1, 2));
+
+        favoriteService.removeRestaurant(5);
+
+        assertFalse(favoriteService.contains(1, 5));
+        assertFalse(favoriteService.contains(2, 5));
+    }
+
+    // Test that the set stays correct through many random adds and removes
+    @Test
+    void testRandomOperations_MatchTreeSet() {
+        Random random = new Random(7);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 5000; i++) {
+            int restaurantId = random.nextInt(300) - 50;
+            if (random.nextBoolean()) {
+                favoriteService.add(1, List.of(restaurantId));
+                expected.add(restaurantId);
+            } else {
+                assertEquals(expected.remove(restaurantId), favoriteService.remove(1, restaurantId));
+            }
+            assertEquals(expected.contains(restaurantId), favoriteService.contains(1, restaurantId));
+        }
+        assertEquals(expected.stream().collect(Collectors.toList()),
+                Arrays.stream(favoriteService.findIds(1)).boxed().collect(Collectors.toList()));
+    }
+
+    private static RestaurantSummary summary(int restaurantId) {
+        return new RestaurantSummary(restaurantId, "Restaurant " + restaurantId, "Address", "555", 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.fooddeliverysystem.service.IdSequenceType;
+import com.fooddeliverysystem.service.PooledIdAllocator;
+
+public class IdAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private PooledIdAllocator idAllocator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        idAllocator = new PooledIdAllocator(jdbcTemplate, transactionManager, 3);
+    }
+
+    // Test that IDs of one block are handed out without visiting the database again
+    @Test
+    void testNextIdUsesReservedBlock() {
+        // Mock data
+        when(jdbcTemplate.query(contains("for update"), anyExtractor(), eq("orders"))).thenReturn(11);
+
+        // Call service method
+        int[] ids = idAllocator.nextIds(IdSequenceType.ORDERS, 3);
+
+        // Assert the result is as expected
+        assertArrayEquals(new int[] { 11, 12, 13 }, ids);
+        verify(jdbcTemplate, times(1)).update(contains("update id_sequences"), eq(14), eq("orders"));
+        verify(transactionManager, times(1)).commit(transactionStatus);
+    }
+
+    // Test that a new block is reserved once the current one is used up
+    @Test
+    void testNextIdReservesNewBlock() {
+        // Mock data
+        when(jdbcTemplate.query(contains("for update"), anyExtractor(), eq("ratings"))).thenReturn(1, 4);
+
+        // Call service method
+        idAllocator.nextIds(IdSequenceType.RATINGS, 3);
+        int result = idAllocator.nextId(IdSequenceType.RATINGS);
+
+        // Assert the result is as expected
+        assertEquals(4, result);
+        verify(jdbcTemplate, times(1)).update(contains("update id_sequences"), eq(4), eq("ratings"));
+        verify(jdbcTemplate, times(1)).update(contains("update id_sequences"), eq(7), eq("ratings"));
+    }
+
+    // Test that a missing sequence row is seeded from the highest stored ID
+    @Test
+    void testNextIdSeedsSequence() {
+        // Mock data
+        when(jdbcTemplate.query(contains("for update"), anyExtractor(), eq("menuitems")))
+                .thenReturn(null);
+        when(jdbcTemplate.queryForObject(IdSequenceType.MENU_ITEMS.getSeedQuery(), Integer.class)).thenReturn(41);
+
+        // Call service method
+        int result = idAllocator.nextId(IdSequenceType.MENU_ITEMS);
+
+        // Assert the result is as expected
+        assertEquals(42, result);
+        verify(jdbcTemplate, times(1)).update(contains("insert into id_sequences"), eq("menuitems"), eq(45));
+        verify(jdbcTemplate, never()).update(contains("update id_sequences"), anyInt(), anyString());
+    }
+
+    private static ResultSetExtractor<Integer> anyExtractor() {
+        return any();
+    }
+}
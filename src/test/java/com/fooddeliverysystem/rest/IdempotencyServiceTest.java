@@ -0,0 +1,178 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.fooddeliverysystem.dao.IdempotencyKeyDao;
+import com.fooddeliverysystem.dao.OrderDao;
+import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.entity.IdempotencyKey;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.service.BoundedTtlCache;
+import com.fooddeliverysystem.service.IdempotencyServiceImpl;
+import com.fooddeliverysystem.service.OrderPlacementResult;
+import com.fooddeliverysystem.service.OrderPlacementService;
+import com.fooddeliverysystem.service.OrderPlacementTimings;
+
+import jakarta.persistence.EntityNotFoundException;
+
+public class IdempotencyServiceTest {
+
+    @Mock
+    private OrderPlacementService orderPlacementService;
+
+    @Mock
+    private IdempotencyKeyDao idempotencyKeyDao;
+
+    @Mock
+    private OrderDao orderDao;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    private OrderDto orderDto;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        idempotencyService = new IdempotencyServiceImpl(orderPlacementService, idempotencyKeyDao, orderDao, 100, 60);
+
+        orderDto = new OrderDto();
+        order = new Order();
+        order.setOrderId(7);
+        when(idempotencyKeyDao.findById(any())).thenReturn(Optional.empty());
+    }
+
+    // Test that a retry is answered from memory without placing the order again
+    @Test
+    void testPlaceOrderReplaysFromMemory() {
+        // Mock data
+        when(orderPlacementService.placeOrder(orderDto, "key-1"))
+                .thenReturn(new OrderPlacementResult(order, new OrderPlacementTimings(0, 0, 0, 0)));
+
+        // Call service method twice with the same key
+        OrderPlacementResult first = idempotencyService.placeOrder("key-1", orderDto);
+        OrderPlacementResult retry = idempotencyService.placeOrder("key-1", orderDto);
+
+        // Assert the result is as expected
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertSame(order, retry.order());
+        verify(orderPlacementService, times(1)).placeOrder(orderDto, "key-1");
+        verify(idempotencyKeyDao, times(1)).findById("key-1");
+    }
+
+    // Test that a key completed before a restart is answered from the durable table
+    @Test
+    void testPlaceOrderReplaysStoredKey() {
+        // Mock data
+        when(idempotencyKeyDao.findById("key-2"))
+                .thenReturn(Optional.of(new IdempotencyKey("key-2", 7, LocalDateTime.now())));
+        when(orderDao.findById(7)).thenReturn(Optional.of(order));
+
+        // Call service method
+        OrderPlacementResult result = idempotencyService.placeOrder("key-2", orderDto);
+
+        // Assert the result is as expected
+        assertTrue(result.replayed());
+        assertSame(order, result.order());
+        verify(orderPlacementService, never()).placeOrder(any(), any());
+    }
+
+    // Test that a duplicate arriving while the first request runs waits for it
+    @Test
+    void testPlaceOrderWaitsForInFlightRequest() throws Exception {
+        // Mock data: the first placement blocks until released
+        CountDownLatch placing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderPlacementService.placeOrder(orderDto, "key-3")).thenAnswer(invocation -> {
+            placing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new OrderPlacementResult(order, new OrderPlacementTimings(0, 0, 0, 0));
+        });
+
+        // Call service method from two threads
+        CompletableFuture<OrderPlacementResult> first = CompletableFuture
+                .supplyAsync(() -> idempotencyService.placeOrder("key-3", orderDto));
+        assertTrue(placing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<OrderPlacementResult> duplicate = CompletableFuture
+                .supplyAsync(() -> idempotencyService.placeOrder("key-3", orderDto));
+        release.countDown();
+
+        // Assert both see the same order, placed once
+        assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+        assertSame(order, duplicate.get(5, TimeUnit.SECONDS).order());
+        verify(orderPlacementService, times(1)).placeOrder(orderDto, "key-3");
+    }
+
+    // Test that a key committed concurrently by another instance is replayed
+    @Test
+    void testPlaceOrderReplaysAfterDuplicateKey() {
+        // Mock data
+        when(orderPlacementService.placeOrder(orderDto, "key-4")).thenThrow(new DuplicateKeyException("duplicate"));
+        when(idempotencyKeyDao.findById("key-4")).thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new IdempotencyKey("key-4", 7, LocalDateTime.now())));
+        when(orderDao.findById(7)).thenReturn(Optional.of(order));
+
+        // Call service method
+        OrderPlacementResult result = idempotencyService.placeOrder("key-4", orderDto);
+
+        // Assert the result is as expected
+        assertTrue(result.replayed());
+        assertSame(order, result.order());
+    }
+
+    // Test that a failed placement is not remembered, so a retry runs again
+    @Test
+    void testPlaceOrderFailureIsNotCached() {
+        // Mock data
+        when(orderPlacementService.placeOrder(orderDto, "key-5"))
+                .thenThrow(new EntityNotFoundException("Customer with ID 1 not found"));
+
+        // Call service method twice and assert both fail
+        assertThrows(EntityNotFoundException.class, () -> idempotencyService.placeOrder("key-5", orderDto));
+        assertThrows(EntityNotFoundException.class, () -> idempotencyService.placeOrder("key-5", orderDto));
+        verify(orderPlacementService, times(2)).placeOrder(eq(orderDto), eq("key-5"));
+    }
+
+    // Test that cache entries expire and the eldest entry is evicted when full
+    @Test
+    void testBoundedTtlCache() {
+        AtomicLong clock = new AtomicLong();
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(2, Duration.ofNanos(100), clock::get);
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.get("b"));
+        assertEquals(2, cache.size());
+
+        clock.set(100);
+        assertNull(cache.get("c"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.fooddeliverysystem.rest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fooddeliverysystem.entity.Customer;
+import com.fooddeliverysystem.entity.MenuItem;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.entity.OrderItem;
+import com.fooddeliverysystem.entity.Rating;
+import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.service.LastModifiedServiceImpl;
+
+public class LastModifiedServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private LastModifiedServiceImpl lastModifiedService;
+
+    private Restaurant restaurant;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        lastModifiedService = new LastModifiedServiceImpl(jdbcTemplate, null);
+
+        restaurant = new Restaurant();
+        restaurant.setRestaurantId(3);
+        order = new Order();
+        order.setOrderId(7);
+        order.setRestaurant(restaurant);
+    }
+
+    // Test that deleting a menu item or an order advances the time of its restaurant
+    @Test
+    void testRecordDeleted_MenuItemAndOrder() {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setRestaurant(restaurant);
+
+        lastModifiedService.recordDeleted(menuItem);
+        lastModifiedService.recordDeleted(order);
+
+        verify(jdbcTemplate, times(2)).update(contains("update restaurants"), any(), eq(3));
+        verify(jdbcTemplate, never()).update(contains("update orders"), any(), any());
+    }
+
+    // Test that deleting a rating advances the time of its restaurant and of its order
+    @Test
+    void testRecordDeleted_Rating() {
+        Rating rating = new Rating();
+        rating.setRestaurant(restaurant);
+        rating.setOrder(order);
+
+        lastModifiedService.recordDeleted(rating);
+
+        verify(jdbcTemplate).update(contains("update restaurants"), any(), eq(3));
+        verify(jdbcTemplate).update(contains("update orders"), any(), eq(7));
+    }
+
+    // Test that deleting an order item advances the time of its order only
+    @Test
+    void testRecordDeleted_OrderItem() {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setOrder(order);
+
+        lastModifiedService.recordDeleted(orderItem);
+
+        verify(jdbcTemplate).update(contains("update orders"), any(), eq(7));
+        verify(jdbcTemplate, never()).update(contains("update restaurants"), any(), any());
+    }
+
+    // Test that other entities and children without a parent are ignored
+    @Test
+    void testRecordDeleted_Ignored() {
+        lastModifiedService.recordDeleted(new Customer());
+        lastModifiedService.recordDeleted(new MenuItem());
+        lastModifiedService.recordDeleted(new Rating());
+
+        verify(jdbcTemplate, never()).update(anyString(), any(), any());
+    }
+}
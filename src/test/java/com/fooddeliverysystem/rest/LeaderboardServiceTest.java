@@ -0,0 +1,187 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.service.LeaderboardEntry;
+import com.fooddeliverysystem.service.LeaderboardServiceImpl;
+import com.fooddeliverysystem.service.LeaderboardType;
+
+public class LeaderboardServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private LeaderboardServiceImpl leaderboardService;
+
+    // The rows of the seeding query: restaurant ID, order count, rating count and rating sum
+    private final List<long[]> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        leaderboardService = new LeaderboardServiceImpl(jdbcTemplate, null, 3, 2);
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt(1)).thenReturn((int) row[0]);
+                when(rs.getString(2)).thenReturn("Restaurant " + row[0]);
+                when(rs.getLong(3)).thenReturn(row[1]);
+                when(rs.getLong(4)).thenReturn(row[2]);
+                when(rs.getLong(5)).thenReturn(row[3]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // Test that the seeded boards are ordered, bounded, and skip restaurants with too few ratings
+    @Test
+    void testReload_RanksRestaurants() {
+        rows.add(new long[] { 1, 10, 2, 10 });
+        rows.add(new long[] { 2, 30, 4, 18 });
+        rows.add(new long[] { 3, 20, 1, 5 });
+        rows.add(new long[] { 4, 30, 3, 12 });
+        rows.add(new long[] { 5, 0, 0, 0 });
+
+        assertEquals(5, leaderboardService.reload());
+
+        // 1 averages 5.0 and 2 4.5; 3 has a single rating only
+        assertEquals(List.of(1, 2, 4), ids(LeaderboardType.RATING, 10));
+        // 2 and 4 tie on orders and the lower ID goes first; only the top 3 are kept
+        assertEquals(List.of(2, 4, 3), ids(LeaderboardType.ORDERS, 10));
+        assertEquals(List.of(2), ids(LeaderboardType.ORDERS, 1));
+
+        LeaderboardEntry first = leaderboardService.findTop(LeaderboardType.RATING, 1).get(0);
+        assertEquals("Restaurant 1", first.name());
+        assertEquals(5.0, first.averageRating());
+    }
+
+    // Test that changes move restaurants in and out of the top and reads reuse the published list
+    @Test
+    void testRecord_MovesRestaurants() {
+        rows.add(new long[] { 1, 5, 0, 0 });
+        rows.add(new long[] { 2, 4, 0, 0 });
+        rows.add(new long[] { 3, 3, 0, 0 });
+        rows.add(new long[] { 4, 2, 0, 0 });
+        leaderboardService.reload();
+        List<LeaderboardEntry> before = leaderboardService.findTop(LeaderboardType.ORDERS, 3);
+
+        // A change below the top leaves the published list alone
+        leaderboardService.recordOrders(Map.of(4, -1L));
+        assertSame(before.get(0), leaderboardService.findTop(LeaderboardType.ORDERS, 3).get(0));
+
+        // 4 overtakes everyone, then 1 drops below 3
+        leaderboardService.recordOrders(Map.of(4, 9L));
+        leaderboardService.recordOrders(Map.of(1, -3L));
+        assertEquals(List.of(4, 2, 3), ids(LeaderboardType.ORDERS, 3));
+
+        // A new restaurant is counted from zero
+        leaderboardService.recordRatings(Map.of(9, new long[] { 2, 9, 0, 0, 0, 1, 1 }));
+        assertEquals(List.of(9), ids(LeaderboardType.RATING, 3));
+        leaderboardService.updateRestaurant(9, "New Restaurant");
+        assertEquals("New Restaurant", leaderboardService.findTop(LeaderboardType.RATING, 1).get(0).name());
+
+        leaderboardService.removeRestaurant(4);
+        assertEquals(List.of(2, 3, 1), ids(LeaderboardType.ORDERS, 3));
+    }
+
+    // Test that changes made in a transaction only show once it has committed
+    @Test
+    void testRecordPlaced_AfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        leaderboardService.recordPlaced(List.of(order(7), order(7), order(8)));
+        assertEquals(List.of(), ids(LeaderboardType.ORDERS, 3));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(7, 8), ids(LeaderboardType.ORDERS, 3));
+        assertEquals(2, leaderboardService.findTop(LeaderboardType.ORDERS, 1).get(0).orderCount());
+        assertNull(leaderboardService.findTop(LeaderboardType.ORDERS, 1).get(0).averageRating());
+    }
+
+    // Test that the boards match a full sort after many random changes
+    @Test
+    void testRandomChanges_MatchFullSort() {
+        Random random = new Random(11);
+        Map<Integer, long[]> expected = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            int restaurantId = random.nextInt(40);
+            long[] counts = expected.computeIfAbsent(restaurantId, id -> new long[3]);
+            if (random.nextBoolean()) {
+                long orders = random.nextInt(5) - 2;
+                counts[0] += orders;
+                leaderboardService.recordOrders(Map.of(restaurantId, orders));
+            } else {
+                int stars = 1 + random.nextInt(5);
+                int sign = counts[1] > 0 && random.nextInt(4) == 0 ? -1 : 1;
+                counts[1] += sign;
+                counts[2] += sign * stars;
+                leaderboardService.recordRatings(Map.of(restaurantId, new long[] { sign, sign * stars }));
+            }
+
+            assertEquals(expectedTop(expected, LeaderboardType.ORDERS), ids(LeaderboardType.ORDERS, 3));
+            assertEquals(expectedTop(expected, LeaderboardType.RATING), ids(LeaderboardType.RATING, 3));
+        }
+    }
+
+    private List<Integer> ids(LeaderboardType type, int k) {
+        return leaderboardService.findTop(type, k).stream().map(LeaderboardEntry::restaurantId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> expectedTop(Map<Integer, long[]> counts, LeaderboardType type) {
+        Comparator<Map.Entry<Integer, long[]>> order = type == LeaderboardType.ORDERS
+                ? Comparator.comparingLong((Map.Entry<Integer, long[]> entry) -> -entry.getValue()[0])
+                : Comparator.comparingDouble((Map.Entry<Integer, long[]> entry) -> -(double) entry.getValue()[2]
+                        / entry.getValue()[1]).thenComparingLong(entry -> -entry.getValue()[1]);
+        return counts.entrySet().stream()
+                .filter(entry -> type == LeaderboardType.ORDERS ? entry.getValue()[0] > 0 : entry.getValue()[1] >= 2)
+                .sorted(order.thenComparingInt(Map.Entry::getKey)).limit(3).map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static Order order(int restaurantId) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(restaurantId);
+        Order order = new Order();
+        order.setRestaurant(restaurant);
+        return order;
+    }
+}
@@ -0,0 +1,98 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddeliverysystem.dao.MenuItemDao;
+import com.fooddeliverysystem.dao.RestaurantDao;
+import com.fooddeliverysystem.dto.MenuItemSummary;
+import com.fooddeliverysystem.service.MenuCacheServiceImpl;
+import com.fooddeliverysystem.service.MenuPayload;
+
+public class MenuCacheServiceTest {
+
+    @Mock
+    private RestaurantDao restaurantDao;
+
+    @Mock
+    private MenuItemDao menuItemDao;
+
+    private MenuCacheServiceImpl menuCacheService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        menuCacheService = new MenuCacheServiceImpl(restaurantDao, menuItemDao, new ObjectMapper(), 100, 60);
+    }
+
+    // Test that the menu is encoded once and then served from the cache
+    @Test
+    void testGetMenu_EncodesOnce() throws IOException {
+        // Mock data
+        when(restaurantDao.existsById(1)).thenReturn(true);
+        when(menuItemDao.findMenu(1)).thenReturn(List.of(new MenuItemSummary(1, "Pasta", "Fresh", 10.0)));
+
+        // Call service method twice
+        MenuPayload first = menuCacheService.getMenu(1);
+        MenuPayload second = menuCacheService.getMenu(1);
+
+        // Assert the same bytes are reused and the gzip body holds the JSON
+        assertSame(first, second);
+        assertEquals("[{\"itemId\":1,\"name\":\"Pasta\",\"description\":\"Fresh\",\"price\":10.0}]",
+                new String(first.json(), StandardCharsets.UTF_8));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first.gzip()))) {
+            assertEquals(new String(first.json(), StandardCharsets.UTF_8),
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        verify(menuItemDao, times(1)).findMenu(1);
+    }
+
+    // Test that a menu change bumps the version and the next request encodes the new menu
+    @Test
+    void testGetMenu_AfterInvalidate() {
+        // Mock data
+        when(restaurantDao.existsById(1)).thenReturn(true);
+        when(menuItemDao.findMenu(1)).thenReturn(List.of(new MenuItemSummary(1, "Pasta", "Fresh", 10.0)))
+                .thenReturn(List.of(new MenuItemSummary(1, "Pasta", "Fresh", 12.0)));
+
+        // Call service method around a menu change
+        MenuPayload before = menuCacheService.getMenu(1);
+        menuCacheService.invalidate(1);
+        MenuPayload after = menuCacheService.getMenu(1);
+
+        // Assert the menu was encoded again with a new version and ETag
+        assertEquals(0, before.version());
+        assertEquals(1, after.version());
+        assertNotEquals(before.etag(), after.etag());
+        verify(menuItemDao, times(2)).findMenu(1);
+    }
+
+    // Test that an unknown restaurant has no menu
+    @Test
+    void testGetMenu_NotFound() {
+        // Mock data
+        when(restaurantDao.existsById(1)).thenReturn(false);
+
+        // Call service method and assert nothing is loaded
+        assertNull(menuCacheService.getMenu(1));
+        verify(menuItemDao, never()).findMenu(1);
+    }
+}
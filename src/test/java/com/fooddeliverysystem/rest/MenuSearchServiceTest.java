@@ -0,0 +1,223 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fooddeliverysystem.dao.MenuItemDao;
+import com.fooddeliverysystem.entity.MenuItem;
+import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.service.MenuSearchGroup;
+import com.fooddeliverysystem.service.MenuSearchHit;
+import com.fooddeliverysystem.service.MenuSearchServiceImpl;
+
+public class MenuSearchServiceTest {
+
+    @Mock
+    private MenuItemDao menuItemDao;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private MenuSearchServiceImpl menuSearchService;
+
+    // The rows of the menuitems table by item ID
+    private final Map<Integer, MenuItem> rows = new TreeMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        menuSearchService = new MenuSearchServiceImpl(menuItemDao, jdbcTemplate, null, 16);
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (MenuItem menuItem : rows.values()) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt(1)).thenReturn(menuItem.getItemId());
+                when(rs.getInt(2)).thenReturn(menuItem.getRestaurant().getRestaurantId());
+                when(rs.getString(3)).thenReturn(menuItem.getName());
+                when(rs.getString(4)).thenReturn(menuItem.getDescription());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        when(menuItemDao.findAllById(any())).thenAnswer(invocation -> {
+            List<MenuItem> menuItems = new ArrayList<>();
+            for (Integer itemId : invocation.<Iterable<Integer>>getArgument(0)) {
+                if (rows.containsKey(itemId)) {
+                    menuItems.add(rows.get(itemId));
+                }
+            }
+            return menuItems;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // Test that misspelled words find the items, name matches first, grouped by restaurant
+    @Test
+    void testSearch_ToleratesTypos() {
+        row(1, 1, "Chicken Biryani", "Basmati rice with chicken");
+        row(2, 2, "Paneer Tikka", "Grilled cottage cheese");
+        row(3, 1, "Paneer Butter Masala", null);
+        row(4, 2, "Veg Biryani", "Rice with vegetables and paneer");
+        row(5, 3, "Dal", "Yellow lentils");
+        assertEquals(5, menuSearchService.load());
+
+        assertEquals("1:[1] 2:[4]", groups(menuSearchService.search("biryni", 10)));
+        // The name matches, then the description match
+        assertEquals("2:[2, 4] 1:[3]", groups(menuSearchService.search("PANNER", 10)));
+        // The item matching both words first
+        assertEquals("2:[4, 2] 1:[1, 3]", groups(menuSearchService.search("panner biryni", 10)));
+        assertEquals("2:[4]", groups(menuSearchService.search("panner biryni", 1)));
+        // A swap of two letters is one edit; short words must match exactly
+        assertEquals("2:[2]", groups(menuSearchService.search("tikak", 10)));
+        assertEquals("3:[5]", groups(menuSearchService.search("dal", 10)));
+        assertEquals("", groups(menuSearchService.search("dl", 10)));
+        assertEquals("", groups(menuSearchService.search("with", 10)));
+
+        MenuSearchGroup group = menuSearchService.search("lentls", 10).get(0);
+        assertEquals("Restaurant 3", group.restaurantName());
+        MenuSearchHit hit = group.items().get(0);
+        assertEquals("Dal", hit.name());
+        assertEquals(1, hit.matchedWords());
+        assertEquals(0.5, hit.score());
+    }
+
+    // Test that swapped letters inside a word are found, which change four of its trigrams
+    @Test
+    void testSearch_ToleratesSwapsInsideWords() {
+        row(1, 1, "Chicken Biryani", null);
+        row(2, 1, "Paneer Butter Masala", null);
+        row(3, 2, "Grilled Fish", null);
+        row(4, 2, "Vegetable Soup", null);
+        menuSearchService.load();
+
+        assertEquals("1:[1]", groups(menuSearchService.search("chikcen", 10)));
+        assertEquals("1:[1]", groups(menuSearchService.search("cihcken", 10)));
+        assertEquals("1:[2]", groups(menuSearchService.search("maasla", 10)));
+        assertEquals("1:[2]", groups(menuSearchService.search("msaala", 10)));
+        assertEquals("2:[3]", groups(menuSearchService.search("grileld", 10)));
+        // Sharing no trigram with "soup" at all
+        assertEquals("2:[4]", groups(menuSearchService.search("suop", 10)));
+        // Two swaps in a long word, which may be two edits away
+        assertEquals("2:[4]", groups(menuSearchService.search("vgeetalbe", 10)));
+    }
+
+    // Test that 4- and 8-letter words, which allow an edit per four trigrams, compare few of the indexed words
+    @Test
+    void testSearch_ComparesFewWords() {
+        Random random = new Random(7);
+        row(1, 1, "Tomato Soup", null);
+        row(2, 1, "Chicken Sandwich", null);
+        for (int itemId = 3; itemId < 2003; itemId++) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < (itemId % 2 == 0 ? 4 : 8); i++) {
+                name.append((char) ('a' + random.nextInt(26)));
+            }
+            row(itemId, 2, name.toString(), null);
+        }
+        menuSearchService.load();
+
+        assertEquals("1:[1]", groups(menuSearchService.search("suop", 10)));
+        assertEquals("1:[1]", groups(menuSearchService.search("sopu", 10)));
+        assertEquals("1:[2]", groups(menuSearchService.search("sandwihc", 10)));
+        assertEquals("1:[2]", groups(menuSearchService.search("snadwihc", 10)));
+        assertEquals("1:[2]", groups(menuSearchService.search("sadnwich", 10)));
+        assertTrue(menuSearchService.getComparedTerms() < 100, "compared " + menuSearchService.getComparedTerms());
+    }
+
+    // Test that saved and deleted menu items change the results once their transaction commits
+    @Test
+    void testRecord_AfterCommit() {
+        row(1, 1, "Chicken Biryani", null);
+        row(2, 1, "Mutton Biryani", null);
+        menuSearchService.load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        menuSearchService.recordSaved(row(3, 2, "Egg Biryani", null));
+        menuSearchService.recordSaved(row(1, 1, "Chicken Korma", null));
+        menuSearchService.recordDeleted(2);
+        assertEquals("1:[1, 2]", groups(menuSearchService.search("biryani", 10)));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals("2:[3]", groups(menuSearchService.search("biryani", 10)));
+        assertEquals("1:[1]", groups(menuSearchService.search("korma", 10)));
+    }
+
+    // Test that the results match a full scan after enough changes to compact the index
+    @Test
+    void testRandomChanges_MatchFullScan() {
+        Random random = new Random(3);
+        String[] words = { "curry", "salad", "ramen", "tacos", "sushi", "kebab", "noodle", "burger" };
+        menuSearchService.load();
+        for (int i = 0; i < 6000; i++) {
+            int itemId = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                rows.remove(itemId);
+                menuSearchService.recordDeleted(itemId);
+            } else {
+                String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                menuSearchService.recordSaved(row(itemId, itemId % 7, name, null));
+            }
+
+            if (i % 100 == 99) {
+                String word = words[random.nextInt(words.length)];
+                List<Integer> expected = rows.values().stream()
+                        .filter(menuItem -> List.of(menuItem.getName().split(" ")).contains(word))
+                        .map(MenuItem::getItemId).collect(Collectors.toList());
+                List<Integer> found = menuSearchService.search(word, 100).stream()
+                        .flatMap(group -> group.items().stream()).map(MenuSearchHit::itemId).sorted()
+                        .collect(Collectors.toList());
+                assertEquals(expected, found);
+            }
+        }
+    }
+
+    private MenuItem row(int itemId, int restaurantId, String name, String description) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(restaurantId);
+        restaurant.setName("Restaurant " + restaurantId);
+        MenuItem menuItem = new MenuItem();
+        menuItem.setItemId(itemId);
+        menuItem.setRestaurant(restaurant);
+        menuItem.setName(name);
+        menuItem.setDescription(description);
+        rows.put(itemId, menuItem);
+        return menuItem;
+    }
+
+    private static String groups(List<MenuSearchGroup> groups) {
+        return groups.stream().map(group -> group.restaurantId() + ":"
+                + group.items().stream().map(MenuSearchHit::itemId).collect(Collectors.toList()))
+                .collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,70 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import com.fooddeliverysystem.controller.MvcFacades;
+import com.fooddeliverysystem.service.CustomerFacade;
+import com.fooddeliverysystem.service.DeliveryDriverFacade;
+import com.fooddeliverysystem.service.OrderFacade;
+import com.fooddeliverysystem.service.RestaurantFacade;
+
+public class MvcFacadesTest {
+
+    @Mock
+    private RestaurantFacade restaurantFacade;
+
+    @Mock
+    private CustomerFacade customerFacade;
+
+    @Mock
+    private DeliveryDriverFacade deliveryDriverFacade;
+
+    @Mock
+    private OrderFacade orderFacade;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    // Test that local mode hands out the in-process facades
+    @Test
+    void testLocalMode() {
+        MvcFacades facades = create("local");
+
+        assertSame(restaurantFacade, facades.restaurants());
+        assertSame(customerFacade, facades.customers());
+        assertSame(deliveryDriverFacade, facades.drivers());
+        assertSame(orderFacade, facades.orders());
+    }
+
+    // Test that remote mode replaces every facade with a client of the REST API
+    @Test
+    void testRemoteMode() {
+        MvcFacades facades = create("remote");
+
+        assertNotSame(restaurantFacade, facades.restaurants());
+        assertNotSame(customerFacade, facades.customers());
+        assertNotSame(deliveryDriverFacade, facades.drivers());
+        assertNotSame(orderFacade, facades.orders());
+    }
+
+    // Test that an unknown mode fails at startup
+    @Test
+    void testUnknownMode() {
+        assertThrows(IllegalStateException.class, () -> create("other"));
+    }
+
+    private MvcFacades create(String mode) {
+        return new MvcFacades(restaurantFacade, customerFacade, deliveryDriverFacade, orderFacade, mode,
+                "http://localhost:8080", new RestTemplateBuilder());
+    }
+}
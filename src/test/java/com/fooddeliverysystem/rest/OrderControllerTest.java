@@ -1,16 +1,26 @@
 package com.fooddeliverysystem.rest;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -22,11 +32,18 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddeliverysystem.dto.CustomerDto;
 import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.dto.ResourceVersion;
+import com.fooddeliverysystem.dto.RestaurantDto;
 import com.fooddeliverysystem.entity.Coupon;
 import com.fooddeliverysystem.entity.Customer;
 import com.fooddeliverysystem.entity.DeliveryDriver;
@@ -35,18 +52,37 @@ import com.fooddeliverysystem.entity.Order;
 import com.fooddeliverysystem.entity.OrderItem;
 import com.fooddeliverysystem.entity.Rating;
 import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.exception.NoDriverAvailableException;
+import com.fooddeliverysystem.exception.QueueFullException;
 import com.fooddeliverysystem.service.CouponService;
 import com.fooddeliverysystem.service.CustomerService;
 import com.fooddeliverysystem.service.DeliveryDriverService;
+import com.fooddeliverysystem.service.IdempotencyService;
+import com.fooddeliverysystem.service.KeysetPage;
+import com.fooddeliverysystem.service.OrderExportFormat;
+import com.fooddeliverysystem.service.OrderExportService;
+import com.fooddeliverysystem.service.OrderFacadeImpl;
+import com.fooddeliverysystem.service.DispatchOptimizerService;
+import com.fooddeliverysystem.service.DispatchTickStats;
+import com.fooddeliverysystem.service.DriverDispatchService;
+import com.fooddeliverysystem.service.NearbyDriver;
+import com.fooddeliverysystem.service.OrderImportReport;
+import com.fooddeliverysystem.service.OrderImportService;
+import com.fooddeliverysystem.service.OrderIntakeService;
 import com.fooddeliverysystem.service.MenuItemService;
 import com.fooddeliverysystem.service.OrderItemService;
+import com.fooddeliverysystem.service.OrderPlacementResult;
+import com.fooddeliverysystem.service.OrderPlacementService;
+import com.fooddeliverysystem.service.OrderPlacementTimings;
 import com.fooddeliverysystem.service.OrderService;
+import com.fooddeliverysystem.service.OrderTicket;
 import com.fooddeliverysystem.service.RatingService;
 import com.fooddeliverysystem.service.RestaurantService;
 
 import jakarta.persistence.EntityNotFoundException;
 
 @WebMvcTest(OrderController.class)
+@Import(OrderFacadeImpl.class)
 public class OrderControllerTest {
 
 	@Autowired
@@ -76,9 +112,33 @@ public class OrderControllerTest {
 	@MockBean
 	private CouponService couponService;
 
+	@MockBean
+	private OrderPlacementService orderPlacementService;
+
+	@MockBean
+	private IdempotencyService idempotencyService;
+
+	@MockBean
+	private OrderIntakeService orderIntakeService;
+
+	@MockBean
+	private OrderImportService orderImportService;
+
+	@MockBean
+	private OrderExportService orderExportService;
+
+	@MockBean
+	private DriverDispatchService driverDispatchService;
+
+	@MockBean
+	private DispatchOptimizerService dispatchOptimizerService;
+
 	@Autowired
 	private ObjectMapper objectMapper;
 
+	@Autowired
+	private OrderFacadeImpl orderFacade;
+
 	@InjectMocks
 	private OrderController orderController;
 
@@ -135,14 +195,183 @@ public class OrderControllerTest {
 		order.setCoupons(coupons);
 	}
 
+	@Test
+	void testAddOrder() throws Exception {
+		CustomerDto customerDto = new CustomerDto();
+		customerDto.setCustomerId(1);
+		RestaurantDto restaurantDto = new RestaurantDto();
+		restaurantDto.setRestaurantId(1);
+
+		OrderDto orderDto = new OrderDto();
+		orderDto.setOrderDate(LocalDateTime.of(2024, 7, 1, 12, 0));
+		orderDto.setOrderStatus("Pending");
+		orderDto.setCustomer(customerDto);
+		orderDto.setRestaurant(restaurantDto);
+
+		when(orderPlacementService.placeOrder(any(OrderDto.class)))
+				.thenReturn(new OrderPlacementResult(order, new OrderPlacementTimings(1_000_000, 0, 2_000_000, 3_000_000)));
+
+		mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(orderDto))).andExpect(status().isCreated())
+				.andExpect(header().string("Server-Timing",
+						"lookup;dur=1.00, ids;dur=0.00, insert;dur=2.00, total;dur=3.00"))
+				.andExpect(content().json(objectMapper.writeValueAsString(order)));
+	}
+
+	@Test
+	void testAddOrder_IdempotentReplay() throws Exception {
+		CustomerDto customerDto = new CustomerDto();
+		customerDto.setCustomerId(1);
+
+		OrderDto orderDto = new OrderDto();
+		orderDto.setOrderDate(LocalDateTime.of(2024, 7, 1, 12, 0));
+		orderDto.setOrderStatus("Pending");
+		orderDto.setCustomer(customerDto);
+
+		when(idempotencyService.placeOrder(eq("retry-1"), any(OrderDto.class)))
+				.thenReturn(OrderPlacementResult.replayed(order));
+
+		mockMvc.perform(post("/api/orders").header("Idempotency-Key", "retry-1")
+				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(orderDto)))
+				.andExpect(status().isCreated()).andExpect(header().string("Idempotent-Replayed", "true"))
+				.andExpect(content().json(objectMapper.writeValueAsString(order)));
+
+		verify(orderPlacementService, never()).placeOrder(any(OrderDto.class));
+	}
+
+	@Test
+	void testAddOrder_NotFound() throws Exception {
+		CustomerDto customerDto = new CustomerDto();
+		customerDto.setCustomerId(1);
+
+		OrderDto orderDto = new OrderDto();
+		orderDto.setOrderDate(LocalDateTime.of(2024, 7, 1, 12, 0));
+		orderDto.setOrderStatus("Pending");
+		orderDto.setCustomer(customerDto);
+
+		when(orderPlacementService.placeOrder(any(OrderDto.class)))
+				.thenThrow(new EntityNotFoundException("Customer with ID 1 not found"));
+
+		mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(orderDto))).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void testAddOrderAsync() throws Exception {
+		CustomerDto customerDto = new CustomerDto();
+		customerDto.setCustomerId(1);
+
+		OrderDto orderDto = new OrderDto();
+		orderDto.setOrderDate(LocalDateTime.of(2024, 7, 1, 12, 0));
+		orderDto.setOrderStatus("Pending");
+		orderDto.setCustomer(customerDto);
+
+		OrderTicket ticket = OrderTicket.queued("ticket-1", LocalDateTime.of(2024, 7, 1, 12, 0));
+		when(orderIntakeService.submit(any(OrderDto.class))).thenReturn(ticket);
+
+		mockMvc.perform(post("/api/orders/async").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(orderDto))).andExpect(status().isAccepted())
+				.andExpect(header().string("Location", "/api/orders/tickets/ticket-1"))
+				.andExpect(content().json(objectMapper.writeValueAsString(ticket)));
+	}
+
+	@Test
+	void testAddOrderAsync_QueueFull() throws Exception {
+		CustomerDto customerDto = new CustomerDto();
+		customerDto.setCustomerId(1);
+
+		OrderDto orderDto = new OrderDto();
+		orderDto.setOrderDate(LocalDateTime.of(2024, 7, 1, 12, 0));
+		orderDto.setOrderStatus("Pending");
+		orderDto.setCustomer(customerDto);
+
+		when(orderIntakeService.submit(any(OrderDto.class)))
+				.thenThrow(new QueueFullException("Order queue is full, please retry later"));
+
+		mockMvc.perform(post("/api/orders/async").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(orderDto))).andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "1"));
+	}
+
+	@Test
+	void testImportOrders() throws Exception {
+		OrderImportReport report = new OrderImportReport(2, 1, List.of("Line 2: malformed JSON"));
+		when(orderImportService.importOrders(any())).thenReturn(report);
+
+		mockMvc.perform(post("/api/orders/import").contentType("application/x-ndjson").content("{}\n{\n{}\n"))
+				.andExpect(status().isOk()).andExpect(content().json(objectMapper.writeValueAsString(report)));
+	}
+
+	@Test
+	void testExportOrders() throws Exception {
+		when(orderExportService.exportOrders(any(), eq(OrderExportFormat.CSV))).thenAnswer(invocation -> {
+			invocation.<OutputStream>getArgument(0).write("order_id\n1\n".getBytes());
+			return 1L;
+		});
+
+		MvcResult result = mockMvc.perform(get("/api/orders/export").param("format", "csv"))
+				.andExpect(request().asyncStarted()).andReturn();
+
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", "text/csv"))
+				.andExpect(content().string("order_id\n1\n"));
+	}
+
+	@Test
+	void testExportOrders_InvalidFormat() throws Exception {
+		mockMvc.perform(get("/api/orders/export").param("format", "xml")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void testFindTicket_NotFound() throws Exception {
+		when(orderIntakeService.findTicket("unknown")).thenReturn(null);
+
+		mockMvc.perform(get("/api/orders/tickets/{id}", "unknown")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void testFindAllOrders() throws Exception {
+		when(orderService.findPage(0, 50)).thenReturn(new KeysetPage<>(List.of(order), null));
+
+		mockMvc.perform(get("/api/orders")).andExpect(status().isOk())
+				.andExpect(header().doesNotExist("X-Next-Cursor"))
+				.andExpect(content().json(objectMapper.writeValueAsString(List.of(order))));
+	}
+
 	@Test
 	void testFindOrderById() throws Exception {
+		ResourceVersion version = new ResourceVersion(1, 0, LocalDateTime.of(2024, 7, 1, 12, 0), 2, 0, 0, null);
+		when(orderService.findVersion(anyInt())).thenReturn(version);
 		when(orderService.findById(anyInt())).thenReturn(order);
 
 		mockMvc.perform(get("/api/orders/{id}", 1)).andExpect(status().isOk())
+				.andExpect(header().string("ETag", version.etag()))
+				.andExpect(header().string("Cache-Control", "no-cache"))
 				.andExpect(content().json(objectMapper.writeValueAsString(order)));
 	}
 
+	@Test
+	void testFindOrderById_NotModified() throws Exception {
+		ResourceVersion version = new ResourceVersion(1, 0, LocalDateTime.of(2024, 7, 1, 12, 0), 2, 0, 0, null);
+		when(orderService.findVersion(anyInt())).thenReturn(version);
+
+		mockMvc.perform(get("/api/orders/{id}", 1).header("If-None-Match", version.etag()))
+				.andExpect(status().isNotModified());
+
+		verify(orderService, never()).findById(anyInt());
+	}
+
+	@Test
+	void testFindOrderById_ChangedVersion() throws Exception {
+		ResourceVersion before = new ResourceVersion(1, 0, LocalDateTime.of(2024, 7, 1, 12, 0), 2, 0, 0, null);
+		ResourceVersion after = new ResourceVersion(1, 1, LocalDateTime.of(2024, 7, 1, 12, 5), 2, 0, 0, null);
+		when(orderService.findVersion(anyInt())).thenReturn(after);
+		when(orderService.findById(anyInt())).thenReturn(order);
+
+		mockMvc.perform(get("/api/orders/{id}", 1).header("If-None-Match", before.etag()))
+				.andExpect(status().isOk()).andExpect(header().string("ETag", after.etag()));
+	}
+
 	@Test
 	void testFindOrderById_NotFound() throws Exception {
 		when(orderService.findById(anyInt())).thenThrow(new EntityNotFoundException("Order not found at ID 1"));
@@ -207,6 +436,23 @@ public class OrderControllerTest {
 				.andExpect(content().json(objectMapper.writeValueAsString(deliveryDriver)));
 	}
 
+	@Test
+	void testAssignDriver_TracksAfterCommit() {
+		// Test the driver's load only counts the order once the transaction has committed
+		when(orderService.findById(anyInt())).thenReturn(order);
+		when(deliveryDriverService.findById(anyInt())).thenReturn(deliveryDriver);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			orderFacade.assignDriver(1, 1);
+
+			verify(driverDispatchService, never()).track(anyInt(), any(), any());
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+			verify(driverDispatchService).track(1, 1, order.getOrderStatus());
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
 	@Test
 	void testAssignDriver_OrderNotFound() throws Exception {
 		when(orderService.findById(anyInt())).thenThrow(new EntityNotFoundException("Order with ID 1 not found"));
@@ -222,4 +468,96 @@ public class OrderControllerTest {
 
 		mockMvc.perform(put("/api/orders/{orderId}/assignDriver/{driverId}", 1, 1)).andExpect(status().isNotFound());
 	}
+
+	@Test
+	void testAutoAssignDriver() throws Exception {
+		// Test the nearest available driver is assigned and counted for the order
+		restaurant.setLatitude(52.52);
+		restaurant.setLongitude(13.405);
+		when(orderService.findById(anyInt())).thenReturn(order);
+		when(driverDispatchService.reserve(1, 52.52, 13.405))
+				.thenReturn(new NearbyDriver(1, 52.53, 13.41, 1.2, LocalDateTime.now()));
+		when(deliveryDriverService.findById(1)).thenReturn(deliveryDriver);
+		when(orderService.save(any(Order.class))).thenReturn(order);
+		when(deliveryDriverService.save(any(DeliveryDriver.class))).thenReturn(deliveryDriver);
+
+		mockMvc.perform(put("/api/orders/{orderId}/assignDriver/auto", 1)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.driverId").value(1));
+
+		verify(driverDispatchService).track(1, 1, order.getOrderStatus());
+		verify(driverDispatchService, never()).release(anyInt());
+	}
+
+	@Test
+	void testAutoAssignDriver_AlreadyAssigned() throws Exception {
+		// Test an order that has a driver keeps it
+		order.setDeliveryDriver(deliveryDriver);
+		when(orderService.findById(anyInt())).thenReturn(order);
+
+		mockMvc.perform(put("/api/orders/{orderId}/assignDriver/auto", 1)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.driverId").value(1));
+
+		verify(driverDispatchService, never()).reserve(anyInt(), anyDouble(), anyDouble());
+	}
+
+	@Test
+	void testAutoAssignDriver_RestaurantWithoutPosition() throws Exception {
+		// Test a restaurant without coordinates cannot be dispatched from
+		when(orderService.findById(anyInt())).thenReturn(order);
+
+		mockMvc.perform(put("/api/orders/{orderId}/assignDriver/auto", 1)).andExpect(status().isConflict());
+
+		verify(driverDispatchService, never()).reserve(anyInt(), anyDouble(), anyDouble());
+	}
+
+	@Test
+	void testAutoAssignDriver_NoDriverAvailable() throws Exception {
+		// Test the API answers 409 when every driver is too far or busy
+		restaurant.setLatitude(52.52);
+		restaurant.setLongitude(13.405);
+		when(orderService.findById(anyInt())).thenReturn(order);
+		when(driverDispatchService.reserve(anyInt(), anyDouble(), anyDouble()))
+				.thenThrow(new NoDriverAvailableException("No delivery driver is available"));
+
+		mockMvc.perform(put("/api/orders/{orderId}/assignDriver/auto", 1)).andExpect(status().isConflict())
+				.andExpect(jsonPath("$.message").value("No delivery driver is available"));
+
+		verify(orderService, never()).save(any(Order.class));
+	}
+
+	@Test
+	void testAutoAssignDriver_ReleasedWhenDriverMissing() throws Exception {
+		// Test the reservation is undone when the chosen driver no longer exists
+		restaurant.setLatitude(52.52);
+		restaurant.setLongitude(13.405);
+		when(orderService.findById(anyInt())).thenReturn(order);
+		when(driverDispatchService.reserve(anyInt(), anyDouble(), anyDouble()))
+				.thenReturn(new NearbyDriver(7, 52.53, 13.41, 1.2, LocalDateTime.now()));
+		when(deliveryDriverService.findById(7)).thenReturn(null);
+
+		mockMvc.perform(put("/api/orders/{orderId}/assignDriver/auto", 1)).andExpect(status().isNotFound());
+
+		verify(driverDispatchService).release(1);
+	}
+
+	@Test
+	void testGetDispatchStats() throws Exception {
+		// Test the recent ticks are reported with their solve times
+		when(dispatchOptimizerService.getRecentTicks()).thenReturn(
+				List.of(new DispatchTickStats(3, LocalDateTime.now(), 12, 8, 2, 8, 14.5, 0.42, 6.1)));
+
+		mockMvc.perform(get("/api/orders/dispatch/stats")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].tick").value(3)).andExpect(jsonPath("$[0].assignedOrders").value(8))
+				.andExpect(jsonPath("$[0].solveMillis").value(0.42));
+	}
+
+	@Test
+	void testRunDispatchTick() throws Exception {
+		// Test a tick can be run on demand
+		when(dispatchOptimizerService.runTick())
+				.thenReturn(new DispatchTickStats(1, LocalDateTime.now(), 0, 0, 0, 0, 0, 0.01, 0));
+
+		mockMvc.perform(post("/api/orders/dispatch/tick")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.tick").value(1));
+	}
 }
@@ -0,0 +1,115 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fooddeliverysystem.dao.OrderDao;
+import com.fooddeliverysystem.dao.OrderItemDao;
+import com.fooddeliverysystem.entity.Customer;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.service.OrderExportFormat;
+import com.fooddeliverysystem.service.OrderExportItem;
+import com.fooddeliverysystem.service.OrderExportServiceImpl;
+
+import jakarta.persistence.EntityManager;
+
+public class OrderExportServiceTest {
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private OrderItemDao orderItemDao;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private OrderExportServiceImpl orderExportService;
+
+    private Order first;
+    private Order second;
+    private Order third;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        orderExportService = new OrderExportServiceImpl(orderDao, orderItemDao,
+                JsonMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build(),
+                2);
+        ReflectionTestUtils.setField(orderExportService, "entityManager", entityManager);
+
+        Customer customer = new Customer();
+        customer.setCustomerId(5);
+        first = order(1, customer, "Pending");
+        second = order(2, null, "Late, again");
+        third = order(3, customer, "Delivered");
+
+        when(orderDao.streamAllForExport()).thenReturn(Stream.of(first, second, third));
+        when(orderItemDao.findExportItems(anyCollection()))
+                .thenReturn(List.of(new OrderExportItem(1, 10, 100, 2), new OrderExportItem(1, 11, 101, 1)))
+                .thenReturn(List.of());
+    }
+
+    // Test that orders are written as NDJSON in chunks and detached as they go
+    @Test
+    void testExportOrdersNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Call service method
+        long exported = orderExportService.exportOrders(out, OrderExportFormat.NDJSON);
+
+        // Assert the result is as expected
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, exported);
+        assertEquals(3, lines.length);
+        assertEquals("{\"orderId\":1,\"orderDate\":\"2024-07-01T12:00:00\",\"customerId\":5,\"restaurantId\":null,"
+                + "\"deliveryDriverId\":null,\"orderStatus\":\"Pending\",\"items\":[{\"orderItemId\":10,"
+                + "\"menuItemId\":100,\"quantity\":2},{\"orderItemId\":11,\"menuItemId\":101,\"quantity\":1}]}",
+                lines[0]);
+        verify(orderItemDao, times(2)).findExportItems(anyCollection());
+        verify(entityManager, times(1)).detach(third);
+        verify(entityManager, times(2)).clear();
+    }
+
+    // Test that CSV rows are written per item and quoted where needed
+    @Test
+    void testExportOrdersCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Call service method
+        orderExportService.exportOrders(out, OrderExportFormat.CSV);
+
+        // Assert the result is as expected
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, lines.length);
+        assertEquals("1,2024-07-01T12:00,5,,,Pending,10,100,2", lines[1]);
+        assertEquals("1,2024-07-01T12:00,5,,,Pending,11,101,1", lines[2]);
+        assertEquals("2,2024-07-01T12:00,,,,\"Late, again\",,,", lines[3]);
+    }
+
+    private Order order(int id, Customer customer, String status) {
+        Order order = new Order();
+        order.setOrderId(id);
+        order.setCustomer(customer);
+        order.setOrderDate(LocalDateTime.of(2024, 7, 1, 12, 0));
+        order.setOrderStatus(status);
+        return order;
+    }
+}
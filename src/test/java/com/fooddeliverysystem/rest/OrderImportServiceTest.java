@@ -0,0 +1,99 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.service.OrderImportReport;
+import com.fooddeliverysystem.service.OrderImportServiceImpl;
+import com.fooddeliverysystem.service.OrderPlacementOutcome;
+import com.fooddeliverysystem.service.OrderPlacementService;
+
+import jakarta.validation.Validation;
+
+public class OrderImportServiceTest {
+
+    private static final String VALID_LINE = "{\"orderDate\":\"2024-07-01T12:00:00\",\"orderStatus\":\"Pending\","
+            + "\"customer\":{\"customerId\":1},\"restaurant\":{\"restaurantId\":1},"
+            + "\"items\":[{\"menuItem\":{\"menuItemId\":1},\"quantity\":2}]}";
+
+    @Mock
+    private OrderPlacementService orderPlacementService;
+
+    private OrderImportServiceImpl orderImportService;
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        orderImportService = new OrderImportServiceImpl(orderPlacementService,
+                JsonMapper.builder().findAndAddModules().build(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 2);
+
+        // Place every order of a chunk, remembering the chunk sizes
+        when(orderPlacementService.placeOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderDto> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            List<OrderPlacementOutcome> outcomes = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                outcomes.add(OrderPlacementOutcome.placed(new Order()));
+            }
+            return outcomes;
+        });
+    }
+
+    // Test that valid lines are placed in chunks and invalid lines are counted
+    @Test
+    void testImportOrders() throws Exception {
+        // Mock data: five valid lines, a malformed line, an invalid order and a blank line
+        String body = String.join("\n", VALID_LINE, VALID_LINE, "{not json", VALID_LINE,
+                "{\"orderStatus\":\"Pending\",\"customer\":{\"customerId\":1},\"restaurant\":{\"restaurantId\":1}}",
+                "", VALID_LINE, VALID_LINE);
+
+        // Call service method
+        OrderImportReport report = orderImportService
+                .importOrders(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert the result is as expected
+        assertEquals(5, report.accepted());
+        assertEquals(2, report.rejected());
+        assertTrue(report.errors().get(0).startsWith("Line 3: malformed JSON"));
+        assertEquals("Line 5: Order Date is mandatory", report.errors().get(1));
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+        verify(orderPlacementService, times(3)).placeOrders(anyList());
+    }
+
+    // Test that orders rejected by the placement are reported with their line number
+    @Test
+    void testImportOrdersReportsRejectedReferences() throws Exception {
+        // Mock data
+        when(orderPlacementService.placeOrders(anyList())).thenReturn(List.of(
+                OrderPlacementOutcome.placed(new Order()), OrderPlacementOutcome.rejected("Customer with ID 1 not found")));
+        String body = VALID_LINE + "\n" + VALID_LINE + "\n";
+
+        // Call service method
+        OrderImportReport report = orderImportService
+                .importOrders(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert the result is as expected
+        assertEquals(1, report.accepted());
+        assertEquals(List.of("Line 2: Customer with ID 1 not found"), report.errors());
+    }
+}
@@ -0,0 +1,121 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.exception.QueueFullException;
+import com.fooddeliverysystem.service.OrderIntakeServiceImpl;
+import com.fooddeliverysystem.service.OrderPlacementOutcome;
+import com.fooddeliverysystem.service.OrderPlacementResult;
+import com.fooddeliverysystem.service.OrderPlacementService;
+import com.fooddeliverysystem.service.OrderTicket;
+
+import jakarta.persistence.EntityNotFoundException;
+
+public class OrderIntakeServiceTest {
+
+    @Mock
+    private OrderPlacementService orderPlacementService;
+
+    private OrderIntakeServiceImpl orderIntakeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        orderIntakeService.stop();
+    }
+
+    // Test that queued orders are committed as one group and their tickets updated
+    @Test
+    void testSubmitPlacesOrdersInGroups() throws InterruptedException {
+        // Mock data
+        Order order = new Order();
+        order.setOrderId(10);
+        when(orderPlacementService.placeOrders(anyList())).thenReturn(
+                List.of(OrderPlacementOutcome.placed(order), OrderPlacementOutcome.rejected("Coupon with ID 9 not found")));
+
+        // Queue two orders before the writer starts, so they form one group
+        orderIntakeService = new OrderIntakeServiceImpl(orderPlacementService, 10, 1, 64, 60);
+        OrderTicket placed = submitQueued(new OrderDto());
+        OrderTicket rejected = submitQueued(new OrderDto());
+        orderIntakeService.start();
+
+        // Assert the tickets are completed by the writer
+        assertEquals(10, awaitCompletion(placed.ticketId()).orderId());
+        assertEquals("Coupon with ID 9 not found", awaitCompletion(rejected.ticketId()).error());
+        verify(orderPlacementService, times(1)).placeOrders(anyList());
+        assertEquals(1, orderIntakeService.getStats().committedGroups());
+        assertEquals(0, orderIntakeService.getStats().queueDepth());
+    }
+
+    // Test that the orders of a failed group are retried one by one
+    @Test
+    void testFailedGroupFallsBackToSingleOrders() throws InterruptedException {
+        // Mock data
+        OrderDto good = new OrderDto();
+        OrderDto bad = new OrderDto();
+        Order order = new Order();
+        order.setOrderId(11);
+        when(orderPlacementService.placeOrders(anyList())).thenThrow(new IllegalStateException("deadlock"));
+        when(orderPlacementService.placeOrder(good)).thenReturn(new OrderPlacementResult(order, null));
+        when(orderPlacementService.placeOrder(bad)).thenThrow(new EntityNotFoundException("Customer with ID 2 not found"));
+
+        orderIntakeService = new OrderIntakeServiceImpl(orderPlacementService, 10, 1, 64, 60);
+        OrderTicket goodTicket = submitQueued(good);
+        OrderTicket badTicket = submitQueued(bad);
+        orderIntakeService.start();
+
+        // Assert each order got its own outcome
+        assertEquals(OrderTicket.Status.PLACED, awaitCompletion(goodTicket.ticketId()).status());
+        assertEquals(OrderTicket.Status.FAILED, awaitCompletion(badTicket.ticketId()).status());
+    }
+
+    // Test that submissions beyond the queue capacity are rejected
+    @Test
+    void testSubmitRejectsWhenQueueFull() {
+        orderIntakeService = new OrderIntakeServiceImpl(orderPlacementService, 1, 1, 64, 60);
+        submitQueued(new OrderDto());
+
+        assertThrows(QueueFullException.class, () -> submitQueued(new OrderDto()));
+        assertEquals(1, orderIntakeService.getStats().queueDepth());
+        assertNull(orderIntakeService.findTicket("unknown"));
+    }
+
+    // Submits while the writers are stopped, so the order stays in the queue
+    private OrderTicket submitQueued(OrderDto orderDto) {
+        ReflectionTestUtils.setField(orderIntakeService, "running", true);
+        return orderIntakeService.submit(orderDto);
+    }
+
+    private OrderTicket awaitCompletion(String ticketId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            OrderTicket ticket = orderIntakeService.findTicket(ticketId);
+            if (ticket.status() != OrderTicket.Status.QUEUED) {
+                return ticket;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Ticket " + ticketId + " was not completed");
+    }
+}
@@ -0,0 +1,251 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import com.fooddeliverysystem.dao.CouponDao;
+import com.fooddeliverysystem.dao.CustomerDao;
+import com.fooddeliverysystem.dao.MenuItemDao;
+import com.fooddeliverysystem.dao.RestaurantDao;
+import com.fooddeliverysystem.dto.CouponDto;
+import com.fooddeliverysystem.dto.CustomerDto;
+import com.fooddeliverysystem.dto.MenuItemDto;
+import com.fooddeliverysystem.dto.OrderDto;
+import com.fooddeliverysystem.dto.OrderItemDto;
+import com.fooddeliverysystem.dto.RestaurantDto;
+import com.fooddeliverysystem.entity.Coupon;
+import com.fooddeliverysystem.entity.Customer;
+import com.fooddeliverysystem.entity.MenuItem;
+import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.service.IdAllocator;
+import com.fooddeliverysystem.service.IdSequenceType;
+import com.fooddeliverysystem.service.LeaderboardService;
+import com.fooddeliverysystem.service.OrderPlacementOutcome;
+import com.fooddeliverysystem.service.OrderPlacementResult;
+import com.fooddeliverysystem.service.OrderPlacementServiceImpl;
+import com.fooddeliverysystem.service.ReviewSearchService;
+
+import jakarta.persistence.EntityNotFoundException;
+
+public class OrderPlacementServiceTest {
+
+    @Mock
+    private CustomerDao customerDao;
+
+    @Mock
+    private RestaurantDao restaurantDao;
+
+    @Mock
+    private MenuItemDao menuItemDao;
+
+    @Mock
+    private CouponDao couponDao;
+
+    @Mock
+    private IdAllocator idAllocator;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private ReviewSearchService reviewSearchService;
+
+    @InjectMocks
+    private OrderPlacementServiceImpl orderPlacementService;
+
+    private Customer customer;
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        customer = new Customer();
+        customer.setCustomerId(1);
+
+        restaurant = new Restaurant();
+        restaurant.setRestaurantId(1);
+    }
+
+    // Test that an order with several items is resolved and written with one batch per table
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPlaceOrder() {
+        // Mock data
+        MenuItem first = new MenuItem();
+        first.setItemId(1);
+        MenuItem second = new MenuItem();
+        second.setItemId(2);
+        Coupon coupon = new Coupon();
+        coupon.setCouponId(5);
+
+        when(customerDao.findById(1)).thenReturn(Optional.of(customer));
+        when(restaurantDao.findById(1)).thenReturn(Optional.of(restaurant));
+        when(menuItemDao.findAllById(anyCollection())).thenReturn(List.of(first, second));
+        when(couponDao.findAllById(anyCollection())).thenReturn(List.of(coupon));
+        when(idAllocator.nextId(IdSequenceType.ORDERS)).thenReturn(10);
+        when(idAllocator.nextIds(IdSequenceType.ORDER_ITEMS, 3)).thenReturn(new int[] { 20, 21, 22 });
+        when(idAllocator.nextIds(IdSequenceType.RATINGS, 0)).thenReturn(new int[0]);
+
+        OrderDto orderDto = orderDto(List.of(item(1, 2), item(2, 1), item(1, 4)));
+        CouponDto couponDto = new CouponDto();
+        couponDto.setCouponId(5);
+        orderDto.setCoupons(List.of(couponDto));
+
+        // Call service method
+        OrderPlacementResult result = orderPlacementService.placeOrder(orderDto);
+
+        // Assert the result is as expected
+        Order order = result.order();
+        assertEquals(10, order.getOrderId());
+        assertEquals(3, order.getItems().size());
+        assertEquals(22, order.getItems().get(2).getOrderItemId());
+        assertEquals(first, order.getItems().get(2).getMenuItem());
+        assertEquals(coupon, order.getCoupons().get(0));
+        verify(menuItemDao, times(1)).findAllById(anyCollection());
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO orders "), anyList(), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO orderitems "), anyList(), eq(3),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("INSERT INTO ratings "), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO orderscoupons "), anyList());
+        verify(leaderboardService, times(1)).recordPlaced(anyList());
+    }
+
+    // Test that nothing is written when a referenced menu item does not exist
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPlaceOrder_MenuItemNotFound() {
+        // Mock data
+        MenuItem first = new MenuItem();
+        first.setItemId(1);
+
+        when(customerDao.findById(1)).thenReturn(Optional.of(customer));
+        when(restaurantDao.findById(1)).thenReturn(Optional.of(restaurant));
+        when(menuItemDao.findAllById(anyCollection())).thenReturn(List.of(first));
+
+        OrderDto orderDto = orderDto(List.of(item(1, 1), item(3, 1)));
+
+        // Call service method and assert the exception
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> orderPlacementService.placeOrder(orderDto));
+        assertEquals("Menu Item with ID 3 not found", exception.getMessage());
+        verify(idAllocator, never()).nextId(any());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    // Test that the idempotency key is recorded together with the order
+    @Test
+    void testPlaceOrder_RecordsIdempotencyKey() {
+        // Mock data
+        when(customerDao.findById(1)).thenReturn(Optional.of(customer));
+        when(restaurantDao.findById(1)).thenReturn(Optional.of(restaurant));
+        when(idAllocator.nextId(IdSequenceType.ORDERS)).thenReturn(10);
+        when(idAllocator.nextIds(any(), eq(0))).thenReturn(new int[0]);
+
+        // Call service method
+        orderPlacementService.placeOrder(orderDto(null), "retry-1");
+
+        // Assert the key row is written for the new order
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT INTO idempotency_keys "), eq("retry-1"), eq(10),
+                any());
+    }
+
+    // Test that a group is written in one batch per table and bad orders are rejected alone
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPlaceOrders() {
+        // Mock data
+        MenuItem first = new MenuItem();
+        first.setItemId(1);
+
+        when(customerDao.findAllById(anyCollection())).thenReturn(List.of(customer));
+        when(restaurantDao.findAllById(anyCollection())).thenReturn(List.of(restaurant));
+        when(menuItemDao.findAllById(anyCollection())).thenReturn(List.of(first));
+        when(idAllocator.nextId(IdSequenceType.ORDERS)).thenReturn(10, 11);
+        when(idAllocator.nextIds(eq(IdSequenceType.ORDER_ITEMS), anyInt())).thenReturn(new int[] { 20 },
+                new int[] { 21 });
+        when(idAllocator.nextIds(IdSequenceType.RATINGS, 0)).thenReturn(new int[0]);
+
+        List<OrderDto> group = List.of(orderDto(List.of(item(1, 1))), orderDto(List.of(item(3, 1))),
+                orderDto(List.of(item(1, 2))));
+
+        // Call service method
+        List<OrderPlacementOutcome> outcomes = orderPlacementService.placeOrders(group);
+
+        // Assert the result is as expected
+        assertEquals(3, outcomes.size());
+        assertEquals(10, outcomes.get(0).order().getOrderId());
+        assertEquals("Menu Item with ID 3 not found", outcomes.get(1).error());
+        assertEquals(11, outcomes.get(2).order().getOrderId());
+        verify(menuItemDao, times(1)).findAllById(anyCollection());
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO orders "), anyList(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO orderitems "), anyList(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    // Test that an unknown customer is rejected before any other lookup
+    @Test
+    void testPlaceOrder_CustomerNotFound() {
+        // Mock data
+        when(customerDao.findById(1)).thenReturn(Optional.empty());
+
+        // Call service method and assert the exception
+        assertThrows(EntityNotFoundException.class, () -> orderPlacementService.placeOrder(orderDto(null)));
+        verify(restaurantDao, never()).findById(anyInt());
+    }
+
+    private OrderDto orderDto(List<OrderItemDto> items) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setCustomerId(1);
+        RestaurantDto restaurantDto = new RestaurantDto();
+        restaurantDto.setRestaurantId(1);
+
+        OrderDto orderDto = new OrderDto();
+        orderDto.setOrderDate(LocalDateTime.of(2024, 7, 1, 12, 0));
+        orderDto.setOrderStatus("Pending");
+        orderDto.setCustomer(customerDto);
+        orderDto.setRestaurant(restaurantDto);
+        orderDto.setItems(items);
+        return orderDto;
+    }
+
+    private OrderItemDto item(int menuItemId, int quantity) {
+        MenuItemDto menuItemDto = new MenuItemDto();
+        menuItemDto.setMenuItemId(menuItemId);
+        OrderItemDto orderItemDto = new OrderItemDto();
+        orderItemDto.setMenuItem(menuItemDto);
+        orderItemDto.setQuantity(quantity);
+        return orderItemDto;
+    }
+}
@@ -15,9 +15,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
 import com.fooddeliverysystem.dao.OrderDao;
 import com.fooddeliverysystem.entity.Order;
+import com.fooddeliverysystem.service.KeysetPage;
 import com.fooddeliverysystem.service.OrderServiceImpl;
 
 public class OrderServiceTest {
@@ -33,21 +35,6 @@ public class OrderServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
-    // Test method for findLastRecord
-    @Test
-    void testFindLastRecord() {
-        // Mock data
-        Order order = new Order();
-        order.setOrderId(10);
-        when(orderDao.findFirstByOrderByOrderIdDesc()).thenReturn(order);
-
-        // Call service method
-        Order result = orderService.findLastRecord();
-
-        // Assert the result is as expected
-        assertEquals(order, result);
-    }
-
     // Test method for findById
     @Test
     void testFindById() {
@@ -75,6 +62,42 @@ public class OrderServiceTest {
         assertNull(result);
     }
 
+    // Test method for findPage
+    @Test
+    void testFindPage() {
+        // Mock data: one row more than the limit means another page follows
+        List<Order> fetched = new ArrayList<>();
+        for (int id = 11; id <= 13; id++) {
+            Order order = new Order();
+            order.setOrderId(id);
+            fetched.add(order);
+        }
+        when(orderDao.findByOrderIdGreaterThanOrderByOrderIdAsc(10, Limit.of(3))).thenReturn(fetched);
+
+        // Call service method
+        KeysetPage<Order> page = orderService.findPage(10, 2);
+
+        // Assert the result is as expected
+        assertEquals(2, page.items().size());
+        assertEquals(12, page.nextCursor());
+    }
+
+    // Test that the last page has no next cursor
+    @Test
+    void testFindPageLastPage() {
+        // Mock data
+        Order order = new Order();
+        order.setOrderId(11);
+        when(orderDao.findByOrderIdGreaterThanOrderByOrderIdAsc(10, Limit.of(3))).thenReturn(List.of(order));
+
+        // Call service method
+        KeysetPage<Order> page = orderService.findPage(10, 2);
+
+        // Assert the result is as expected
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
     // Test method for findAll
     @Test
     void testFindAll() {
@@ -0,0 +1,181 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.ui.ExtendedModelMap;
+
+import com.fooddeliverysystem.controller.PageAssembler;
+import com.fooddeliverysystem.exception.PageLoadTimeoutException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+
+public class PageAssemblerTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private PageAssembler pageAssembler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.isOpen()).thenReturn(true);
+        pageAssembler = new PageAssembler(entityManagerFactory, new StandardEnvironment(), 4, 16, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pageAssembler.stop();
+    }
+
+    // Test that the loads of a page run at the same time
+    @Test
+    void testAddTo_RunsLoadsConcurrently() {
+        // Each load only completes once the other one has started
+        CountDownLatch started = new CountDownLatch(2);
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        pageAssembler.newPage()
+                .load("first", () -> awaitBoth(started, "a"))
+                .load("second", () -> awaitBoth(started, "b"))
+                .addTo(model);
+
+        // Assert both results are in the model
+        assertEquals("a", model.get("first"));
+        assertEquals("b", model.get("second"));
+    }
+
+    // Test that the loads still run at the same time with virtual threads switched on
+    @Test
+    void testAddTo_VirtualThreadsRunLoadsConcurrently() {
+        // Virtual threads on a Java 21 runtime, the bounded pool on older ones
+        PageAssembler virtualAssembler = new PageAssembler(entityManagerFactory,
+                new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"), 4, 16, 500);
+        CountDownLatch started = new CountDownLatch(2);
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        try {
+            virtualAssembler.newPage()
+                    .load("first", () -> awaitBoth(started, "a"))
+                    .load("second", () -> awaitBoth(started, "b"))
+                    .addTo(model);
+        } finally {
+            virtualAssembler.stop();
+        }
+
+        // Assert both results are in the model and the EntityManagers are closed
+        assertEquals("a", model.get("first"));
+        assertEquals("b", model.get("second"));
+        verify(entityManager, times(2)).close();
+    }
+
+    // Test that a failed optional load is replaced by its fallback
+    @Test
+    void testAddTo_OptionalFailureUsesFallback() {
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        pageAssembler.newPage()
+                .load("restaurant", () -> "Pizza Place")
+                .loadOptional("coupons", () -> {
+                    throw new IllegalStateException("database unavailable");
+                }, List.of())
+                .addTo(model);
+
+        // Assert the page keeps the other load and lists the missing section
+        assertEquals("Pizza Place", model.get("restaurant"));
+        assertEquals(List.of(), model.get("coupons"));
+        assertEquals(List.of("coupons"), model.get("unavailable"));
+    }
+
+    // Test that a failed required load fails the page with its own exception
+    @Test
+    void testAddTo_RequiredFailureIsRethrown() {
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        PageAssembler.Page page = pageAssembler.newPage()
+                .load("restaurant", () -> {
+                    throw new EntityNotFoundException("No restaurant found with ID 1");
+                })
+                .loadOptional("coupons", List::of, List.of());
+
+        // Assert the exception reaches the controller
+        assertThrows(EntityNotFoundException.class, () -> page.addTo(model));
+    }
+
+    // Test that the page deadline bounds the wait for slow loads
+    @Test
+    void testAddTo_Deadline() {
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        // A slow optional load is left out
+        pageAssembler.newPage()
+                .load("restaurant", () -> "Pizza Place")
+                .loadOptional("coupons", () -> sleep(5000), List.of())
+                .addTo(model);
+        assertEquals(List.of("coupons"), model.get("unavailable"));
+
+        // A slow required load fails the page
+        PageAssembler.Page page = pageAssembler.newPage().load("restaurant", () -> sleep(5000));
+        assertThrows(PageLoadTimeoutException.class, () -> page.addTo(new ExtendedModelMap()));
+    }
+
+    // Test that the EntityManager of each load is closed outside of a request
+    @Test
+    void testAddTo_ClosesEntityManagers() {
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        pageAssembler.newPage()
+                .load("first", () -> "a")
+                .load("second", () -> "b")
+                .addTo(model);
+
+        // Assert one EntityManager per load, each closed after the page was assembled
+        verify(entityManagerFactory, times(2)).createEntityManager();
+        verify(entityManager, times(2)).close();
+        assertFalse(model.containsAttribute("unavailable"));
+    }
+
+    private static String awaitBoth(CountDownLatch started, String result) {
+        started.countDown();
+        try {
+            if (!started.await(2, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Loads did not run concurrently");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return result;
+    }
+
+    private static String sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "late";
+    }
+}
@@ -0,0 +1,192 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.fooddeliverysystem.dao.RestaurantDao;
+import com.fooddeliverysystem.entity.Rating;
+import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.service.LeaderboardService;
+import com.fooddeliverysystem.service.RatingAggregateServiceImpl;
+import com.fooddeliverysystem.service.RatingRebuildReport;
+
+public class RatingAggregateServiceTest {
+
+    @Mock
+    private RestaurantDao restaurantDao;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    private RatingAggregateServiceImpl ratingAggregateService;
+
+    // The aggregates computed from the ratings table and those stored, by restaurant ID
+    private final Map<Integer, long[]> ratingTotals = new HashMap<>();
+    private final Map<Integer, long[]> storedAggregates = new HashMap<>();
+
+    // The statements sent as batches: the SQL and the parameters of each statement
+    private final List<String> batchSql = Collections.synchronizedList(new ArrayList<>());
+    private final List<List<Object[]>> batchParameters = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ratingAggregateService = new RatingAggregateServiceImpl(restaurantDao, jdbcTemplate, null, leaderboardService, 3, 2,
+                0, false);
+
+        doAnswer(invocation -> {
+            Map<Integer, long[]> source = invocation.<String>getArgument(0).contains("from ratings") ? ratingTotals
+                    : storedAggregates;
+            RowCallbackHandler handler = invocation.getArgument(1);
+            int first = invocation.getArgument(2);
+            int last = invocation.getArgument(3);
+            for (Map.Entry<Integer, long[]> row : new TreeMap<>(source).entrySet()) {
+                if (row.getKey() >= first && row.getKey() <= last) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getInt(1)).thenReturn(row.getKey());
+                    for (int i = 0; i < row.getValue().length; i++) {
+                        when(rs.getLong(i + 2)).thenReturn(row.getValue()[i]);
+                    }
+                    handler.processRow(rs);
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        doAnswer(invocation -> {
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            List<Object[]> statements = new ArrayList<>();
+            for (Object argument : invocation.<Collection<Object>>getArgument(1)) {
+                PreparedStatement ps = mock(PreparedStatement.class);
+                Object[] parameters = new Object[9];
+                doAnswer(set -> parameters[set.<Integer>getArgument(0)] = set.getArgument(1)).when(ps)
+                        .setInt(anyInt(), anyInt());
+                doAnswer(set -> parameters[set.<Integer>getArgument(0)] = set.getArgument(1)).when(ps)
+                        .setLong(anyInt(), anyLong());
+                setter.setValues(ps, argument);
+                statements.add(parameters);
+            }
+            batchSql.add(invocation.getArgument(0));
+            batchParameters.add(statements);
+            return null;
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ratingAggregateService.stop();
+    }
+
+    // Test that ratings inserted together are summed per restaurant into one batch, in restaurant order
+    @Test
+    void testRecordAdded_SumsPerRestaurant() {
+        ratingAggregateService.recordAdded(List.of(rating(7, 5), rating(3, 4), rating(7, 3), rating(7, 5)));
+
+        assertEquals(1, batchParameters.size());
+        List<Object[]> statements = batchParameters.get(0);
+        assertEquals(2, statements.size());
+        assertEquals(Arrays.asList(null, 3, 1L, 4L, 0L, 0L, 0L, 1L, 0L), Arrays.asList(statements.get(0)));
+        assertEquals(Arrays.asList(null, 7, 3L, 13L, 0L, 0L, 1L, 0L, 2L), Arrays.asList(statements.get(1)));
+        verify(leaderboardService).recordRatings(argThat(changes -> changes.keySet().equals(Set.of(3, 7))
+                && changes.get(7)[0] == 3 && changes.get(7)[1] == 13));
+    }
+
+    // Test that a rating outside 1 to 5 counts towards the total and the sum but no histogram bucket
+    @Test
+    void testRecordAdded_OutOfRange() {
+        ratingAggregateService.recordAdded(List.of(rating(1, 0), rating(1, 7)));
+
+        assertEquals(Arrays.asList(null, 1, 2L, 7L, 0L, 0L, 0L, 0L, 0L), Arrays.asList(batchParameters.get(0).get(0)));
+    }
+
+    // Test that the rebuild checks ranges of restaurants and recomputes only those that differ
+    @Test
+    void testRebuild_RepairsDifferences() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class))).thenReturn(List.of(1, 2, 3, 4, 5));
+        // 1 is correct, 2 is missing an increment, 3 has no row yet, 4 has a row but no ratings left,
+        // 5 has neither
+        ratingTotals.put(1, new long[] { 2, 9, 0, 0, 0, 1, 1 });
+        storedAggregates.put(1, new long[] { 2, 9, 0, 0, 0, 1, 1 });
+        ratingTotals.put(2, new long[] { 3, 12, 0, 0, 1, 1, 1 });
+        storedAggregates.put(2, new long[] { 2, 8, 0, 0, 1, 0, 1 });
+        ratingTotals.put(3, new long[] { 1, 1, 1, 0, 0, 0, 0 });
+        storedAggregates.put(4, new long[] { 1, 5, 0, 0, 0, 0, 1 });
+
+        RatingRebuildReport report = ratingAggregateService.rebuild();
+
+        assertEquals(5, report.restaurants());
+        assertEquals(3, report.batches());
+        assertEquals(3, report.repaired());
+        List<Integer> repaired = new ArrayList<>();
+        for (int i = 0; i < batchSql.size(); i++) {
+            assertTrue(batchSql.get(i).contains("select ?, count(*)"));
+            batchParameters.get(i).forEach(parameters -> repaired.add((Integer) parameters[1]));
+        }
+        Collections.sort(repaired);
+        assertEquals(List.of(2, 3, 4), repaired);
+        assertSame(report, ratingAggregateService.getLastRebuild());
+        verify(leaderboardService).reload();
+    }
+
+    // Test that a rebuild finding everything correct writes nothing
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRebuild_NothingToRepair() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class))).thenReturn(List.of(1));
+        ratingTotals.put(1, new long[] { 1, 4, 0, 0, 0, 1, 0 });
+        storedAggregates.put(1, new long[] { 1, 4, 0, 0, 0, 1, 0 });
+
+        assertEquals(0, ratingAggregateService.rebuild().repaired());
+
+        verify(jdbcTemplate, never()).batchUpdate(argThat((String sql) -> sql.contains("select ?")),
+                any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(leaderboardService).reload();
+    }
+
+    private static Rating rating(int restaurantId, int stars) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(restaurantId);
+        Rating rating = new Rating();
+        rating.setRestaurant(restaurant);
+        rating.setRating(stars);
+        return rating;
+    }
+}
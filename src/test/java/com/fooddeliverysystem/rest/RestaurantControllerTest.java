@@ -1,6 +1,8 @@
 package com.fooddeliverysystem.rest;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -8,9 +10,13 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -21,18 +27,44 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fooddeliverysystem.dto.MenuItemDto;
+import com.fooddeliverysystem.dto.RatingSummary;
+import com.fooddeliverysystem.dto.ResourceVersion;
 import com.fooddeliverysystem.dto.RestaurantDto;
+import com.fooddeliverysystem.dto.RestaurantSummary;
 import com.fooddeliverysystem.entity.MenuItem;
+import com.fooddeliverysystem.entity.Rating;
 import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.service.AutocompleteService;
+import com.fooddeliverysystem.service.FavoriteService;
+import com.fooddeliverysystem.service.IdAllocator;
+import com.fooddeliverysystem.service.IdSequenceType;
+import com.fooddeliverysystem.service.KeysetPage;
+import com.fooddeliverysystem.service.LeaderboardEntry;
+import com.fooddeliverysystem.service.LeaderboardService;
+import com.fooddeliverysystem.service.LeaderboardType;
+import com.fooddeliverysystem.service.MenuCacheService;
 import com.fooddeliverysystem.service.MenuItemService;
+import com.fooddeliverysystem.service.MenuPayload;
+import com.fooddeliverysystem.service.MenuSearchGroup;
+import com.fooddeliverysystem.service.MenuSearchHit;
+import com.fooddeliverysystem.service.MenuSearchService;
+import com.fooddeliverysystem.service.NameSuggestion;
+import com.fooddeliverysystem.service.RatingAggregateService;
+import com.fooddeliverysystem.service.RatingRebuildReport;
+import com.fooddeliverysystem.service.RestaurantFacadeImpl;
+import com.fooddeliverysystem.service.ReviewSearchHit;
+import com.fooddeliverysystem.service.ReviewSearchService;
 import com.fooddeliverysystem.service.RestaurantService;
+import com.fooddeliverysystem.service.SuggestionType;
  
 @WebMvcTest(RestaurantController.class)
+@Import(RestaurantFacadeImpl.class)
 public class RestaurantControllerTest {
  
     @Autowired
@@ -44,6 +76,30 @@ public class RestaurantControllerTest {
     @MockBean
     private MenuItemService menuItemService;
  
+    @MockBean
+    private IdAllocator idAllocator;
+ 
+    @MockBean
+    private MenuCacheService menuCacheService;
+ 
+    @MockBean
+    private FavoriteService favoriteService;
+ 
+    @MockBean
+    private RatingAggregateService ratingAggregateService;
+ 
+    @MockBean
+    private LeaderboardService leaderboardService;
+ 
+    @MockBean
+    private ReviewSearchService reviewSearchService;
+ 
+    @MockBean
+    private AutocompleteService autocompleteService;
+ 
+    @MockBean
+    private MenuSearchService menuSearchService;
+ 
     @Autowired
     private ObjectMapper objectMapper;
  
@@ -54,6 +110,28 @@ public class RestaurantControllerTest {
  
     @Test
     public void testFindAllRestaurants() throws Exception {
+        // Prepare mock data
+        RestaurantSummary summary = new RestaurantSummary(1, "Test Restaurant", "123 Test St", "1234567890", 12, 2, 9, 0, 0, 0, 1, 1);
+ 
+        // Mock service call
+        when(restaurantService.findAllSummaries()).thenReturn(List.of(summary));
+ 
+        // Perform GET request
+        mockMvc.perform(get("/api/restaurants")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Test Restaurant"))
+                .andExpect(jsonPath("$[0].menuItemCount").value(12))
+                .andExpect(jsonPath("$[0].averageRating").value(4.5))
+                .andExpect(jsonPath("$[0].ratings.count").value(2))
+                .andExpect(jsonPath("$[0].ratings.histogram.5").value(1))
+                .andExpect(jsonPath("$[0].menuItems").doesNotExist());
+ 
+        verify(restaurantService, never()).findAll();
+    }
+ 
+    @Test
+    public void testFindAllRestaurants_FullView() throws Exception {
         // Prepare mock data
         Restaurant restaurant = new Restaurant();
         restaurant.setRestaurantId(1);
@@ -67,12 +145,54 @@ public class RestaurantControllerTest {
         when(restaurantService.findAll()).thenReturn(restaurants);
  
         // Perform GET request
-        mockMvc.perform(get("/api/restaurants")
+        mockMvc.perform(get("/api/restaurants").param("view", "full")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("Test Restaurant"));
     }
  
+    @Test
+    public void testFindRestaurantsPage() throws Exception {
+        // Prepare mock data
+        RestaurantSummary summary = new RestaurantSummary(21, "Test Restaurant", "123 Test St", "1234567890", 0, 0, 0, 0, 0, 0, 0, 0);
+ 
+        // Mock service call
+        when(restaurantService.findSummaryPage(20, 1)).thenReturn(new KeysetPage<>(List.of(summary), 21));
+ 
+        // Perform GET request
+        mockMvc.perform(get("/api/restaurants").param("after", "20").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "21"))
+                .andExpect(jsonPath("$[0].name").value("Test Restaurant"));
+ 
+        verify(restaurantService, never()).findAll();
+        verify(restaurantService, never()).findPage(anyInt(), anyInt());
+    }
+ 
+    @Test
+    public void testFindRestaurantsPage_FullView() throws Exception {
+        // Prepare mock data
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(21);
+        restaurant.setName("Test Restaurant");
+ 
+        // Mock service call
+        when(restaurantService.findPage(20, 1)).thenReturn(new KeysetPage<>(List.of(restaurant), 21));
+ 
+        // Perform GET request; the link to the next page keeps the full view
+        mockMvc.perform(get("/api/restaurants").param("after", "20").param("limit", "1").param("view", "full"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", "</api/restaurants?after=21&limit=1&view=full>; rel=\"next\""))
+                .andExpect(jsonPath("$[0].name").value("Test Restaurant"));
+    }
+ 
+    @Test
+    public void testFindRestaurantsPage_InvalidLimit() throws Exception {
+        // Perform GET request with a limit above the maximum
+        mockMvc.perform(get("/api/restaurants").param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+    }
+ 
     @Test
     public void testFindRestaurantById() throws Exception {
         // Prepare mock data
@@ -80,16 +200,115 @@ public class RestaurantControllerTest {
         restaurant.setRestaurantId(1);
         restaurant.setName("Test Restaurant");
  
+        ResourceVersion version = new ResourceVersion(1, 3, LocalDateTime.of(2024, 7, 1, 12, 0), 2, null, 0, null,
+                0, null);
+ 
         // Mock service call
+        when(restaurantService.findVersion(1)).thenReturn(version);
         when(restaurantService.findById(1)).thenReturn(restaurant);
  
         // Perform GET request
         mockMvc.perform(get("/api/restaurants/{id}", 1)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", version.etag()))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.name").value("Test Restaurant"));
+    }
+ 
+    @Test
+    public void testFindRestaurantById_NotModified() throws Exception {
+        // Prepare mock data
+        ResourceVersion version = new ResourceVersion(1, 3, LocalDateTime.of(2024, 7, 1, 12, 0), 2, null, 0, null,
+                0, null);
+ 
+        // Mock service call
+        when(restaurantService.findVersion(1)).thenReturn(version);
+ 
+        // Perform GET request with the current ETag
+        mockMvc.perform(get("/api/restaurants/{id}", 1).header("If-None-Match", version.etag()))
+                .andExpect(status().isNotModified());
+ 
+        // The restaurant itself is never loaded
+        verify(restaurantService, never()).findById(anyInt());
+    }
+ 
+    @Test
+    public void testFindRestaurantById_ModifiedSince() throws Exception {
+        // Prepare mock data
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(1);
+        restaurant.setName("Test Restaurant");
+        ResourceVersion version = new ResourceVersion(1, 3, LocalDateTime.of(2024, 7, 1, 12, 0), 2,
+                LocalDateTime.of(2024, 7, 2, 12, 0), 0, null, 0, null);
+ 
+        // Mock service call
+        when(restaurantService.findVersion(1)).thenReturn(version);
+        when(restaurantService.findById(1)).thenReturn(restaurant);
+ 
+        // Perform GET request with a date before the last menu change
+        mockMvc.perform(get("/api/restaurants/{id}", 1)
+                .header("If-Modified-Since", version.lastModifiedMillis() - 60_000))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Test Restaurant"));
     }
  
+    @Test
+    public void testFindRestaurantById_NotFound() throws Exception {
+        // Mock service call
+        when(restaurantService.findVersion(1)).thenReturn(null);
+ 
+        // Perform GET request
+        mockMvc.perform(get("/api/restaurants/{id}", 1))
+                .andExpect(status().isNotFound());
+    }
+ 
+    @Test
+    public void testFindRestaurantReviews_NotModified() throws Exception {
+        // Prepare mock data
+        Rating rating = new Rating();
+        rating.setRatingId(1);
+        rating.setRating(5);
+        ResourceVersion version = new ResourceVersion(1, LocalDateTime.of(2024, 7, 1, 11, 0), 1,
+                LocalDateTime.of(2024, 7, 1, 12, 0));
+ 
+        // Mock service call
+        when(restaurantService.findReviewsVersion(1)).thenReturn(version);
+        when(restaurantService.reviewsById(1)).thenReturn(List.of(rating));
+ 
+        // The first request returns the reviews with their ETag
+        mockMvc.perform(get("/api/restaurants/{id}/reviews", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", version.etag()))
+                .andExpect(jsonPath("$[0].rating").value(5));
+ 
+        // A request with the Last-Modified date is answered without the reviews
+        mockMvc.perform(get("/api/restaurants/{id}/reviews", 1)
+                .header("If-Modified-Since", version.lastModifiedMillis()))
+                .andExpect(status().isNotModified());
+        verify(restaurantService, times(1)).reviewsById(1);
+    }
+ 
+    @Test
+    public void testFindRestaurantReviews_RatingDeleted() throws Exception {
+        // Prepare mock data: the newest rating was deleted, which advanced the restaurant's time
+        ResourceVersion before = new ResourceVersion(1, LocalDateTime.of(2024, 7, 1, 11, 0), 2,
+                LocalDateTime.of(2024, 7, 1, 12, 0));
+        ResourceVersion after = new ResourceVersion(1, LocalDateTime.of(2024, 7, 1, 12, 5), 1,
+                LocalDateTime.of(2024, 7, 1, 10, 0));
+ 
+        // Mock service call
+        when(restaurantService.findReviewsVersion(1)).thenReturn(after);
+        when(restaurantService.reviewsById(1)).thenReturn(List.of());
+ 
+        // A request with the Last-Modified date from before the delete gets the reviews again
+        mockMvc.perform(get("/api/restaurants/{id}/reviews", 1)
+                .header("If-Modified-Since", before.lastModifiedMillis()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", after.etag()));
+        verify(restaurantService, times(1)).reviewsById(1);
+    }
+ 
     @Test
     public void testAddRestaurant() throws Exception {
         // Prepare mock data
@@ -114,11 +333,9 @@ public class RestaurantControllerTest {
  
         // Mock service calls
         when(restaurantService.save(any(com.fooddeliverysystem.entity.Restaurant.class))).thenReturn(restaurant);
-        when(restaurantService.findLastRecord()).thenReturn(restaurant);
-        // Mock the MenuItemService to return a MenuItem with a non-null itemId
-        MenuItem lastMenuItem = new MenuItem();
-        lastMenuItem.setItemId(1); // Mock itemId
-        when(menuItemService.findLastRecord()).thenReturn(lastMenuItem);
+        // Mock the IdAllocator to hand out the new restaurant and menu item IDs
+        when(idAllocator.nextId(IdSequenceType.RESTAURANTS)).thenReturn(2);
+        when(idAllocator.nextId(IdSequenceType.MENU_ITEMS)).thenReturn(2);
  
         // Perform POST request
         mockMvc.perform(post("/api/restaurants")
@@ -126,6 +343,7 @@ public class RestaurantControllerTest {
                 .content(objectMapper.writeValueAsString(restaurantDto)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.name").value("New Restaurant"));
+        verify(menuCacheService, times(1)).invalidate(2);
     }
  
  
@@ -150,6 +368,9 @@ public class RestaurantControllerTest {
                 .content(objectMapper.writeValueAsString(restaurantDto)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Updated Restaurant")); // Updated value should be reflected
+ 
+        verify(leaderboardService).updateRestaurant(1, "Updated Restaurant");
+        verify(autocompleteService).updateRestaurant(1, "Updated Restaurant");
     }
  
  
@@ -168,6 +389,10 @@ public class RestaurantControllerTest {
                 .andExpect(status().isOk());
  
         verify(restaurantService, times(1)).deleteById(1);
+        verify(favoriteService).removeRestaurant(1);
+        verify(ratingAggregateService).removeRestaurant(1);
+        verify(leaderboardService).removeRestaurant(1);
+        verify(autocompleteService).removeRestaurant(1);
     }
 
  
@@ -197,6 +422,8 @@ public class RestaurantControllerTest {
                 .content(objectMapper.writeValueAsString(menuItemDto)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Pizza"));
+ 
+        verify(menuCacheService, times(1)).invalidate(1);
     }
  
     @Test
@@ -213,5 +440,214 @@ public class RestaurantControllerTest {
                 .andExpect(status().isOk());
  
         verify(restaurantService, times(1)).deleteMenuItemsById(1);
+        verify(menuCacheService, times(1)).invalidate(1);
+        verify(autocompleteService).removeMenuItem(1);
+    }
+ 
+    @Test
+    public void testFindRestaurantMenu() throws Exception {
+        // Prepare mock data
+        MenuPayload menu = MenuPayload.of(0, "[{\"itemId\":1,\"name\":\"Pasta\"}]".getBytes(StandardCharsets.UTF_8));
+ 
+        // Mock service call
+        when(menuCacheService.getMenu(1)).thenReturn(menu);
+ 
+        // Perform GET request
+        mockMvc.perform(get("/api/restaurants/{id}/menu", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", menu.etag()))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$[0].name").value("Pasta"));
+    }
+ 
+    @Test
+    public void testFindRestaurantMenu_Gzip() throws Exception {
+        // Prepare mock data
+        MenuPayload menu = MenuPayload.of(0, "[]".getBytes(StandardCharsets.UTF_8));
+ 
+        // Mock service call
+        when(menuCacheService.getMenu(1)).thenReturn(menu);
+ 
+        // Perform GET request accepting gzip; the precompressed bytes are sent as is
+        mockMvc.perform(get("/api/restaurants/{id}/menu", 1).header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", menu.etag(true)))
+                .andExpect(content().bytes(menu.gzip()));
+    }
+ 
+    @Test
+    public void testFindRestaurantMenu_NotModified() throws Exception {
+        // Prepare mock data
+        MenuPayload menu = MenuPayload.of(0, "[]".getBytes(StandardCharsets.UTF_8));
+ 
+        // Mock service call
+        when(menuCacheService.getMenu(1)).thenReturn(menu);
+ 
+        // Perform GET request with the current ETag
+        mockMvc.perform(get("/api/restaurants/{id}/menu", 1).header("If-None-Match", menu.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+ 
+    @Test
+    public void testFindRestaurantMenu_NotFound() throws Exception {
+        // Mock service call
+        when(menuCacheService.getMenu(1)).thenReturn(null);
+ 
+        // Perform GET request
+        mockMvc.perform(get("/api/restaurants/{id}/menu", 1))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testFindRestaurantRatingSummary() throws Exception {
+        // Mock service call: ratings 3, 5 and 5
+        when(ratingAggregateService.findSummary(1)).thenReturn(new RatingSummary(1, 3, 13, 0, 0, 1, 0, 2));
+ 
+        // Perform GET request
+        mockMvc.perform(get("/api/restaurants/{id}/rating-summary", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.sum").value(13))
+                .andExpect(jsonPath("$.average").value(13.0 / 3))
+                .andExpect(jsonPath("$.histogram.3").value(1))
+                .andExpect(jsonPath("$.histogram.5").value(2));
+ 
+        verify(restaurantService, never()).reviewsById(anyInt());
+    }
+ 
+    @Test
+    public void testFindRestaurantRatingSummary_NotFound() throws Exception {
+        // Mock service call
+        when(ratingAggregateService.findSummary(1)).thenReturn(null);
+ 
+        // Perform GET request
+        mockMvc.perform(get("/api/restaurants/{id}/rating-summary", 1))
+                .andExpect(status().isNotFound());
+    }
+ 
+    @Test
+    public void testRebuildRatingSummaries() throws Exception {
+        // Mock service call
+        when(ratingAggregateService.rebuild())
+                .thenReturn(new RatingRebuildReport(LocalDateTime.of(2024, 7, 1, 12, 0), 40, 2, 1, 12.5));
+ 
+        // Perform POST request
+        mockMvc.perform(post("/api/restaurants/rating-summaries/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.restaurants").value(40))
+                .andExpect(jsonPath("$.repaired").value(1));
+    }
+ 
+    @Test
+    public void testFindTopRestaurants() throws Exception {
+        // Mock service calls
+        when(leaderboardService.getMaxSize()).thenReturn(100);
+        when(leaderboardService.findTop(LeaderboardType.ORDERS, 2)).thenReturn(List.of(
+                new LeaderboardEntry(4, "Busy Restaurant", 120, 10, 41, 4.1),
+                new LeaderboardEntry(2, "Test Restaurant", 80, 0, 0, null)));
+ 
+        // Perform GET request
+        mockMvc.perform(get("/api/restaurants/top").param("by", "orders").param("k", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].restaurantId").value(4))
+                .andExpect(jsonPath("$[0].orderCount").value(120))
+                .andExpect(jsonPath("$[1].name").value("Test Restaurant"));
+ 
+        verify(restaurantService, never()).findAll();
+    }
+ 
+    @Test
+    public void testFindTopRestaurants_InvalidParameters() throws Exception {
+        // Mock service call
+        when(leaderboardService.getMaxSize()).thenReturn(100);
+ 
+        // Perform GET requests with an unknown leaderboard and too many restaurants
+        mockMvc.perform(get("/api/restaurants/top").param("by", "price"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/restaurants/top").param("k", "101"))
+                .andExpect(status().isBadRequest());
+ 
+        verify(leaderboardService, never()).findTop(any(LeaderboardType.class), anyInt());
+    }
+ 
+    @Test
+    public void testSearchReviews() throws Exception {
+        // Mock service call
+        when(reviewSearchService.search("cold fries", 3, 5))
+                .thenReturn(List.of(new ReviewSearchHit(11, 3, 2, "Fries were cold", 2.4)));
+ 
+        // Perform GET request
+        mockMvc.perform(get("/api/restaurants/reviews/search").param("q", "cold fries").param("restaurantId", "3")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ratingId").value(11))
+                .andExpect(jsonPath("$[0].review").value("Fries were cold"))
+                .andExpect(jsonPath("$[0].score").value(2.4));
+    }
+ 
+    @Test
+    public void testSearchReviews_InvalidParameters() throws Exception {
+        // Perform GET requests with a blank query and too many results
+        mockMvc.perform(get("/api/restaurants/reviews/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/restaurants/reviews/search").param("q", "late").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+ 
+        verify(reviewSearchService, never()).search(any(), any(), anyInt());
+    }
+ 
+    @Test
+    public void testAutocomplete() throws Exception {
+        // Mock service call
+        when(autocompleteService.suggest("piz", 2)).thenReturn(List.of(
+                new NameSuggestion(SuggestionType.MENU_ITEM, 7, 3, "Pizza Margherita", 40),
+                new NameSuggestion(SuggestionType.RESTAURANT, 5, 5, "Joe's Pizza", 12)));
+ 
+        // Perform GET request
+        mockMvc.perform(get("/api/restaurants/autocomplete").param("q", "piz").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("MENU_ITEM"))
+                .andExpect(jsonPath("$[0].restaurantId").value(3))
+                .andExpect(jsonPath("$[1].name").value("Joe's Pizza"));
+    }
+ 
+    @Test
+    public void testAutocomplete_InvalidParameters() throws Exception {
+        // Perform GET requests with a blank prefix and too many results
+        mockMvc.perform(get("/api/restaurants/autocomplete").param("q", ""))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/restaurants/autocomplete").param("q", "pi").param("limit", "21"))
+                .andExpect(status().isBadRequest());
+ 
+        verify(autocompleteService, never()).suggest(any(), anyInt());
+    }
+ 
+    @Test
+    public void testSearchMenuItems() throws Exception {
+        // Mock service call
+        when(menuSearchService.search("panner biryni", 5)).thenReturn(List.of(
+                new MenuSearchGroup(2, "Spice Route", List.of(
+                        new MenuSearchHit(4, "Veg Biryani", "Rice with vegetables and paneer", 9.5, 2, 1.5)))));
+ 
+        // Perform GET request
+        mockMvc.perform(get("/api/restaurants/menu/search").param("q", "panner biryni").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].restaurantId").value(2))
+                .andExpect(jsonPath("$[0].restaurantName").value("Spice Route"))
+                .andExpect(jsonPath("$[0].items[0].name").value("Veg Biryani"))
+                .andExpect(jsonPath("$[0].items[0].matchedWords").value(2));
+    }
+ 
+    @Test
+    public void testSearchMenuItems_InvalidParameters() throws Exception {
+        // Perform GET requests with a blank query and too many results
+        mockMvc.perform(get("/api/restaurants/menu/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/restaurants/menu/search").param("q", "biryani").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+ 
+        verify(menuSearchService, never()).search(any(), anyInt());
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package com.fooddeliverysystem.rest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -14,15 +16,20 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
 import com.fooddeliverysystem.dao.MenuItemDao;
 import com.fooddeliverysystem.dao.RestaurantDao;
+import com.fooddeliverysystem.dto.RestaurantSummary;
 import com.fooddeliverysystem.entity.Customer;
 import com.fooddeliverysystem.entity.DeliveryAddress;
 import com.fooddeliverysystem.entity.MenuItem;
 import com.fooddeliverysystem.entity.Order;
 import com.fooddeliverysystem.entity.Rating;
 import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.service.IdAllocator;
+import com.fooddeliverysystem.service.IdSequenceType;
+import com.fooddeliverysystem.service.KeysetPage;
 import com.fooddeliverysystem.service.RestaurantServiceImpl;
 
 public class RestaurantServiceTest {
@@ -33,6 +40,9 @@ public class RestaurantServiceTest {
     @Mock
     private MenuItemDao menuItemDao;
 
+    @Mock
+    private IdAllocator idAllocator;
+
     @InjectMocks
     private RestaurantServiceImpl restaurantService;
 
@@ -153,21 +163,6 @@ public class RestaurantServiceTest {
         assertEquals(addresses.size(), result.size());
     }
 
-    // Test method for findLastRecord
-    @Test
-    void testFindLastRecord() {
-        // Mock data
-        Restaurant restaurant = new Restaurant();
-        restaurant.setRestaurantId(10);
-        when(restaurantDao.findFirstByOrderByRestaurantIdDesc()).thenReturn(restaurant);
-
-        // Call service method
-        Restaurant result = restaurantService.findLastRecord();
-
-        // Assert the result is as expected
-        assertEquals(restaurant, result);
-    }
-
     // Test method for saveMenuItemsById
     @Test
     void testSaveMenuItemsById() {
@@ -178,7 +173,7 @@ public class RestaurantServiceTest {
         MenuItem menuItem = new MenuItem();
         menuItem.setItemId(1);
         
-        when(menuItemDao.findFirstByOrderByItemIdDesc()).thenReturn(menuItem);
+        when(idAllocator.nextId(IdSequenceType.MENU_ITEMS)).thenReturn(2);
         when(menuItemDao.save(menuItem)).thenReturn(menuItem);
         when(restaurantDao.save(restaurant)).thenReturn(restaurant);
 
@@ -187,7 +182,7 @@ public class RestaurantServiceTest {
 
         // Assert the result is as expected
         assertEquals(menuItem, result);
-        assertEquals(2, menuItem.getItemId()); // Since the next ID should be incremented by 1
+        assertEquals(2, menuItem.getItemId()); // The ID handed out by the allocator
     }
     // Test method for deleteMenuItemsById
     @Test
@@ -203,6 +198,41 @@ public class RestaurantServiceTest {
         // Verify that the delete method was called
         verify(menuItemDao, times(1)).deleteById(1);
     }
-}
 
+    // Test that a deleted menu item is also removed from its restaurant's menu
+    @Test
+    void testDeleteMenuItemsById_RemovesFromRestaurantMenu() {
+        // Mock data
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(1);
+        MenuItem menuItem = new MenuItem();
+        menuItem.setItemId(1);
+        menuItem.setRestaurant(restaurant);
+        restaurant.setMenuItems(new ArrayList<>(List.of(menuItem)));
+        when(menuItemDao.findById(1)).thenReturn(Optional.of(menuItem));
+
+        // Call service method
+        restaurantService.deleteMenuItemsById(1);
+
+        // Assert the menu no longer holds the item
+        assertEquals(0, restaurant.getMenuItems().size());
+        verify(menuItemDao, times(1)).deleteById(1);
+    }
+
+    // Test method for findSummaryPage
+    @Test
+    void testFindSummaryPage() {
+        // Mock data: one row more than the page size
+        List<RestaurantSummary> fetched = List.of(new RestaurantSummary(3, "A", "1 Main St", "1234567890", 4, 1, 4, 0, 0, 0, 1, 0),
+                new RestaurantSummary(7, "B", "2 Main St", "1234567890", 0, 0, 0, 0, 0, 0, 0, 0));
+        when(restaurantDao.findSummariesAfter(eq(2), any(Limit.class))).thenReturn(fetched);
 
+        // Call service method
+        KeysetPage<RestaurantSummary> page = restaurantService.findSummaryPage(2, 1);
+
+        // Assert the extra row is dropped and becomes the cursor
+        assertEquals(1, page.items().size());
+        assertEquals(3, page.nextCursor());
+        verify(restaurantDao, times(1)).findSummariesAfter(2, Limit.of(2));
+    }
+}
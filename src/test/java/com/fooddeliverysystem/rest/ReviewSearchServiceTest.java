@@ -0,0 +1,217 @@
+package com.fooddeliverysystem.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fooddeliverysystem.dao.RatingDao;
+import com.fooddeliverysystem.entity.Rating;
+import com.fooddeliverysystem.entity.Restaurant;
+import com.fooddeliverysystem.service.ReviewSearchHit;
+import com.fooddeliverysystem.service.ReviewSearchServiceImpl;
+
+public class ReviewSearchServiceTest {
+
+    private static final long YESTERDAY = System.currentTimeMillis() - 24 * 60 * 60 * 1000;
+
+    @Mock
+    private RatingDao ratingDao;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private Path directory;
+    private Path snapshot;
+
+    // The rows of the ratings table by rating ID: restaurant ID, review and last modification in millis
+    private final Map<Integer, Object[]> rows = new TreeMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        directory = Files.createTempDirectory("review-index");
+        snapshot = directory.resolve("reviews.snapshot");
+
+        row(1, 1, "The food was cold and the driver was very late", YESTERDAY);
+        row(2, 1, "Cold cold cold soup", YESTERDAY);
+        row(3, 2, "Great pizza, fast delivery", YESTERDAY);
+        row(4, 2, "Late again. Cold fries.", YESTERDAY);
+        row(5, 2, null, YESTERDAY);
+
+        // The full scan and the rating IDs
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            boolean reviews = invocation.<String>getArgument(0).contains("review is not null");
+            for (Map.Entry<Integer, Object[]> row : rows.entrySet()) {
+                if (!reviews || row.getValue()[1] != null) {
+                    handler.processRow(resultSet(row));
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        // The reviews modified since a time
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            Timestamp since = invocation.getArgument(2);
+            for (Map.Entry<Integer, Object[]> row : rows.entrySet()) {
+                if ((long) row.getValue()[2] >= since.getTime()) {
+                    handler.processRow(resultSet(row));
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        when(ratingDao.findAllById(any())).thenAnswer(invocation -> {
+            List<Rating> ratings = new ArrayList<>();
+            for (Integer ratingId : invocation.<Iterable<Integer>>getArgument(0)) {
+                Object[] row = rows.get(ratingId);
+                if (row != null) {
+                    ratings.add(rating(ratingId, (int) row[0], (String) row[1]));
+                }
+            }
+            return ratings;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    // Test that matches are ranked by BM25, ignoring case, punctuation and stop words, and filtered by restaurant
+    @Test
+    void testSearch_RanksAndFilters() {
+        ReviewSearchServiceImpl reviewSearchService = service();
+        assertEquals(4, reviewSearchService.load());
+
+        // The review repeating the word first, then the shorter of the other two
+        assertEquals(List.of(2, 4, 1), ids(reviewSearchService.search("COLD!", null, 10)));
+        assertEquals(List.of(2), ids(reviewSearchService.search("cold", null, 1)));
+        // Both words beat one word
+        assertEquals(List.of(4, 1), ids(reviewSearchService.search("late fries", null, 10)));
+        assertEquals(List.of(4), ids(reviewSearchService.search("cold", 2, 10)));
+        assertEquals(List.of(), reviewSearchService.search("the was", null, 10));
+
+        ReviewSearchHit hit = reviewSearchService.search("pizza", null, 10).get(0);
+        assertEquals(2, hit.restaurantId());
+        assertEquals("Great pizza, fast delivery", hit.review());
+        assertTrue(hit.score() > 0);
+    }
+
+    // Test that saved and deleted reviews change the results once their transaction commits
+    @Test
+    void testRecord_AfterCommit() {
+        ReviewSearchServiceImpl reviewSearchService = service();
+        reviewSearchService.load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        row(6, 3, "Cold", YESTERDAY);
+        row(4, 2, "Perfect", YESTERDAY);
+        reviewSearchService.recordSaved(List.of(rating(6, 3, "Cold"), rating(4, 2, "Perfect")));
+        reviewSearchService.recordDeleted(2);
+        assertEquals(List.of(2, 4, 1), ids(reviewSearchService.search("cold", null, 10)));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(6, 1), ids(reviewSearchService.search("cold", null, 10)));
+        assertEquals(List.of(4), ids(reviewSearchService.search("perfect", null, 10)));
+    }
+
+    // Test that a restart reads the snapshot and only catches up with deleted and recently modified ratings
+    @Test
+    void testLoad_FromSnapshot() {
+        ReviewSearchServiceImpl first = service();
+        first.load();
+        assertEquals(4, first.writeSnapshot());
+
+        long now = System.currentTimeMillis();
+        rows.remove(1);
+        row(3, 2, "Cold pizza", now);
+        row(6, 3, "Cold", now);
+        // Modified before the snapshot, so the snapshot is trusted for it
+        row(4, 2, "Changed without a timestamp", YESTERDAY);
+
+        ReviewSearchServiceImpl second = service();
+        assertEquals(4, second.load());
+
+        // The shorter of the reviews mentioning it once rank higher
+        assertEquals(List.of(2, 6, 3, 4), ids(second.search("cold", null, 10)));
+        verify(jdbcTemplate, times(1)).query(contains("review is not null"), any(RowCallbackHandler.class));
+    }
+
+    // Test that an unreadable snapshot falls back to indexing every review
+    @Test
+    void testLoad_UnreadableSnapshot() throws Exception {
+        Files.write(snapshot, new byte[] { 1, 2, 3 });
+
+        assertEquals(4, service().load());
+
+        verify(jdbcTemplate, times(1)).query(contains("review is not null"), any(RowCallbackHandler.class));
+    }
+
+    private ReviewSearchServiceImpl service() {
+        return new ReviewSearchServiceImpl(ratingDao, jdbcTemplate, null, snapshot.toString(), 0);
+    }
+
+    private void row(int ratingId, int restaurantId, String review, long lastModified) {
+        rows.put(ratingId, new Object[] { restaurantId, review, lastModified });
+    }
+
+    private static ResultSet resultSet(Map.Entry<Integer, Object[]> row) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt(1)).thenReturn(row.getKey());
+        when(rs.getInt(2)).thenReturn((int) row.getValue()[0]);
+        when(rs.getString(3)).thenReturn((String) row.getValue()[1]);
+        return rs;
+    }
+
+    private static List<Integer> ids(List<ReviewSearchHit> hits) {
+        return hits.stream().map(ReviewSearchHit::ratingId).collect(Collectors.toList());
+    }
+
+    private static Rating rating(int ratingId, int restaurantId, String review) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(restaurantId);
+        Rating rating = new Rating();
+        rating.setRatingId(ratingId);
+        rating.setRestaurant(restaurant);
+        rating.setReview(review);
+        return rating;
+    }
+}